@@ -0,0 +1,101 @@
+package org.prebid.server.auction;
+
+import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
+import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
+import io.vertx.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.cookie.UidsCookieService;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.identity.NoneIdGenerator;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
+import org.prebid.server.validation.BidderParamValidator;
+import org.prebid.server.validation.RequestValidator;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Measures creation of auction context from incoming HTTP request: parsing, stored request merge,
+ * populating implicit parameters, validation (including bidder params json schemas) and account lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuctionRequestFactoryBenchmark {
+
+    @Param({"bid-request.json", "bid-request-stored.json"})
+    public String requestFixture;
+
+    private AuctionRequestFactory auctionRequestFactory;
+
+    private RoutingContext routingContext;
+
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        final JacksonMapper mapper = BenchmarkFixtures.MAPPER;
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog();
+        final Metrics metrics = BenchmarkFixtures.metrics(bidderCatalog);
+        final ApplicationSettings applicationSettings = InMemoryApplicationSettings.fromFixtures();
+        final TimeoutFactory timeoutFactory = new TimeoutFactory(Clock.systemUTC());
+
+        final PublicSuffixListFactory pslFactory = new PublicSuffixListFactory();
+        final Properties pslProperties = pslFactory.getDefaults();
+        pslProperties.setProperty(PublicSuffixListFactory.PROPERTY_LIST_FILE, "/effective_tld_names.dat");
+        final PublicSuffixList psl = pslFactory.build(pslProperties);
+
+        final StoredRequestProcessor storedRequestProcessor = new StoredRequestProcessor(1000L, applicationSettings,
+                metrics, timeoutFactory, mapper, new StoredDataTreeCache(3600, 10000, mapper, metrics));
+
+        auctionRequestFactory = new AuctionRequestFactory(
+                Integer.MAX_VALUE,
+                false,
+                false,
+                "USD",
+                emptyList(),
+                emptyList(),
+                storedRequestProcessor,
+                new ImplicitParametersExtractor(psl),
+                new UidsCookieService("trp_optout", "true", null, null, null, 90, 0, mapper),
+                bidderCatalog,
+                new RequestValidator(bidderCatalog,
+                        BidderParamValidator.create(bidderCatalog, "static/bidder-params", mapper), mapper),
+                new InterstitialProcessor(),
+                new TimeoutResolver(1000L, 5000L, 50L),
+                timeoutFactory,
+                applicationSettings,
+                new NoneIdGenerator(),
+                metrics,
+                mapper);
+
+        routingContext = BenchmarkFixtures.routingContext(BenchmarkFixtures.resource(requestFixture));
+    }
+
+    @Benchmark
+    public AuctionContext fromRequest() {
+        return auctionRequestFactory.fromRequest(routingContext, System.currentTimeMillis()).result();
+    }
+}
@@ -0,0 +1,129 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import io.vertx.core.Future;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.cache.CacheService;
+import org.prebid.server.cache.model.CacheIdInfo;
+import org.prebid.server.cache.model.CacheServiceResult;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
+import org.prebid.server.settings.model.Account;
+
+import java.time.Clock;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures building of auction response from bids of 5 bidders on every imp: winning bids selection, targeting
+ * keywords, bid caching (with stubbed Prebid Cache call) and events.
+ * <p>
+ * Includes copying of fixture bids, which are updated in place by auction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BidResponseCreatorBenchmark {
+
+    /**
+     * Number of imps in request, every bidder bids on every imp.
+     */
+    @Param({"5", "20", "50"})
+    public int impsCount;
+
+    private BidResponseCreator bidResponseCreator;
+
+    private List<BidderResponse> bidderResponses;
+    private AuctionContext auctionContext;
+    private ExtRequestTargeting targeting;
+    private BidRequestCacheInfo cacheInfo;
+    private Account account;
+    private Timeout timeout;
+
+    @Setup
+    public void setUp() {
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog();
+
+        final CacheService cacheService = mock(CacheService.class);
+        given(cacheService.getEndpointHost()).willReturn("prebid-cache.example");
+        given(cacheService.getEndpointPath()).willReturn("/cache");
+        given(cacheService.getCachedAssetURLTemplate()).willReturn("https://prebid-cache.example/cache?uuid=");
+        given(cacheService.cacheBidsOpenrtb(anyList(), anyList(), any(), any(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(cacheServiceResult(invocation.getArgument(0))));
+
+        final StoredRequestProcessor storedRequestProcessor = new StoredRequestProcessor(1000L,
+                InMemoryApplicationSettings.fromFixtures(), BenchmarkFixtures.metrics(bidderCatalog),
+                new TimeoutFactory(Clock.systemUTC()), BenchmarkFixtures.MAPPER, null);
+
+        bidResponseCreator = new BidResponseCreator(cacheService, bidderCatalog,
+                new EventsService("https://prebid.example"), storedRequestProcessor, false, 0,
+                BenchmarkFixtures.MAPPER);
+
+        final BidRequest bidRequest = BenchmarkFixtures.bidRequest(impsCount);
+        account = BenchmarkFixtures.account();
+        timeout = BenchmarkFixtures.timeout();
+        auctionContext = AuctionContext.builder()
+                .bidRequest(bidRequest)
+                .account(account)
+                .timeout(timeout)
+                .requestTypeMetric(MetricName.openrtb2web)
+                .prebidErrors(emptyList())
+                .build();
+
+        bidderResponses = BenchmarkFixtures.bidderResponses(impsCount);
+        targeting = bidRequest.getExt().getPrebid().getTargeting();
+        cacheInfo = BidRequestCacheInfo.builder()
+                .doCaching(true)
+                .shouldCacheBids(true)
+                .shouldCacheVideoBids(true)
+                .returnCreativeBids(true)
+                .returnCreativeVideoBids(true)
+                .build();
+    }
+
+    @Benchmark
+    public BidResponse create() {
+        return bidResponseCreator.create(BenchmarkFixtures.copyOf(bidderResponses), auctionContext, targeting,
+                cacheInfo, account, true, 1603000000000L, false, timeout).result();
+    }
+
+    private static CacheServiceResult cacheServiceResult(List<Bid> bids) {
+        final Map<Bid, CacheIdInfo> bidToCacheIdInfo = new IdentityHashMap<>();
+        for (Bid bid : bids) {
+            bidToCacheIdInfo.put(bid, CacheIdInfo.of("cache-" + bid.getId(), "video-cache-" + bid.getId()));
+        }
+        return CacheServiceResult.of(null, null, bidToCacheIdInfo);
+    }
+}
@@ -0,0 +1,181 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import io.vertx.core.Future;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.cache.CacheService;
+import org.prebid.server.cache.model.CacheIdInfo;
+import org.prebid.server.cache.model.CacheServiceResult;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+import org.prebid.server.settings.model.Account;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures building of auction response for 40 bidders bidding on each of 10 banner imps with large creatives:
+ * winning bids selection, bid caching (with stubbed Prebid Cache call), cache ids assignment and targeting keywords.
+ * <p>
+ * Includes copying of generated bids, which are updated in place by auction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BidResponseCreatorLargeAuctionBenchmark {
+
+    private static final int BIDDERS_COUNT = 40;
+    private static final int IMPS_COUNT = 10;
+
+    /**
+     * Size of every bid creative (adm) in kilobytes.
+     */
+    @Param({"1", "16"})
+    public int creativeSizeKb;
+
+    private BidResponseCreator bidResponseCreator;
+
+    private List<BidderResponse> bidderResponses;
+    private AuctionContext auctionContext;
+    private ExtRequestTargeting targeting;
+    private BidRequestCacheInfo cacheInfo;
+    private Account account;
+    private Timeout timeout;
+
+    @Setup
+    public void setUp() {
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog();
+
+        final CacheService cacheService = mock(CacheService.class);
+        given(cacheService.getEndpointHost()).willReturn("prebid-cache.example");
+        given(cacheService.getEndpointPath()).willReturn("/cache");
+        given(cacheService.getCachedAssetURLTemplate()).willReturn("https://prebid-cache.example/cache?uuid=");
+        given(cacheService.cacheBidsOpenrtb(anyList(), anyList(), any(), any(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(cacheServiceResult(invocation.getArgument(0))));
+
+        final StoredRequestProcessor storedRequestProcessor = new StoredRequestProcessor(1000L,
+                InMemoryApplicationSettings.fromFixtures(), BenchmarkFixtures.metrics(bidderCatalog),
+                new TimeoutFactory(Clock.systemUTC()), BenchmarkFixtures.MAPPER, null);
+
+        bidResponseCreator = new BidResponseCreator(cacheService, bidderCatalog,
+                new EventsService("https://prebid.example"), storedRequestProcessor, false, 0,
+                BenchmarkFixtures.MAPPER);
+
+        final BidRequest fixtureBidRequest = BenchmarkFixtures.bidRequest();
+        final List<Imp> imps = new ArrayList<>(IMPS_COUNT);
+        for (int i = 0; i < IMPS_COUNT; i++) {
+            imps.add(Imp.builder()
+                    .id("imp-" + i)
+                    .banner(Banner.builder().format(singletonList(Format.builder().w(300).h(250).build())).build())
+                    .build());
+        }
+        final BidRequest bidRequest = fixtureBidRequest.toBuilder().imp(imps).build();
+
+        account = BenchmarkFixtures.account();
+        timeout = BenchmarkFixtures.timeout();
+        auctionContext = AuctionContext.builder()
+                .bidRequest(bidRequest)
+                .account(account)
+                .timeout(timeout)
+                .requestTypeMetric(MetricName.openrtb2web)
+                .prebidErrors(emptyList())
+                .build();
+
+        bidderResponses = bidderResponses(imps);
+        targeting = fixtureBidRequest.getExt().getPrebid().getTargeting();
+        cacheInfo = BidRequestCacheInfo.builder()
+                .doCaching(true)
+                .shouldCacheBids(true)
+                .returnCreativeBids(true)
+                .build();
+    }
+
+    @Benchmark
+    public BidResponse create() {
+        return bidResponseCreator.create(BenchmarkFixtures.copyOf(bidderResponses), auctionContext, targeting,
+                cacheInfo, account, true, 1603000000000L, false, timeout).result();
+    }
+
+    private List<BidderResponse> bidderResponses(List<Imp> imps) {
+        final String creative = "<div class=\"ad\">" + StringUtils.repeat('x', creativeSizeKb * 1024) + "</div>";
+
+        final List<BidderResponse> result = new ArrayList<>(BIDDERS_COUNT);
+        for (int bidderIndex = 0; bidderIndex < BIDDERS_COUNT; bidderIndex++) {
+            final String bidder = "bidder" + bidderIndex;
+
+            final List<BidderBid> bids = new ArrayList<>(imps.size());
+            for (int impIndex = 0; impIndex < imps.size(); impIndex++) {
+                final ObjectNode ext = BenchmarkFixtures.MAPPER.mapper().createObjectNode();
+                ext.putObject("bidder").put("dealPriority", bidderIndex).put("brandId", 1000 + impIndex)
+                        .putArray("advertiserDomains").add("advertiser" + bidderIndex + ".example");
+
+                final Bid bid = Bid.builder()
+                        .id(bidder + "-bid-" + impIndex)
+                        .impid(imps.get(impIndex).getId())
+                        .price(BigDecimal.valueOf(100 + (bidderIndex * 37 + impIndex * 11) % 500, 2))
+                        .adm(creative)
+                        .crid("creative-" + bidderIndex + "-" + impIndex)
+                        .adomain(singletonList("advertiser" + bidderIndex + ".example"))
+                        .w(300)
+                        .h(250)
+                        .ext(ext)
+                        .build();
+                bids.add(BidderBid.of(bid, BidType.banner, "USD"));
+            }
+            result.add(BidderResponse.of(bidder, BidderSeatBid.of(bids, emptyList(), emptyList()), 120));
+        }
+        return result;
+    }
+
+    private static CacheServiceResult cacheServiceResult(List<Bid> bids) {
+        final Map<Bid, CacheIdInfo> bidToCacheIdInfo = new IdentityHashMap<>();
+        for (Bid bid : bids) {
+            bidToCacheIdInfo.put(bid, CacheIdInfo.of("cache-" + bid.getId(), null));
+        }
+        return CacheServiceResult.of(null, null, bidToCacheIdInfo);
+    }
+}
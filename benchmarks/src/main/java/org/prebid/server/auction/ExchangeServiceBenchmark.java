@@ -0,0 +1,134 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import io.vertx.core.Future;
+import io.vertx.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.cookie.UidsCookieService;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.validation.ResponseBidValidator;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures auction orchestration excluding network and response building: splitting incoming request into
+ * bidder requests (imp extensions, users, privacy enforcement), metrics and processing of bidder responses
+ * (validation, currency conversion).
+ * <p>
+ * Bidders respond immediately with fixture bids and {@link BidResponseCreator} is stubbed, since it has its own
+ * benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExchangeServiceBenchmark {
+
+    /**
+     * Number of imps in incoming request, every bidder bids on every imp.
+     */
+    @Param({"5", "20", "50"})
+    public int impsCount;
+
+    private ExchangeService exchangeService;
+
+    private AuctionContext auctionContext;
+
+    @Setup
+    public void setUp() {
+        final Map<Bidder<?>, BidderSeatBid> bidderToSeatBid = new HashMap<>();
+        final Map<String, BidderSeatBid> bidderNameToSeatBid = new HashMap<>();
+        for (BidderResponse bidderResponse : BenchmarkFixtures.bidderResponses(impsCount)) {
+            bidderNameToSeatBid.put(bidderResponse.getBidder(), bidderResponse.getSeatBid());
+        }
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog(bidderName -> {
+            final Bidder<?> bidder = mock(Bidder.class);
+            bidderToSeatBid.put(bidder, bidderNameToSeatBid.get(bidderName));
+            return bidder;
+        });
+        final Metrics metrics = BenchmarkFixtures.metrics(bidderCatalog);
+
+        final HttpBidderRequester httpBidderRequester = mock(HttpBidderRequester.class);
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean())).willAnswer(invocation ->
+                Future.succeededFuture(BenchmarkFixtures.copyOf(
+                        bidderToSeatBid.get(invocation.<Bidder<?>>getArgument(0)))));
+
+        final BidResponseCreator bidResponseCreator = mock(BidResponseCreator.class);
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
+                any()))
+                .willReturn(Future.succeededFuture(BidResponse.builder().id("bid-response").build()));
+
+        exchangeService = new ExchangeService(
+                0,
+                false,
+                bidderCatalog,
+                new StoredResponseProcessor(InMemoryApplicationSettings.fromFixtures(), bidderCatalog,
+                        BenchmarkFixtures.MAPPER),
+                new PrivacyEnforcementService(bidderCatalog, BenchmarkFixtures.tcfDefinerService(), metrics, false,
+                        true),
+                httpBidderRequester,
+                new ResponseBidValidator(),
+                new CurrencyConversionService(null),
+                bidResponseCreator,
+                BidResponsePostProcessor.noOp(),
+                metrics,
+                Clock.systemUTC(),
+                BenchmarkFixtures.MAPPER,
+                null,
+                null);
+
+        final BidRequest bidRequest = BenchmarkFixtures.bidRequest(impsCount);
+        final RoutingContext routingContext = BenchmarkFixtures.routingContext(
+                BenchmarkFixtures.MAPPER.encode(bidRequest));
+        final UidsCookieService uidsCookieService = new UidsCookieService("trp_optout", "true", null, null, null, 90,
+                0, BenchmarkFixtures.MAPPER);
+        auctionContext = AuctionContext.builder()
+                .routingContext(routingContext)
+                .uidsCookie(uidsCookieService.parseFromRequest(routingContext))
+                .bidRequest(bidRequest)
+                .account(BenchmarkFixtures.account())
+                .timeout(BenchmarkFixtures.timeout())
+                .requestTypeMetric(MetricName.openrtb2web)
+                .prebidErrors(emptyList())
+                .build();
+    }
+
+    @Benchmark
+    public BidResponse holdAuction() {
+        return exchangeService.holdAuction(auctionContext).result();
+    }
+}
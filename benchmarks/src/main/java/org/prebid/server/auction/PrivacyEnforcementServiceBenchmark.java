@@ -0,0 +1,78 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderPrivacyResult;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Measures applying of privacy (COPPA, CCPA and GDPR) restrictions to per-bidder users and device.
+ * <p>
+ * TCF consent processing is stubbed with enforcement actions mixing all kinds of masking, so only masking itself
+ * is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrivacyEnforcementServiceBenchmark {
+
+    private PrivacyEnforcementService privacyEnforcementService;
+
+    private AuctionContext auctionContext;
+    private Map<String, User> bidderToUser;
+    private ExtUser extUser;
+    private BidderAliases aliases;
+
+    @Setup
+    public void setUp() {
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog();
+
+        privacyEnforcementService = new PrivacyEnforcementService(bidderCatalog,
+                BenchmarkFixtures.tcfDefinerService(), BenchmarkFixtures.metrics(bidderCatalog), false, true);
+
+        final BidRequest bidRequest = BenchmarkFixtures.bidRequest();
+        auctionContext = AuctionContext.builder()
+                .bidRequest(bidRequest)
+                .account(BenchmarkFixtures.account())
+                .timeout(BenchmarkFixtures.timeout())
+                .requestTypeMetric(MetricName.openrtb2web)
+                .prebidErrors(emptyList())
+                .build();
+
+        bidderToUser = new HashMap<>();
+        BenchmarkFixtures.BIDDERS.forEach(bidder -> bidderToUser.put(bidder, bidRequest.getUser()));
+        extUser = bidRequest.getUser().getExt();
+        aliases = BidderAliases.of(emptyMap(), emptyMap());
+    }
+
+    @Benchmark
+    public List<BidderPrivacyResult> mask() {
+        return privacyEnforcementService.mask(auctionContext, bidderToUser, extUser, BenchmarkFixtures.BIDDERS,
+                aliases).result();
+    }
+}
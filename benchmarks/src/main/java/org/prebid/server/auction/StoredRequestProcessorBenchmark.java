@@ -0,0 +1,66 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.settings.StoredDataTreeCache;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures merging of incoming request with stored request and three stored imps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StoredRequestProcessorBenchmark {
+
+    @Param({"true", "false"})
+    public boolean treeCacheEnabled;
+
+    private StoredRequestProcessor storedRequestProcessor;
+
+    private BidRequest bidRequest;
+
+    @Setup
+    public void setUp() {
+        final BidderCatalog bidderCatalog = BenchmarkFixtures.bidderCatalog();
+        final StoredDataTreeCache storedDataTreeCache = treeCacheEnabled
+                ? new StoredDataTreeCache(3600, 10000, BenchmarkFixtures.MAPPER,
+                BenchmarkFixtures.metrics(bidderCatalog))
+                : null;
+
+        storedRequestProcessor = new StoredRequestProcessor(
+                1000L,
+                InMemoryApplicationSettings.fromFixtures(),
+                BenchmarkFixtures.metrics(bidderCatalog),
+                new TimeoutFactory(Clock.systemUTC()),
+                BenchmarkFixtures.MAPPER,
+                storedDataTreeCache);
+
+        bidRequest = BenchmarkFixtures.MAPPER.decodeValue(BenchmarkFixtures.resource("bid-request-stored.json"),
+                BidRequest.class);
+    }
+
+    @Benchmark
+    public BidRequest processStoredRequests() {
+        return storedRequestProcessor.processStoredRequests(bidRequest).result();
+    }
+}
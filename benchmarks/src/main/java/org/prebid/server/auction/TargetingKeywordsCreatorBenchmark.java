@@ -0,0 +1,85 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.Bid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creation of targeting keywords for every bid of auction (15 bids of 5 bidders), the first bid of every
+ * bidder is treated as winning one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TargetingKeywordsCreatorBenchmark {
+
+    /**
+     * Price granularity: one of predefined string granularities or "custom" for ranges from request fixture.
+     */
+    @Param({"medium", "dense", "custom"})
+    public String priceGranularity;
+
+    private TargetingKeywordsCreator targetingKeywordsCreator;
+
+    private List<Bid> bids;
+    private List<String> bidders;
+    private List<String> cacheIds;
+
+    @Setup
+    public void setUp() {
+        if ("custom".equals(priceGranularity)) {
+            final ExtPriceGranularity extPriceGranularity = BenchmarkFixtures.MAPPER.mapper().convertValue(
+                    BenchmarkFixtures.bidRequest().getExt().getPrebid().getTargeting().getPricegranularity(),
+                    ExtPriceGranularity.class);
+            targetingKeywordsCreator = TargetingKeywordsCreator.create(extPriceGranularity, true, true, false, 0);
+        } else {
+            targetingKeywordsCreator = TargetingKeywordsCreator.create(priceGranularity, true, true, false, 0);
+        }
+
+        bids = new ArrayList<>();
+        bidders = new ArrayList<>();
+        cacheIds = new ArrayList<>();
+        for (BidderResponse bidderResponse : BenchmarkFixtures.bidderResponses()) {
+            for (BidderBid bidderBid : bidderResponse.getSeatBid().getBids()) {
+                bids.add(bidderBid.getBid());
+                bidders.add(bidderResponse.getBidder());
+                cacheIds.add("cache-" + bidderBid.getBid().getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public void makeFor(Blackhole blackhole) {
+        String previousBidder = null;
+        for (int i = 0; i < bids.size(); i++) {
+            final Bid bid = bids.get(i);
+            final String bidder = bidders.get(i);
+            final boolean winningBid = !bidder.equals(previousBidder);
+            previousBidder = bidder;
+
+            blackhole.consume(targetingKeywordsCreator.makeFor(bid, bidder, winningBid, cacheIds.get(i), null,
+                    "prebid-cache.example", "/cache", null));
+        }
+    }
+}
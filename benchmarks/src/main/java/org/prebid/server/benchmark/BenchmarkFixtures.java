@@ -0,0 +1,328 @@
+package org.prebid.server.benchmark;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.http.Cookie;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.impl.SocketAddressImpl;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.bidder.Usersyncer;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.TimerType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.privacy.gdpr.TcfDefinerService;
+import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.TcfResponse;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+import org.prebid.server.proto.response.BidderInfo;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.util.ResourceUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fixtures shared by benchmarks.
+ * <p>
+ * Request and response fixtures mimic typical web traffic: three ad units (leaderboard, MPU and outstream video)
+ * with five bidders each, GDPR and CCPA signals, extended ids, targeting with custom price granularity and bid
+ * caching enabled.
+ * <p>
+ * Real pages often have many more ad units, so fixtures can be scaled to the given number of imps by repeating
+ * fixture ad units, see {@link #bidRequest(int)} and {@link #bidderResponses(int)}.
+ */
+public final class BenchmarkFixtures {
+
+    public static final JacksonMapper MAPPER = new JacksonMapper(ObjectMapperProvider.mapper());
+
+    public static final List<String> BIDDERS = Arrays.asList("appnexus", "rubicon", "openx", "pubmatic", "ix");
+
+    public static final String ACCOUNT_ID = "1001";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Returns content of fixture file with given name.
+     */
+    public static String resource(String name) {
+        try {
+            return ResourceUtil.readFromClasspath("fixtures/" + name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns representative incoming bid request.
+     */
+    public static BidRequest bidRequest() {
+        return MAPPER.decodeValue(resource("bid-request.json"), BidRequest.class);
+    }
+
+    /**
+     * Returns {@link #bidRequest()} with the given number of imps.
+     */
+    public static BidRequest bidRequest(int impsCount) {
+        final BidRequest bidRequest = bidRequest();
+        return bidRequest.toBuilder().imp(withImpsCount(bidRequest.getImp(), impsCount)).build();
+    }
+
+    /**
+     * Returns the given imps repeated up to the given count. Repeated imps get unique ids made of original imp id
+     * and imp index, first imps keep their ids.
+     */
+    public static List<Imp> withImpsCount(List<Imp> imps, int impsCount) {
+        final List<Imp> result = new ArrayList<>(impsCount);
+        for (int i = 0; i < impsCount; i++) {
+            final Imp imp = imps.get(i % imps.size());
+            result.add(i < imps.size() ? imp : imp.toBuilder().id(repeatedId(imp.getId(), i)).build());
+        }
+        return result;
+    }
+
+    /**
+     * Returns bidder responses with bids of every fixture bidder for every imp of {@link #bidRequest(int)}.
+     */
+    public static List<BidderResponse> bidderResponses(int impsCount) {
+        final List<String> fixtureImpIds = bidRequest().getImp().stream()
+                .map(Imp::getId)
+                .collect(Collectors.toList());
+
+        final List<BidderResponse> result = new ArrayList<>();
+        for (BidderResponse bidderResponse : bidderResponses()) {
+            final List<BidderBid> fixtureBids = bidderResponse.getSeatBid().getBids();
+
+            final List<BidderBid> bids = new ArrayList<>();
+            for (int i = 0; i < impsCount; i++) {
+                final String fixtureImpId = fixtureImpIds.get(i % fixtureImpIds.size());
+                for (BidderBid bidderBid : fixtureBids) {
+                    final Bid bid = bidderBid.getBid();
+                    if (!fixtureImpId.equals(bid.getImpid())) {
+                        continue;
+                    }
+                    final Bid repeatedBid = i < fixtureImpIds.size()
+                            ? bid
+                            : bid.toBuilder().id(repeatedId(bid.getId(), i)).impid(repeatedId(fixtureImpId, i))
+                            .build();
+                    bids.add(BidderBid.of(repeatedBid, bidderBid.getType(), bidderBid.getBidCurrency()));
+                }
+            }
+            result.add(BidderResponse.of(bidderResponse.getBidder(),
+                    BidderSeatBid.of(bids, emptyList(), emptyList()), bidderResponse.getResponseTime()));
+        }
+        return result;
+    }
+
+    private static String repeatedId(String id, int index) {
+        return id + "-" + index;
+    }
+
+    /**
+     * Returns bidder responses with bids of every fixture bidder for every imp of {@link #bidRequest()}.
+     */
+    public static List<BidderResponse> bidderResponses() {
+        final JsonNode bidderToBids = readTree(resource("bidder-bids.json"));
+
+        final List<BidderResponse> bidderResponses = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = bidderToBids.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> bidderAndBids = fields.next();
+            final List<BidderBid> bids = new ArrayList<>();
+            for (JsonNode bidNode : bidderAndBids.getValue()) {
+                final ObjectNode bid = bidNode.deepCopy();
+                final BidType type = BidType.valueOf(bid.remove("type").asText());
+                bids.add(BidderBid.of(treeToValue(bid, Bid.class), type, "USD"));
+            }
+            bidderResponses.add(BidderResponse.of(bidderAndBids.getKey(),
+                    BidderSeatBid.of(bids, emptyList(), emptyList()), 120));
+        }
+        return bidderResponses;
+    }
+
+    /**
+     * Returns copy of given bidder responses.
+     * <p>
+     * Bids are mutable and updated in place during auction, so every benchmark invocation should work on its own
+     * copy. Only bids are copied, their fields are shared.
+     */
+    public static List<BidderResponse> copyOf(List<BidderResponse> bidderResponses) {
+        final List<BidderResponse> result = new ArrayList<>(bidderResponses.size());
+        for (BidderResponse bidderResponse : bidderResponses) {
+            result.add(BidderResponse.of(bidderResponse.getBidder(), copyOf(bidderResponse.getSeatBid()),
+                    bidderResponse.getResponseTime()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns copy of given seat bid, see {@link #copyOf(List)}.
+     */
+    public static BidderSeatBid copyOf(BidderSeatBid seatBid) {
+        final List<BidderBid> bids = new ArrayList<>(seatBid.getBids().size());
+        for (BidderBid bidderBid : seatBid.getBids()) {
+            bids.add(BidderBid.of(bidderBid.getBid().toBuilder().build(), bidderBid.getType(),
+                    bidderBid.getBidCurrency()));
+        }
+        return BidderSeatBid.of(bids, seatBid.getHttpCalls(), seatBid.getErrors());
+    }
+
+    /**
+     * Returns catalog with enabled fixture bidders, without actual bidder implementations.
+     */
+    public static BidderCatalog bidderCatalog() {
+        return bidderCatalog(bidder -> null);
+    }
+
+    /**
+     * Returns catalog with enabled fixture bidders and implementations created by given factory.
+     */
+    public static BidderCatalog bidderCatalog(Function<String, Bidder<?>> bidderFactory) {
+        final List<String> mediaTypes = Arrays.asList("banner", "video");
+        return new BidderCatalog(BIDDERS.stream()
+                .map(bidder -> BidderDeps.builder()
+                        .name(bidder)
+                        .deprecatedNames(emptyList())
+                        .aliases(emptyList())
+                        .bidderInfo(BidderInfo.create(true, "prebid@" + bidder + ".example", mediaTypes, mediaTypes,
+                                null, BIDDERS.indexOf(bidder) + 1, true, false, true))
+                        .usersyncer(new Usersyncer(bidder, "https://sync." + bidder + ".example/sync", null, null,
+                                "redirect", false))
+                        .bidder(bidderFactory.apply(bidder))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns metrics backed by its own registry, so benchmarks account real cost of metrics updates.
+     */
+    public static Metrics metrics(BidderCatalog bidderCatalog) {
+        return new Metrics(new MetricRegistry(), CounterType.counter, TimerType.exponentiallyDecaying,
+                new AccountMetricsVerbosity(AccountMetricsVerbosityLevel.detailed, emptyList(), emptyList()),
+                bidderCatalog);
+    }
+
+    /**
+     * Returns stub of {@link TcfDefinerService} which doesn't process consent but returns enforcement actions
+     * mixing all kinds of restrictions for fixture bidders.
+     */
+    public static TcfDefinerService tcfDefinerService() {
+        final TcfDefinerService tcfDefinerService = mock(TcfDefinerService.class);
+        given(tcfDefinerService.resultForBidderNames(anySet(), any(), any(), any(), any(), any(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(TcfResponse.of(true, enforcementActions(), "GBR")));
+        return tcfDefinerService;
+    }
+
+    private static Map<String, PrivacyEnforcementAction> enforcementActions() {
+        final Map<String, PrivacyEnforcementAction> bidderToAction = new HashMap<>();
+        bidderToAction.put("appnexus", PrivacyEnforcementAction.allowAll());
+        bidderToAction.put("rubicon", PrivacyEnforcementAction.builder().maskGeo(true).maskDeviceIp(true).build());
+        bidderToAction.put("openx", PrivacyEnforcementAction.restrictAll());
+        bidderToAction.put("pubmatic", PrivacyEnforcementAction.builder().removeUserIds(true).build());
+        bidderToAction.put("ix", PrivacyEnforcementAction.builder()
+                .removeUserIds(true).maskGeo(true).maskDeviceIp(true).maskDeviceInfo(true).build());
+        return bidderToAction;
+    }
+
+    public static Account account() {
+        return Account.builder().id(ACCOUNT_ID).eventsEnabled(true).build();
+    }
+
+    /**
+     * Returns stub of incoming HTTP request context with given body, typical browser headers and uids cookie
+     * containing ids of every fixture bidder.
+     */
+    public static RoutingContext routingContext(String body) {
+        final Map<String, String> bidderToUid = new HashMap<>();
+        BIDDERS.forEach(bidder -> bidderToUid.put(bidder, "uid-" + bidder + "-6f1e2d3c4b5a"));
+        final Uids uids = Uids.builder()
+                .uids(bidderToUid.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> UidWithExpiry.live(entry.getValue()))))
+                .build();
+        final String uidsCookieValue = Base64.getUrlEncoder().encodeToString(MAPPER.encode(uids).getBytes());
+
+        final MultiMap headers = new CaseInsensitiveHeaders()
+                .add(HttpUtil.USER_AGENT_HEADER, "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+                        + "(KHTML, like Gecko) Chrome/86.0.4240.75 Safari/537.36")
+                .add(HttpUtil.REFERER_HEADER, "https://www.example-news.com/politics/2020/10/some-article.html")
+                .add(HttpUtil.X_FORWARDED_FOR_HEADER, "151.101.194.217")
+                .add(HttpUtil.CONTENT_TYPE_HEADER, "application/json");
+
+        final HttpServerRequest httpRequest = mock(HttpServerRequest.class);
+        given(httpRequest.headers()).willReturn(headers);
+        given(httpRequest.remoteAddress()).willReturn(new SocketAddressImpl(54321, "151.101.194.217"));
+        given(httpRequest.absoluteURI()).willReturn("https://prebid.example/openrtb2/auction");
+        given(httpRequest.scheme()).willReturn("https");
+        given(httpRequest.isSSL()).willReturn(true);
+
+        final RoutingContext routingContext = mock(RoutingContext.class);
+        given(routingContext.request()).willReturn(httpRequest);
+        given(routingContext.getBody()).willReturn(Buffer.buffer(body));
+        given(routingContext.cookieMap()).willReturn(singletonMap("uids", Cookie.cookie("uids", uidsCookieValue)));
+        return routingContext;
+    }
+
+    /**
+     * Returns timeout which doesn't expire during benchmark run.
+     */
+    public static Timeout timeout() {
+        return new TimeoutFactory(Clock.systemUTC()).create(TimeUnit.DAYS.toMillis(1));
+    }
+
+    public static JsonNode readTree(String json) {
+        try {
+            return MAPPER.mapper().readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T treeToValue(JsonNode node, Class<T> type) {
+        try {
+            return MAPPER.mapper().treeToValue(node, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.prebid.server.benchmark;
+
+import io.vertx.core.Future;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Implementation of {@link ApplicationSettings} serving fixture data from memory.
+ * <p>
+ * Behaves like warmed up {@link org.prebid.server.settings.CachingApplicationSettings}: returns the very same
+ * instances for every call and completes futures immediately.
+ */
+public class InMemoryApplicationSettings implements ApplicationSettings {
+
+    private final Account account;
+    private final Map<String, String> storedIdToRequest;
+    private final Map<String, String> storedIdToImp;
+
+    public InMemoryApplicationSettings(Account account, Map<String, String> storedIdToRequest,
+                                       Map<String, String> storedIdToImp) {
+        this.account = Objects.requireNonNull(account);
+        this.storedIdToRequest = Objects.requireNonNull(storedIdToRequest);
+        this.storedIdToImp = Objects.requireNonNull(storedIdToImp);
+    }
+
+    /**
+     * Creates settings with fixture account, stored request and stored imps.
+     */
+    public static InMemoryApplicationSettings fromFixtures() {
+        final Map<String, String> storedIdToImp = new HashMap<>();
+        BenchmarkFixtures.readTree(BenchmarkFixtures.resource("stored-imps.json")).fields()
+                .forEachRemaining(idAndImp -> storedIdToImp.put(idAndImp.getKey(), idAndImp.getValue().toString()));
+
+        final Map<String, String> storedIdToRequest = new HashMap<>();
+        storedIdToRequest.put("stored-request-" + BenchmarkFixtures.ACCOUNT_ID,
+                BenchmarkFixtures.resource("stored-request.json"));
+
+        return new InMemoryApplicationSettings(BenchmarkFixtures.account(), storedIdToRequest, storedIdToImp);
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        return Objects.equals(account.getId(), accountId)
+                ? Future.succeededFuture(account)
+                : Future.failedFuture(new PreBidException(String.format("Account not found: %s", accountId)));
+    }
+
+    @Override
+    public Future<String> getAdUnitConfigById(String adUnitConfigId, Timeout timeout) {
+        return Future.failedFuture(new PreBidException(String.format("AdUnitConfig not found: %s", adUnitConfigId)));
+    }
+
+    @Override
+    public Future<StoredDataResult> getStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        final List<String> errors = new ArrayList<>();
+        return Future.succeededFuture(StoredDataResult.of(
+                select(storedIdToRequest, requestIds, errors), select(storedIdToImp, impIds, errors), errors));
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        return Future.succeededFuture(StoredResponseDataResult.of(emptyMap(), emptyList()));
+    }
+
+    @Override
+    public Future<StoredDataResult> getAmpStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return getStoredData(requestIds, impIds, timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getVideoStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return getStoredData(requestIds, impIds, timeout);
+    }
+
+    private static Map<String, String> select(Map<String, String> idToData, Set<String> ids, List<String> errors) {
+        final Map<String, String> result = new HashMap<>(ids.size());
+        for (String id : ids) {
+            final String data = idToData.get(id);
+            if (data != null) {
+                result.put(id, data);
+            } else {
+                errors.add(String.format("No stored data found for id: %s", id));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package org.prebid.server.cookie;
+
+import io.vertx.core.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding of uids cookie with many synced bidders to the cookie limited by max size, as done by
+ * /setuid and /cookie_sync endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UidsCookieServiceBenchmark {
+
+    /**
+     * Number of bidder families in the cookie, every family takes about 80 bytes of encoded cookie.
+     */
+    @Param({"20", "50", "100"})
+    public int familiesCount;
+
+    /**
+     * Max cookie size, 0 means no limit.
+     */
+    @Param({"0", "2048"})
+    public int maxCookieSizeBytes;
+
+    private UidsCookieService uidsCookieService;
+    private UidsCookie uidsCookie;
+
+    @Setup
+    public void setUp() {
+        uidsCookieService = new UidsCookieService("trp_optout", "true", null, null, "cookie-domain", 90,
+                maxCookieSizeBytes, BenchmarkFixtures.MAPPER);
+
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        for (int i = 0; i < familiesCount; i++) {
+            uids.put("bidder" + i, new UidWithExpiry("uid-" + i + "-J5VLCWQP-26-CWFT", now.plusMinutes(i * 7 % 60)));
+        }
+        uidsCookie = new UidsCookie(Uids.builder().uids(uids).bday(now).build(), BenchmarkFixtures.MAPPER);
+    }
+
+    @Benchmark
+    public Cookie toCookie() {
+        return uidsCookieService.toCookie(uidsCookie);
+    }
+}
@@ -0,0 +1,115 @@
+package org.prebid.server.currency;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.spring.config.model.ExternalConversionProperties;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Measures conversion of a single bid price with latest currency rates (straight and reverse rate)
+ * and with request currency rates (straight and intermediate rate), and compiling of request currency rates
+ * which is done once per auction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CurrencyConversionServiceBenchmark {
+
+    /**
+     * Conversion kind: "straight" or "reverse" rate from latest currency rates,
+     * "request" straight or "intermediate" rate from request currency rates.
+     */
+    @Param({"straight", "reverse", "request", "intermediate"})
+    public String conversion;
+
+    private Vertx vertx;
+    private CurrencyConversionService currencyConversionService;
+
+    private Map<String, Map<String, BigDecimal>> requestCurrencyRates;
+    private CurrencyRatesMatrix requestRatesMatrix;
+    private BigDecimal price;
+    private String adServerCurrency;
+    private String bidCurrency;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        final HttpClientResponse response = HttpClientResponse.of(200, null,
+                BenchmarkFixtures.resource("currency-rates.json"));
+        currencyConversionService = new CurrencyConversionService(new ExternalConversionProperties(
+                "http://currency.prebid.org/latest.json", 1000L, TimeUnit.DAYS.toMillis(1), vertx,
+                (method, url, headers, body, timeoutMs) -> Future.succeededFuture(response),
+                BenchmarkFixtures.MAPPER));
+        currencyConversionService.initialize();
+
+        requestCurrencyRates = new HashMap<>();
+        requestCurrencyRates.put("USD", singletonMap("AUD", BigDecimal.valueOf(1.4)));
+        requestCurrencyRates.put("EUR", singletonMap("AUD", BigDecimal.valueOf(1.65)));
+
+        price = new BigDecimal("2.35");
+        switch (conversion) {
+            case "straight":
+                adServerCurrency = "USD";
+                bidCurrency = "EUR";
+                break;
+            case "reverse":
+                adServerCurrency = "JPY";
+                bidCurrency = "USD";
+                break;
+            case "request":
+                requestRatesMatrix = CurrencyRatesMatrix.lazyOf(requestCurrencyRates);
+                adServerCurrency = "USD";
+                bidCurrency = "AUD";
+                break;
+            case "intermediate":
+                requestRatesMatrix = CurrencyRatesMatrix.lazyOf(requestCurrencyRates);
+                adServerCurrency = "USD";
+                bidCurrency = "EUR";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown conversion: " + conversion);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public BigDecimal convertCurrency() {
+        return currencyConversionService.convertCurrency(price, requestRatesMatrix, adServerCurrency, bidCurrency);
+    }
+
+    /**
+     * Measures conversion with request rates created for each auction, so pair rate is resolved every time.
+     */
+    @Benchmark
+    public BigDecimal convertCurrencyWithNewRequestRates() {
+        return currencyConversionService.convertCurrency(price, CurrencyRatesMatrix.lazyOf(requestCurrencyRates),
+                adServerCurrency, bidCurrency);
+    }
+}
@@ -0,0 +1,80 @@
+package org.prebid.server.json;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures (de)serialization of OpenRTB models which happens for every incoming request, bidder request and
+ * bidder response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JacksonMapperBenchmark {
+
+    /**
+     * Number of imps in bid request.
+     */
+    @Param({"5", "20", "50"})
+    public int impsCount;
+
+    private JacksonMapper mapper;
+
+    private String bidRequestJson;
+    private Buffer bidRequestBuffer;
+    private BidRequest bidRequest;
+    private String bidJson;
+
+    @Setup
+    public void setUp() {
+        mapper = BenchmarkFixtures.MAPPER;
+
+        bidRequest = BenchmarkFixtures.bidRequest(impsCount);
+        bidRequestJson = mapper.encode(bidRequest);
+        bidRequestBuffer = Buffer.buffer(bidRequestJson);
+        bidJson = mapper.encode(BenchmarkFixtures.bidderResponses().get(0).getSeatBid().getBids().get(0).getBid());
+    }
+
+    @Benchmark
+    public BidRequest decodeBidRequestFromString() {
+        return mapper.decodeValue(bidRequestJson, BidRequest.class);
+    }
+
+    @Benchmark
+    public BidRequest decodeBidRequestFromBuffer() {
+        return mapper.decodeValue(bidRequestBuffer, BidRequest.class);
+    }
+
+    @Benchmark
+    public String encodeBidRequestToString() {
+        return mapper.encode(bidRequest);
+    }
+
+    @Benchmark
+    public Buffer encodeBidRequestToBuffer() {
+        return mapper.encodeToBuffer(bidRequest);
+    }
+
+    @Benchmark
+    public Bid decodeBid() {
+        return mapper.decodeValue(bidJson, Bid.class);
+    }
+}
@@ -0,0 +1,59 @@
+package org.prebid.server.metric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures metrics updates done by auction for every fixture bidder (request type, response time, bids and
+ * privacy metrics), from four threads at once to account contention between event loops.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetricsBenchmark {
+
+    private Metrics metrics;
+    private List<String> bidders;
+
+    @Setup
+    public void setUp() {
+        metrics = BenchmarkFixtures.metrics(BenchmarkFixtures.bidderCatalog());
+        bidders = BenchmarkFixtures.BIDDERS;
+    }
+
+    @Benchmark
+    public void updateAuctionMetrics() {
+        metrics.updateRequestTypeMetric(MetricName.openrtb2web, MetricName.ok);
+        metrics.updateAccountRequestMetrics(BenchmarkFixtures.ACCOUNT_ID, MetricName.openrtb2web);
+        metrics.updateAppAndNoCookieAndImpsRequestedMetrics(false, true, false, 3);
+
+        for (String bidder : bidders) {
+            metrics.updateAdapterRequestTypeAndNoCookieMetrics(bidder, MetricName.openrtb2web, false);
+            metrics.updateAuctionTcfMetrics(bidder, MetricName.openrtb2web, false, false, false, false);
+            metrics.updateAdapterResponseTime(bidder, BenchmarkFixtures.ACCOUNT_ID, 120);
+            metrics.updateAdapterRequestGotbidsMetrics(bidder, BenchmarkFixtures.ACCOUNT_ID);
+            for (int i = 0; i < 3; i++) {
+                metrics.updateAdapterBidMetrics(bidder, BenchmarkFixtures.ACCOUNT_ID, 1500, true, "banner");
+            }
+        }
+
+        metrics.updateRequestTimeMetric(250);
+    }
+}
@@ -0,0 +1,83 @@
+package org.prebid.server.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
+import com.iab.openrtb.request.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BenchmarkFixtures;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link JsonMergeUtil} single-pass merge with generic {@link JsonMergePatch} implementation
+ * (which deep copies whole target on every merge) on stored request merge.
+ * <p>
+ * Cost of both depends on the size of incoming request, so it is measured for requests with different number of imps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonMergeBenchmark {
+
+    private static final String STORED_REQUEST_ID = "stored-request-1001";
+
+    /**
+     * Number of imps in incoming request.
+     */
+    @Param({"5", "20", "50"})
+    public int impsCount;
+
+    private JacksonMapper mapper;
+    private JsonMergeUtil jsonMergeUtil;
+
+    private BidRequest incomingBidRequest;
+    private String storedRequestJson;
+    private JsonNode storedRequestTree;
+
+    @Setup
+    public void setUp() {
+        mapper = BenchmarkFixtures.MAPPER;
+        jsonMergeUtil = new JsonMergeUtil(mapper);
+
+        final BidRequest fixtureBidRequest = mapper.decodeValue(BenchmarkFixtures.resource("bid-request-stored.json"),
+                BidRequest.class);
+        incomingBidRequest = fixtureBidRequest.toBuilder()
+                .imp(BenchmarkFixtures.withImpsCount(fixtureBidRequest.getImp(), impsCount))
+                .build();
+        storedRequestJson = BenchmarkFixtures.resource("stored-request.json");
+        storedRequestTree = BenchmarkFixtures.readTree(storedRequestJson);
+    }
+
+    @Benchmark
+    public BidRequest jsonMergeUtilParsedStoredData() {
+        return jsonMergeUtil.merge(incomingBidRequest, storedRequestTree, STORED_REQUEST_ID, BidRequest.class);
+    }
+
+    @Benchmark
+    public BidRequest jsonMergeUtilRawStoredData() {
+        return jsonMergeUtil.merge(incomingBidRequest, storedRequestJson, STORED_REQUEST_ID, BidRequest.class);
+    }
+
+    @Benchmark
+    public BidRequest jsonMergePatchParsedStoredData() throws IOException, JsonPatchException {
+        final JsonNode originJsonNode = mapper.mapper().valueToTree(incomingBidRequest);
+        final JsonNode merged = JsonMergePatch.fromJson(originJsonNode).apply(storedRequestTree);
+        return mapper.mapper().treeToValue(merged, BidRequest.class);
+    }
+}
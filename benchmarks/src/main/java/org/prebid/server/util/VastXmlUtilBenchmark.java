@@ -0,0 +1,68 @@
+package org.prebid.server.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures insertion of impression tracking URL into large VAST documents, as done by
+ * {@link org.prebid.server.cache.CacheService} for every cached video bid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VastXmlUtilBenchmark {
+
+    private static final String TRACKING_URL =
+            "https://prebid-server.com/event?t=imp&b=bid-id-123&a=account-id&bidder=appnexus&f=b&ts=1600000000000";
+
+    /**
+     * Approximate size of VAST document in kilobytes.
+     */
+    @Param({"1", "16", "64"})
+    public int vastSizeKb;
+
+    /**
+     * Whether the first impression tag is empty.
+     */
+    @Param({"true", "false"})
+    public boolean emptyImpression;
+
+    private String vastXml;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder creatives = new StringBuilder();
+        int i = 0;
+        while (creatives.length() < vastSizeKb * 1024) {
+            creatives.append("<Creative id=\"").append(i).append("\"><Linear><Duration>00:00:30</Duration>")
+                    .append("<TrackingEvents><Tracking event=\"start\"><![CDATA[https://tracker.com/start?c=")
+                    .append(i).append("]]></Tracking></TrackingEvents><MediaFiles><MediaFile type=\"video/mp4\">")
+                    .append("<![CDATA[https://cdn.com/video-").append(i).append(".mp4]]></MediaFile></MediaFiles>")
+                    .append("</Linear></Creative>");
+            i++;
+        }
+
+        vastXml = "<VAST version=\"3.0\"><Ad id=\"1\"><InLine><AdSystem>bidder</AdSystem>"
+                + (emptyImpression ? "<Impression></Impression>" : "<Impression><![CDATA[https://a.com]]></Impression>")
+                + "<Creatives>" + creatives + "</Creatives></InLine></Ad></VAST>";
+    }
+
+    @Benchmark
+    public String insertImpressionTracking() {
+        return VastXmlUtil.insertImpressionTracking(vastXml, () -> TRACKING_URL);
+    }
+}
@@ -0,0 +1,97 @@
+package org.prebid.server.analytics;
+
+import org.prebid.server.metric.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer of analytics events waiting to be passed to reporters in batches.
+ * <p>
+ * Events are accepted from any thread without blocking. When the buffer is full, either the new event or the oldest
+ * buffered one is dropped according to {@link DropPolicy}, so analytics never slows down request processing.
+ */
+public class AnalyticsEventQueue {
+
+    private final BlockingQueue<Object> events;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final DropPolicy dropPolicy;
+    private final Metrics metrics;
+
+    public AnalyticsEventQueue(int capacity, int batchSize, long flushIntervalMs, DropPolicy dropPolicy,
+                               Metrics metrics) {
+        if (capacity < 1 || batchSize < 1 || flushIntervalMs < 1) {
+            throw new IllegalArgumentException("Analytics queue capacity, batch size and flush interval "
+                    + "must be positive");
+        }
+
+        this.events = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.dropPolicy = Objects.requireNonNull(dropPolicy);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Adds event to the queue, dropping an event if queue is full.
+     * <p>
+     * Returns true if there are enough events for a full batch.
+     */
+    public boolean offer(Object event) {
+        if (events.offer(event)) {
+            return isBatchReady();
+        }
+
+        if (dropPolicy == DropPolicy.oldest && events.poll() != null) {
+            metrics.updateAnalyticsEventsDroppedMetric();
+            if (events.offer(event)) {
+                return true;
+            }
+        }
+
+        // queue is full, so batch is ready anyway
+        metrics.updateAnalyticsEventsDroppedMetric();
+        return true;
+    }
+
+    /**
+     * Removes and returns up to batch size of the oldest events.
+     */
+    public List<Object> pollBatch() {
+        metrics.updateAnalyticsQueueDepthMetric(events.size());
+
+        final List<Object> batch = new ArrayList<>(Math.min(batchSize, events.size()));
+        events.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    /**
+     * Returns true if there are enough events for a full batch.
+     */
+    public boolean isBatchReady() {
+        return events.size() >= batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    /**
+     * Records time taken by reporters to process a batch.
+     */
+    public void batchProcessed(long durationNanos) {
+        metrics.updateAnalyticsBatchTimeMetric(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Defines which event is dropped when queue is full.
+     */
+    public enum DropPolicy {
+        newest, oldest
+    }
+}
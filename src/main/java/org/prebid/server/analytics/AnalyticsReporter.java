@@ -11,6 +11,8 @@ public interface AnalyticsReporter {
      * {@link org.prebid.server.analytics.model}.
      * <p>
      * Implementation note: this method is executed on Vert.x event loop thread so it must never use blocking API.
+     * If analytics batching is enabled, it is executed on worker thread, but still must not block for long
+     * as the next batch waits for the current one to be processed.
      */
     <T> void processEvent(T event);
 }
@@ -1,27 +1,106 @@
 package org.prebid.server.analytics;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.vertx.Initializable;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of the Composite design pattern that dispatches event processing to all enabled reporters.
+ * <p>
+ * If {@link AnalyticsEventQueue} is given, events are buffered and passed to reporters in batches on worker thread,
+ * when either a full batch is collected or flush interval passed. Only one batch is processed at a time.
  */
-public class CompositeAnalyticsReporter implements AnalyticsReporter {
+public class CompositeAnalyticsReporter implements AnalyticsReporter, Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompositeAnalyticsReporter.class);
 
     private final List<AnalyticsReporter> delegates;
     private final Vertx vertx;
+    private final AnalyticsEventQueue eventQueue;
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
 
     public CompositeAnalyticsReporter(List<AnalyticsReporter> delegates, Vertx vertx) {
+        this(delegates, vertx, null);
+    }
+
+    public CompositeAnalyticsReporter(List<AnalyticsReporter> delegates, Vertx vertx,
+                                      AnalyticsEventQueue eventQueue) {
         this.delegates = Objects.requireNonNull(delegates);
         this.vertx = Objects.requireNonNull(vertx);
+        this.eventQueue = eventQueue;
+    }
+
+    /**
+     * Sets timer for periodic flushing of buffered events.
+     */
+    @Override
+    public void initialize() {
+        if (eventQueue != null && !delegates.isEmpty()) {
+            vertx.setPeriodic(eventQueue.getFlushIntervalMs(), ignored -> flush());
+        }
     }
 
     @Override
     public <T> void processEvent(T event) {
+        if (delegates.isEmpty()) {
+            return;
+        }
+
+        if (eventQueue == null) {
+            for (final AnalyticsReporter reporter : delegates) {
+                vertx.runOnContext(ignored -> reporter.processEvent(event));
+            }
+        } else if (eventQueue.offer(event)) {
+            flush();
+        }
+    }
+
+    /**
+     * Passes next batch of buffered events to reporters on worker thread, unless previous batch is still processed.
+     */
+    private void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        final List<Object> batch = eventQueue.pollBatch();
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        vertx.executeBlocking(
+                promise -> {
+                    processBatch(batch);
+                    promise.complete();
+                },
+                false,
+                ignored -> {
+                    eventQueue.batchProcessed(System.nanoTime() - startNanos);
+                    flushing.set(false);
+                    if (eventQueue.isBatchReady()) {
+                        flush();
+                    }
+                });
+    }
+
+    private void processBatch(List<Object> batch) {
         for (final AnalyticsReporter reporter : delegates) {
-            vertx.runOnContext(ignored -> reporter.processEvent(event));
+            for (final Object event : batch) {
+                try {
+                    reporter.processEvent(event);
+                } catch (Exception e) {
+                    logger.warn("Analytics reporter {0} failed to process event", e,
+                            reporter.getClass().getSimpleName());
+                }
+            }
         }
     }
 }
@@ -0,0 +1,207 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shortens timeout given to each bidder according to its observed response latency.
+ * <p>
+ * Keeps streaming latency histogram per bidder and limits bidder's timeout by configured percentile of its latency
+ * multiplied by latency factor, so auction doesn't wait for responses which are unlikely to come in time,
+ * e.g. for 99th percentile - waiting longer is expected to bring response in less than 1% of cases.
+ * Bidder's timeout is never made lower than minimal timeout and never exceeds remaining auction timeout.
+ * Until enough samples are recorded for bidder, its timeout is left as is.
+ * <p>
+ * Responses which timed out are censored samples - their real latency is only known to exceed the timeout,
+ * so they are not counted as latencies but as observations above all the buckets. If the percentile falls
+ * among them, it cannot be estimated and bidder's timeout is left as is, so that its real latency can be observed.
+ */
+public class AdaptiveBidderTimeoutResolver {
+
+    private static final int BUCKET_WIDTH_MS = 10;
+    private static final long SAMPLES_PER_ESTIMATE = 16;
+
+    private final double percentile;
+    private final double latencyFactor;
+    private final long minTimeoutMs;
+    private final long minSamples;
+    private final long windowSize;
+    private final int bucketsCount;
+    private final Metrics metrics;
+
+    private final Map<String, LatencyHistogram> bidderToHistogram;
+
+    public AdaptiveBidderTimeoutResolver(double percentile, double latencyFactor, long minTimeoutMs,
+                                         long minSamples, long windowSize, long maxLatencyMs, Metrics metrics) {
+
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100]");
+        }
+        if (latencyFactor < 1) {
+            throw new IllegalArgumentException("Latency factor must be greater than or equal to 1");
+        }
+        if (minSamples <= 0 || windowSize < minSamples * 2) {
+            throw new IllegalArgumentException(
+                    "Min samples must be positive and window size must be at least twice as large");
+        }
+        if (maxLatencyMs < BUCKET_WIDTH_MS) {
+            throw new IllegalArgumentException(String.format("Max latency must be at least %dms", BUCKET_WIDTH_MS));
+        }
+
+        this.percentile = percentile / 100;
+        this.latencyFactor = latencyFactor;
+        this.minTimeoutMs = minTimeoutMs;
+        this.minSamples = minSamples;
+        this.windowSize = windowSize;
+        this.bucketsCount = (int) (maxLatencyMs / BUCKET_WIDTH_MS) + 1;
+        this.metrics = Objects.requireNonNull(metrics);
+
+        bidderToHistogram = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns {@link Timeout} which should be used for request to given bidder.
+     */
+    public Timeout resolve(String bidder, Timeout timeout) {
+        final LatencyHistogram histogram = bidderToHistogram.get(bidder);
+        final long expectedLatency = histogram != null ? histogram.valueAt(percentile, minSamples) : -1;
+        if (expectedLatency < 0) {
+            return timeout;
+        }
+
+        final long remaining = timeout.remaining();
+        final long bidderTimeout = Math.max(minTimeoutMs, (long) Math.ceil(expectedLatency * latencyFactor));
+        final boolean applied = bidderTimeout < remaining;
+
+        metrics.updateAdapterAdaptiveTimeoutMetrics(bidder, applied ? bidderTimeout : remaining, applied);
+
+        return applied ? timeout.minus(remaining - bidderTimeout) : timeout;
+    }
+
+    /**
+     * Records response latency of given bidder.
+     */
+    public void recordLatency(String bidder, long latencyMs) {
+        histogram(bidder).record(latencyMs);
+    }
+
+    /**
+     * Records response of given bidder which didn't come in time, so its latency is unknown.
+     */
+    public void recordTimeout(String bidder) {
+        histogram(bidder).recordCensored();
+    }
+
+    private LatencyHistogram histogram(String bidder) {
+        return bidderToHistogram.computeIfAbsent(bidder, ignored -> new LatencyHistogram(bucketsCount, windowSize));
+    }
+
+    /**
+     * Histogram of latencies with fixed-width buckets.
+     * <p>
+     * When number of recorded samples reaches window size, all the buckets are halved, so older samples gradually
+     * lose their weight and histogram follows latency changes. Concurrent updates are not synchronized with decay,
+     * so a few samples may be lost, which is acceptable for estimation.
+     * <p>
+     * Percentile is computed by scanning the buckets, so computed value is reused until
+     * {@link #SAMPLES_PER_ESTIMATE} more samples are recorded instead of being recomputed for each auction.
+     */
+    private static class LatencyHistogram {
+
+        private final AtomicLongArray buckets;
+        private final AtomicLong censored;
+        private final AtomicLong count;
+        private final AtomicLong updates;
+        private final long windowSize;
+
+        private volatile Estimate estimate;
+
+        LatencyHistogram(int bucketsCount, long windowSize) {
+            this.buckets = new AtomicLongArray(bucketsCount);
+            this.censored = new AtomicLong();
+            this.count = new AtomicLong();
+            this.updates = new AtomicLong();
+            this.windowSize = windowSize;
+        }
+
+        void record(long latencyMs) {
+            final int index = (int) Math.min(Math.max(latencyMs, 0) / BUCKET_WIDTH_MS, buckets.length() - 1);
+            buckets.incrementAndGet(index);
+            onRecorded();
+        }
+
+        void recordCensored() {
+            censored.incrementAndGet();
+            onRecorded();
+        }
+
+        private void onRecorded() {
+            updates.incrementAndGet();
+            if (count.incrementAndGet() >= windowSize) {
+                decay();
+            }
+        }
+
+        private synchronized void decay() {
+            if (count.get() < windowSize) {
+                return;
+            }
+
+            long total = censored.updateAndGet(value -> value / 2);
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.updateAndGet(i, value -> value / 2);
+            }
+            count.set(total);
+        }
+
+        /**
+         * Returns upper bound of the bucket containing value at given percentile (in range (0, 1])
+         * or -1 if less than min samples recorded or value at percentile is among censored samples.
+         */
+        long valueAt(double percentile, long minSamples) {
+            final long currentUpdates = updates.get();
+            final Estimate currentEstimate = estimate;
+            if (currentEstimate != null && currentUpdates - currentEstimate.updates < SAMPLES_PER_ESTIMATE) {
+                return currentEstimate.value;
+            }
+
+            final long value = computeValueAt(percentile, minSamples);
+            estimate = new Estimate(currentUpdates, value);
+            return value;
+        }
+
+        private long computeValueAt(double percentile, long minSamples) {
+            final long total = count.get();
+            if (total < minSamples) {
+                return -1;
+            }
+
+            final long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return (long) (i + 1) * BUCKET_WIDTH_MS;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static class Estimate {
+
+        private final long updates;
+        private final long value;
+
+        Estimate(long updates, long value) {
+            this.updates = updates;
+            this.value = value;
+        }
+    }
+}
@@ -65,14 +65,17 @@ public class AmpRequestFactory {
     private final StoredRequestProcessor storedRequestProcessor;
     private final AuctionRequestFactory auctionRequestFactory;
     private final TimeoutResolver timeoutResolver;
+    private final TcfDefinerService tcfDefinerService;
     private final JacksonMapper mapper;
 
     public AmpRequestFactory(StoredRequestProcessor storedRequestProcessor, AuctionRequestFactory auctionRequestFactory,
-                             TimeoutResolver timeoutResolver, JacksonMapper mapper) {
+                             TimeoutResolver timeoutResolver, TcfDefinerService tcfDefinerService,
+                             JacksonMapper mapper) {
 
         this.storedRequestProcessor = Objects.requireNonNull(storedRequestProcessor);
         this.auctionRequestFactory = Objects.requireNonNull(auctionRequestFactory);
         this.timeoutResolver = Objects.requireNonNull(timeoutResolver);
+        this.tcfDefinerService = Objects.requireNonNull(tcfDefinerService);
         this.mapper = Objects.requireNonNull(mapper);
     }
 
@@ -210,7 +213,7 @@ public class AmpRequestFactory {
         String gdprConsent = null;
         String ccpaConsent = null;
         if (StringUtils.isNotBlank(consentString)) {
-            gdprConsent = TcfDefinerService.isGdprConsentValid(consentString) ? consentString : null;
+            gdprConsent = tcfDefinerService.isGdprConsentValid(consentString) ? consentString : null;
             ccpaConsent = Ccpa.isValid(consentString) ? consentString : null;
 
             if (StringUtils.isAllBlank(gdprConsent, ccpaConsent)) {
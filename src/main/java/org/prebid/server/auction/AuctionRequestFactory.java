@@ -33,6 +33,7 @@ import org.prebid.server.identity.IdGenerator;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.ExtMediaTypePriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtPublisher;
@@ -65,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -79,6 +81,16 @@ public class AuctionRequestFactory {
     private static final ConditionalLogger EMPTY_ACCOUNT_LOGGER = new ConditionalLogger("empty_account", logger);
     private static final ConditionalLogger UNKNOWN_ACCOUNT_LOGGER = new ConditionalLogger("unknown_account", logger);
 
+    /**
+     * {@link RoutingContext} key of {@link BidRequest} decoded while request body was being received.
+     */
+    public static final String DECODED_BID_REQUEST_KEY = "decodedBidRequest";
+
+    /**
+     * {@link RoutingContext} key of error message in case request body was rejected while it was being received.
+     */
+    public static final String BODY_DECODE_ERROR_KEY = "bodyDecodeError";
+
     private final long maxRequestSize;
     private final boolean enforceValidAccount;
     private final boolean shouldCacheOnlyWinningBids;
@@ -95,6 +107,7 @@ public class AuctionRequestFactory {
     private final TimeoutFactory timeoutFactory;
     private final ApplicationSettings applicationSettings;
     private final IdGenerator idGenerator;
+    private final Metrics metrics;
     private final JacksonMapper mapper;
 
     public AuctionRequestFactory(long maxRequestSize,
@@ -113,6 +126,7 @@ public class AuctionRequestFactory {
                                  TimeoutFactory timeoutFactory,
                                  ApplicationSettings applicationSettings,
                                  IdGenerator idGenerator,
+                                 Metrics metrics,
                                  JacksonMapper mapper) {
 
         this.maxRequestSize = maxRequestSize;
@@ -131,6 +145,7 @@ public class AuctionRequestFactory {
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.applicationSettings = Objects.requireNonNull(applicationSettings);
         this.idGenerator = Objects.requireNonNull(idGenerator);
+        this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
     }
 
@@ -190,9 +205,22 @@ public class AuctionRequestFactory {
     /**
      * Parses request body to {@link BidRequest}.
      * <p>
+     * Uses {@link BidRequest} or error stored in {@link RoutingContext} if request body was already decoded
+     * while it was being received.
+     * <p>
      * Throws {@link InvalidRequestException} if body is empty, exceeds max request size or couldn't be deserialized.
      */
     private BidRequest parseRequest(RoutingContext context) {
+        final String bodyDecodeError = context.get(BODY_DECODE_ERROR_KEY);
+        if (bodyDecodeError != null) {
+            throw new InvalidRequestException(bodyDecodeError);
+        }
+
+        final BidRequest decodedBidRequest = context.get(DECODED_BID_REQUEST_KEY);
+        if (decodedBidRequest != null) {
+            return decodedBidRequest;
+        }
+
         final Buffer body = context.getBody();
         if (body == null) {
             throw new InvalidRequestException("Incoming request has no body");
@@ -203,10 +231,13 @@ public class AuctionRequestFactory {
                     String.format("Request size exceeded max size of %d bytes.", maxRequestSize));
         }
 
+        final long startTime = System.nanoTime();
         try {
             return mapper.decodeValue(body, BidRequest.class);
         } catch (DecodeException e) {
             throw new InvalidRequestException(String.format("Error decoding bidRequest: %s", e.getMessage()));
+        } finally {
+            metrics.updateAuctionRequestParseTimeMetric(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
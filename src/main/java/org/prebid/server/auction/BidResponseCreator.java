@@ -15,6 +15,7 @@ import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.Response;
 import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
@@ -68,7 +69,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +123,19 @@ public class BidResponseCreator {
                                boolean eventsAllowedByRequest, long auctionTimestamp, boolean debugEnabled,
                                Timeout timeout) {
 
+        return create(bidderResponses, auctionContext, targeting, cacheInfo, account, eventsAllowedByRequest,
+                auctionTimestamp, debugEnabled, timeout, null);
+    }
+
+    /**
+     * Creates an OpenRTB {@link BidResponse} from the bids supplied by the bidder,
+     * taking into account bids already sent to the cache by {@link StreamingBidCache} if given.
+     */
+    Future<BidResponse> create(List<BidderResponse> bidderResponses, AuctionContext auctionContext,
+                               ExtRequestTargeting targeting, BidRequestCacheInfo cacheInfo, Account account,
+                               boolean eventsAllowedByRequest, long auctionTimestamp, boolean debugEnabled,
+                               Timeout timeout, StreamingBidCache streamingBidCache) {
+
         final Future<BidResponse> result;
         final BidRequest bidRequest = auctionContext.getBidRequest();
 
@@ -146,10 +160,11 @@ public class BidResponseCreator {
 
             final Set<Bid> bidsToCache = cacheInfo.isShouldCacheWinningBidsOnly()
                     ? winningBids
-                    : bidderResponses.stream().flatMap(BidResponseCreator::getBids).collect(Collectors.toSet());
+                    : bidderResponses.stream().flatMap(BidResponseCreator::getBids)
+                    .collect(Collectors.toCollection(BidResponseCreator::newIdentitySet));
 
             result = toBidsWithCacheIds(bidderResponses, bidsToCache, bidRequest.getImp(), cacheInfo, account, timeout,
-                    auctionTimestamp)
+                    auctionTimestamp, streamingBidCache)
                     .compose(cacheResult -> videoStoredDataResult(bidRequest.getImp(), timeout)
                             .map(videoStoredDataResult -> toBidResponse(bidderResponses, auctionContext, targeting,
                                     winningBids, winningBidsByBidder, cacheInfo, cacheResult, videoStoredDataResult,
@@ -189,10 +204,20 @@ public class BidResponseCreator {
     }
 
     /**
-     * Returns new {@link HashSet} in case of existing keywordsCreator or empty collection if null.
+     * Returns new identity-based {@link Set} in case of existing keywordsCreator or empty collection if null.
      */
     private static Set<Bid> newOrEmptySet(ExtRequestTargeting targeting) {
-        return targeting != null ? new HashSet<>() : Collections.emptySet();
+        return targeting != null ? newIdentitySet() : Collections.emptySet();
+    }
+
+    /**
+     * Returns new {@link Set} comparing {@link Bid}s by reference.
+     * <p>
+     * {@link Bid} is mutable and its equals/hashCode go through all fields including markup and extension,
+     * so bids are tracked by identity during the auction.
+     */
+    private static Set<Bid> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     /**
@@ -271,53 +296,144 @@ public class BidResponseCreator {
                 .map(BidderBid::getBid);
     }
 
+    /**
+     * Sends bids of the given {@link BidderResponse} to the cache while auction is still in progress,
+     * see {@link StreamingBidCache}.
+     * <p>
+     * Returns the given {@link BidderResponse} as is.
+     */
+    BidderResponse cacheBidsAhead(BidderResponse bidderResponse, StreamingBidCache streamingBidCache,
+                                  List<Imp> imps, BidRequestCacheInfo cacheInfo, Account account, Timeout timeout,
+                                  Long auctionTimestamp) {
+        final List<Bid> bids = streamingBidCache.submit(getBids(bidderResponse).collect(Collectors.toList()));
+        if (!bids.isEmpty()) {
+            streamingBidCache.addResult(cacheBids(Collections.singletonList(bidderResponse), bids, imps, cacheInfo,
+                    account, timeout, auctionTimestamp));
+        }
+        return bidderResponse;
+    }
+
     /**
      * Corresponds cacheId (or null if not present) to each {@link Bid}.
      */
     private Future<CacheServiceResult> toBidsWithCacheIds(List<BidderResponse> bidderResponses, Set<Bid> bidsToCache,
                                                           List<Imp> imps, BidRequestCacheInfo cacheInfo,
-                                                          Account account, Timeout timeout, Long auctionTimestamp) {
+                                                          Account account, Timeout timeout, Long auctionTimestamp,
+                                                          StreamingBidCache streamingBidCache) {
         final Future<CacheServiceResult> result;
 
         if (!cacheInfo.isDoCaching()) {
             result = Future.succeededFuture(CacheServiceResult.of(null, null, toMapBidsWithEmptyCacheIds(bidsToCache)));
+        } else if (streamingBidCache != null) {
+            result = toStreamedBidsWithCacheIds(bidderResponses, bidsToCache, imps, cacheInfo, account, timeout,
+                    auctionTimestamp, streamingBidCache);
         } else {
             // do not submit bids with zero price to prebid cache
             final List<Bid> bidsWithNonZeroPrice = bidsToCache.stream()
                     .filter(bid -> bid.getPrice().compareTo(BigDecimal.ZERO) > 0)
                     .collect(Collectors.toList());
 
-            final boolean shouldCacheVideoBids = cacheInfo.isShouldCacheVideoBids();
-            final boolean eventsEnabled = Objects.equals(account.getEventsEnabled(), true);
-
-            final Map<String, List<String>> bidderToVideoBidIdsToModify = shouldCacheVideoBids && eventsEnabled
-                    ? getBidderAndVideoBidIdsToModify(bidderResponses, imps)
-                    : Collections.emptyMap();
-            final Map<String, List<String>> bidderToBidIds = bidderResponses.stream()
-                    .collect(Collectors.toMap(BidderResponse::getBidder, bidderResponse -> getBids(bidderResponse)
-                            .map(Bid::getId)
-                            .collect(Collectors.toList())));
-
-            final CacheContext cacheContext = CacheContext.builder()
-                    .cacheBidsTtl(cacheInfo.getCacheBidsTtl())
-                    .cacheVideoBidsTtl(cacheInfo.getCacheVideoBidsTtl())
-                    .shouldCacheBids(cacheInfo.isShouldCacheBids())
-                    .shouldCacheVideoBids(shouldCacheVideoBids)
-                    .bidderToVideoBidIdsToModify(bidderToVideoBidIdsToModify)
-                    .bidderToBidIds(bidderToBidIds)
-                    .build();
-
-            final EventsContext eventsContext = EventsContext.builder()
-                    .auctionTimestamp(auctionTimestamp)
-                    .build();
-
-            result = cacheService.cacheBidsOpenrtb(bidsWithNonZeroPrice, imps, cacheContext, account, eventsContext,
-                    timeout)
+            result = cacheBids(bidderResponses, bidsWithNonZeroPrice, imps, cacheInfo, account, timeout,
+                    auctionTimestamp)
                     .map(cacheResult -> addNotCachedBids(cacheResult, bidsToCache));
         }
         return result;
     }
 
+    /**
+     * Waits for bids sent to the cache by {@link StreamingBidCache} and caches the rest of bids (e.g. from stored
+     * responses). Cache ids of bids not selected for caching at the end of auction are dropped.
+     */
+    private Future<CacheServiceResult> toStreamedBidsWithCacheIds(
+            List<BidderResponse> bidderResponses, Set<Bid> bidsToCache, List<Imp> imps,
+            BidRequestCacheInfo cacheInfo, Account account, Timeout timeout, Long auctionTimestamp,
+            StreamingBidCache streamingBidCache) {
+
+        final List<Bid> notSubmittedBids = bidsToCache.stream()
+                .filter(bid -> bid.getPrice().compareTo(BigDecimal.ZERO) > 0)
+                .filter(bid -> !streamingBidCache.isSubmitted(bid))
+                .collect(Collectors.toList());
+
+        final List<Future> cacheResults = new ArrayList<>(streamingBidCache.getResults());
+        if (!notSubmittedBids.isEmpty()) {
+            cacheResults.add(cacheBids(bidderResponses, notSubmittedBids, imps, cacheInfo, account, timeout,
+                    auctionTimestamp));
+        }
+
+        return CompositeFuture.join(cacheResults)
+                .map(compositeFuture -> mergeCacheResults(compositeFuture.list(), bidsToCache))
+                .map(cacheResult -> addNotCachedBids(cacheResult, bidsToCache));
+    }
+
+    /**
+     * Merges results of a few cache requests leaving cache ids of the given bids only.
+     * <p>
+     * The first error is taken and the slowest cache call is reported, since it defines the time auction waited for.
+     */
+    private static CacheServiceResult mergeCacheResults(List<CacheServiceResult> cacheResults, Set<Bid> bidsToCache) {
+        CacheHttpCall httpCall = null;
+        Throwable error = null;
+        final Map<Bid, CacheIdInfo> bidToCacheIdInfo = new IdentityHashMap<>();
+
+        for (CacheServiceResult cacheResult : cacheResults) {
+            final CacheHttpCall resultHttpCall = cacheResult.getHttpCall();
+            if (httpCall == null || (resultHttpCall != null
+                    && responseTimeOrZero(resultHttpCall) > responseTimeOrZero(httpCall))) {
+                httpCall = resultHttpCall;
+            }
+
+            if (error == null) {
+                error = cacheResult.getError();
+            }
+
+            for (Map.Entry<Bid, CacheIdInfo> bidAndCacheIdInfo : cacheResult.getCacheBids().entrySet()) {
+                if (bidsToCache.contains(bidAndCacheIdInfo.getKey())) {
+                    bidToCacheIdInfo.put(bidAndCacheIdInfo.getKey(), bidAndCacheIdInfo.getValue());
+                }
+            }
+        }
+
+        return CacheServiceResult.of(httpCall, error, bidToCacheIdInfo);
+    }
+
+    private static int responseTimeOrZero(CacheHttpCall httpCall) {
+        final Integer responseTimeMillis = httpCall.getResponseTimeMillis();
+        return responseTimeMillis != null ? responseTimeMillis : 0;
+    }
+
+    /**
+     * Sends given bids to the cache.
+     */
+    private Future<CacheServiceResult> cacheBids(List<BidderResponse> bidderResponses, List<Bid> bids,
+                                                 List<Imp> imps, BidRequestCacheInfo cacheInfo, Account account,
+                                                 Timeout timeout, Long auctionTimestamp) {
+        final boolean shouldCacheVideoBids = cacheInfo.isShouldCacheVideoBids();
+        final boolean eventsEnabled = Objects.equals(account.getEventsEnabled(), true);
+
+        final Map<String, List<String>> bidderToVideoBidIdsToModify = shouldCacheVideoBids && eventsEnabled
+                ? getBidderAndVideoBidIdsToModify(bidderResponses, imps)
+                : Collections.emptyMap();
+        final Map<String, List<String>> bidderToBidIds = bidderResponses.stream()
+                .collect(Collectors.toMap(BidderResponse::getBidder, bidderResponse -> getBids(bidderResponse)
+                        .map(Bid::getId)
+                        .collect(Collectors.toList())));
+
+        final CacheContext cacheContext = CacheContext.builder()
+                .cacheBidsTtl(cacheInfo.getCacheBidsTtl())
+                .cacheVideoBidsTtl(cacheInfo.getCacheVideoBidsTtl())
+                .shouldCacheBids(cacheInfo.isShouldCacheBids())
+                .shouldCacheVideoBids(shouldCacheVideoBids)
+                .bidderToVideoBidIdsToModify(bidderToVideoBidIdsToModify)
+                .bidderToBidIds(bidderToBidIds)
+                .build();
+
+        final EventsContext eventsContext = EventsContext.builder()
+                .auctionTimestamp(auctionTimestamp)
+                .build();
+
+        return cacheService.cacheBidsOpenrtb(bids, imps, cacheContext, account, eventsContext, timeout);
+    }
+
     private Map<String, List<String>> getBidderAndVideoBidIdsToModify(List<BidderResponse> bidderResponses,
                                                                       List<Imp> imps) {
         return bidderResponses.stream()
@@ -339,8 +455,11 @@ public class BidResponseCreator {
      * Creates a map with {@link Bid} as a key and null as a value.
      */
     private static Map<Bid, CacheIdInfo> toMapBidsWithEmptyCacheIds(Set<Bid> bids) {
-        return bids.stream()
-                .collect(Collectors.toMap(Function.identity(), ignored -> CacheIdInfo.empty()));
+        final Map<Bid, CacheIdInfo> result = new IdentityHashMap<>(bids.size());
+        for (Bid bid : bids) {
+            result.put(bid, CacheIdInfo.empty());
+        }
+        return result;
     }
 
     /**
@@ -350,7 +469,7 @@ public class BidResponseCreator {
         final Map<Bid, CacheIdInfo> bidToCacheIdInfo = cacheResult.getCacheBids();
 
         if (bids.size() > bidToCacheIdInfo.size()) {
-            final Map<Bid, CacheIdInfo> updatedBidToCacheIdInfo = new HashMap<>(bidToCacheIdInfo);
+            final Map<Bid, CacheIdInfo> updatedBidToCacheIdInfo = new IdentityHashMap<>(bidToCacheIdInfo);
             for (Bid bid : bids) {
                 if (!updatedBidToCacheIdInfo.containsKey(bid)) {
                     updatedBidToCacheIdInfo.put(bid, CacheIdInfo.empty());
@@ -542,12 +661,22 @@ public class BidResponseCreator {
             boolean eventsAllowedByRequest, long auctionTimestamp, boolean debugEnabled) {
         final BidRequest bidRequest = auctionContext.getBidRequest();
 
+        // targeting keywords creators are the same for all bids of the auction
+        final boolean isApp = bidRequest.getApp() != null;
+        final TargetingKeywordsCreator keywordsCreator = targeting != null
+                ? keywordsCreator(targeting, isApp, account)
+                : null;
+        final Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType = targeting != null
+                ? keywordsCreatorByBidType(targeting, isApp, account)
+                : Collections.emptyMap();
+
         final Map<String, List<ExtBidderError>> bidErrors = new HashMap<>();
         final List<SeatBid> seatBids = bidderResponses.stream()
                 .filter(bidderResponse -> !bidderResponse.getSeatBid().getBids().isEmpty())
-                .map(bidderResponse -> toSeatBid(bidderResponse, targeting, bidRequest, winningBids,
-                        winningBidsByBidder, cacheInfo, cacheResult.getCacheBids(), videoStoredDataResult, account,
-                        eventsAllowedByRequest, bidErrors, auctionTimestamp))
+                .map(bidderResponse -> toSeatBid(bidderResponse, targeting, keywordsCreator,
+                        keywordsCreatorByBidType, bidRequest, winningBids, winningBidsByBidder, cacheInfo,
+                        cacheResult.getCacheBids(), videoStoredDataResult, account, eventsAllowedByRequest, bidErrors,
+                        auctionTimestamp))
                 .collect(Collectors.toList());
 
         final ExtBidResponse extBidResponse = toExtBidResponse(bidderResponses, auctionContext, cacheResult,
@@ -602,7 +731,9 @@ public class BidResponseCreator {
      * Creates an OpenRTB {@link SeatBid} for a bidder. It will contain all the bids supplied by a bidder and a "bidder"
      * extension field populated.
      */
-    private SeatBid toSeatBid(BidderResponse bidderResponse, ExtRequestTargeting targeting, BidRequest bidRequest,
+    private SeatBid toSeatBid(BidderResponse bidderResponse, ExtRequestTargeting targeting,
+                              TargetingKeywordsCreator keywordsCreator,
+                              Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType, BidRequest bidRequest,
                               Set<Bid> winningBids, Set<Bid> winningBidsByBidder, BidRequestCacheInfo cacheInfo,
                               Map<Bid, CacheIdInfo> cachedBids, VideoStoredDataResult videoStoredDataResult,
                               Account account, boolean eventsAllowedByRequest,
@@ -611,9 +742,10 @@ public class BidResponseCreator {
         final String bidder = bidderResponse.getBidder();
 
         final List<Bid> bids = bidderResponse.getSeatBid().getBids().stream()
-                .map(bidderBid -> toBid(bidderBid, bidder, targeting, bidRequest, winningBids, winningBidsByBidder,
-                        cacheInfo, cachedBids, videoStoredDataResult.getImpIdToStoredVideo(), account,
-                        eventsAllowedByRequest, auctionTimestamp, bidErrors))
+                .map(bidderBid -> toBid(bidderBid, bidder, targeting, keywordsCreator, keywordsCreatorByBidType,
+                        bidRequest, winningBids, winningBidsByBidder, cacheInfo, cachedBids,
+                        videoStoredDataResult.getImpIdToStoredVideo(), account, eventsAllowedByRequest,
+                        auctionTimestamp, bidErrors))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
@@ -627,7 +759,9 @@ public class BidResponseCreator {
     /**
      * Returns an OpenRTB {@link Bid} with "prebid" and "bidder" extension fields populated.
      */
-    private Bid toBid(BidderBid bidderBid, String bidder, ExtRequestTargeting targeting, BidRequest bidRequest,
+    private Bid toBid(BidderBid bidderBid, String bidder, ExtRequestTargeting targeting,
+                      TargetingKeywordsCreator keywordsCreator,
+                      Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType, BidRequest bidRequest,
                       Set<Bid> winningBids, Set<Bid> winningBidsByBidder, BidRequestCacheInfo cacheInfo,
                       Map<Bid, CacheIdInfo> bidsWithCacheIds, Map<String, Video> impIdToStoredVideo, Account account,
                       boolean eventsAllowedByRequest, long auctionTimestamp,
@@ -663,9 +797,6 @@ public class BidResponseCreator {
                 bid.setAdm(null);
             }
 
-            final TargetingKeywordsCreator keywordsCreator = keywordsCreator(targeting, isApp, account);
-            final Map<BidType, TargetingKeywordsCreator> keywordsCreatorByBidType =
-                    keywordsCreatorByBidType(targeting, isApp, account);
             final boolean isWinningBid = winningBids.contains(bid);
             final String winUrl = eventsEnabled && bidType != BidType.video
                     ? HttpUtil.encodeUrl(eventsService.winUrlTargeting(bidder, account.getId(), auctionTimestamp))
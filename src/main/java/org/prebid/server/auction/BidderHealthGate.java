@@ -0,0 +1,183 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether bidder should participate in auction depending on its recent health.
+ * <p>
+ * For each bidder keeps:
+ * <p>
+ * - sliding time window of request outcomes. When share of failed (errored or timed out) requests within window
+ * reaches threshold, bidder is considered unhealthy and only sampled probe requests are let through
+ * until failures leave the window.
+ * <p>
+ * - concurrency limit adjusted by AIMD algorithm: increased by one on successful request (if at least half of limit
+ * is in use) and multiplied by backoff ratio on failed one, but at most once per window bucket.
+ * Requests above the limit are shed.
+ * <p>
+ * Health is checked by {@link #isHealthy(String)} before bidder request is made, so unhealthy bidders don't cost
+ * request preparation, while concurrency slot is acquired by {@link #tryAcquire(String)} right before the request
+ * is sent. Skipped bidders are reported only with metrics.
+ */
+public class BidderHealthGate {
+
+    private static final int WINDOW_BUCKETS = 10;
+
+    private final long bucketDurationMs;
+    private final double errorRateThreshold;
+    private final long minRequests;
+    private final double probeSampleRate;
+    private final int initialConcurrencyLimit;
+    private final int minConcurrencyLimit;
+    private final int maxConcurrencyLimit;
+    private final double backoffRatio;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Map<String, BidderHealth> bidderToHealth;
+
+    public BidderHealthGate(long windowMs, double errorRateThreshold, long minRequests, double probeSampleRate,
+                            int initialConcurrencyLimit, int minConcurrencyLimit, int maxConcurrencyLimit,
+                            double backoffRatio, Metrics metrics, Clock clock) {
+
+        if (windowMs < WINDOW_BUCKETS) {
+            throw new IllegalArgumentException(String.format("Window must be at least %dms", WINDOW_BUCKETS));
+        }
+        if (errorRateThreshold <= 0 || errorRateThreshold > 1) {
+            throw new IllegalArgumentException("Error rate threshold must be in range (0, 1]");
+        }
+        if (probeSampleRate < 0 || probeSampleRate > 1) {
+            throw new IllegalArgumentException("Probe sample rate must be in range [0, 1]");
+        }
+        if (minConcurrencyLimit < 1 || initialConcurrencyLimit < minConcurrencyLimit
+                || maxConcurrencyLimit < initialConcurrencyLimit) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits must satisfy 1 <= min limit <= initial limit <= max limit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in range (0, 1)");
+        }
+
+        this.bucketDurationMs = windowMs / WINDOW_BUCKETS;
+        this.errorRateThreshold = errorRateThreshold;
+        this.minRequests = minRequests;
+        this.probeSampleRate = probeSampleRate;
+        this.initialConcurrencyLimit = initialConcurrencyLimit;
+        this.minConcurrencyLimit = minConcurrencyLimit;
+        this.maxConcurrencyLimit = maxConcurrencyLimit;
+        this.backoffRatio = backoffRatio;
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        bidderToHealth = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns true if given bidder should take part in auction, false if it should be skipped because of
+     * its recent failures. Unhealthy bidder is still let through with probe sample rate.
+     */
+    public boolean isHealthy(String bidder) {
+        final BidderHealth health = bidderToHealth.get(bidder);
+        if (health == null || health.isHealthy(currentBucket())
+                || ThreadLocalRandom.current().nextDouble() < probeSampleRate) {
+            return true;
+        }
+
+        metrics.updateAdapterRequestSkippedMetric(bidder, true);
+        return false;
+    }
+
+    /**
+     * Returns true and counts request to given bidder as started if it is allowed by concurrency limit,
+     * false if it should be skipped.
+     * <p>
+     * Decision and start of request are made atomically, so concurrent auctions cannot exceed concurrency limit.
+     */
+    public boolean tryAcquire(String bidder) {
+        if (bidderToHealth.computeIfAbsent(bidder, ignored -> new BidderHealth()).tryAcquire()) {
+            return true;
+        }
+
+        metrics.updateAdapterRequestSkippedMetric(bidder, false);
+        return false;
+    }
+
+    /**
+     * Should be called when request to given bidder previously allowed by {@link #tryAcquire(String)} is completed.
+     */
+    public void onRequestCompleted(String bidder, boolean successful) {
+        final BidderHealth health = bidderToHealth.get(bidder);
+        if (health != null) {
+            health.requestCompleted(currentBucket(), successful);
+        }
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketDurationMs;
+    }
+
+    private class BidderHealth {
+
+        private final long[] bucketIds = new long[WINDOW_BUCKETS];
+        private final long[] requests = new long[WINDOW_BUCKETS];
+        private final long[] failures = new long[WINDOW_BUCKETS];
+
+        private int inFlight;
+        private double concurrencyLimit = initialConcurrencyLimit;
+        private long lastDecreaseBucket = -1;
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) concurrencyLimit) {
+                return false;
+            }
+
+            inFlight++;
+            return true;
+        }
+
+        synchronized boolean isHealthy(long currentBucket) {
+            long totalRequests = 0;
+            long totalFailures = 0;
+            for (int i = 0; i < WINDOW_BUCKETS; i++) {
+                if (currentBucket - bucketIds[i] < WINDOW_BUCKETS) {
+                    totalRequests += requests[i];
+                    totalFailures += failures[i];
+                }
+            }
+            return totalRequests < minRequests || totalFailures < totalRequests * errorRateThreshold;
+        }
+
+        synchronized void requestCompleted(long currentBucket, boolean successful) {
+            final int index = (int) (currentBucket % WINDOW_BUCKETS);
+            if (bucketIds[index] != currentBucket) {
+                bucketIds[index] = currentBucket;
+                requests[index] = 0;
+                failures[index] = 0;
+            }
+            requests[index]++;
+
+            if (successful) {
+                // grow limit only when it is actually used, otherwise it would increase infinitely on low traffic
+                if (inFlight * 2 >= concurrencyLimit) {
+                    concurrencyLimit = Math.min(maxConcurrencyLimit, concurrencyLimit + 1);
+                }
+            } else {
+                failures[index]++;
+                // failures of requests sent before previous decrease are caused by the same overload,
+                // so limit is decreased at most once per bucket
+                if (lastDecreaseBucket != currentBucket) {
+                    lastDecreaseBucket = currentBucket;
+                    concurrencyLimit = Math.max(minConcurrencyLimit, concurrencyLimit * backoffRatio);
+                }
+            }
+
+            inFlight = Math.max(inFlight - 1, 0);
+        }
+    }
+}
@@ -23,12 +23,27 @@ public class CpmRange {
      * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format
      */
     public static String fromCpm(BigDecimal cpm, PriceGranularity priceGranularity) {
+        final PriceBucketTable bucketTable = priceGranularity.getBucketTable();
+        if (bucketTable != null) {
+            return fromCpm(cpm, priceGranularity.getRangesMax(), bucketTable);
+        }
+
         final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity);
         return value != null
                 ? format(value, ObjectUtils.defaultIfNull(priceGranularity.getPrecision(), 2))
                 : StringUtils.EMPTY;
     }
 
+    /**
+     * Rounding price by compiled ranges of {@link PriceGranularity}.
+     */
+    private static String fromCpm(BigDecimal cpm, BigDecimal rangesMax, PriceBucketTable bucketTable) {
+        if (cpm.compareTo(rangesMax) > 0) {
+            return bucketTable.formattedRangesMax();
+        }
+        return cpm.signum() >= 0 ? bucketTable.format(cpm) : StringUtils.EMPTY;
+    }
+
     /**
      * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in {@link BigDecimal}
      * format
@@ -17,6 +17,8 @@ import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
+import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -35,12 +37,12 @@ import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.currency.CurrencyRatesMatrix;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
-import org.prebid.server.proto.openrtb.ext.ExtPrebid;
 import org.prebid.server.proto.openrtb.ext.ExtPrebidBidders;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestCurrency;
@@ -78,12 +80,14 @@ public class ExchangeService {
 
     private static final String PREBID_EXT = "prebid";
     private static final String CONTEXT_EXT = "context";
+    private static final String BIDDER_EXT = "bidder";
 
     private static final String GENERIC_SCHAIN_KEY = "*";
 
     private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
 
     private final long expectedCacheTime;
+    private final boolean cacheStreamingEnabled;
     private final BidderCatalog bidderCatalog;
     private final StoredResponseProcessor storedResponseProcessor;
     private final PrivacyEnforcementService privacyEnforcementService;
@@ -95,8 +99,11 @@ public class ExchangeService {
     private final Metrics metrics;
     private final Clock clock;
     private final JacksonMapper mapper;
+    private final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
+    private final BidderHealthGate bidderHealthGate;
 
     public ExchangeService(long expectedCacheTime,
+                           boolean cacheStreamingEnabled,
                            BidderCatalog bidderCatalog,
                            StoredResponseProcessor storedResponseProcessor,
                            PrivacyEnforcementService privacyEnforcementService,
@@ -107,12 +114,15 @@ public class ExchangeService {
                            BidResponsePostProcessor bidResponsePostProcessor,
                            Metrics metrics,
                            Clock clock,
-                           JacksonMapper mapper) {
+                           JacksonMapper mapper,
+                           AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
+                           BidderHealthGate bidderHealthGate) {
 
         if (expectedCacheTime < 0) {
             throw new IllegalArgumentException("Expected cache time should be positive");
         }
         this.expectedCacheTime = expectedCacheTime;
+        this.cacheStreamingEnabled = cacheStreamingEnabled;
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.storedResponseProcessor = Objects.requireNonNull(storedResponseProcessor);
         this.privacyEnforcementService = Objects.requireNonNull(privacyEnforcementService);
@@ -124,6 +134,8 @@ public class ExchangeService {
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
         this.mapper = Objects.requireNonNull(mapper);
+        this.adaptiveBidderTimeoutResolver = adaptiveBidderTimeoutResolver;
+        this.bidderHealthGate = bidderHealthGate;
     }
 
     /**
@@ -147,6 +159,10 @@ public class ExchangeService {
         final ExtRequestTargeting targeting = targeting(requestExt);
         final BidRequestCacheInfo cacheInfo = bidRequestCacheInfo(targeting, requestExt);
         final boolean debugEnabled = isDebugEnabled(bidRequest);
+        final Map<String, BigDecimal> bidAdjustments = bidAdjustments(requestExt);
+        final CurrencyRatesMatrix currencyRates = currencyRates(requestExt);
+        final StreamingBidCache streamingBidCache = streamingBidCache(targeting, cacheInfo);
+        final long auctionTimestamp = auctionTimestamp(requestExt);
 
         return storedResponseProcessor.getStoredResponseResult(imps, aliases, timeout)
                 .map(storedResponseResult -> populateStoredResponse(storedResponseResult, storedResponse))
@@ -157,18 +173,23 @@ public class ExchangeService {
                 .compose(bidderRequests -> CompositeFuture.join(bidderRequests.stream()
                         .map(bidderRequest -> requestBids(bidderRequest,
                                 auctionTimeout(timeout, cacheInfo.isDoCaching()), debugEnabled, aliases,
-                                bidAdjustments(requestExt), currencyRates(requestExt)))
+                                bidAdjustments, currencyRates)
+                                .map(bidderResponse -> cacheBidsAhead(bidderResponse, streamingBidCache, imps,
+                                        cacheInfo, account, timeout, auctionTimestamp)))
                         .collect(Collectors.toList())))
                 // send all the requests to the bidders and gathers results
                 .map(CompositeFuture::<BidderResponse>list)
+                .map(ExchangeService::removeSkippedResponses)
                 // produce response from bidder results
                 .map(bidderResponses -> updateMetricsFromResponses(bidderResponses, publisherId))
                 .map(bidderResponses ->
                         storedResponseProcessor.mergeWithBidderResponses(bidderResponses, storedResponse, imps))
-                .compose(bidderResponses ->
-                        bidResponseCreator.create(bidderResponses, context, targeting, cacheInfo, account,
-                                eventsAllowedByRequest(requestExt), auctionTimestamp(requestExt), debugEnabled,
-                                timeout))
+                .compose(bidderResponses -> streamingBidCache != null
+                        ? bidResponseCreator.create(bidderResponses, context, targeting, cacheInfo, account,
+                        eventsAllowedByRequest(requestExt), auctionTimestamp, debugEnabled, timeout,
+                        streamingBidCache)
+                        : bidResponseCreator.create(bidderResponses, context, targeting, cacheInfo, account,
+                        eventsAllowedByRequest(requestExt), auctionTimestamp, debugEnabled, timeout))
                 .compose(bidResponse ->
                         bidResponsePostProcessor.postProcess(routingContext, uidsCookie, bidRequest, bidResponse,
                                 account));
@@ -193,12 +214,12 @@ public class ExchangeService {
     }
 
     /**
-     * Extracts currency rates from {@link ExtRequest}.
+     * Extracts currency rates from {@link ExtRequest}, rates for particular pairs are resolved once for all bidders.
      */
-    private static Map<String, Map<String, BigDecimal>> currencyRates(ExtRequest requestExt) {
+    private static CurrencyRatesMatrix currencyRates(ExtRequest requestExt) {
         final ExtRequestPrebid prebid = requestExt != null ? requestExt.getPrebid() : null;
         final ExtRequestCurrency currency = prebid != null ? prebid.getCurrency() : null;
-        return currency != null ? currency.getRates() : null;
+        return currency != null ? CurrencyRatesMatrix.lazyOf(currency.getRates()) : null;
     }
 
     /**
@@ -324,6 +345,7 @@ public class ExchangeService {
                         .filter(bidder -> !Objects.equals(bidder, PREBID_EXT) && !Objects.equals(bidder, CONTEXT_EXT))
                         .filter(bidder -> isValidBidder(bidder, aliases)))
                 .distinct()
+                .filter(bidder -> isHealthyBidder(bidder, aliases))
                 .collect(Collectors.toList());
 
         return makeBidderRequests(bidders, context, aliases, imps);
@@ -334,6 +356,13 @@ public class ExchangeService {
         return StreamSupport.stream(iterable.spliterator(), false);
     }
 
+    /**
+     * Checks if bidder should take part in auction according to {@link BidderHealthGate} if enabled.
+     */
+    private boolean isHealthyBidder(String bidder, BidderAliases aliases) {
+        return bidderHealthGate == null || bidderHealthGate.isHealthy(aliases.resolveBidder(bidder));
+    }
+
     /**
      * Checks if bidder name is valid in case when bidder can also be alias name.
      */
@@ -405,11 +434,30 @@ public class ExchangeService {
                                            Map<String, String> uidsBody,
                                            List<String> firstPartyDataBidders) {
 
+        final User user = bidRequest.getUser();
+
+        // user extensions are the same for all bidders, so build them once per auction
+        final ExtUser extUserWithoutPrebid = extUser != null && extUser.getPrebid() != null
+                ? extUser.toBuilder().prebid(null).build()
+                : null;
+        final ExtUser extUserWithoutFirstPartyData = extUser != null && firstPartyDataBidders != null
+                ? ExtUser.builder().eids(extUser.getEids()).digitrust(extUser.getDigitrust()).build()
+                : null;
+
+        // bidders without buyeruid to set get the same user depending on first party data allowance only
+        final Map<Boolean, User> useFirstPartyDataToUser = new HashMap<>();
+
         final Map<String, User> bidderToUser = new HashMap<>();
         for (String bidder : bidders) {
             final boolean useFirstPartyData = firstPartyDataBidders == null || firstPartyDataBidders.contains(bidder);
-            final User preparedUser = prepareUser(bidRequest.getUser(), extUser, bidder, aliases, uidsBody,
-                    context.getUidsCookie(), useFirstPartyData);
+            final String updatedBuyerUid = updateUserBuyerUid(user, bidder, aliases, uidsBody,
+                    context.getUidsCookie());
+
+            final User preparedUser = updatedBuyerUid == null
+                    ? useFirstPartyDataToUser.computeIfAbsent(useFirstPartyData, ignored -> prepareUser(user, null,
+                    useFirstPartyData, extUserWithoutPrebid, extUserWithoutFirstPartyData))
+                    : prepareUser(user, updatedBuyerUid, useFirstPartyData, extUserWithoutPrebid,
+                    extUserWithoutFirstPartyData);
             bidderToUser.put(bidder, preparedUser);
         }
         return bidderToUser;
@@ -421,11 +469,12 @@ public class ExchangeService {
      * <p>
      * Also, removes user.keywords, gender, yob, geo and ext (except user.ext.eids and user.ext.digitrust)
      * in case bidder does not use first party data.
+     * <p>
+     * Updated {@link ExtUser}s are expected to be prepared in advance and are shared between bidders.
      */
-    private User prepareUser(User user, ExtUser extUser, String bidder, BidderAliases aliases,
-                             Map<String, String> uidsBody, UidsCookie uidsCookie, boolean useFirstPartyData) {
-        final String updatedBuyerUid = updateUserBuyerUid(user, bidder, aliases, uidsBody, uidsCookie);
-        final boolean shouldUpdateUserExt = extUser != null && extUser.getPrebid() != null;
+    private static User prepareUser(User user, String updatedBuyerUid, boolean useFirstPartyData,
+                                    ExtUser extUserWithoutPrebid, ExtUser extUserWithoutFirstPartyData) {
+        final boolean shouldUpdateUserExt = extUserWithoutPrebid != null;
         final boolean shouldRemoveUserFields = !useFirstPartyData && checkUserFieldsHavingValue(user);
 
         if (updatedBuyerUid != null || shouldRemoveUserFields || shouldUpdateUserExt) {
@@ -435,21 +484,14 @@ public class ExchangeService {
             }
 
             if (shouldRemoveUserFields) {
-                final ExtUser updatedExtUser = extUser == null
-                        ? null
-                        : ExtUser.builder()
-                        .eids(extUser.getEids())
-                        .digitrust(extUser.getDigitrust())
-                        .build();
-
                 userBuilder
                         .keywords(null)
                         .gender(null)
                         .yob(null)
                         .geo(null)
-                        .ext(updatedExtUser);
+                        .ext(extUserWithoutFirstPartyData);
             } else if (shouldUpdateUserExt) {
-                userBuilder.ext(extUser.toBuilder().prebid(null).build());
+                userBuilder.ext(extUserWithoutPrebid);
             }
 
             return userBuilder.build();
@@ -510,12 +552,14 @@ public class ExchangeService {
         final ExtRequest requestExt = bidRequest.getExt();
         final Map<String, JsonNode> bidderToPrebidBidders = bidderToPrebidBidders(requestExt);
         final Map<String, ExtRequestPrebidSchainSchain> bidderToPrebidSchains = bidderToPrebidSchains(requestExt);
+        final SharedRequestParts sharedRequestParts = sharedRequestParts(bidRequest, firstPartyDataBidders,
+                bidderToPrebidBidders, bidderToPrebidSchains);
         final List<BidderRequest> bidderRequests = bidderPrivacyResults.stream()
                 // for each bidder create a new request that is a copy of original request except buyerid, imp
                 // extensions, ext.prebid.data.bidders and ext.prebid.bidders.
                 // Also, check whether to pass user.ext.data, app.ext.data and site.ext.data or not.
                 .map(bidderPrivacyResult -> createBidderRequest(bidderPrivacyResult, bidRequest, imps,
-                        firstPartyDataBidders, bidderToPrebidBidders, bidderToPrebidSchains))
+                        firstPartyDataBidders, bidderToPrebidBidders, bidderToPrebidSchains, sharedRequestParts))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
@@ -572,6 +616,23 @@ public class ExchangeService {
         return bidderToPrebidSchains;
     }
 
+    /**
+     * Prepares parts of bidder request which don't depend on particular bidder, so they are built once per auction
+     * and shared between bidder requests instead of being copied for each bidder.
+     */
+    private SharedRequestParts sharedRequestParts(BidRequest bidRequest,
+                                                  List<String> firstPartyDataBidders,
+                                                  Map<String, JsonNode> bidderToPrebidBidders,
+                                                  Map<String, ExtRequestPrebidSchainSchain> bidderToPrebidSchains) {
+        final boolean hasBiddersWithoutFirstPartyData = firstPartyDataBidders != null;
+
+        return SharedRequestParts.of(
+                hasBiddersWithoutFirstPartyData ? prepareApp(bidRequest.getApp(), false) : null,
+                hasBiddersWithoutFirstPartyData ? prepareSite(bidRequest.getSite(), false) : null,
+                prepareSource(bidderToPrebidSchains.get(GENERIC_SCHAIN_KEY), bidRequest.getSource()),
+                prepareExt(null, firstPartyDataBidders, bidderToPrebidBidders, bidRequest.getExt()));
+    }
+
     /**
      * Returns {@link BidderRequest} for the given bidder.
      */
@@ -580,22 +641,29 @@ public class ExchangeService {
                                               List<Imp> imps,
                                               List<String> firstPartyDataBidders,
                                               Map<String, JsonNode> bidderToPrebidBidders,
-                                              Map<String, ExtRequestPrebidSchainSchain> bidderToPrebidSchains) {
+                                              Map<String, ExtRequestPrebidSchainSchain> bidderToPrebidSchains,
+                                              SharedRequestParts sharedRequestParts) {
         final String bidder = bidderPrivacyResult.getRequestBidder();
         if (bidderPrivacyResult.isBlockedRequestByTcf()) {
             return null;
         }
         final boolean useFirstPartyData = firstPartyDataBidders == null || firstPartyDataBidders.contains(bidder);
+        final boolean hasBidderSpecificExt = firstPartyDataBidders != null && useFirstPartyData
+                || bidderToPrebidBidders.containsKey(bidder);
 
         return BidderRequest.of(bidder, bidRequest.toBuilder()
                 // User was already prepared above
                 .user(bidderPrivacyResult.getUser())
                 .device(bidderPrivacyResult.getDevice())
                 .imp(prepareImps(bidder, imps, useFirstPartyData))
-                .app(prepareApp(bidRequest.getApp(), useFirstPartyData))
-                .site(prepareSite(bidRequest.getSite(), useFirstPartyData))
-                .source(prepareSource(bidder, bidderToPrebidSchains, bidRequest.getSource()))
-                .ext(prepareExt(bidder, firstPartyDataBidders, bidderToPrebidBidders, bidRequest.getExt()))
+                .app(useFirstPartyData ? bidRequest.getApp() : sharedRequestParts.getAppWithoutFirstPartyData())
+                .site(useFirstPartyData ? bidRequest.getSite() : sharedRequestParts.getSiteWithoutFirstPartyData())
+                .source(bidderToPrebidSchains.containsKey(bidder)
+                        ? prepareSource(bidderToPrebidSchains.get(bidder), bidRequest.getSource())
+                        : sharedRequestParts.getSource())
+                .ext(hasBidderSpecificExt
+                        ? prepareExt(bidder, firstPartyDataBidders, bidderToPrebidBidders, bidRequest.getExt())
+                        : sharedRequestParts.getExt())
                 .build());
     }
 
@@ -619,9 +687,17 @@ public class ExchangeService {
      * <li>"context" field populated with an imp.ext.context field value, may be null</li>
      * <li>"bidder" field populated with an imp.ext.{bidder} field value, not null</li>
      * </ul>
+     * <p>
+     * Field values are not copied and refer to original imp extension nodes, so bidders must not modify them.
      */
     private ObjectNode prepareImpExt(String bidder, ObjectNode impExt, boolean useFirstPartyData) {
-        final ObjectNode result = mapper.mapper().valueToTree(ExtPrebid.of(impExt.get(PREBID_EXT), impExt.get(bidder)));
+        final ObjectNode result = mapper.mapper().createObjectNode();
+
+        final JsonNode prebidNode = impExt.get(PREBID_EXT);
+        if (prebidNode != null) {
+            result.set(PREBID_EXT, prebidNode);
+        }
+        result.set(BIDDER_EXT, impExt.get(bidder));
 
         if (useFirstPartyData) {
             final JsonNode contextNode = impExt.get(CONTEXT_EXT);
@@ -637,7 +713,7 @@ public class ExchangeService {
      * Checks whether to pass the app.keywords and ext depending on request having a first party data
      * allowed for given bidder or not. And merge masked app with fpd config.
      */
-    private App prepareApp(App app, boolean useFirstPartyData) {
+    private static App prepareApp(App app, boolean useFirstPartyData) {
         return app != null && !useFirstPartyData
                 ? app.toBuilder().keywords(null).ext(null).build()
                 : app;
@@ -647,7 +723,7 @@ public class ExchangeService {
      * Checks whether to pass the site.keywords, search and ext depending on request having a first party data
      * allowed for given bidder or not. And merge masked site with fpd config.
      */
-    private Site prepareSite(Site site, boolean useFirstPartyData) {
+    private static Site prepareSite(Site site, boolean useFirstPartyData) {
         return site != null && !useFirstPartyData
                 ? site.toBuilder().keywords(null).search(null).ext(null).build()
                 : site;
@@ -656,11 +732,7 @@ public class ExchangeService {
     /**
      * Returns {@link Source} with corresponding request.ext.prebid.schains.
      */
-    private Source prepareSource(String bidder, Map<String, ExtRequestPrebidSchainSchain> bidderToSchain,
-                                 Source receivedSource) {
-        final ExtRequestPrebidSchainSchain defaultSchain = bidderToSchain.get(GENERIC_SCHAIN_KEY);
-        final ExtRequestPrebidSchainSchain bidderSchain = bidderToSchain.getOrDefault(bidder, defaultSchain);
-
+    private static Source prepareSource(ExtRequestPrebidSchainSchain bidderSchain, Source receivedSource) {
         if (bidderSchain == null) {
             return receivedSource;
         }
@@ -676,6 +748,8 @@ public class ExchangeService {
      * Removes all bidders except the given bidder from bidrequest.ext.prebid.data.bidders and
      * bidrequest.ext.prebid.bidders to hide list of allowed bidders from initial request.
      * Also masks bidrequest.ext.prebid.schains.
+     * <p>
+     * Null bidder stands for any bidder having neither first party data allowed nor bidrequest.ext.prebid.bidders.
      */
     private ExtRequest prepareExt(String bidder, List<String> firstPartyDataBidders,
                                   Map<String, JsonNode> bidderToPrebidBidders, ExtRequest requestExt) {
@@ -688,11 +762,12 @@ public class ExchangeService {
             return requestExt;
         }
 
-        final ExtRequestPrebidData prebidData = suppressPrebidData && firstPartyDataBidders.contains(bidder)
+        final ExtRequestPrebidData prebidData = suppressPrebidData && bidder != null
+                && firstPartyDataBidders.contains(bidder)
                 ? ExtRequestPrebidData.of(Collections.singletonList(bidder))
                 : null;
 
-        final JsonNode prebidParameters = bidderToPrebidBidders.get(bidder);
+        final JsonNode prebidParameters = bidder != null ? bidderToPrebidBidders.get(bidder) : null;
         final ObjectNode bidders = prebidParameters != null
                 ? mapper.mapper().valueToTree(ExtPrebidBidders.of(prebidParameters))
                 : null;
@@ -740,23 +815,106 @@ public class ExchangeService {
     /**
      * Passes the request to a corresponding bidder and wraps response in {@link BidderResponse} which also holds
      * recorded response time.
+     * <p>
+     * Returns null response if request was not sent because bidder exceeded its concurrency limit.
      */
     private Future<BidderResponse> requestBids(BidderRequest bidderRequest, Timeout timeout,
                                                boolean debugEnabled, BidderAliases aliases,
                                                Map<String, BigDecimal> bidAdjustments,
-                                               Map<String, Map<String, BigDecimal>> currencyConversionRates) {
+                                               CurrencyRatesMatrix currencyConversionRates) {
         final String bidderName = bidderRequest.getBidder();
         final BigDecimal bidPriceAdjustmentFactor = bidAdjustments.get(bidderName);
         final List<String> cur = bidderRequest.getBidRequest().getCur();
         final String adServerCurrency = cur.get(0);
-        final Bidder<?> bidder = bidderCatalog.bidderByName(aliases.resolveBidder(bidderName));
+        final String resolvedBidderName = aliases.resolveBidder(bidderName);
+        if (bidderHealthGate != null && !bidderHealthGate.tryAcquire(resolvedBidderName)) {
+            return Future.succeededFuture();
+        }
+
+        final Bidder<?> bidder = bidderCatalog.bidderByName(resolvedBidderName);
+        final Timeout bidderTimeout = adaptiveBidderTimeoutResolver != null
+                ? adaptiveBidderTimeoutResolver.resolve(resolvedBidderName, timeout)
+                : timeout;
         final long startTime = clock.millis();
 
-        return httpBidderRequester.requestBids(bidder, bidderRequest.getBidRequest(), timeout, debugEnabled)
+        return requestBids(bidder, resolvedBidderName, bidderRequest.getBidRequest(), bidderTimeout, debugEnabled)
                 .map(bidderSeatBid -> validBidderSeatBid(bidderSeatBid, cur))
                 .map(seat -> applyBidPriceChanges(seat, currencyConversionRates, adServerCurrency,
                         bidPriceAdjustmentFactor))
-                .map(result -> BidderResponse.of(bidderName, result, responseTime(startTime)));
+                .map(result -> toBidderResponse(bidderName, resolvedBidderName, result, startTime));
+    }
+
+    /**
+     * Removes responses of bidders skipped by {@link BidderHealthGate}, they are reported only with metrics.
+     */
+    private static List<BidderResponse> removeSkippedResponses(List<BidderResponse> bidderResponses) {
+        return bidderResponses.contains(null)
+                ? bidderResponses.stream().filter(Objects::nonNull).collect(Collectors.toList())
+                : bidderResponses;
+    }
+
+    /**
+     * Passes the request to bidder and reports its outcome to {@link BidderHealthGate} if enabled.
+     */
+    private Future<BidderSeatBid> requestBids(Bidder<?> bidder, String resolvedBidderName, BidRequest bidRequest,
+                                              Timeout timeout, boolean debugEnabled) {
+        if (bidderHealthGate == null) {
+            return httpBidderRequester.requestBids(bidder, bidRequest, timeout, debugEnabled);
+        }
+
+        return httpBidderRequester.requestBids(bidder, bidRequest, timeout, debugEnabled)
+                .map(seatBid -> {
+                    bidderHealthGate.onRequestCompleted(resolvedBidderName, !hasBidderFailure(seatBid));
+                    return seatBid;
+                })
+                .recover(exception -> {
+                    bidderHealthGate.onRequestCompleted(resolvedBidderName, false);
+                    return Future.failedFuture(exception);
+                });
+    }
+
+    /**
+     * Checks if {@link BidderSeatBid} contains errors caused by bidder's server unavailability or misbehaviour.
+     */
+    private static boolean hasBidderFailure(BidderSeatBid seatBid) {
+        for (BidderError error : seatBid.getErrors()) {
+            final BidderError.Type type = error.getType();
+            if (type == BidderError.Type.timeout || type == BidderError.Type.bad_server_response
+                    || type == BidderError.Type.generic) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if {@link BidderSeatBid} contains timeout error.
+     */
+    private static boolean hasTimeoutError(BidderSeatBid seatBid) {
+        for (BidderError error : seatBid.getErrors()) {
+            if (error.getType() == BidderError.Type.timeout) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates {@link BidderResponse} and records bidder's response time for adaptive timeout if enabled.
+     * <p>
+     * Response time of timed out bidder is not its real latency, so only the fact of timeout is recorded.
+     */
+    private BidderResponse toBidderResponse(String bidderName, String resolvedBidderName, BidderSeatBid seatBid,
+                                            long startTime) {
+        final int responseTime = responseTime(startTime);
+        if (adaptiveBidderTimeoutResolver != null) {
+            if (hasTimeoutError(seatBid)) {
+                adaptiveBidderTimeoutResolver.recordTimeout(resolvedBidderName);
+            } else {
+                adaptiveBidderTimeoutResolver.recordLatency(resolvedBidderName, responseTime);
+            }
+        }
+        return BidderResponse.of(bidderName, seatBid, responseTime);
     }
 
     /**
@@ -800,7 +958,7 @@ public class ExchangeService {
      * to make sure {@link Bid#getPrice()} is not empty.
      */
     private BidderSeatBid applyBidPriceChanges(BidderSeatBid bidderSeatBid,
-                                               Map<String, Map<String, BigDecimal>> requestCurrencyRates,
+                                               CurrencyRatesMatrix requestCurrencyRates,
                                                String adServerCurrency, BigDecimal priceAdjustmentFactor) {
         final List<BidderBid> bidderBids = bidderSeatBid.getBids();
         if (bidderBids.isEmpty()) {
@@ -851,9 +1009,43 @@ public class ExchangeService {
         // In reality, the cache response time will probably fluctuate with the traffic over time. Someday, this
         // should be replaced by code which tracks the response time of recent cache calls and adjusts the time
         // dynamically.
+        //
+        // With cache streaming enabled bids of the slowest bidder are still cached after its response, so the same
+        // time is reserved. Cache requests themselves are limited by the whole auction timeout, see
+        // ExchangeService#cacheBidsAhead.
         return shouldCacheBids ? timeout.minus(expectedCacheTime) : timeout;
     }
 
+    /**
+     * Creates {@link StreamingBidCache} if bids should be cached and cache streaming is enabled, otherwise null.
+     * <p>
+     * Winning bids are determined only if targeting is present, so there is nothing to stream
+     * when only winning bids should be cached without targeting.
+     */
+    private StreamingBidCache streamingBidCache(ExtRequestTargeting targeting, BidRequestCacheInfo cacheInfo) {
+        if (!cacheStreamingEnabled || !cacheInfo.isDoCaching()) {
+            return null;
+        }
+
+        final boolean winningBidsOnly = cacheInfo.isShouldCacheWinningBidsOnly();
+        return winningBidsOnly && targeting == null ? null : new StreamingBidCache(winningBidsOnly);
+    }
+
+    /**
+     * Sends bids of the given {@link BidderResponse} to the cache right away if cache streaming is used.
+     * <p>
+     * Unlike bidders, cache requests are limited by the whole auction timeout, since time for caching is reserved
+     * from bidders by {@link #auctionTimeout(Timeout, boolean)}.
+     */
+    private BidderResponse cacheBidsAhead(BidderResponse bidderResponse, StreamingBidCache streamingBidCache,
+                                          List<Imp> imps, BidRequestCacheInfo cacheInfo, Account account,
+                                          Timeout timeout, long auctionTimestamp) {
+        return bidderResponse != null && streamingBidCache != null
+                ? bidResponseCreator.cacheBidsAhead(bidderResponse, streamingBidCache, imps, cacheInfo, account,
+                timeout, auctionTimestamp)
+                : bidderResponse;
+    }
+
     /**
      * Updates 'request_time', 'responseTime', 'timeout_request', 'error_requests', 'no_bid_requests',
      * 'prices' metrics for each {@link BidderResponse}.
@@ -919,4 +1111,20 @@ public class ExchangeService {
         }
         return errorMetric;
     }
+
+    /**
+     * Holds parts of bidder request, which are the same for all bidders of auction.
+     */
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    private static class SharedRequestParts {
+
+        App appWithoutFirstPartyData;
+
+        Site siteWithoutFirstPartyData;
+
+        Source source;
+
+        ExtRequest ext;
+    }
 }
@@ -0,0 +1,155 @@
+package org.prebid.server.auction;
+
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Compiled form of {@link PriceGranularity} ranges used for rounding prices to their buckets.
+ * <p>
+ * Range bounds and increments are kept as integer micros (millionths of currency unit), range for the price is
+ * found by binary search and formatted bucket values are cached, so rounding of a typical price doesn't allocate
+ * anything except string for not yet seen bucket.
+ * <p>
+ * Only ranges with strictly increasing max values, positive increments and at most 6 decimal places can be compiled.
+ */
+class PriceBucketTable {
+
+    private static final int MICROS_SCALE = 6;
+
+    /**
+     * Max number of formatted buckets cached per table.
+     */
+    private static final int MAX_CACHED_BUCKETS = 4096;
+
+    private final long[] maxMicros;
+    private final long[] incrementMicros;
+    private final long[] firstBucket;
+    private final int[] bucketOffset;
+    private final int precision;
+    private final String formattedRangesMax;
+    private final String[] formattedBuckets;
+
+    private PriceBucketTable(long[] maxMicros, long[] incrementMicros, int precision) {
+        this.maxMicros = maxMicros;
+        this.incrementMicros = incrementMicros;
+        this.precision = precision;
+
+        final int rangesCount = maxMicros.length;
+        firstBucket = new long[rangesCount];
+        bucketOffset = new int[rangesCount];
+
+        long bucketsCount = 0;
+        long minMicros = 0;
+        for (int i = 0; i < rangesCount; i++) {
+            firstBucket[i] = minMicros / incrementMicros[i];
+            bucketOffset[i] = (int) Math.min(bucketsCount, Integer.MAX_VALUE);
+            bucketsCount += maxMicros[i] / incrementMicros[i] - firstBucket[i] + 1;
+            minMicros = maxMicros[i];
+        }
+
+        formattedRangesMax = formatMicros(maxMicros[rangesCount - 1]);
+        formattedBuckets = bucketsCount <= MAX_CACHED_BUCKETS ? new String[(int) bucketsCount] : null;
+    }
+
+    /**
+     * Compiles given ranges and precision, returns null if ranges cannot be represented in micros.
+     */
+    static PriceBucketTable compile(List<ExtGranularityRange> ranges, int precision) {
+        if (precision < 0) {
+            return null;
+        }
+
+        final int rangesCount = ranges.size();
+        final long[] maxMicros = new long[rangesCount];
+        final long[] incrementMicros = new long[rangesCount];
+
+        long previousMax = 0;
+        for (int i = 0; i < rangesCount; i++) {
+            final ExtGranularityRange range = ranges.get(i);
+            final long max = toExactMicros(range.getMax());
+            final long increment = toExactMicros(range.getIncrement());
+            if (max <= previousMax || increment <= 0) {
+                return null;
+            }
+
+            maxMicros[i] = max;
+            incrementMicros[i] = increment;
+            previousMax = max;
+        }
+
+        return new PriceBucketTable(maxMicros, incrementMicros, precision);
+    }
+
+    /**
+     * Returns micros representation of the given value or -1 if it is absent, negative, too big or too precise.
+     */
+    private static long toExactMicros(BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            return -1;
+        }
+
+        try {
+            return value.movePointRight(MICROS_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns max value among all ranges in string format.
+     */
+    String formattedRangesMax() {
+        return formattedRangesMax;
+    }
+
+    /**
+     * Rounds given non-negative price not exceeding ranges max down to its bucket and returns it in string format.
+     */
+    String format(BigDecimal cpm) {
+        final BigDecimal scaledCpm = cpm.movePointRight(MICROS_SCALE);
+        final boolean exact = scaledCpm.scale() <= 0;
+        final long cpmMicros = exact ? scaledCpm.longValue() : scaledCpm.setScale(0, RoundingMode.FLOOR).longValue();
+
+        final int rangeIndex = findRangeIndex(cpmMicros, exact);
+        final long bucket = cpmMicros / incrementMicros[rangeIndex];
+        final long bucketMicros = bucket * incrementMicros[rangeIndex];
+        if (formattedBuckets == null) {
+            return formatMicros(bucketMicros);
+        }
+
+        final int index = bucketOffset[rangeIndex] + (int) (bucket - firstBucket[rangeIndex]);
+        String formattedBucket = formattedBuckets[index];
+        if (formattedBucket == null) {
+            // concurrent updates just format the same string again, strings are safe to publish without locking
+            formattedBucket = formatMicros(bucketMicros);
+            formattedBuckets[index] = formattedBucket;
+        }
+        return formattedBucket;
+    }
+
+    /**
+     * Returns index of the first range with max not less than price, where price is given by its micros
+     * rounded down and flag whether rounding was exact.
+     */
+    private int findRangeIndex(long cpmMicros, boolean exact) {
+        int low = 0;
+        int high = maxMicros.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final long max = maxMicros[middle];
+            if (cpmMicros < max || (cpmMicros == max && exact)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private String formatMicros(long micros) {
+        return BigDecimal.valueOf(micros, MICROS_SCALE).setScale(precision, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -1,7 +1,9 @@
 package org.prebid.server.auction;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -10,12 +12,30 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Describes the behavior for price granularity feature.
+ * <p>
+ * Ranges are compiled to {@link PriceBucketTable} once per instance. Built-in granularities are created on class
+ * loading and custom ones are cached by their {@link ExtPriceGranularity}, so the same account or request
+ * granularity is compiled only once.
  */
 public class PriceGranularity {
 
+    private static final int DEFAULT_PRECISION = 2;
+
+    /**
+     * Max number of custom price granularities kept compiled.
+     */
+    private static final int CUSTOM_PRICE_GRANULARITY_CACHE_SIZE = 1000;
+
+    private static final Map<ExtPriceGranularity, PriceGranularity> CUSTOM_PRICE_GRANULARITY_CACHE =
+            Caffeine.newBuilder()
+                    .maximumSize(CUSTOM_PRICE_GRANULARITY_CACHE_SIZE)
+                    .<ExtPriceGranularity, PriceGranularity>build()
+                    .asMap();
+
     enum PriceGranularityType {
         low, medium, med, high, auto, dense
     }
@@ -41,21 +61,25 @@ public class PriceGranularity {
 
     static final PriceGranularity DEFAULT = STRING_TO_CUSTOM_PRICE_GRANULARITY.get(PriceGranularityType.med);
 
-    private List<ExtGranularityRange> ranges;
-    private BigDecimal rangesMax;
-    private Integer precision;
+    private final List<ExtGranularityRange> ranges;
+    private final BigDecimal rangesMax;
+    private final Integer precision;
+    private final PriceBucketTable bucketTable;
 
     private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
         this.ranges = ranges;
         this.rangesMax = rangesMax;
         this.precision = precision;
+        this.bucketTable = PriceBucketTable.compile(ranges, ObjectUtils.defaultIfNull(precision, DEFAULT_PRECISION));
     }
 
     /**
-     * Creates {@link PriceGranularity} from {@link ExtPriceGranularity}.
+     * Creates {@link PriceGranularity} from {@link ExtPriceGranularity} or returns previously created one
+     * for the equal {@link ExtPriceGranularity}.
      */
     static PriceGranularity createFromExtPriceGranularity(ExtPriceGranularity extPriceGranularity) {
-        return createFromRanges(extPriceGranularity.getPrecision(), extPriceGranularity.getRanges());
+        return CUSTOM_PRICE_GRANULARITY_CACHE.computeIfAbsent(extPriceGranularity,
+                key -> createFromRanges(key.getPrecision(), key.getRanges()));
     }
 
     /**
@@ -91,6 +115,13 @@ public class PriceGranularity {
         return precision;
     }
 
+    /**
+     * Returns compiled ranges or null if ranges cannot be compiled.
+     */
+    PriceBucketTable getBucketTable() {
+        return bucketTable;
+    }
+
     /**
      * Creates {@link PriceGranularity} for string representation and puts it to
      * {@link EnumMap<PriceGranularityType, PriceGranularity>}.
@@ -1,6 +1,7 @@
 package org.prebid.server.auction;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import com.iab.openrtb.request.Video;
@@ -18,6 +19,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtStoredRequest;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.VideoStoredDataResult;
 import org.prebid.server.util.JsonMergeUtil;
@@ -43,19 +45,25 @@ public class StoredRequestProcessor {
     private final TimeoutFactory timeoutFactory;
     private final Metrics metrics;
     private final JacksonMapper mapper;
+    private final StoredDataTreeCache storedDataTreeCache;
+    private final StoredDataTreeCache ampStoredDataTreeCache;
     private JsonMergeUtil jsonMergeUtil;
 
     public StoredRequestProcessor(long defaultTimeout,
                                   ApplicationSettings applicationSettings,
                                   Metrics metrics,
                                   TimeoutFactory timeoutFactory,
-                                  JacksonMapper mapper) {
+                                  JacksonMapper mapper,
+                                  StoredDataTreeCache storedDataTreeCache,
+                                  StoredDataTreeCache ampStoredDataTreeCache) {
 
         this.defaultTimeout = defaultTimeout;
         this.applicationSettings = Objects.requireNonNull(applicationSettings);
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
+        this.storedDataTreeCache = storedDataTreeCache;
+        this.ampStoredDataTreeCache = ampStoredDataTreeCache;
 
         jsonMergeUtil = new JsonMergeUtil(mapper);
     }
@@ -90,7 +98,7 @@ public class StoredRequestProcessor {
                         .compose(storedDataResult -> updateMetrics(storedDataResult, requestIds, impIds));
 
         return storedRequestsToBidRequest(storedDataFuture, bidRequest,
-                bidRequestToStoredRequestId.get(bidRequest), impToStoredRequestId);
+                bidRequestToStoredRequestId.get(bidRequest), impToStoredRequestId, storedDataTreeCache);
     }
 
     private Future<StoredDataResult> updateMetrics(StoredDataResult storedDataResult, Set<String> requestIds,
@@ -113,7 +121,8 @@ public class StoredRequestProcessor {
                         .compose(storedDataResult -> updateMetrics(
                                 storedDataResult, Collections.singleton(ampRequestId), Collections.emptySet()));
 
-        return storedRequestsToBidRequest(ampStoredDataFuture, bidRequest, ampRequestId, Collections.emptyMap());
+        return storedRequestsToBidRequest(ampStoredDataFuture, bidRequest, ampRequestId, Collections.emptyMap(),
+                ampStoredDataTreeCache);
     }
 
     /**
@@ -171,7 +180,8 @@ public class StoredRequestProcessor {
 
     private Future<BidRequest> storedRequestsToBidRequest(Future<StoredDataResult> storedDataFuture,
                                                           BidRequest bidRequest, String storedBidRequestId,
-                                                          Map<Imp, String> impsToStoredRequestId) {
+                                                          Map<Imp, String> impsToStoredRequestId,
+                                                          StoredDataTreeCache treeCache) {
         return storedDataFuture
                 .recover(exception -> Future.failedFuture(new InvalidRequestException(
                         String.format("Stored request fetching failed: %s", exception.getMessage()))))
@@ -179,16 +189,19 @@ public class StoredRequestProcessor {
                         ? Future.failedFuture(new InvalidRequestException(result.getErrors()))
                         : Future.succeededFuture(result))
                 .map(result -> mergeBidRequestAndImps(bidRequest, storedBidRequestId,
-                        impsToStoredRequestId, result));
+                        impsToStoredRequestId, result, treeCache));
     }
 
     /**
      * Runs {@link BidRequest} and {@link Imp}s merge processes.
+     * <p>
+     * Stored data is parsed by the given {@link StoredDataTreeCache} of the source it was fetched from, if any.
      */
     private BidRequest mergeBidRequestAndImps(BidRequest bidRequest, String storedRequestId,
-                                              Map<Imp, String> impToStoredId, StoredDataResult storedDataResult) {
-        return mergeBidRequestImps(mergeBidRequest(bidRequest, storedRequestId, storedDataResult),
-                impToStoredId, storedDataResult);
+                                              Map<Imp, String> impToStoredId, StoredDataResult storedDataResult,
+                                              StoredDataTreeCache treeCache) {
+        return mergeBidRequestImps(mergeBidRequest(bidRequest, storedRequestId, storedDataResult, treeCache),
+                impToStoredId, storedDataResult, treeCache);
     }
 
     /**
@@ -196,11 +209,17 @@ public class StoredRequestProcessor {
      * has higher priority than stored request values.
      */
     private BidRequest mergeBidRequest(BidRequest originalRequest, String storedRequestId,
-                                       StoredDataResult storedDataResult) {
+                                       StoredDataResult storedDataResult, StoredDataTreeCache treeCache) {
+        if (StringUtils.isBlank(storedRequestId)) {
+            return originalRequest;
+        }
+
         final String storedRequest = storedDataResult.getStoredIdToRequest().get(storedRequestId);
-        return StringUtils.isNotBlank(storedRequestId)
-                ? jsonMergeUtil.merge(originalRequest, storedRequest, storedRequestId, BidRequest.class)
-                : originalRequest;
+        if (treeCache != null && storedRequest != null) {
+            final JsonNode storedRequestTree = treeCache.getRequestTree(storedRequestId, storedRequest);
+            return jsonMergeUtil.merge(originalRequest, storedRequestTree, storedRequestId, BidRequest.class);
+        }
+        return jsonMergeUtil.merge(originalRequest, storedRequest, storedRequestId, BidRequest.class);
     }
 
     /**
@@ -208,7 +227,7 @@ public class StoredRequestProcessor {
      * has higher priority than stored request values.
      */
     private BidRequest mergeBidRequestImps(BidRequest bidRequest, Map<Imp, String> impToStoredId,
-                                           StoredDataResult storedDataResult) {
+                                           StoredDataResult storedDataResult, StoredDataTreeCache treeCache) {
         if (impToStoredId.isEmpty()) {
             return bidRequest;
         }
@@ -218,13 +237,20 @@ public class StoredRequestProcessor {
             final String storedRequestId = impToStoredId.get(imp);
             if (storedRequestId != null) {
                 final String storedImp = storedDataResult.getStoredIdToImp().get(storedRequestId);
-                final Imp mergedImp = jsonMergeUtil.merge(imp, storedImp, storedRequestId, Imp.class);
-                mergedImps.set(i, mergedImp);
+                mergedImps.set(i, mergeImp(imp, storedImp, storedRequestId, treeCache));
             }
         }
         return bidRequest.toBuilder().imp(mergedImps).build();
     }
 
+    private Imp mergeImp(Imp imp, String storedImp, String storedRequestId, StoredDataTreeCache treeCache) {
+        if (treeCache != null && storedImp != null) {
+            final JsonNode storedImpTree = treeCache.getImpTree(storedRequestId, storedImp);
+            return jsonMergeUtil.merge(imp, storedImpTree, storedRequestId, Imp.class);
+        }
+        return jsonMergeUtil.merge(imp, storedImp, storedRequestId, Imp.class);
+    }
+
     /**
      * Maps object to its StoredRequestId if exists. If object's extension contains storedRequest field, expected that
      * it includes id too, in another case error about missed id in stored request will be added to error list.
@@ -0,0 +1,76 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.Future;
+import org.prebid.server.cache.model.CacheServiceResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the state of bids caching started while the auction is still in progress.
+ * <p>
+ * Bids of every bidder response are sent to Prebid Cache as a separate micro-batch as soon as the response comes,
+ * so only the micro-batch of the slowest bidder stays on the auction critical path.
+ * <p>
+ * If only winning bids should be cached, bid is sent only when it is not beaten by bids came before for the same imp,
+ * since other bids can't win anymore. Final winning bids are selected when auction is completed.
+ * <p>
+ * Bidder responses may complete on different threads, so the state is guarded by the instance lock.
+ */
+class StreamingBidCache {
+
+    private final boolean winningBidsOnly;
+
+    private final Set<Bid> submittedBids = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, BigDecimal> impIdToMaxPrice = new HashMap<>();
+    private final List<Future<CacheServiceResult>> results = new ArrayList<>();
+
+    StreamingBidCache(boolean winningBidsOnly) {
+        this.winningBidsOnly = winningBidsOnly;
+    }
+
+    /**
+     * Selects bids to send to the cache from the given ones and marks them as submitted.
+     */
+    synchronized List<Bid> submit(List<Bid> bids) {
+        final List<Bid> eligibleBids = new ArrayList<>(bids.size());
+        for (Bid bid : bids) {
+            // do not submit bids with zero price to prebid cache
+            final BigDecimal price = bid.getPrice();
+            if (price.compareTo(BigDecimal.ZERO) > 0 && (!winningBidsOnly || isNotBeaten(bid.getImpid(), price))) {
+                eligibleBids.add(bid);
+                submittedBids.add(bid);
+            }
+        }
+        return eligibleBids;
+    }
+
+    private boolean isNotBeaten(String impId, BigDecimal price) {
+        final BigDecimal maxPrice = impIdToMaxPrice.get(impId);
+        if (maxPrice != null && price.compareTo(maxPrice) < 0) {
+            return false;
+        }
+
+        impIdToMaxPrice.put(impId, price);
+        return true;
+    }
+
+    synchronized boolean isSubmitted(Bid bid) {
+        return submittedBids.contains(bid);
+    }
+
+    synchronized void addResult(Future<CacheServiceResult> result) {
+        results.add(result);
+    }
+
+    synchronized List<Future<CacheServiceResult>> getResults() {
+        return new ArrayList<>(results);
+    }
+}
@@ -5,6 +5,7 @@ import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
@@ -111,8 +112,14 @@ public class HttpBidderRequester {
             return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
         }
 
-        return httpClient.request(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getHeaders(),
-                httpRequest.getBody(), remainingTimeout)
+        final Buffer bodyBuffer = httpRequest.getBodyBuffer();
+        final Future<HttpClientResponse> responseFuture = bodyBuffer != null
+                ? httpClient.requestBuffer(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getHeaders(),
+                bodyBuffer, remainingTimeout)
+                : httpClient.request(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getHeaders(),
+                httpRequest.getBody(), remainingTimeout);
+
+        return responseFuture
                 .compose(response -> processResponse(response, httpRequest))
                 .recover(exception -> failResponse(exception, httpRequest))
                 .map(httpCall -> notifyTimeoutBidder(bidder, httpCall));
@@ -166,7 +173,8 @@ public class HttpBidderRequester {
     private static <T> Future<HttpCall<T>> processResponse(HttpClientResponse response, HttpRequest<T> httpRequest) {
         final int statusCode = response.getStatusCode();
         return Future.succeededFuture(HttpCall.success(httpRequest,
-                HttpResponse.of(statusCode, response.getHeaders(), response.getBody()), errorOrNull(statusCode)));
+                HttpResponse.ofBuffer(statusCode, response.getHeaders(), response.getBodyBuffer()),
+                errorOrNull(statusCode)));
     }
 
     /**
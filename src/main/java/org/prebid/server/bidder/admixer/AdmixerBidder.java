@@ -145,7 +145,7 @@ public class AdmixerBidder implements Bidder<BidRequest> {
 
     private BidResponse decodeBodyToBidResponse(HttpCall<BidRequest> httpCall) {
         try {
-            return mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            return mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), BidResponse.class);
         } catch (DecodeException e) {
             throw new PreBidException(e.getMessage(), e);
         }
@@ -159,7 +159,8 @@ public class ConsumableBidder implements Bidder<ConsumableBidRequest> {
     public Result<List<BidderBid>> makeBids(HttpCall<ConsumableBidRequest> httpCall, BidRequest bidRequest) {
         final ConsumableBidResponse consumableResponse;
         try {
-            consumableResponse = mapper.decodeValue(httpCall.getResponse().getBody(), ConsumableBidResponse.class);
+            consumableResponse = mapper.decodeValue(httpCall.getResponse().getBodyBuffer(),
+                    ConsumableBidResponse.class);
         } catch (DecodeException e) {
             return Result.emptyWithError(BidderError.badServerResponse(e.getMessage()));
         }
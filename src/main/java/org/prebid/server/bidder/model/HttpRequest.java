@@ -1,12 +1,20 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Packages together the fields needed to make an http request.
+ * <p>
+ * If request body is given as {@link #bodyBuffer}, its string form is decoded lazily on first access to
+ * {@link #getBody()} and reused by subsequent calls.
  */
 @Builder
 @Value
@@ -16,9 +24,24 @@ public class HttpRequest<T> {
 
     String uri;
 
+    @Getter(AccessLevel.NONE)
     String body;
 
+    /**
+     * Already encoded request body. Takes precedence over {@link #body} and is sent as is if present.
+     */
+    Buffer bodyBuffer;
+
     MultiMap headers;
 
     T payload;
+
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String decodedBody = bodyBuffer != null ? bodyBuffer.toString() : null;
+
+    public String getBody() {
+        return body != null ? body : getDecodedBody();
+    }
 }
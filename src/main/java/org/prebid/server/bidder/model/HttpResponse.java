@@ -1,13 +1,21 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Packages together information from the server's http response.
+ * <p>
+ * Bidders should prefer {@link #getBodyBuffer()} to decode response, the string body is created lazily
+ * on first access only.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpResponse {
 
@@ -15,5 +23,18 @@ public class HttpResponse {
 
     MultiMap headers;
 
-    String body;
+    Buffer bodyBuffer;
+
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String body = bodyBuffer != null ? bodyBuffer.toString() : null;
+
+    public static HttpResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpResponse(statusCode, headers, body != null ? Buffer.buffer(body) : null);
+    }
+
+    public static HttpResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpResponse(statusCode, headers, body);
+    }
 }
@@ -8,6 +8,7 @@ import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.cache.model.CacheBid;
@@ -35,6 +36,7 @@ import org.prebid.server.proto.response.Bid;
 import org.prebid.server.proto.response.MediaType;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.util.HttpUtil;
+import org.prebid.server.util.VastXmlUtil;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
@@ -44,6 +46,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -312,10 +315,15 @@ public class CacheService {
                                                       Map<String, List<String>> bidderToVideoBidIdsToModify,
                                                       Map<String, List<String>> biddersToCacheBidIds,
                                                       Account account, Long auctionTimestamp, Timeout timeout) {
+        final Map<String, String> bidIdToBidder = BooleanUtils.isTrue(account.getEventsEnabled())
+                ? bidIdToBidder(biddersToCacheBidIds)
+                : Collections.emptyMap();
+        final Map<String, String> videoBidIdToBidderToModify = bidIdToBidder(bidderToVideoBidIdsToModify);
+
         final List<PutObject> putObjects = Stream.concat(
-                bids.stream().map(cacheBid -> createJsonPutObjectOpenrtb(cacheBid, biddersToCacheBidIds, account,
+                bids.stream().map(cacheBid -> createJsonPutObjectOpenrtb(cacheBid, bidIdToBidder, account,
                         auctionTimestamp)),
-                videoBids.stream().map(cacheBid -> createXmlPutObjectOpenrtb(cacheBid, bidderToVideoBidIdsToModify,
+                videoBids.stream().map(cacheBid -> createXmlPutObjectOpenrtb(cacheBid, videoBidIdToBidderToModify,
                         account.getId(), auctionTimestamp)))
                 .collect(Collectors.toList());
 
@@ -340,6 +348,26 @@ public class CacheService {
                 .otherwise(exception -> failResponseOpenrtb(exception, httpRequest, startTime));
     }
 
+    /**
+     * Creates lookup of bidder by bid ID from the given map of bidder to its bid IDs.
+     * <p>
+     * If the same bid ID belongs to a few bidders, the first one wins.
+     */
+    private static Map<String, String> bidIdToBidder(Map<String, List<String>> bidderToBidIds) {
+        if (MapUtils.isEmpty(bidderToBidIds)) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> bidIdToBidder = new HashMap<>();
+        for (Map.Entry<String, List<String>> bidderAndBidIds : bidderToBidIds.entrySet()) {
+            final String bidder = bidderAndBidIds.getKey();
+            for (String bidId : CollectionUtils.emptyIfNull(bidderAndBidIds.getValue())) {
+                bidIdToBidder.putIfAbsent(bidId, bidder);
+            }
+        }
+        return bidIdToBidder;
+    }
+
     /**
      * Creates {@link CacheServiceResult} from the given {@link HttpClientResponse}.
      */
@@ -396,19 +424,17 @@ public class CacheService {
      * Makes JSON type {@link PutObject} from {@link com.iab.openrtb.response.Bid}.
      * Used for OpenRTB auction request. Also, adds win url to result object if events are enabled.
      */
-    private PutObject createJsonPutObjectOpenrtb(CacheBid cacheBid, Map<String, List<String>> biddersToCacheBidIds,
+    private PutObject createJsonPutObjectOpenrtb(CacheBid cacheBid, Map<String, String> bidIdToBidder,
                                                  Account account, Long auctionTimestamp) {
         final com.iab.openrtb.response.Bid bid = cacheBid.getBid();
         final ObjectNode bidObjectNode = mapper.mapper().valueToTree(bid);
 
         if (BooleanUtils.isTrue(account.getEventsEnabled())) {
             final String bidId = bid.getId();
-            biddersToCacheBidIds.entrySet().stream()
-                    .filter(biddersAndBidIds -> biddersAndBidIds.getValue().contains(bidId))
-                    .findFirst()
-                    .map(Map.Entry::getKey)
-                    .ifPresent(bidder -> bidObjectNode.put("wurl", eventsService.winUrl(bidId, bidder, account.getId(),
-                            auctionTimestamp)));
+            final String bidder = bidIdToBidder.get(bidId);
+            if (bidder != null) {
+                bidObjectNode.put("wurl", eventsService.winUrl(bidId, bidder, account.getId(), auctionTimestamp));
+            }
         }
 
         return PutObject.builder()
@@ -422,7 +448,7 @@ public class CacheService {
      * Makes XML type {@link PutObject} from {@link com.iab.openrtb.response.Bid}. Used for OpenRTB auction request.
      */
     private PutObject createXmlPutObjectOpenrtb(CacheBid cacheBid,
-                                                Map<String, List<String>> bidderToVideoBidIdsToModify,
+                                                Map<String, String> videoBidIdToBidderToModify,
                                                 String accountId, Long auctionTimestamp) {
         final com.iab.openrtb.response.Bid bid = cacheBid.getBid();
         String vastXml;
@@ -437,12 +463,10 @@ public class CacheService {
         }
 
         final String bidId = bid.getId();
-        final String modifiedVastXml = bidderToVideoBidIdsToModify.entrySet().stream()
-                .filter(biddersAndBidIds -> biddersAndBidIds.getValue().contains(bidId))
-                .findFirst()
-                .map(Map.Entry::getKey)
-                .map(bidder -> modifyVastXml(vastXml, bidId, bidder, accountId, auctionTimestamp))
-                .orElse(vastXml);
+        final String bidder = videoBidIdToBidderToModify.get(bidId);
+        final String modifiedVastXml = bidder != null
+                ? modifyVastXml(vastXml, bidId, bidder, accountId, auctionTimestamp)
+                : vastXml;
 
         return PutObject.builder()
                 .type("xml")
@@ -452,24 +476,8 @@ public class CacheService {
     }
 
     private String modifyVastXml(String stringValue, String bidId, String bidder, String accountId, Long timestamp) {
-        final String closeTag = "</Impression>";
-        final int closeTagIndex = stringValue.indexOf(closeTag);
-
-        // no impression tag - pass it as it is
-        if (closeTagIndex == -1) {
-            return stringValue;
-        }
-
-        final String vastUrlTracking = eventsService.vastUrlTracking(bidId, bidder, accountId, timestamp);
-        final String impressionUrl = "<![CDATA[" + vastUrlTracking + "]]>";
-        final String openTag = "<Impression>";
-
-        // empty impression tag - just insert the link
-        if (closeTagIndex - stringValue.indexOf(openTag) == openTag.length()) {
-            return stringValue.replaceFirst(openTag, openTag + impressionUrl);
-        }
-
-        return stringValue.replaceFirst(closeTag, closeTag + openTag + impressionUrl + closeTag);
+        return VastXmlUtil.insertImpressionTracking(stringValue,
+                () -> eventsService.vastUrlTracking(bidId, bidder, accountId, timestamp));
     }
 
     /**
@@ -529,31 +537,36 @@ public class CacheService {
 
     /**
      * Creates a map with bids as a key and {@link CacheIdInfo} as a value from obtained UUIDs.
+     * <p>
+     * Bids are matched by reference, so returned map is identity-based.
      */
     private static Map<com.iab.openrtb.response.Bid, CacheIdInfo> toResultMap(
             List<CacheBid> cacheBids, List<CacheBid> cacheVideoBids, List<String> uuids) {
-        final Map<com.iab.openrtb.response.Bid, CacheIdInfo> result = new HashMap<>(uuids.size());
-
-        final List<com.iab.openrtb.response.Bid> bids = cacheBids.stream()
-                .map(CacheBid::getBid).collect(Collectors.toList());
-        final List<com.iab.openrtb.response.Bid> videoBids = cacheVideoBids.stream()
-                .map(CacheBid::getBid).collect(Collectors.toList());
+        final Map<com.iab.openrtb.response.Bid, CacheIdInfo> result = new IdentityHashMap<>(uuids.size());
 
         // here we assume "videoBids" is a sublist of "bids"
         // so, no need for a separate loop on "videoBids" if "bids" is not empty
-        if (!bids.isEmpty()) {
-            for (int i = 0; i < bids.size(); i++) {
-                final com.iab.openrtb.response.Bid bid = bids.get(i);
+        if (!cacheBids.isEmpty()) {
+            final Map<com.iab.openrtb.response.Bid, Integer> videoBidToIndex =
+                    new IdentityHashMap<>(cacheVideoBids.size());
+            for (int i = 0; i < cacheVideoBids.size(); i++) {
+                videoBidToIndex.putIfAbsent(cacheVideoBids.get(i).getBid(), i);
+            }
+
+            for (int i = 0; i < cacheBids.size(); i++) {
+                final com.iab.openrtb.response.Bid bid = cacheBids.get(i).getBid();
 
                 // determine uuid for video bid
-                final int indexOfVideoBid = videoBids.indexOf(bid);
-                final String videoBidUuid = indexOfVideoBid != -1 ? uuids.get(bids.size() + indexOfVideoBid) : null;
+                final Integer indexOfVideoBid = videoBidToIndex.get(bid);
+                final String videoBidUuid = indexOfVideoBid != null
+                        ? uuids.get(cacheBids.size() + indexOfVideoBid)
+                        : null;
 
                 result.put(bid, CacheIdInfo.of(uuids.get(i), videoBidUuid));
             }
         } else {
-            for (int i = 0; i < videoBids.size(); i++) {
-                result.put(videoBids.get(i), CacheIdInfo.of(null, uuids.get(i)));
+            for (int i = 0; i < cacheVideoBids.size(); i++) {
+                result.put(cacheVideoBids.get(i).getBid(), CacheIdInfo.of(null, uuids.get(i)));
             }
         }
 
@@ -13,14 +13,20 @@ import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.util.HttpUtil;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Contains logic for obtaining UIDs from the request and actualizing them.
@@ -129,17 +135,9 @@ public class UidsCookieService {
      * as a value.
      */
     public Cookie toCookie(UidsCookie uidsCookie) {
-        UidsCookie modifiedUids = uidsCookie;
-        byte[] cookieBytes = uidsCookie.toJson().getBytes();
-
-        while (maxCookieSizeBytes > 0 && cookieBytes.length > maxCookieSizeBytes) {
-            final String familyName = modifiedUids.getCookieUids().getUids().entrySet().stream()
-                    .reduce(UidsCookieService::getClosestExpiration)
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-            modifiedUids = modifiedUids.deleteUid(familyName);
-            cookieBytes = modifiedUids.toJson().getBytes();
-        }
+        final byte[] cookieBytes = maxCookieSizeBytes > 0
+                ? toSizeLimitedJson(uidsCookie)
+                : uidsCookie.toJson().getBytes(StandardCharsets.UTF_8);
 
         final Cookie cookie = Cookie
                 .cookie(COOKIE_NAME, Base64.getUrlEncoder().encodeToString(cookieBytes))
@@ -153,6 +151,59 @@ public class UidsCookieService {
         return cookie;
     }
 
+    /**
+     * Encodes {@link UidsCookie} to JSON not exceeding max cookie size by removing UIDs which expire sooner.
+     * <p>
+     * Encoded length of every UID is measured once and UIDs to remove are chosen in a single pass over them sorted
+     * by expiration date, so the cookie is encoded again only once.
+     */
+    private byte[] toSizeLimitedJson(UidsCookie uidsCookie) {
+        final byte[] cookieBytes = uidsCookie.toJson().getBytes(StandardCharsets.UTF_8);
+        if (cookieBytes.length <= maxCookieSizeBytes) {
+            return cookieBytes;
+        }
+
+        final List<Map.Entry<String, UidWithExpiry>> uids =
+                new ArrayList<>(uidsCookie.getCookieUids().getUids().entrySet());
+        uids.sort(Comparator.comparing(entry -> entry.getValue().getExpires()));
+
+        // every UID is encoded as "family":{...} and separated from the next one by comma
+        final int uidsCount = uids.size();
+        int uidsLength = uidsCount > 0 ? uidsCount - 1 : 0;
+        final int[] uidLengths = new int[uidsCount];
+        for (int i = 0; i < uidsCount; i++) {
+            final Map.Entry<String, UidWithExpiry> uid = uids.get(i);
+            uidLengths[i] = encodedLength(uid.getKey()) + 1 + encodedLength(uid.getValue());
+            uidsLength += uidLengths[i];
+        }
+
+        final int lengthWithoutUids = cookieBytes.length - uidsLength;
+        final Set<String> familiesToRemove = new HashSet<>();
+        for (int i = 0; i < uidsCount && lengthWithoutUids + uidsLength > maxCookieSizeBytes; i++) {
+            familiesToRemove.add(uids.get(i).getKey());
+            uidsLength -= i < uidsCount - 1 ? uidLengths[i] + 1 : uidLengths[i];
+        }
+
+        UidsCookie modifiedUids = uidsCookie.deleteUids(familiesToRemove);
+        byte[] modifiedCookieBytes = modifiedUids.toJson().getBytes(StandardCharsets.UTF_8);
+
+        // measured lengths are exact for regular JSON encoding, the loop below is just a safety net
+        while (modifiedCookieBytes.length > maxCookieSizeBytes && !modifiedUids.getCookieUids().getUids().isEmpty()) {
+            final String familyName = modifiedUids.getCookieUids().getUids().entrySet().stream()
+                    .reduce(UidsCookieService::getClosestExpiration)
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            modifiedUids = modifiedUids.deleteUid(familyName);
+            modifiedCookieBytes = modifiedUids.toJson().getBytes(StandardCharsets.UTF_8);
+        }
+
+        return modifiedCookieBytes;
+    }
+
+    private int encodedLength(Object value) {
+        return mapper.encode(value).getBytes(StandardCharsets.UTF_8).length;
+    }
+
     /**
      * Returns the Uid with the closest expiration date, e.i. the one that will expire sooner.
      */
@@ -4,7 +4,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import org.apache.commons.collections4.MapUtils;
 import org.prebid.server.currency.proto.CurrencyConversionRates;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
@@ -19,13 +18,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service for price currency conversion between currencies.
+ * <p>
+ * Latest currency rates are compiled to {@link CurrencyRatesMatrix} on every update and published atomically,
+ * so conversions in progress always see consistent rates.
  */
 public class CurrencyConversionService implements Initializable {
 
@@ -39,7 +40,7 @@ public class CurrencyConversionService implements Initializable {
     private final ExternalConversionProperties externalConversionProperties;
     private final JacksonMapper mapper;
 
-    private Map<String, Map<String, BigDecimal>> externalCurrencyRates;
+    private final AtomicReference<CurrencyRatesMatrix> externalCurrencyRates = new AtomicReference<>();
     private ZonedDateTime lastUpdated;
 
     public CurrencyConversionService(ExternalConversionProperties externalConversionProperties) {
@@ -105,7 +106,7 @@ public class CurrencyConversionService implements Initializable {
     private CurrencyConversionRates updateCurrencyRates(CurrencyConversionRates currencyConversionRates) {
         final Map<String, Map<String, BigDecimal>> receivedCurrencyRates = currencyConversionRates.getConversions();
         if (receivedCurrencyRates != null) {
-            externalCurrencyRates = receivedCurrencyRates;
+            externalCurrencyRates.set(CurrencyRatesMatrix.of(receivedCurrencyRates));
             lastUpdated = ZonedDateTime.now(Clock.systemUTC());
         }
         return currencyConversionRates;
@@ -126,8 +127,10 @@ public class CurrencyConversionService implements Initializable {
     /**
      * Converts price from bidCurrency to adServerCurrency using rates defined in request or if absent, from
      * latest currency rates. Throws {@link PreBidException} in case conversion is not possible.
+     * <p>
+     * Request rates are expected to be created once per request with {@link CurrencyRatesMatrix#lazyOf(Map)}.
      */
-    public BigDecimal convertCurrency(BigDecimal price, Map<String, Map<String, BigDecimal>> requestCurrencyRates,
+    public BigDecimal convertCurrency(BigDecimal price, CurrencyRatesMatrix requestCurrencyRates,
                                       String adServerCurrency, String bidCurrency) {
         // use Default USD currency if bidder left this field empty. After, when bidder will implement multi currency
         // support it will be changed to throwing PrebidException.
@@ -140,12 +143,13 @@ public class CurrencyConversionService implements Initializable {
         // get conversion rate from request currency rates if it is present
         BigDecimal conversionRate = null;
         if (requestCurrencyRates != null) {
-            conversionRate = getConversionRate(requestCurrencyRates, adServerCurrency, effectiveBidCurrency);
+            conversionRate = requestCurrencyRates.getConversionRate(adServerCurrency, effectiveBidCurrency);
         }
 
         // if conversion rate from requestCurrency was not found, try the same from latest currencies
-        if (conversionRate == null) {
-            conversionRate = getConversionRate(externalCurrencyRates, adServerCurrency, effectiveBidCurrency);
+        final CurrencyRatesMatrix latestCurrencyRates = externalCurrencyRates.get();
+        if (conversionRate == null && latestCurrencyRates != null) {
+            conversionRate = latestCurrencyRates.getConversionRate(adServerCurrency, effectiveBidCurrency);
         }
 
         if (conversionRate == null) {
@@ -154,75 +158,4 @@ public class CurrencyConversionService implements Initializable {
 
         return price.divide(conversionRate, DEFAULT_PRICE_PRECISION, RoundingMode.HALF_EVEN);
     }
-
-    /**
-     * Looking for rates for adServerCurrency - bidCurrency pair, using such approaches as straight, reverse and
-     * intermediate rates.
-     */
-    private static BigDecimal getConversionRate(Map<String, Map<String, BigDecimal>> currencyConversionRates,
-                                                String adServerCurrency, String bidCurrency) {
-        if (MapUtils.isEmpty(currencyConversionRates)) {
-            return null;
-        }
-
-        BigDecimal conversionRate;
-        final Map<String, BigDecimal> serverCurrencyRates = currencyConversionRates.get(adServerCurrency);
-
-        conversionRate = serverCurrencyRates != null ? serverCurrencyRates.get(bidCurrency) : null;
-        if (conversionRate != null) {
-            return conversionRate;
-        }
-
-        final Map<String, BigDecimal> bidCurrencyRates = currencyConversionRates.get(bidCurrency);
-        conversionRate = findReverseConversionRate(bidCurrencyRates, adServerCurrency);
-        if (conversionRate != null) {
-            return conversionRate;
-        }
-
-        return findIntermediateConversionRate(serverCurrencyRates, bidCurrencyRates);
-    }
-
-    /**
-     * Finds reverse conversion rate.
-     * If pair USD : EUR - 1.2 is present and EUR to USD conversion is needed, will return 1/1.2 conversion rate.
-     */
-    private static BigDecimal findReverseConversionRate(Map<String, BigDecimal> bidCurrencyRates,
-                                                        String adServerCurrency) {
-        final BigDecimal reverseConversionRate = bidCurrencyRates != null
-                ? bidCurrencyRates.get(adServerCurrency)
-                : null;
-
-        return reverseConversionRate != null
-                ? BigDecimal.ONE.divide(reverseConversionRate, reverseConversionRate.precision(),
-                RoundingMode.HALF_EVEN)
-                : null;
-    }
-
-    /**
-     * Finds intermediate conversion rate.
-     * If pairs USD : AUD - 1.2 and EUR : AUD - 1.5 are present, and EUR to USD conversion is needed, will return
-     * (1/1.5) * 1.2 conversion rate.
-     */
-    private static BigDecimal findIntermediateConversionRate(Map<String, BigDecimal> adServerCurrencyRates,
-                                                             Map<String, BigDecimal> bidCurrencyRates) {
-        BigDecimal conversionRate = null;
-        if (MapUtils.isNotEmpty(adServerCurrencyRates) && MapUtils.isNotEmpty(bidCurrencyRates)) {
-            final List<String> sharedCurrencies = new ArrayList<>(adServerCurrencyRates.keySet());
-            sharedCurrencies.retainAll(bidCurrencyRates.keySet());
-
-            if (!sharedCurrencies.isEmpty()) {
-                // pick any found shared currency
-                final String sharedCurrency = sharedCurrencies.get(0);
-                final BigDecimal adServerCurrencyRateIntermediate = adServerCurrencyRates.get(sharedCurrency);
-                final BigDecimal bidCurrencyRateIntermediate = bidCurrencyRates.get(sharedCurrency);
-                conversionRate = adServerCurrencyRateIntermediate.divide(bidCurrencyRateIntermediate,
-                        // chose largest precision among intermediate rates
-                        bidCurrencyRateIntermediate.compareTo(adServerCurrencyRateIntermediate) > 0
-                                ? bidCurrencyRateIntermediate.precision()
-                                : adServerCurrencyRateIntermediate.precision(),
-                        RoundingMode.HALF_EVEN);
-            }
-        }
-        return conversionRate;
-    }
 }
@@ -0,0 +1,204 @@
+package org.prebid.server.currency;
+
+import org.apache.commons.collections4.MapUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Currency conversion rates which resolve rate for particular pair of currencies using straight, reverse
+ * and intermediate rates.
+ * <p>
+ * Rates created with {@link #of(Map)} are compiled to the dense matrix indexed by pair of currencies, which holds
+ * rates for every pair, so resolving the rate is just two index lookups. Compilation takes time quadratic to number
+ * of currencies, so it is meant for trusted rates which are compiled once and used by many requests.
+ * <p>
+ * Rates created with {@link #lazyOf(Map)} resolve the rate for particular pair on first request and reuse it
+ * afterwards, so their creation costs nothing regardless of number of currencies. They are meant for rates which
+ * come with auction request and are used for a few pairs only.
+ * <p>
+ * Zero or absent rates are treated as unavailable instead of failing conversion.
+ * <p>
+ * Instances are safe to share between threads.
+ */
+public abstract class CurrencyRatesMatrix {
+
+    /**
+     * Compiles {@link CurrencyRatesMatrix} from rates where the key is a currency to convert to and the value
+     * is map of currencies to convert from with their rates. Returns null if rates are empty.
+     */
+    public static CurrencyRatesMatrix of(Map<String, Map<String, BigDecimal>> currencyConversionRates) {
+        if (MapUtils.isEmpty(currencyConversionRates)) {
+            return null;
+        }
+
+        final Map<String, Integer> currencyToIndex = new HashMap<>();
+        final List<String> currencies = new ArrayList<>();
+        for (Map.Entry<String, Map<String, BigDecimal>> entry : currencyConversionRates.entrySet()) {
+            addCurrency(entry.getKey(), currencyToIndex, currencies);
+            final Map<String, BigDecimal> currencyRates = entry.getValue();
+            if (currencyRates != null) {
+                currencyRates.keySet().forEach(currency -> addCurrency(currency, currencyToIndex, currencies));
+            }
+        }
+
+        final int size = currencies.size();
+        final BigDecimal[][] rates = new BigDecimal[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                rates[i][j] = i != j
+                        ? resolveConversionRate(currencyConversionRates, currencies.get(i), currencies.get(j))
+                        : null;
+            }
+        }
+
+        return new CompiledRatesMatrix(currencyToIndex, rates);
+    }
+
+    private static void addCurrency(String currency, Map<String, Integer> currencyToIndex, List<String> currencies) {
+        if (currency != null && !currencyToIndex.containsKey(currency)) {
+            currencyToIndex.put(currency, currencies.size());
+            currencies.add(currency);
+        }
+    }
+
+    /**
+     * Creates {@link CurrencyRatesMatrix} resolving rates lazily from rates where the key is a currency to convert
+     * to and the value is map of currencies to convert from with their rates. Returns null if rates are empty.
+     */
+    public static CurrencyRatesMatrix lazyOf(Map<String, Map<String, BigDecimal>> currencyConversionRates) {
+        return MapUtils.isNotEmpty(currencyConversionRates) ? new LazyRatesMatrix(currencyConversionRates) : null;
+    }
+
+    /**
+     * Returns rate for adServerCurrency - bidCurrency pair or null if conversion is not possible.
+     */
+    public abstract BigDecimal getConversionRate(String adServerCurrency, String bidCurrency);
+
+    /**
+     * Looking for non-zero rate for adServerCurrency - bidCurrency pair.
+     */
+    private static BigDecimal resolveConversionRate(Map<String, Map<String, BigDecimal>> currencyConversionRates,
+                                                    String adServerCurrency, String bidCurrency) {
+        final BigDecimal rate = findConversionRate(currencyConversionRates, adServerCurrency, bidCurrency);
+        return rate != null && rate.signum() != 0 ? rate : null;
+    }
+
+    /**
+     * Looking for rates for adServerCurrency - bidCurrency pair, using such approaches as straight, reverse and
+     * intermediate rates.
+     */
+    private static BigDecimal findConversionRate(Map<String, Map<String, BigDecimal>> currencyConversionRates,
+                                                 String adServerCurrency, String bidCurrency) {
+        BigDecimal conversionRate;
+        final Map<String, BigDecimal> serverCurrencyRates = currencyConversionRates.get(adServerCurrency);
+
+        conversionRate = serverCurrencyRates != null ? serverCurrencyRates.get(bidCurrency) : null;
+        if (conversionRate != null) {
+            return conversionRate;
+        }
+
+        final Map<String, BigDecimal> bidCurrencyRates = currencyConversionRates.get(bidCurrency);
+        conversionRate = findReverseConversionRate(bidCurrencyRates, adServerCurrency);
+        if (conversionRate != null) {
+            return conversionRate;
+        }
+
+        return findIntermediateConversionRate(serverCurrencyRates, bidCurrencyRates);
+    }
+
+    /**
+     * Finds reverse conversion rate.
+     * If pair USD : EUR - 1.2 is present and EUR to USD conversion is needed, will return 1/1.2 conversion rate.
+     */
+    private static BigDecimal findReverseConversionRate(Map<String, BigDecimal> bidCurrencyRates,
+                                                        String adServerCurrency) {
+        final BigDecimal reverseConversionRate = bidCurrencyRates != null
+                ? bidCurrencyRates.get(adServerCurrency)
+                : null;
+
+        return reverseConversionRate != null && reverseConversionRate.signum() != 0
+                ? BigDecimal.ONE.divide(reverseConversionRate, reverseConversionRate.precision(),
+                RoundingMode.HALF_EVEN)
+                : null;
+    }
+
+    /**
+     * Finds intermediate conversion rate.
+     * If pairs USD : AUD - 1.2 and EUR : AUD - 1.5 are present, and EUR to USD conversion is needed, will return
+     * (1/1.5) * 1.2 conversion rate.
+     */
+    private static BigDecimal findIntermediateConversionRate(Map<String, BigDecimal> adServerCurrencyRates,
+                                                             Map<String, BigDecimal> bidCurrencyRates) {
+        BigDecimal conversionRate = null;
+        if (MapUtils.isNotEmpty(adServerCurrencyRates) && MapUtils.isNotEmpty(bidCurrencyRates)) {
+            final List<String> sharedCurrencies = new ArrayList<>(adServerCurrencyRates.keySet());
+            sharedCurrencies.retainAll(bidCurrencyRates.keySet());
+
+            if (!sharedCurrencies.isEmpty()) {
+                // pick any found shared currency
+                final String sharedCurrency = sharedCurrencies.get(0);
+                final BigDecimal adServerCurrencyRateIntermediate = adServerCurrencyRates.get(sharedCurrency);
+                final BigDecimal bidCurrencyRateIntermediate = bidCurrencyRates.get(sharedCurrency);
+                if (adServerCurrencyRateIntermediate == null || bidCurrencyRateIntermediate == null
+                        || bidCurrencyRateIntermediate.signum() == 0) {
+                    return null;
+                }
+                conversionRate = adServerCurrencyRateIntermediate.divide(bidCurrencyRateIntermediate,
+                        // chose largest precision among intermediate rates
+                        bidCurrencyRateIntermediate.compareTo(adServerCurrencyRateIntermediate) > 0
+                                ? bidCurrencyRateIntermediate.precision()
+                                : adServerCurrencyRateIntermediate.precision(),
+                        RoundingMode.HALF_EVEN);
+            }
+        }
+        return conversionRate;
+    }
+
+    private static class CompiledRatesMatrix extends CurrencyRatesMatrix {
+
+        private final Map<String, Integer> currencyToIndex;
+        private final BigDecimal[][] rates;
+
+        CompiledRatesMatrix(Map<String, Integer> currencyToIndex, BigDecimal[][] rates) {
+            this.currencyToIndex = currencyToIndex;
+            this.rates = rates;
+        }
+
+        @Override
+        public BigDecimal getConversionRate(String adServerCurrency, String bidCurrency) {
+            final Integer adServerCurrencyIndex = currencyToIndex.get(adServerCurrency);
+            final Integer bidCurrencyIndex = adServerCurrencyIndex != null ? currencyToIndex.get(bidCurrency) : null;
+            return bidCurrencyIndex != null ? rates[adServerCurrencyIndex][bidCurrencyIndex] : null;
+        }
+    }
+
+    private static class LazyRatesMatrix extends CurrencyRatesMatrix {
+
+        private final Map<String, Map<String, BigDecimal>> currencyConversionRates;
+        private final Map<String, Map<String, Optional<BigDecimal>>> resolvedRates;
+
+        LazyRatesMatrix(Map<String, Map<String, BigDecimal>> currencyConversionRates) {
+            this.currencyConversionRates = currencyConversionRates;
+            this.resolvedRates = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public BigDecimal getConversionRate(String adServerCurrency, String bidCurrency) {
+            if (adServerCurrency == null || bidCurrency == null || adServerCurrency.equals(bidCurrency)) {
+                return null;
+            }
+
+            return resolvedRates.computeIfAbsent(adServerCurrency, ignored -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(bidCurrency, ignored -> Optional.ofNullable(
+                            resolveConversionRate(currencyConversionRates, adServerCurrency, bidCurrency)))
+                    .orElse(null);
+        }
+    }
+}
@@ -13,16 +13,30 @@ import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.prebid.server.execution.RemoteFileProcessor;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of of the {@link GeoLocationService}
  * backed by <a href="https://dev.maxmind.com/geoip/geoip2/geolite2/">MaxMind free database</a>
+ * <p>
+ * Database is loaded to heap, or extracted to the given file and memory-mapped if database file path is configured.
+ * Lookup results may be cached by IP address or by its network (/24 for IPv4 and /48 for IPv6 address),
+ * cache is cleared every time database is updated.
  */
 public class MaxMindGeoLocationService implements GeoLocationService, RemoteFileProcessor {
 
@@ -30,7 +44,23 @@ public class MaxMindGeoLocationService implements GeoLocationService, RemoteFile
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
 
-    private DatabaseReader databaseReader;
+    private static final int IPV4_NETWORK_PREFIX_BYTES = 3;
+    private static final int IPV6_NETWORK_PREFIX_BYTES = 6;
+
+    private final String databaseFilePath;
+    private final Map<String, GeoInfo> cache;
+    private final boolean cacheByNetwork;
+    private final Metrics metrics;
+
+    private volatile DatabaseReader databaseReader;
+
+    public MaxMindGeoLocationService(String databaseFilePath, Map<String, GeoInfo> cache, boolean cacheByNetwork,
+                                     Metrics metrics) {
+        this.databaseFilePath = databaseFilePath;
+        this.cache = cache;
+        this.cacheByNetwork = cacheByNetwork;
+        this.metrics = cache != null ? Objects.requireNonNull(metrics) : metrics;
+    }
 
     public Future<?> setDataPath(String dataFilePath) {
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
@@ -49,7 +79,14 @@ public class MaxMindGeoLocationService implements GeoLocationService, RemoteFile
                         dataFilePath));
             }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
+            // previous reader is not closed since it still may be used by lookups in progress,
+            // memory-mapped file of replaced database remains valid until reader is garbage collected
+            databaseReader = databaseFilePath != null
+                    ? createMemoryMappedReader(tarInput)
+                    : new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
+            if (cache != null) {
+                cache.clear();
+            }
             return Future.succeededFuture();
         } catch (IOException e) {
             return Future.failedFuture(
@@ -57,39 +94,97 @@ public class MaxMindGeoLocationService implements GeoLocationService, RemoteFile
         }
     }
 
+    /**
+     * Extracts database file from archive and opens it in memory-mapped mode.
+     * <p>
+     * File is extracted to temporary file first and then moved to configured path, so the file of current database
+     * is replaced atomically and stays accessible for its reader.
+     */
+    private DatabaseReader createMemoryMappedReader(InputStream databaseInput) throws IOException {
+        final Path databasePath = Paths.get(databaseFilePath);
+        final Path directory = databasePath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        final Path tmpPath = Files.createTempFile(directory, DATABASE_FILE_NAME, ".tmp");
+        try {
+            Files.copy(databaseInput, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpPath, databasePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+
+        final File databaseFile = databasePath.toFile();
+        return new DatabaseReader.Builder(databaseFile).fileMode(Reader.FileMode.MEMORY_MAPPED).build();
+    }
+
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
-        if (databaseReader == null) {
+        final DatabaseReader currentDatabaseReader = databaseReader;
+        if (currentDatabaseReader == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
         try {
             final InetAddress inetAddress = InetAddress.getByName(ip);
-            return Future.succeededFuture(GeoInfo.builder()
-                    .vendor(VENDOR)
-                    .continent(getCity(inetAddress).getContinent().getCode().toLowerCase())
-                    .country(getCity(inetAddress).getCountry().getIsoCode().toLowerCase())
-                    .region(getRegionCode(inetAddress))
-                    //metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(getCity(inetAddress).getCity().getName())
-                    .lat(getLocation(inetAddress).getLatitude().floatValue())
-                    .lon(getLocation(inetAddress).getLongitude().floatValue())
-                    .build());
+            if (cache == null) {
+                return Future.succeededFuture(lookup(currentDatabaseReader, inetAddress));
+            }
+
+            final String cacheKey = cacheKey(inetAddress);
+            final GeoInfo cachedGeoInfo = cache.get(cacheKey);
+            metrics.updateGeoLocationCacheMetric(cachedGeoInfo != null);
+            if (cachedGeoInfo != null) {
+                return Future.succeededFuture(cachedGeoInfo);
+            }
+
+            final GeoInfo geoInfo = lookup(currentDatabaseReader, inetAddress);
+            cache.put(cacheKey, geoInfo);
+            return Future.succeededFuture(geoInfo);
         } catch (IOException | GeoIp2Exception e) {
             return Future.failedFuture(e);
         }
     }
 
-    private CityResponse getCity(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        return databaseReader.city(inetAddress);
+    private static GeoInfo lookup(DatabaseReader databaseReader, InetAddress inetAddress)
+            throws IOException, GeoIp2Exception {
+
+        final CityResponse cityResponse = databaseReader.city(inetAddress);
+        final Location location = cityResponse.getLocation();
+
+        return GeoInfo.builder()
+                .vendor(VENDOR)
+                .continent(cityResponse.getContinent().getCode().toLowerCase())
+                .country(cityResponse.getCountry().getIsoCode().toLowerCase())
+                .region(getRegionCode(cityResponse))
+                //metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
+                .city(cityResponse.getCity().getName())
+                .lat(location.getLatitude().floatValue())
+                .lon(location.getLongitude().floatValue())
+                .build();
     }
 
-    private String getRegionCode(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        final List<Subdivision> subdivisions = getCity(inetAddress).getSubdivisions();
+    private static String getRegionCode(CityResponse cityResponse) {
+        final List<Subdivision> subdivisions = cityResponse.getSubdivisions();
         return CollectionUtils.isEmpty(subdivisions) ? null : subdivisions.get(0).getIsoCode();
     }
 
-    private Location getLocation(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        return getCity(inetAddress).getLocation();
+    /**
+     * Returns IP address or its network prefix if results are cached by network.
+     */
+    private String cacheKey(InetAddress inetAddress) {
+        if (!cacheByNetwork) {
+            return inetAddress.getHostAddress();
+        }
+
+        final byte[] address = inetAddress.getAddress();
+        final int prefixLength = inetAddress instanceof Inet4Address
+                ? IPV4_NETWORK_PREFIX_BYTES
+                : IPV6_NETWORK_PREFIX_BYTES;
+
+        final StringBuilder key = new StringBuilder(prefixLength * 3);
+        for (int i = 0; i < prefixLength; i++) {
+            key.append(address[i] & 0xff).append('.');
+        }
+        return key.toString();
     }
 }
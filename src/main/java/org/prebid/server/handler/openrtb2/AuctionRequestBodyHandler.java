@@ -0,0 +1,179 @@
+package org.prebid.server.handler.openrtb2;
+
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.prebid.server.auction.AuctionRequestFactory;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.NonBlockingJsonDecoder;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces regular body handling for OpenRTB auction endpoint: decodes {@link BidRequest} incrementally
+ * as request body chunks arrive instead of decoding the whole body at once after it was received.
+ * <p>
+ * Requests exceeding max request size or having malformed JSON are rejected as soon as it is detected, without
+ * waiting for the rest of the body. Binding of large requests is done on worker pool to not block event loop.
+ * <p>
+ * Decoded {@link BidRequest} or error is passed to {@link AuctionRequestFactory} through {@link RoutingContext}.
+ */
+public class AuctionRequestBodyHandler implements Handler<RoutingContext> {
+
+    private final long maxRequestSize;
+    private final long workerOffloadSize;
+    private final Metrics metrics;
+    private final JacksonMapper mapper;
+
+    public AuctionRequestBodyHandler(long maxRequestSize, long workerOffloadSize, Metrics metrics,
+                                     JacksonMapper mapper) {
+        this.maxRequestSize = maxRequestSize;
+        this.workerOffloadSize = workerOffloadSize;
+        this.metrics = Objects.requireNonNull(metrics);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        final HttpServerRequest request = context.request();
+
+        final long contentLength = NumberUtils.toLong(request.getHeader(HttpHeaders.CONTENT_LENGTH), -1L);
+        if (contentLength > maxRequestSize) {
+            context.put(AuctionRequestFactory.BODY_DECODE_ERROR_KEY, sizeExceededError());
+            context.next();
+            return;
+        }
+
+        final BodyReader bodyReader = new BodyReader(context);
+        request.handler(bodyReader::onChunk);
+        request.endHandler(ignored -> bodyReader.onEnd());
+        request.exceptionHandler(context::fail);
+    }
+
+    private String sizeExceededError() {
+        return String.format("Request size exceeded max size of %d bytes.", maxRequestSize);
+    }
+
+    private static String decodeError(Throwable exception) {
+        return String.format("Error decoding bidRequest: %s", exception.getMessage());
+    }
+
+    /**
+     * Reads body of particular request.
+     */
+    private class BodyReader {
+
+        private final RoutingContext context;
+        private final NonBlockingJsonDecoder decoder;
+        private final Buffer body;
+        private long parseTimeNanos;
+        private boolean completed;
+
+        BodyReader(RoutingContext context) {
+            this.context = context;
+            this.decoder = new NonBlockingJsonDecoder(mapper);
+            this.body = Buffer.buffer();
+        }
+
+        void onChunk(Buffer chunk) {
+            if (completed) {
+                return;
+            }
+
+            body.appendBuffer(chunk);
+            if (body.length() > maxRequestSize) {
+                reject(sizeExceededError());
+                return;
+            }
+
+            final long startTime = System.nanoTime();
+            DecodeException error = null;
+            try {
+                decoder.feed(chunk);
+            } catch (DecodeException e) {
+                error = e;
+            }
+            parseTimeNanos += System.nanoTime() - startTime;
+
+            if (error != null) {
+                reject(decodeError(error));
+            }
+        }
+
+        void onEnd() {
+            if (completed) {
+                return;
+            }
+
+            // empty body is left to regular body handling, so it is reported the same way
+            if (body.length() == 0) {
+                completed = true;
+                context.setBody(body);
+                context.next();
+                return;
+            }
+
+            final boolean offload = body.length() >= workerOffloadSize;
+
+            final long startTime = System.nanoTime();
+            BidRequest bidRequest = null;
+            DecodeException error = null;
+            try {
+                decoder.end();
+                if (!offload) {
+                    bidRequest = decoder.decodeValue(BidRequest.class);
+                }
+            } catch (DecodeException e) {
+                error = e;
+            }
+            parseTimeNanos += System.nanoTime() - startTime;
+
+            if (error != null) {
+                reject(decodeError(error));
+            } else if (!offload) {
+                complete(bidRequest);
+            } else {
+                decodeOnWorker();
+            }
+        }
+
+        private void decodeOnWorker() {
+            metrics.updateAuctionRequestParseOffloadedMetric();
+            context.vertx().<BidRequest>executeBlocking(
+                    promise -> promise.complete(decoder.decodeValue(BidRequest.class)), false, this::onDecoded);
+        }
+
+        private void onDecoded(AsyncResult<BidRequest> result) {
+            if (result.succeeded()) {
+                complete(result.result());
+            } else {
+                reject(decodeError(result.cause()));
+            }
+        }
+
+        private void complete(BidRequest bidRequest) {
+            context.put(AuctionRequestFactory.DECODED_BID_REQUEST_KEY, bidRequest);
+            context.setBody(body);
+            proceed();
+        }
+
+        private void reject(String error) {
+            context.put(AuctionRequestFactory.BODY_DECODE_ERROR_KEY, error);
+            proceed();
+        }
+
+        private void proceed() {
+            completed = true;
+            metrics.updateAuctionRequestParseTimeMetric(parseTimeNanos, TimeUnit.NANOSECONDS);
+            context.next();
+        }
+    }
+}
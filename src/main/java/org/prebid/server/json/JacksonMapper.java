@@ -3,12 +3,16 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 import org.prebid.server.proto.openrtb.ext.FlexibleExtension;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 
 public class JacksonMapper {
@@ -31,6 +35,19 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Encodes given object as JSON directly into UTF-8 bytes, avoiding intermediate {@link String} representation.
+     */
+    public <T> Buffer encodeToBuffer(T obj) throws EncodeException {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        try {
+            mapper.writeValue((OutputStream) new ByteBufOutputStream(byteBuf), obj);
+        } catch (IOException e) {
+            throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+        }
+        return Buffer.buffer(byteBuf);
+    }
+
     public <T> T decodeValue(String str, Class<T> clazz) throws DecodeException {
         try {
             return mapper.readValue(str, clazz);
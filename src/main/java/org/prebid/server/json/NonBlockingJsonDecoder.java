@@ -0,0 +1,115 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Decodes JSON document which is received in chunks.
+ * <p>
+ * Every chunk is tokenized as soon as it is fed, so malformed input is detected without waiting for the rest
+ * of document, and tokens are collected into {@link TokenBuffer}. Binding of collected tokens to the target type
+ * doesn't need the parser anymore and may be done on another thread.
+ * <p>
+ * Floating point numbers are buffered as {@link BigDecimal}, so their precision and scale are kept, but reported
+ * as doubles while binding, so they are bound the same way as if the whole document was decoded at once.
+ * <p>
+ * Not thread-safe: chunks should be fed and input ended from the same thread.
+ */
+public class NonBlockingJsonDecoder {
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer tokens;
+
+    public NonBlockingJsonDecoder(JacksonMapper mapper) {
+        this.mapper = mapper.mapper();
+        try {
+            parser = this.mapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create non-blocking JSON parser", e);
+        }
+        feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        tokens = new TokenBuffer(parser).forceUseOfBigDecimal(true);
+    }
+
+    /**
+     * Tokenizes next chunk of document.
+     * <p>
+     * Throws {@link DecodeException} if chunk contains malformed JSON.
+     */
+    public void feed(Buffer chunk) throws DecodeException {
+        final byte[] bytes = chunk.getBytes();
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+        readAvailableTokens();
+    }
+
+    /**
+     * Tokenizes the rest of document after the last chunk was fed.
+     * <p>
+     * Throws {@link DecodeException} if document is incomplete.
+     */
+    public void end() throws DecodeException {
+        feeder.endOfInput();
+        readAvailableTokens();
+    }
+
+    private void readAvailableTokens() {
+        try {
+            JsonToken token = parser.nextToken();
+            while (token != null && token != JsonToken.NOT_AVAILABLE) {
+                tokens.copyCurrentEvent(parser);
+                token = parser.nextToken();
+            }
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Binds tokenized document to the given type. Should be called after {@link #end()}.
+     */
+    public <T> T decodeValue(Class<T> clazz) throws DecodeException {
+        try {
+            return mapper.readValue(new BufferedDecimalParser(tokens.asParser(mapper)), clazz);
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reports buffered decimal numbers as doubles like parser of the whole document does, so untyped values
+     * (e.g. in {@link com.fasterxml.jackson.databind.node.ObjectNode}) are bound to the same nodes, while
+     * {@link BigDecimal} values are still bound from exact number.
+     */
+    private static class BufferedDecimalParser extends JsonParserDelegate {
+
+        BufferedDecimalParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public NumberType getNumberType() throws IOException {
+            final NumberType numberType = super.getNumberType();
+            return numberType == NumberType.BIG_DECIMAL ? NumberType.DOUBLE : numberType;
+        }
+
+        @Override
+        public Number getNumberValue() throws IOException {
+            final Number value = super.getNumberValue();
+            return value instanceof BigDecimal ? value.doubleValue() : value;
+        }
+    }
+}
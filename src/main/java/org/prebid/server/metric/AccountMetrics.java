@@ -2,20 +2,20 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Account metrics support.
+ * <p>
+ * Timers and histograms of account and account adapter metrics always use {@link TimerType#exponentiallyDecaying}
+ * reservoir, since their number grows with number of accounts and bidders.
  */
 class AccountMetrics extends UpdatableMetrics {
 
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
     private final Map<String, AdapterMetrics> adapterMetrics;
     private final Function<MetricName, RequestTypeMetrics> requestTypeMetricsCreator;
     private final Map<MetricName, RequestTypeMetrics> requestTypeMetrics;
@@ -23,12 +23,13 @@ class AccountMetrics extends UpdatableMetrics {
 
     AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, String account) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                nameCreator(createPrefix(Objects.requireNonNull(account))));
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, account, adapterType);
-        adapterMetrics = new HashMap<>();
+                TimerType.exponentiallyDecaying, nameCreator(createPrefix(Objects.requireNonNull(account))));
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, account, adapterType);
+        adapterMetrics = new ConcurrentHashMap<>();
         requestTypeMetricsCreator = requestType ->
                 new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account), requestType);
-        requestTypeMetrics = new HashMap<>();
+        requestTypeMetrics = new ConcurrentHashMap<>();
         requestsMetrics = new RequestMetrics(metricRegistry, counterType, createPrefix(account));
     }
 
@@ -41,11 +42,11 @@ class AccountMetrics extends UpdatableMetrics {
     }
 
     AdapterMetrics forAdapter(String adapterType) {
-        return adapterMetrics.computeIfAbsent(adapterType, adapterMetricsCreator);
+        return getOrCreate(adapterMetrics, adapterType, adapterMetricsCreator);
     }
 
     RequestTypeMetrics requestType(MetricName requestType) {
-        return requestTypeMetrics.computeIfAbsent(requestType, requestTypeMetricsCreator);
+        return getOrCreate(requestTypeMetrics, requestType, requestTypeMetricsCreator);
     }
 
     RequestMetrics requests() {
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -18,21 +18,23 @@ class AdapterMetrics extends UpdatableMetrics {
     private final Function<String, BidTypeMetrics> bidTypeMetricsCreator;
     private final Map<String, BidTypeMetrics> bidTypeMetrics;
 
-    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String adapterType) {
+    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, TimerType timerType, String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(timerType),
                 nameCreator(createAdapterPrefix(Objects.requireNonNull(adapterType))));
 
         bidTypeMetricsCreator = bidType ->
                 new BidTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), bidType);
         requestTypeMetricsCreator = requestType ->
                 new RequestTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), requestType);
-        requestTypeMetrics = new HashMap<>();
+        requestTypeMetrics = new ConcurrentHashMap<>();
         requestMetrics = new RequestMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
-        bidTypeMetrics = new HashMap<>();
+        bidTypeMetrics = new ConcurrentHashMap<>();
     }
 
     AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String account, String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                TimerType.exponentiallyDecaying,
                 nameCreator(createAccountAdapterPrefix(Objects.requireNonNull(account),
                         Objects.requireNonNull(adapterType))));
 
@@ -59,7 +61,7 @@ class AdapterMetrics extends UpdatableMetrics {
     }
 
     RequestTypeMetrics requestType(MetricName requestType) {
-        return requestTypeMetrics.computeIfAbsent(requestType, requestTypeMetricsCreator);
+        return getOrCreate(requestTypeMetrics, requestType, requestTypeMetricsCreator);
     }
 
     RequestMetrics request() {
@@ -67,6 +69,6 @@ class AdapterMetrics extends UpdatableMetrics {
     }
 
     BidTypeMetrics forBidType(String bidType) {
-        return bidTypeMetrics.computeIfAbsent(bidType, bidTypeMetricsCreator);
+        return getOrCreate(bidTypeMetrics, bidType, bidTypeMetricsCreator);
     }
 }
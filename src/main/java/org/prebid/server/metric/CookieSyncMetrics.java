@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -19,11 +19,11 @@ public class CookieSyncMetrics extends UpdatableMetrics {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
                 metricName -> String.format("cookie_sync.%s", metricName.toString()));
         bidderCookieSyncMetricsCreator = bidder -> new BidderCookieSyncMetrics(metricRegistry, counterType, bidder);
-        bidderCookieSyncMetrics = new HashMap<>();
+        bidderCookieSyncMetrics = new ConcurrentHashMap<>();
     }
 
     CookieSyncMetrics.BidderCookieSyncMetrics forBidder(String bidder) {
-        return bidderCookieSyncMetrics.computeIfAbsent(bidder, bidderCookieSyncMetricsCreator);
+        return getOrCreate(bidderCookieSyncMetrics, bidder, bidderCookieSyncMetricsCreator);
     }
 
     static class BidderCookieSyncMetrics extends UpdatableMetrics {
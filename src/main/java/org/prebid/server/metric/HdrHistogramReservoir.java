@@ -0,0 +1,170 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Reservoir} which records every value into HdrHistogram, so percentiles up to p999 are exact within
+ * the configured precision rather than estimated from a sample.
+ * <p>
+ * Values are recorded with wait-free {@link Recorder}, memory is bounded by the tracked values range
+ * and precision, values out of the range are clamped to its bounds.
+ * <p>
+ * Every snapshot merges values recorded since the previous snapshot into the histogram of the current window,
+ * so several reporters with different intervals see the same distribution. The window is restarted
+ * by the first snapshot taken after it expires.
+ * <p>
+ * {@link #size()} is computed from counters, without merging recorded values, so it doesn't include values
+ * dropped by window restart which is not yet made by the snapshot.
+ */
+class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final long TIMER_LOWEST_DISCERNIBLE_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long TIMER_HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final long HISTOGRAM_HIGHEST_TRACKABLE_VALUE = 1_000_000_000L;
+
+    // number of values returned by snapshot when asked for all values
+    private static final int SNAPSHOT_VALUES_COUNT = 1028;
+
+    private final long highestTrackableValue;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Recorder recorder;
+    private final LongAdder intervalCount;
+
+    private final Histogram windowHistogram;
+    private Histogram intervalHistogram;
+    private long windowStartMillis;
+    private volatile long windowCount;
+
+    HdrHistogramReservoir(long lowestDiscernibleValue, long highestTrackableValue, long windowMillis, Clock clock) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.windowMillis = windowMillis;
+        this.clock = Objects.requireNonNull(clock);
+
+        recorder = new Recorder(lowestDiscernibleValue, highestTrackableValue, SIGNIFICANT_VALUE_DIGITS);
+        intervalCount = new LongAdder();
+        windowHistogram = new Histogram(lowestDiscernibleValue, highestTrackableValue, SIGNIFICANT_VALUE_DIGITS);
+        windowStartMillis = clock.millis();
+    }
+
+    /**
+     * Creates reservoir for timers, which record durations in nanoseconds.
+     */
+    static HdrHistogramReservoir forTimer() {
+        return new HdrHistogramReservoir(TIMER_LOWEST_DISCERNIBLE_NANOS, TIMER_HIGHEST_TRACKABLE_NANOS,
+                WINDOW_MILLIS, Clock.systemUTC());
+    }
+
+    /**
+     * Creates reservoir for histograms of non-negative values.
+     */
+    static HdrHistogramReservoir forHistogram() {
+        return new HdrHistogramReservoir(1, HISTOGRAM_HIGHEST_TRACKABLE_VALUE, WINDOW_MILLIS, Clock.systemUTC());
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(windowCount + intervalCount.sum(), SNAPSHOT_VALUES_COUNT);
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.min(Math.max(value, 0), highestTrackableValue));
+        intervalCount.increment();
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        intervalCount.reset();
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+
+        final long now = clock.millis();
+        if (now - windowStartMillis >= windowMillis) {
+            windowHistogram.reset();
+            windowStartMillis = now;
+        }
+        windowHistogram.add(intervalHistogram);
+        windowCount = windowHistogram.getTotalCount();
+
+        return new HdrHistogramSnapshot(windowHistogram.copy());
+    }
+
+    /**
+     * {@link Snapshot} of values recorded by {@link HdrHistogramReservoir}.
+     */
+    private static class HdrHistogramSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        HdrHistogramSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        /**
+         * Returns values at evenly spaced percentiles, since all recorded values are not kept by histogram.
+         */
+        @Override
+        public long[] getValues() {
+            final int size = size();
+            final long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = histogram.getValueAtPercentile(100.0 * (i + 1) / size);
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), SNAPSHOT_VALUES_COUNT);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getTotalCount() > 0 ? histogram.getMaxValue() : 0;
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getTotalCount() > 0 ? histogram.getMean() : 0;
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getTotalCount() > 0 ? histogram.getMinValue() : 0;
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getTotalCount() > 0 ? histogram.getStdDeviation() : 0;
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
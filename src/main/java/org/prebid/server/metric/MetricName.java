@@ -19,6 +19,8 @@ public enum MetricName {
     geolocation_fail,
     geolocation_circuitbreaker_opened,
     geolocation_circuitbreaker_closed,
+    geolocation_cache_hits,
+    geolocation_cache_misses,
 
     // auction
     requests,
@@ -36,6 +38,8 @@ public enum MetricName {
     bids_received,
     adm_bids_received,
     nurl_bids_received,
+    adaptive_timeout,
+    adaptive_timeout_applied,
 
     // request types,
     openrtb2web("openrtb2-web"),
@@ -55,6 +59,8 @@ public enum MetricName {
     failedtorequestbids,
     timeout,
     unknown_error,
+    skipped_unhealthy,
+    skipped_concurrency_limit,
     err,
     networkerr,
 
@@ -86,16 +92,42 @@ public enum MetricName {
     // vendor list
     missing,
 
+    // tcf consent cache
+    tcf_consent_cache_hits,
+    tcf_consent_cache_misses,
+    tcf_consent_decode_time,
+    tcf_permissions_cache_hits,
+    tcf_permissions_cache_misses,
+
     // stored data
     stored_requests_found,
     stored_requests_missing,
     stored_imps_found,
     stored_imps_missing,
+    stored_data_tree_cache_hits,
+    stored_data_tree_cache_misses,
+    stored_data_parse_time,
+    stored_data_batch_size,
+    stored_data_query_time,
+    auction_request_parse_time,
+    auction_request_parse_offloaded,
+
+    // settings cache
+    settings_cache_hits("hits"),
+    settings_cache_misses("misses"),
+    settings_cache_negative_hits("negative_hits"),
+    settings_cache_coalesced("coalesced"),
+    settings_cache_refreshes("refreshes"),
 
     // cache
     prebid_cache_request_success_time,
     prebid_cache_request_error_time,
 
+    // analytics
+    analytics_queue_depth,
+    analytics_events_dropped,
+    analytics_batch_time,
+
     //account.*.requests.
     rejected;
 
@@ -7,11 +7,11 @@ import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -29,9 +29,7 @@ public class Metrics extends UpdatableMetrics {
     private final Function<String, AccountMetrics> accountMetricsCreator;
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
     private final Function<String, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
+    private final Function<String, SettingsCacheMetrics> settingsCacheMetricsCreator;
     private final Map<MetricName, RequestStatusMetrics> requestMetrics;
     private final Map<String, AccountMetrics> accountMetrics;
     private final Map<String, AdapterMetrics> adapterMetrics;
@@ -39,37 +37,42 @@ public class Metrics extends UpdatableMetrics {
     private final CookieSyncMetrics cookieSyncMetrics;
     private final PrivacyMetrics privacyMetrics;
     private final Map<String, CircuitBreakerMetrics> circuitBreakerMetrics;
+    private final Map<String, SettingsCacheMetrics> settingsCacheMetrics;
 
-    public Metrics(MetricRegistry metricRegistry, CounterType counterType, AccountMetricsVerbosity
-            accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        super(metricRegistry, counterType, MetricName::toString);
+    public Metrics(MetricRegistry metricRegistry, CounterType counterType, TimerType timerType,
+                   AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(timerType), MetricName::toString);
 
         this.accountMetricsVerbosity = Objects.requireNonNull(accountMetricsVerbosity);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
 
         requestMetricsCreator = requestType -> new RequestStatusMetrics(metricRegistry, counterType, requestType);
         accountMetricsCreator = account -> new AccountMetrics(metricRegistry, counterType, account);
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, adapterType);
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, timerType, adapterType);
         circuitBreakerMetricsCreator = id -> new CircuitBreakerMetrics(metricRegistry, counterType, id);
-        requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
-        adapterMetrics = new HashMap<>();
+        settingsCacheMetricsCreator = source -> new SettingsCacheMetrics(metricRegistry, counterType, source);
+        requestMetrics = new ConcurrentHashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
+        adapterMetrics = new ConcurrentHashMap<>();
         userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType);
         cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType);
         privacyMetrics = new PrivacyMetrics(metricRegistry, counterType);
-        circuitBreakerMetrics = new HashMap<>();
+        circuitBreakerMetrics = new ConcurrentHashMap<>();
+        settingsCacheMetrics = new ConcurrentHashMap<>();
     }
 
     RequestStatusMetrics forRequestType(MetricName requestType) {
-        return requestMetrics.computeIfAbsent(requestType, requestMetricsCreator);
+        return getOrCreate(requestMetrics, requestType, requestMetricsCreator);
     }
 
     AccountMetrics forAccount(String account) {
-        return accountMetrics.computeIfAbsent(account, accountMetricsCreator);
+        return getOrCreate(accountMetrics, account, accountMetricsCreator);
     }
 
     AdapterMetrics forAdapter(String adapterType) {
-        return adapterMetrics.computeIfAbsent(adapterType, adapterMetricsCreator);
+        return getOrCreate(adapterMetrics, adapterType, adapterMetricsCreator);
     }
 
     UserSyncMetrics userSync() {
@@ -85,7 +88,11 @@ public class Metrics extends UpdatableMetrics {
     }
 
     CircuitBreakerMetrics forCircuitBreaker(String id) {
-        return circuitBreakerMetrics.computeIfAbsent(id, circuitBreakerMetricsCreator);
+        return getOrCreate(circuitBreakerMetrics, id, circuitBreakerMetricsCreator);
+    }
+
+    SettingsCacheMetrics forSettingsCache(String source) {
+        return getOrCreate(settingsCacheMetrics, source, settingsCacheMetricsCreator);
     }
 
     public void updateSafariRequestsMetric(boolean isSafari) {
@@ -212,6 +219,14 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterAdaptiveTimeoutMetrics(String bidder, long timeoutMs, boolean applied) {
+        final AdapterMetrics adapterMetrics = forAdapter(resolveMetricsBidderName(bidder));
+        adapterMetrics.updateHistogram(MetricName.adaptive_timeout, timeoutMs);
+        if (applied) {
+            adapterMetrics.incCounter(MetricName.adaptive_timeout_applied);
+        }
+    }
+
     public void updateAdapterRequestNobidMetrics(String bidder, String accountId) {
         final String metricsBidderName = resolveMetricsBidderName(bidder);
         forAdapter(metricsBidderName).request().incCounter(MetricName.nobid);
@@ -247,6 +262,11 @@ public class Metrics extends UpdatableMetrics {
         forAdapter(resolveMetricsBidderName(bidder)).request().incCounter(errorMetric);
     }
 
+    public void updateAdapterRequestSkippedMetric(String bidder, boolean unhealthy) {
+        forAdapter(resolveMetricsBidderName(bidder)).request()
+                .incCounter(unhealthy ? MetricName.skipped_unhealthy : MetricName.skipped_concurrency_limit);
+    }
+
     public void updateUserSyncOptoutMetric() {
         userSync().incCounter(MetricName.opt_outs);
     }
@@ -396,6 +416,35 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateGeoLocationCacheMetric(boolean hit) {
+        if (hit) {
+            incCounter(MetricName.geolocation_cache_hits);
+        } else {
+            incCounter(MetricName.geolocation_cache_misses);
+        }
+    }
+
+    public void updateTcfConsentCacheMetric(boolean hit) {
+        if (hit) {
+            incCounter(MetricName.tcf_consent_cache_hits);
+        } else {
+            incCounter(MetricName.tcf_consent_cache_misses);
+        }
+    }
+
+    public void updateTcfConsentDecodeTimeMetric(long duration, TimeUnit unit) {
+        updateTimer(MetricName.tcf_consent_decode_time, duration, unit);
+    }
+
+    public void updateTcfPermissionsCacheMetrics(int hits, int misses) {
+        if (hits > 0) {
+            incCounter(MetricName.tcf_permissions_cache_hits, hits);
+        }
+        if (misses > 0) {
+            incCounter(MetricName.tcf_permissions_cache_misses, misses);
+        }
+    }
+
     public void updateStoredRequestMetric(boolean found) {
         if (found) {
             incCounter(MetricName.stored_requests_found);
@@ -412,6 +461,52 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateStoredDataTreeCacheMetric(boolean hit) {
+        if (hit) {
+            incCounter(MetricName.stored_data_tree_cache_hits);
+        } else {
+            incCounter(MetricName.stored_data_tree_cache_misses);
+        }
+    }
+
+    public void updateSettingsCacheMetric(String source, MetricName metricName, int count) {
+        if (count > 0) {
+            forSettingsCache(source).incCounter(metricName, count);
+        }
+    }
+
+    public void updateStoredDataParseTimeMetric(long duration, TimeUnit unit) {
+        updateTimer(MetricName.stored_data_parse_time, duration, unit);
+    }
+
+    public void updateStoredDataBatchSizeMetric(int batchSize) {
+        updateHistogram(MetricName.stored_data_batch_size, batchSize);
+    }
+
+    public void updateStoredDataQueryTimeMetric(long duration, TimeUnit unit) {
+        updateTimer(MetricName.stored_data_query_time, duration, unit);
+    }
+
+    public void updateAuctionRequestParseTimeMetric(long duration, TimeUnit unit) {
+        updateTimer(MetricName.auction_request_parse_time, duration, unit);
+    }
+
+    public void updateAuctionRequestParseOffloadedMetric() {
+        incCounter(MetricName.auction_request_parse_offloaded);
+    }
+
+    public void updateAnalyticsQueueDepthMetric(int depth) {
+        updateHistogram(MetricName.analytics_queue_depth, depth);
+    }
+
+    public void updateAnalyticsEventsDroppedMetric() {
+        incCounter(MetricName.analytics_events_dropped);
+    }
+
+    public void updateAnalyticsBatchTimeMetric(long duration, TimeUnit unit) {
+        updateTimer(MetricName.analytics_batch_time, duration, unit);
+    }
+
     public void updateCacheRequestSuccessTime(long timeElapsed) {
         updateTimer(MetricName.prebid_cache_request_success_time, timeElapsed);
     }
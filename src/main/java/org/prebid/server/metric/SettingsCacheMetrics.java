@@ -0,0 +1,23 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Settings cache metrics support.
+ */
+class SettingsCacheMetrics extends UpdatableMetrics {
+
+    SettingsCacheMetrics(MetricRegistry metricRegistry, CounterType counterType, String source) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(Objects.requireNonNull(source)));
+    }
+
+    private static Function<MetricName, String> nameCreator(String source) {
+        return metricName -> String.format("settings.cache.%s.%s", source, metricName.toString());
+    }
+}
@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -54,7 +54,7 @@ class TcfMetrics extends UpdatableMetrics {
 
             vendorListMetricsCreator = vendorList -> new VendorListMetrics(metricRegistry, counterType,
                     createVersionPrefix(prefix, version), vendorList);
-            vendorListMetrics = new HashMap<>();
+            vendorListMetrics = new ConcurrentHashMap<>();
         }
 
         private static String createVersionPrefix(String prefix, String version) {
@@ -66,7 +66,7 @@ class TcfMetrics extends UpdatableMetrics {
         }
 
         public VendorListMetrics forVendorList(int vendorList) {
-            return vendorListMetrics.computeIfAbsent(vendorList, vendorListMetricsCreator);
+            return getOrCreate(vendorListMetrics, vendorList, vendorListMetricsCreator);
         }
     }
 
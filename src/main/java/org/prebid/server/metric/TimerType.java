@@ -0,0 +1,11 @@
+package org.prebid.server.metric;
+
+/**
+ * Defines reservoir backing timers and histograms.
+ * <p>
+ * {@link #exponentiallyDecaying} is the default reservoir of Dropwizard which keeps a biased sample of 1028 values,
+ * {@link #hdrHistogram} records every value into fixed-size HdrHistogram, see {@link HdrHistogramReservoir}.
+ */
+public enum TimerType {
+    exponentiallyDecaying, hdrHistogram
+}
@@ -1,42 +1,46 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
-import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
+/**
+ * Base class for metrics with names created from {@link MetricName}.
+ * <p>
+ * Every metric is looked up in {@link MetricRegistry} by name only once, on its first update, then the resolved
+ * metric is kept by {@link MetricName} index, so further updates neither build names nor query the registry.
+ * Counters and meters of Dropwizard are backed by striped {@link java.util.concurrent.atomic.LongAdder}s,
+ * so updates from different event loops don't contend with each other.
+ */
 class UpdatableMetrics {
 
+    private static final int METRIC_NAMES_COUNT = MetricName.values().length;
+
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
-    private final MetricIncrementer incrementer;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<MetricName, String> metricNames;
+    private final CounterType counterType;
+    private final TimerType timerType;
+    private final AtomicReferenceArray<Metric> metrics;
 
     UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
+        this(metricRegistry, counterType, TimerType.exponentiallyDecaying, nameCreator);
+    }
+
+    UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, TimerType timerType,
+                     Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.nameCreator = nameCreator;
-        metricNames = new EnumMap<>(MetricName.class);
-
-        switch (counterType) {
-            case flushingCounter:
-                incrementer = (registry, metricName, value) ->
-                        registry.counter(metricName, ResettingCounter::new).inc(value);
-                break;
-            case counter:
-                incrementer = (registry, metricName, value) -> registry.counter(metricName).inc(value);
-                break;
-            case meter:
-                incrementer = (registry, metricName, value) -> registry.meter(metricName).mark(value);
-                break;
-            default:
-                // to satisfy compiler
-                throw new IllegalStateException("Should never happen");
-        }
+        this.counterType = counterType;
+        this.timerType = timerType;
+        metrics = new AtomicReferenceArray<>(METRIC_NAMES_COUNT);
     }
 
     /**
@@ -50,30 +54,88 @@ class UpdatableMetrics {
      * Increments metric's counter on a given value.
      */
     void incCounter(MetricName metricName, long value) {
-        incrementer.accept(metricRegistry, name(metricName), value);
+        if (counterType == CounterType.meter) {
+            meter(metricName).mark(value);
+        } else {
+            counter(metricName).inc(value);
+        }
     }
 
     /**
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        updateTimer(metricName, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates metric's timer with a given value measured in given time unit.
+     */
+    void updateTimer(MetricName metricName, long duration, TimeUnit unit) {
+        Timer timer = (Timer) metrics.get(metricName.ordinal());
+        if (timer == null) {
+            timer = timerType == TimerType.hdrHistogram
+                    ? metricRegistry.timer(name(metricName), UpdatableMetrics::createHdrTimer)
+                    : metricRegistry.timer(name(metricName));
+            metrics.set(metricName.ordinal(), timer);
+        }
+        timer.update(duration, unit);
     }
 
     /**
      * Updates metric's histogram with a given value.
      */
     void updateHistogram(MetricName metricName, long value) {
-        // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
+        Histogram histogram = (Histogram) metrics.get(metricName.ordinal());
+        if (histogram == null) {
+            // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
+            histogram = timerType == TimerType.hdrHistogram
+                    ? metricRegistry.histogram(name(metricName), UpdatableMetrics::createHdrHistogram)
+                    : metricRegistry.histogram(name(metricName));
+            metrics.set(metricName.ordinal(), histogram);
+        }
+        histogram.update(value);
+    }
+
+    private Counter counter(MetricName metricName) {
+        Counter counter = (Counter) metrics.get(metricName.ordinal());
+        if (counter == null) {
+            counter = counterType == CounterType.flushingCounter
+                    ? metricRegistry.counter(name(metricName), ResettingCounter::new)
+                    : metricRegistry.counter(name(metricName));
+            metrics.set(metricName.ordinal(), counter);
+        }
+        return counter;
+    }
+
+    private Meter meter(MetricName metricName) {
+        Meter meter = (Meter) metrics.get(metricName.ordinal());
+        if (meter == null) {
+            meter = metricRegistry.meter(name(metricName));
+            metrics.set(metricName.ordinal(), meter);
+        }
+        return meter;
+    }
+
+    private static Timer createHdrTimer() {
+        return new Timer(HdrHistogramReservoir.forTimer());
+    }
+
+    private static Histogram createHdrHistogram() {
+        return new Histogram(HdrHistogramReservoir.forHistogram());
     }
 
     private String name(MetricName metricName) {
-        return metricNames.computeIfAbsent(metricName, key -> nameCreator.apply(metricName));
+        return nameCreator.apply(metricName);
     }
 
-    @FunctionalInterface
-    private interface MetricIncrementer {
-        void accept(MetricRegistry metricRegistry, String metricName, long value);
+    /**
+     * Returns nested metrics for the given key, creating them on first access.
+     * <p>
+     * Map is expected to be concurrent, existing metrics are returned without locking.
+     */
+    static <K, V> V getOrCreate(Map<K, V> metrics, K key, Function<K, V> creator) {
+        final V existing = metrics.get(key);
+        return existing != null ? existing : metrics.computeIfAbsent(key, creator);
     }
 }
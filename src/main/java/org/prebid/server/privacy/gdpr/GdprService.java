@@ -32,9 +32,9 @@ public class GdprService {
 
     private static final int PURPOSE_ONE_ID = 1;
 
-    private final VendorListService<VendorListV1, VendorV1> vendorListService;
+    private final VendorListService<VendorListV1, Map<Integer, VendorV1>> vendorListService;
 
-    public GdprService(VendorListService<VendorListV1, VendorV1> vendorListService) {
+    public GdprService(VendorListService<VendorListV1, Map<Integer, VendorV1>> vendorListService) {
         this.vendorListService = Objects.requireNonNull(vendorListService);
     }
 
@@ -3,11 +3,14 @@ package org.prebid.server.privacy.gdpr;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
+import org.prebid.server.privacy.gdpr.model.VendorPermissionKey;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.specialfeature.SpecialFeaturesStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorListV2;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListServiceV2;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 import org.prebid.server.settings.model.AccountGdprConfig;
@@ -19,11 +22,13 @@ import org.prebid.server.settings.model.Purposes;
 import org.prebid.server.settings.model.SpecialFeature;
 import org.prebid.server.settings.model.SpecialFeatures;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class Tcf2Service {
@@ -35,6 +40,8 @@ public class Tcf2Service {
     private final List<SpecialFeaturesStrategy> specialFeaturesStrategies;
     private final BidderCatalog bidderCatalog;
     private final PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
+    private final Map<TCString, Map<VendorPermissionKey, PrivacyEnforcementAction>> permissionsCache;
+    private final Metrics metrics;
 
     public Tcf2Service(GdprConfig gdprConfig,
                        List<PurposeStrategy> purposeStrategies,
@@ -42,6 +49,24 @@ public class Tcf2Service {
                        VendorListServiceV2 vendorListServiceV2,
                        BidderCatalog bidderCatalog) {
 
+        this(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListServiceV2, bidderCatalog, null,
+                null);
+    }
+
+    /**
+     * Creates service caching calculated permissions per decoded consent, if cache is given.
+     * <p>
+     * Cache is expected to compare {@link TCString} keys by identity, so it only pays off when the same consent
+     * string is decoded to the same {@link TCString} instance, i.e. decoded consent strings are cached too.
+     */
+    public Tcf2Service(GdprConfig gdprConfig,
+                       List<PurposeStrategy> purposeStrategies,
+                       List<SpecialFeaturesStrategy> specialFeaturesStrategies,
+                       VendorListServiceV2 vendorListServiceV2,
+                       BidderCatalog bidderCatalog,
+                       Map<TCString, Map<VendorPermissionKey, PrivacyEnforcementAction>> permissionsCache,
+                       Metrics metrics) {
+
         this.defaultPurposes = gdprConfig.getPurposes() == null ? Purposes.builder().build() : gdprConfig.getPurposes();
         this.defaultSpecialFeatures = gdprConfig.getSpecialFeatures() == null
                 ? SpecialFeatures.builder().build()
@@ -51,6 +76,8 @@ public class Tcf2Service {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.purposeStrategies = Objects.requireNonNull(purposeStrategies);
         this.specialFeaturesStrategies = Objects.requireNonNull(specialFeaturesStrategies);
+        this.permissionsCache = permissionsCache;
+        this.metrics = permissionsCache != null ? Objects.requireNonNull(metrics) : metrics;
     }
 
     public Future<Collection<VendorPermission>> permissionsFor(Set<Integer> vendorIds, TCString tcfConsent) {
@@ -89,6 +116,50 @@ public class Tcf2Service {
     private Future<Collection<VendorPermission>> permissionsForInternal(Collection<VendorPermission> vendorPermissions,
                                                                         TCString tcfConsent,
                                                                         AccountGdprConfig accountGdprConfig) {
+        if (permissionsCache == null) {
+            return calculatePermissions(vendorPermissions, tcfConsent, accountGdprConfig, null);
+        }
+
+        final Map<VendorPermissionKey, PrivacyEnforcementAction> consentPermissions =
+                permissionsCache.computeIfAbsent(tcfConsent, ignored -> new ConcurrentHashMap<>());
+
+        final List<VendorPermission> resolvedPermissions = new ArrayList<>(vendorPermissions.size());
+        final List<VendorPermission> missingPermissions = new ArrayList<>();
+        for (VendorPermission vendorPermission : vendorPermissions) {
+            final PrivacyEnforcementAction cachedAction = consentPermissions.get(
+                    toPermissionKey(vendorPermission, accountGdprConfig));
+            if (cachedAction != null) {
+                // cached action is shared between requests, so each one gets its own mutable copy
+                resolvedPermissions.add(VendorPermission.of(vendorPermission.getVendorId(),
+                        vendorPermission.getBidderName(), cachedAction.toBuilder().build()));
+            } else {
+                missingPermissions.add(vendorPermission);
+            }
+        }
+        metrics.updateTcfPermissionsCacheMetrics(resolvedPermissions.size(), missingPermissions.size());
+
+        if (missingPermissions.isEmpty()) {
+            return Future.succeededFuture(resolvedPermissions);
+        }
+
+        return calculatePermissions(missingPermissions, tcfConsent, accountGdprConfig, consentPermissions)
+                .map(calculatedPermissions -> {
+                    resolvedPermissions.addAll(calculatedPermissions);
+                    return resolvedPermissions;
+                });
+    }
+
+    /**
+     * Calculates permissions and stores them to the given cache, unless vendor list is not available yet
+     * and permissions were calculated without it.
+     * <p>
+     * {@link PrivacyEnforcementAction} is mutable, so cache keeps copies of actions which are not exposed to anyone.
+     */
+    private Future<Collection<VendorPermission>> calculatePermissions(
+            Collection<VendorPermission> vendorPermissions,
+            TCString tcfConsent,
+            AccountGdprConfig accountGdprConfig,
+            Map<VendorPermissionKey, PrivacyEnforcementAction> consentPermissions) {
 
         final Purposes mergedPurposes = mergeAccountPurposes(accountGdprConfig);
         final SpecialFeatures mergedSpecialFeatures = mergeAccountSpecialFeatures(accountGdprConfig);
@@ -96,16 +167,37 @@ public class Tcf2Service {
                 mergePurposeOneTreatmentInterpretation(accountGdprConfig);
 
         return vendorListServiceV2.forVersion(tcfConsent.getVendorListVersion())
-                .map(vendorGvlPermissions -> wrapWithGVL(vendorPermissions, vendorGvlPermissions))
-
-                .compose(gvlResult -> processSupportedPurposeStrategies(tcfConsent, gvlResult, mergedPurposes,
-                        purposeOneTreatmentInterpretation),
+                .compose(vendorList -> processSupportedPurposeStrategies(tcfConsent,
+                        wrapWithGVL(vendorPermissions, vendorList.getVendors()), vendorList, mergedPurposes,
+                        purposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
+                                        changedVendorPermissions, mergedSpecialFeatures))
+                                .map(changedVendorPermissions -> cachePermissions(changedVendorPermissions,
+                                        accountGdprConfig, consentPermissions)),
                         ignoredFailed -> processDowngradedSupportedPurposeStrategies(tcfConsent, vendorPermissions,
-                                mergedPurposes, mergedPurposeOneTreatmentInterpretation))
+                                mergedPurposes, mergedPurposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
+                                        changedVendorPermissions, mergedSpecialFeatures)));
+    }
 
-                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
-                        changedVendorPermissions, mergedSpecialFeatures));
+    private static Collection<VendorPermission> cachePermissions(
+            Collection<VendorPermission> vendorPermissions,
+            AccountGdprConfig accountGdprConfig,
+            Map<VendorPermissionKey, PrivacyEnforcementAction> consentPermissions) {
+
+        if (consentPermissions != null) {
+            for (VendorPermission vendorPermission : vendorPermissions) {
+                consentPermissions.put(toPermissionKey(vendorPermission, accountGdprConfig),
+                        vendorPermission.getPrivacyEnforcementAction().toBuilder().build());
+            }
+        }
+        return vendorPermissions;
+    }
 
+    private static VendorPermissionKey toPermissionKey(VendorPermission vendorPermission,
+                                                       AccountGdprConfig accountGdprConfig) {
+        return VendorPermissionKey.of(vendorPermission.getVendorId(), vendorPermission.getBidderName(),
+                accountGdprConfig);
     }
 
     private static Collection<VendorPermissionWithGvl> wrapWithGVL(Collection<VendorPermission> vendorPermissions,
@@ -128,13 +220,14 @@ public class Tcf2Service {
     private Future<Collection<VendorPermission>> processSupportedPurposeStrategies(
             TCString tcfConsent,
             Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
+            CompiledVendorListV2 vendorList,
             Purposes purposes,
             PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation) {
 
         for (PurposeStrategy purposeStrategy : purposeStrategies) {
             final int purposeId = purposeStrategy.getPurposeId();
             final Purpose purposeById = findPurposeById(purposeId, purposes);
-            processPurposeStrategy(tcfConsent, vendorPermissionsWithGvl, purposeById, purposeStrategy,
+            processPurposeStrategy(tcfConsent, vendorPermissionsWithGvl, vendorList, purposeById, purposeStrategy,
                     purposeOneTreatmentInterpretation, false);
         }
 
@@ -154,7 +247,7 @@ public class Tcf2Service {
         for (PurposeStrategy purposeStrategy : purposeStrategies) {
             final int purposeId = purposeStrategy.getPurposeId();
             final Purpose downgradedPurpose = downgradePurpose(findPurposeById(purposeId, purposes));
-            processPurposeStrategy(tcfConsent, vendorPermissionsWithGvl, downgradedPurpose, purposeStrategy,
+            processPurposeStrategy(tcfConsent, vendorPermissionsWithGvl, null, downgradedPurpose, purposeStrategy,
                     purposeOneTreatmentInterpretation, true);
         }
         return Future.succeededFuture(vendorPermissions);
@@ -162,15 +255,17 @@ public class Tcf2Service {
 
     private void processPurposeStrategy(TCString tcfConsent,
                                         Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
+                                        CompiledVendorListV2 vendorList,
                                         Purpose purpose,
                                         PurposeStrategy purposeStrategy,
                                         PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation,
                                         boolean wasDowngraded) {
         if (purposeStrategy.getPurposeId() == 1 && tcfConsent.getPurposeOneTreatment()) {
             processPurposeOneTreatment(purposeOneTreatmentInterpretation, tcfConsent, purpose,
-                    purposeStrategy, vendorPermissionsWithGvl, wasDowngraded);
+                    purposeStrategy, vendorPermissionsWithGvl, vendorList, wasDowngraded);
         } else {
-            purposeStrategy.processTypePurposeStrategy(tcfConsent, purpose, vendorPermissionsWithGvl, wasDowngraded);
+            purposeStrategy.processTypePurposeStrategy(tcfConsent, purpose, vendorPermissionsWithGvl, vendorList,
+                    wasDowngraded);
         }
     }
 
@@ -179,6 +274,7 @@ public class Tcf2Service {
                                             Purpose purposeOne,
                                             PurposeStrategy purposeOneStrategy,
                                             Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
+                                            CompiledVendorListV2 vendorList,
                                             boolean wasDowngraded) {
         switch (purposeOneTreatmentInterpretation) {
             case accessAllowed:
@@ -191,7 +287,7 @@ public class Tcf2Service {
             case ignore:
             default:
                 purposeOneStrategy.processTypePurposeStrategy(tcfConsent, purposeOne, vendorPermissionsWithGvl,
-                        wasDowngraded);
+                        vendorList, wasDowngraded);
         }
     }
 
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,6 +45,7 @@ public class TcfDefinerService {
     private final GeoLocationService geoLocationService;
     private final BidderCatalog bidderCatalog;
     private final Metrics metrics;
+    private final Map<String, TCString> tcStringCache;
 
     public TcfDefinerService(GdprConfig gdprConfig,
                              Set<String> eeaCountries,
@@ -53,6 +55,18 @@ public class TcfDefinerService {
                              BidderCatalog bidderCatalog,
                              Metrics metrics) {
 
+        this(gdprConfig, eeaCountries, gdprService, tcf2Service, geoLocationService, bidderCatalog, metrics, null);
+    }
+
+    public TcfDefinerService(GdprConfig gdprConfig,
+                             Set<String> eeaCountries,
+                             GdprService gdprService,
+                             Tcf2Service tcf2Service,
+                             GeoLocationService geoLocationService,
+                             BidderCatalog bidderCatalog,
+                             Metrics metrics,
+                             Map<String, TCString> tcStringCache) {
+
         this.gdprEnabled = gdprConfig != null && BooleanUtils.isNotFalse(gdprConfig.getEnabled());
         this.gdprDefaultValue = gdprConfig != null ? gdprConfig.getDefaultValue() : null;
         this.consentStringMeansInScope = gdprConfig != null
@@ -63,6 +77,7 @@ public class TcfDefinerService {
         this.geoLocationService = geoLocationService;
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.metrics = Objects.requireNonNull(metrics);
+        this.tcStringCache = tcStringCache;
     }
 
     // vendorIds and BidderNames can't contain null elements
@@ -156,7 +171,7 @@ public class TcfDefinerService {
 
         final boolean isInScopeByConsentString = consentStringMeansInScope
                 && StringUtils.isNotBlank(gdprConsent)
-                && isGdprConsentValid(gdprConsent);
+                && decodeTcString(gdprConsent) != null;
         if (isInScopeByConsentString) {
             return Future.succeededFuture(GdprInfoWithCountry.of(GDPR_ONE, gdprConsent));
         }
@@ -324,15 +339,78 @@ public class TcfDefinerService {
         return Objects.equals(gdprInfo.getGdpr(), GDPR_ONE);
     }
 
-    private static TCString decodeTcString(String consentString) {
+    /**
+     * Decodes consent string or takes already decoded one from cache, if cache is enabled.
+     * <p>
+     * Only TCF v2 strings are cached. Decoded {@link TCString} parses its fields lazily and is not thread-safe
+     * until all of them are parsed, so every field is read once before {@link TCString} is shared through cache.
+     * If any field cannot be parsed, consent string is treated as invalid and is not cached.
+     */
+    private TCString decodeTcString(String consentString) {
+        if (StringUtils.isBlank(consentString)) {
+            return null;
+        }
+
+        if (tcStringCache == null) {
+            return decodeTcStringAndUpdateMetrics(consentString, false);
+        }
+
+        final TCString cachedTcString = tcStringCache.get(consentString);
+        metrics.updateTcfConsentCacheMetric(cachedTcString != null);
+        if (cachedTcString != null) {
+            return cachedTcString;
+        }
+
+        final TCString tcString = decodeTcStringAndUpdateMetrics(consentString, true);
+        if (tcString != null && tcString.getVersion() == 2) {
+            tcStringCache.put(consentString, tcString);
+        }
+        return tcString;
+    }
+
+    private TCString decodeTcStringAndUpdateMetrics(String consentString, boolean readAllFields) {
+        final long startTime = System.nanoTime();
         try {
-            return StringUtils.isBlank(consentString) ? null : TCString.decode(consentString);
+            final TCString tcString = TCString.decode(consentString);
+            if (readAllFields && tcString.getVersion() == 2) {
+                readAllFields(tcString);
+            }
+            return tcString;
         } catch (Throwable e) {
             logger.info("Parsing consent string failed with error: {0}", e.getMessage());
             return null;
+        } finally {
+            metrics.updateTcfConsentDecodeTimeMetric(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
+    private static void readAllFields(TCString tcString) {
+        tcString.getCreated();
+        tcString.getLastUpdated();
+        tcString.getCmpId();
+        tcString.getCmpVersion();
+        tcString.getConsentScreen();
+        tcString.getConsentLanguage();
+        tcString.getVendorListVersion();
+        tcString.getPurposesConsent();
+        tcString.getVendorConsent();
+        tcString.getTcfPolicyVersion();
+        tcString.isServiceSpecific();
+        tcString.getUseNonStandardStacks();
+        tcString.getSpecialFeatureOptIns();
+        tcString.getPurposesLITransparency();
+        tcString.getPurposeOneTreatment();
+        tcString.getPublisherCC();
+        tcString.getVendorLegitimateInterest();
+        tcString.getPublisherRestrictions();
+        tcString.getAllowedVendors();
+        tcString.getDisclosedVendors();
+        tcString.getPubPurposesConsent();
+        tcString.getPubPurposesLITransparency();
+        tcString.getCustomPurposesConsent();
+        tcString.getCustomPurposesLITransparency();
+    }
+
     private static PrivacyEnforcementAction restrictAllButAnalyticsAndAuction() {
         return PrivacyEnforcementAction.builder()
                 .removeUserIds(true)
@@ -346,14 +424,11 @@ public class TcfDefinerService {
     }
 
     /**
-     * Checks if received string can be parsed to vendor consent
+     * Checks if received string can be parsed to vendor consent.
+     * <p>
+     * Decoded consent is cached, so following privacy enforcement of the same request doesn't decode it again.
      */
-    public static boolean isGdprConsentValid(String gdprConsent) {
-        try {
-            TCString.decode(gdprConsent);
-            return true;
-        } catch (RuntimeException e) {
-            return false;
-        }
+    public boolean isGdprConsentValid(String gdprConsent) {
+        return decodeTcString(gdprConsent) != null;
     }
 }
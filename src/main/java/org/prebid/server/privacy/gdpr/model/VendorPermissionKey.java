@@ -0,0 +1,17 @@
+package org.prebid.server.privacy.gdpr.model;
+
+import lombok.Value;
+import org.prebid.server.settings.model.AccountGdprConfig;
+
+/**
+ * Identifies {@link PrivacyEnforcementAction} calculated for a vendor under particular consent.
+ */
+@Value(staticConstructor = "of")
+public class VendorPermissionKey {
+
+    Integer vendorId;
+
+    String bidderName;
+
+    AccountGdprConfig accountGdprConfig;
+}
@@ -9,6 +9,7 @@ import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.FullEnforcePurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.NoEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorListV2;
 import org.prebid.server.settings.model.EnforcePurpose;
 import org.prebid.server.settings.model.Purpose;
 
@@ -49,13 +50,24 @@ public abstract class PurposeStrategy {
             TCString vendorConsent, Purpose purpose, Collection<VendorPermissionWithGvl> vendorPermissions,
             boolean wasDowngraded) {
 
-        allowedByTypeStrategy(vendorConsent, purpose, vendorPermissions).stream()
+        return processTypePurposeStrategy(vendorConsent, purpose, vendorPermissions, null, wasDowngraded);
+    }
+
+    /**
+     * Processes purpose with the help of compiled vendor list, if it is given.
+     */
+    public Collection<VendorPermission> processTypePurposeStrategy(
+            TCString vendorConsent, Purpose purpose, Collection<VendorPermissionWithGvl> vendorPermissions,
+            CompiledVendorListV2 vendorList, boolean wasDowngraded) {
+
+        allowedByTypeStrategy(vendorConsent, purpose, vendorPermissions, vendorList).stream()
                 .map(VendorPermission::getPrivacyEnforcementAction)
                 .forEach(this::allow);
 
         final Collection<VendorPermission> naturalVendorPermission = wasDowngraded
                 ? allowedByBasicTypeStrategy(vendorConsent, true, vendorPermissions, Collections.emptyList())
-                : allowedByFullTypeStrategy(vendorConsent, true, vendorPermissions, Collections.emptyList());
+                : allowedByFullTypeStrategy(vendorConsent, true, vendorPermissions, Collections.emptyList(),
+                        vendorList);
 
         naturalVendorPermission.stream()
                 .map(VendorPermission::getPrivacyEnforcementAction)
@@ -68,7 +80,8 @@ public abstract class PurposeStrategy {
 
     private Collection<VendorPermission> allowedByTypeStrategy(TCString vendorConsent,
                                                                Purpose purpose,
-                                                               Collection<VendorPermissionWithGvl> vendorPermissions) {
+                                                               Collection<VendorPermissionWithGvl> vendorPermissions,
+                                                               CompiledVendorListV2 vendorList) {
         final Collection<VendorPermissionWithGvl> excludedVendors = excludedVendors(vendorPermissions, purpose);
         final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorPermissions.stream()
                 .filter(vendorPermission -> !excludedVendors.contains(vendorPermission))
@@ -86,7 +99,8 @@ public abstract class PurposeStrategy {
 
         // Full by default
         if (purposeType == null || Objects.equals(purposeType, EnforcePurpose.full)) {
-            return allowedByFullTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
+            return allowedByFullTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors,
+                    vendorList);
         }
 
         throw new IllegalArgumentException(
@@ -120,10 +134,13 @@ public abstract class PurposeStrategy {
 
     protected Collection<VendorPermission> allowedByFullTypeStrategy(
             TCString vendorConsent, boolean isEnforceVendors, Collection<VendorPermissionWithGvl> vendorForPurpose,
-            Collection<VendorPermissionWithGvl> excludedVendors) {
+            Collection<VendorPermissionWithGvl> excludedVendors, CompiledVendorListV2 vendorList) {
 
-        return fullEnforcePurposeStrategy.allowedByTypeStrategy(getPurposeId(), vendorConsent, vendorForPurpose,
-                excludedVendors, isEnforceVendors);
+        return vendorList != null
+                ? fullEnforcePurposeStrategy.allowedByTypeStrategy(getPurposeId(), vendorConsent, vendorForPurpose,
+                        excludedVendors, vendorList, isEnforceVendors)
+                : fullEnforcePurposeStrategy.allowedByTypeStrategy(getPurposeId(), vendorConsent, vendorForPurpose,
+                        excludedVendors, isEnforceVendors);
 
     }
 }
@@ -1,13 +1,16 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
 import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.IntIterable;
 import com.iabtcf.v2.PublisherRestriction;
 import com.iabtcf.v2.RestrictionType;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorListV2;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +48,116 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
         return CollectionUtils.union(allowedExcluded, allowedVendorPermissions);
     }
 
+    /**
+     * Checks purpose with the help of compiled vendor list: for all vendors without publisher restrictions
+     * the result is calculated at once by bitwise operations on vendor ID sets.
+     * <p>
+     * Publisher restrictions are given per vendor, so if there are any for the purpose,
+     * vendors are checked one by one.
+     */
+    public Collection<VendorPermission> allowedByTypeStrategy(int purposeId,
+                                                              TCString vendorConsent,
+                                                              Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                                                              Collection<VendorPermissionWithGvl> excludedVendors,
+                                                              CompiledVendorListV2 vendorList,
+                                                              boolean isEnforceVendors) {
+
+        final boolean hasPublisherRestrictions = vendorConsent.getPublisherRestrictions().stream()
+                .anyMatch(publisherRestriction -> publisherRestriction.getPurposeId() == purposeId);
+        if (hasPublisherRestrictions) {
+            return allowedByTypeStrategy(purposeId, vendorConsent, vendorsForPurpose, excludedVendors,
+                    isEnforceVendors);
+        }
+
+        final BitSet allowedVendorIds = allowedVendorIds(purposeId, vendorConsent, vendorsForPurpose, vendorList,
+                isEnforceVendors);
+
+        final List<VendorPermission> allowedVendorPermissions = vendorsForPurpose.stream()
+                .map(VendorPermissionWithGvl::getVendorPermission)
+                .filter(vendorPermission -> isAllowed(vendorPermission.getVendorId(), allowedVendorIds))
+                .collect(Collectors.toList());
+
+        return CollectionUtils.union(toVendorPermissions(excludedVendors), allowedVendorPermissions);
+    }
+
+    /**
+     * Does the same as {@link #isAllowedByPublisherRestrictionAndFlexible} with undefined restriction type
+     * for all vendors at once.
+     */
+    private static BitSet allowedVendorIds(int purposeId,
+                                           TCString tcString,
+                                           Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                                           CompiledVendorListV2 vendorList,
+                                           boolean isEnforceVendors) {
+
+        final BitSet vendorIds = new BitSet();
+        for (VendorPermissionWithGvl vendorPermissionWithGvl : vendorsForPurpose) {
+            final Integer vendorId = vendorPermissionWithGvl.getVendorPermission().getVendorId();
+            if (vendorId != null && vendorId >= 0) {
+                vendorIds.set(vendorId);
+            }
+        }
+
+        final BitSet consentVendorIds = vendorIdsAllowedByConsents(purposeId, vendorIds, isEnforceVendors,
+                tcString.getPurposesConsent(), tcString.getVendorConsent());
+        final BitSet legIntVendorIds = vendorIdsAllowedByConsents(purposeId, vendorIds, isEnforceVendors,
+                tcString.getPurposesLITransparency(), tcString.getVendorLegitimateInterest());
+
+        final BitSet gvlPurposeVendorIds = vendorList.vendorsWithPurpose(purposeId);
+        final BitSet gvlLegIntPurposeVendorIds = vendorList.vendorsWithLegIntPurpose(purposeId);
+        final BitSet flexibleVendorIds = vendorList.vendorsWithFlexiblePurpose(purposeId);
+
+        // flexible vendors declaring the purpose are allowed by either consent or legitimate interest
+        final BitSet allowedFlexible = (BitSet) gvlPurposeVendorIds.clone();
+        allowedFlexible.or(gvlLegIntPurposeVendorIds);
+        allowedFlexible.and(flexibleVendorIds);
+        allowedFlexible.and(union(consentVendorIds, legIntVendorIds));
+
+        // the rest declaring the purpose based on consent are allowed by consent only
+        gvlLegIntPurposeVendorIds.andNot(gvlPurposeVendorIds);
+        gvlPurposeVendorIds.andNot(flexibleVendorIds);
+        gvlPurposeVendorIds.and(consentVendorIds);
+
+        // and declaring the purpose based on legitimate interest are allowed by legitimate interest only
+        gvlLegIntPurposeVendorIds.andNot(flexibleVendorIds);
+        gvlLegIntPurposeVendorIds.and(legIntVendorIds);
+
+        gvlPurposeVendorIds.or(gvlLegIntPurposeVendorIds);
+        gvlPurposeVendorIds.or(allowedFlexible);
+        return gvlPurposeVendorIds;
+    }
+
+    private static BitSet vendorIdsAllowedByConsents(int purposeId,
+                                                     BitSet vendorIds,
+                                                     boolean isEnforceVendors,
+                                                     IntIterable purposesConsent,
+                                                     IntIterable vendorConsent) {
+        if (!purposesConsent.contains(purposeId)) {
+            return new BitSet();
+        }
+        if (!isEnforceVendors) {
+            return vendorIds;
+        }
+
+        final BitSet allowedVendorIds = new BitSet();
+        for (int id = vendorIds.nextSetBit(0); id >= 0; id = vendorIds.nextSetBit(id + 1)) {
+            if (vendorConsent.contains(id)) {
+                allowedVendorIds.set(id);
+            }
+        }
+        return allowedVendorIds;
+    }
+
+    private static BitSet union(BitSet left, BitSet right) {
+        final BitSet result = (BitSet) left.clone();
+        result.or(right);
+        return result;
+    }
+
+    private static boolean isAllowed(Integer vendorId, BitSet allowedVendorIds) {
+        return vendorId != null && vendorId >= 0 && allowedVendorIds.get(vendorId);
+    }
+
     private List<VendorPermission> allowedExcludedVendorPermission(
             Collection<VendorPermissionWithGvl> excludedVendors,
             Collection<PublisherRestriction> publisherRestrictions) {
@@ -0,0 +1,106 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * TCF 2 vendor list compiled for purpose enforcement.
+ * <p>
+ * Besides vendors by ID, keeps sets of vendor IDs declaring each purpose as {@link BitSet}s indexed by vendor ID,
+ * so checking the purpose for a whole set of vendors takes a few bitwise operations.
+ */
+public class CompiledVendorListV2 {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final Map<Integer, VendorV2> vendors;
+
+    // purpose ID -> vendor IDs
+    private final BitSet[] purposes;
+    private final BitSet[] legIntPurposes;
+    private final BitSet[] flexiblePurposes;
+
+    private CompiledVendorListV2(Map<Integer, VendorV2> vendors) {
+        this.vendors = Collections.unmodifiableMap(new HashMap<>(vendors));
+
+        purposes = compile(vendors.values(), VendorV2::getPurposes);
+        legIntPurposes = compile(vendors.values(), VendorV2::getLegIntPurposes);
+        flexiblePurposes = compile(vendors.values(), VendorV2::getFlexiblePurposes);
+    }
+
+    public static CompiledVendorListV2 of(Map<Integer, VendorV2> vendors) {
+        return new CompiledVendorListV2(Objects.requireNonNull(vendors));
+    }
+
+    private static BitSet[] compile(Collection<VendorV2> vendors, Function<VendorV2, Set<Integer>> idsExtractor) {
+        final int maxId = vendors.stream()
+                .map(idsExtractor)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(-1);
+
+        final BitSet[] idToVendorIds = new BitSet[maxId + 1];
+        for (VendorV2 vendor : vendors) {
+            final Integer vendorId = vendor.getId();
+            final Set<Integer> ids = idsExtractor.apply(vendor);
+            if (vendorId == null || vendorId < 0 || ids == null) {
+                continue;
+            }
+
+            for (Integer id : ids) {
+                if (id != null && id >= 0) {
+                    if (idToVendorIds[id] == null) {
+                        idToVendorIds[id] = new BitSet();
+                    }
+                    idToVendorIds[id].set(vendorId);
+                }
+            }
+        }
+        return idToVendorIds;
+    }
+
+    /**
+     * Returns vendors of the vendor list by vendor ID.
+     */
+    public Map<Integer, VendorV2> getVendors() {
+        return vendors;
+    }
+
+    /**
+     * Returns IDs of vendors declaring given purpose as based on consent. Returned {@link BitSet} can be modified.
+     */
+    public BitSet vendorsWithPurpose(int purposeId) {
+        return vendorIds(purposes, purposeId);
+    }
+
+    /**
+     * Returns IDs of vendors declaring given purpose as based on legitimate interest.
+     * Returned {@link BitSet} can be modified.
+     */
+    public BitSet vendorsWithLegIntPurpose(int purposeId) {
+        return vendorIds(legIntPurposes, purposeId);
+    }
+
+    /**
+     * Returns IDs of vendors declaring given purpose as flexible. Returned {@link BitSet} can be modified.
+     */
+    public BitSet vendorsWithFlexiblePurpose(int purposeId) {
+        return vendorIds(flexiblePurposes, purposeId);
+    }
+
+    private static BitSet vendorIds(BitSet[] idToVendorIds, int id) {
+        final BitSet vendorIds = id >= 0 && id < idToVendorIds.length ? idToVendorIds[id] : null;
+        return (BitSet) (vendorIds != null ? vendorIds : EMPTY).clone();
+    }
+}
@@ -40,6 +40,9 @@ import java.util.stream.Collectors;
  * So, on service creation we initialize in-memory cache from previously loaded vendor list on file system.
  * If request asks version that is absent in cache, we respond with failed result but start background process
  * to download new version and then put it to cache.
+ * <p>
+ * Vendor lists are kept in cache in the form compiled by implementation, so compilation is done only once
+ * for every version, either on startup or after downloading.
  */
 public abstract class VendorListService<T, V> {
 
@@ -61,9 +64,9 @@ public abstract class VendorListService<T, V> {
 
     /**
      * This is memory/performance optimized model slice:
-     * map of vendor list version -> map of vendor ID -> Vendors
+     * map of vendor list version -> compiled vendor list
      */
-    protected final Map<Integer, Map<Integer, V>> cache;
+    protected final Map<Integer, V> cache;
 
     public VendorListService(String cacheDir,
                              String endpointTemplate,
@@ -111,9 +114,9 @@ public abstract class VendorListService<T, V> {
     protected abstract T toVendorList(String content);
 
     /**
-     * Returns a Map of vendor id to Vendors.
+     * Returns vendor list in the form kept in cache and served by {@link #forVersion(int)}.
      */
-    protected abstract Map<Integer, V> filterVendorIdToVendors(T vendorList);
+    protected abstract V compileVendorList(T vendorList);
 
     /**
      * Verifies all significant fields of given {@link T} object.
@@ -139,19 +142,18 @@ public abstract class VendorListService<T, V> {
     /**
      * Creates the cache from previously downloaded vendor lists.
      */
-    private Map<Integer, Map<Integer, V>> createCache(FileSystem fileSystem, String cacheDir) {
+    private Map<Integer, V> createCache(FileSystem fileSystem, String cacheDir) {
         final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
 
-        final Map<Integer, Map<Integer, V>> cache = Caffeine.newBuilder()
+        final Map<Integer, V> cache = Caffeine.newBuilder()
                 .expireAfterWrite(EXPIRE_DAY_CACHE_DURATION, TimeUnit.DAYS)
-                .<Integer, Map<Integer, V>>build()
+                .<Integer, V>build()
                 .asMap();
 
         for (Map.Entry<String, String> versionAndFileContent : versionToFileContent.entrySet()) {
             final T vendorList = toVendorList(versionAndFileContent.getValue());
-            final Map<Integer, V> vendorIdToVendors = filterVendorIdToVendors(vendorList);
 
-            cache.put(Integer.valueOf(versionAndFileContent.getKey()), vendorIdToVendors);
+            cache.put(Integer.valueOf(versionAndFileContent.getKey()), compileVendorList(vendorList));
         }
         return cache;
     }
@@ -168,17 +170,17 @@ public abstract class VendorListService<T, V> {
     }
 
     /**
-     * Returns a map with vendor ID as a key and a set of purposes as a value for given vendor list version.
+     * Returns compiled vendor list of given version.
      */
-    public Future<Map<Integer, V>> forVersion(int version) {
+    public Future<V> forVersion(int version) {
         if (version <= 0) {
             return Future.failedFuture(
                     String.format("TCF %d vendor list for version %d not valid.", getTcfVersion(), version));
         }
 
-        final Map<Integer, V> idToVendor = cache.get(version);
-        if (idToVendor != null) {
-            return Future.succeededFuture(idToVendor);
+        final V vendorList = cache.get(version);
+        if (vendorList != null) {
+            return Future.succeededFuture(vendorList);
         } else {
             final int tcf = getTcfVersion();
             metrics.updatePrivacyTcfVendorListMissingMetric(tcf, version);
@@ -251,7 +253,7 @@ public abstract class VendorListService<T, V> {
     private Void updateCache(VendorListResult<T> vendorListResult) {
         final int version = vendorListResult.getVersion();
 
-        cache.put(version, filterVendorIdToVendors(vendorListResult.getVendorList()));
+        cache.put(version, compileVendorList(vendorListResult.getVendorList()));
 
         final int tcf = getTcfVersion();
         metrics.updatePrivacyTcfVendorListOkMetric(tcf, version);
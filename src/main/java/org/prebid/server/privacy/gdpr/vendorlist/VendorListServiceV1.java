@@ -18,7 +18,7 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class VendorListServiceV1 extends VendorListService<VendorListV1, VendorV1> {
+public class VendorListServiceV1 extends VendorListService<VendorListV1, Map<Integer, VendorV1>> {
 
     private static final Logger logger = LoggerFactory.getLogger(VendorListServiceV1.class);
 
@@ -49,7 +49,7 @@ public class VendorListServiceV1 extends VendorListService<VendorListV1, VendorV
         }
     }
 
-    protected Map<Integer, VendorV1> filterVendorIdToVendors(VendorListV1 vendorList) {
+    protected Map<Integer, VendorV1> compileVendorList(VendorListV1 vendorList) {
         return vendorList.getVendors().stream()
                 .filter(vendor -> knownVendorIds.contains(vendor.getId())) // optimize cache to use only known vendors
                 .collect(Collectors.toMap(VendorV1::getId, Function.identity()));
@@ -14,10 +14,8 @@ import org.prebid.server.vertx.http.HttpClient;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Map;
-import java.util.stream.Collectors;
 
-public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV2> {
+public class VendorListServiceV2 extends VendorListService<VendorListV2, CompiledVendorListV2> {
 
     private static final Logger logger = LoggerFactory.getLogger(VendorListServiceV2.class);
 
@@ -48,9 +46,8 @@ public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV
         }
     }
 
-    protected Map<Integer, VendorV2> filterVendorIdToVendors(VendorListV2 vendorList) {
-        return vendorList.getVendors().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    protected CompiledVendorListV2 compileVendorList(VendorListV2 vendorList) {
+        return CompiledVendorListV2.of(vendorList.getVendors());
     }
 
     protected boolean isValid(VendorListV2 vendorList) {
@@ -1,48 +1,90 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredDataType;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 import org.prebid.server.settings.model.TriFunction;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
- * Adds caching functionality for {@link ApplicationSettings} implementation
+ * Adds caching functionality for {@link ApplicationSettings} implementation.
+ * <p>
+ * Protects the original source from the storm of lookups on cache misses:
+ * <ul>
+ * <li>concurrent lookups of the same key are coalesced into the single one, see {@link InFlightLookups}.
+ * Joined lookup runs under timeout of the caller which started it, so if it fails, the key is fetched again
+ * under the own timeout of the caller which joined it. Caller which joined the lookup doesn't wait for it
+ * longer than its own timeout;</li>
+ * <li>entries which are about to expire are refreshed in background, so hot keys never miss
+ * (if refresh-ahead time is positive);</li>
+ * <li>stored ids absent in the original source are remembered for a while, like account errors are.</li>
+ * </ul>
  */
 public class CachingApplicationSettings implements ApplicationSettings {
 
     private static final Logger logger = LoggerFactory.getLogger(CachingApplicationSettings.class);
 
+    private static final String ACCOUNT_SOURCE = "account";
+    private static final String AD_UNIT_CONFIG_SOURCE = "adunit_config";
+    private static final String STORED_DATA_SOURCE = "stored_data";
+    private static final String AMP_STORED_DATA_SOURCE = "amp_stored_data";
+    private static final String VIDEO_STORED_DATA_SOURCE = "video_stored_data";
+
     private final ApplicationSettings delegate;
+    private final Metrics metrics;
 
     private final Map<String, Account> accountCache;
     private final Map<String, String> accountToErrorCache;
     private final Map<String, String> adUnitConfigCache;
+    private final Set<String> freshAccountIds;
+    private final Set<String> freshAdUnitConfigIds;
+    private final InFlightLookups<Account> accountLookups;
+    private final InFlightLookups<String> adUnitConfigLookups;
     private final SettingsCache cache;
     private final SettingsCache ampCache;
     private final SettingsCache videoCache;
 
     public CachingApplicationSettings(ApplicationSettings delegate, SettingsCache cache, SettingsCache ampCache,
-                                      SettingsCache videoCache, int ttl, int size) {
+                                      SettingsCache videoCache, Metrics metrics, int ttl, int size,
+                                      int refreshAheadSeconds) {
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
+        final int effectiveRefreshAheadSeconds = SettingsCache.effectiveRefreshAheadSeconds(ttl, refreshAheadSeconds);
         this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
         this.accountCache = SettingsCache.createCache(ttl, size);
         this.accountToErrorCache = SettingsCache.createCache(ttl, size);
         this.adUnitConfigCache = SettingsCache.createCache(ttl, size);
+        this.freshAccountIds = effectiveRefreshAheadSeconds > 0
+                ? SettingsCache.createIdSet(ttl - effectiveRefreshAheadSeconds, size)
+                : null;
+        this.freshAdUnitConfigIds = effectiveRefreshAheadSeconds > 0
+                ? SettingsCache.createIdSet(ttl - effectiveRefreshAheadSeconds, size)
+                : null;
+        this.accountLookups = new InFlightLookups<>();
+        this.adUnitConfigLookups = new InFlightLookups<>();
         this.cache = Objects.requireNonNull(cache);
         this.ampCache = Objects.requireNonNull(ampCache);
         this.videoCache = Objects.requireNonNull(videoCache);
@@ -53,7 +95,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<Account> getAccountById(String accountId, Timeout timeout) {
-        return getFromCacheOrDelegate(accountCache, accountToErrorCache, accountId, timeout, delegate::getAccountById);
+        return getFromCacheOrDelegate(ACCOUNT_SOURCE, accountCache, accountToErrorCache, freshAccountIds,
+                accountLookups, accountId, timeout, delegate::getAccountById);
     }
 
     /**
@@ -61,8 +104,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<String> getAdUnitConfigById(String adUnitConfigId, Timeout timeout) {
-        return getFromCacheOrDelegate(adUnitConfigCache, accountToErrorCache, adUnitConfigId, timeout,
-                delegate::getAdUnitConfigById);
+        return getFromCacheOrDelegate(AD_UNIT_CONFIG_SOURCE, adUnitConfigCache, accountToErrorCache,
+                freshAdUnitConfigIds, adUnitConfigLookups, adUnitConfigId, timeout, delegate::getAdUnitConfigById);
     }
 
     /**
@@ -70,7 +113,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<StoredDataResult> getStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return getFromCacheOrDelegate(cache, requestIds, impIds, timeout, delegate::getStoredData);
+        return getFromCacheOrDelegate(STORED_DATA_SOURCE, cache, requestIds, impIds, timeout,
+                delegate::getStoredData);
     }
 
     /**
@@ -86,31 +130,98 @@ public class CachingApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<StoredDataResult> getAmpStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return getFromCacheOrDelegate(ampCache, requestIds, impIds, timeout, delegate::getAmpStoredData);
+        return getFromCacheOrDelegate(AMP_STORED_DATA_SOURCE, ampCache, requestIds, impIds, timeout,
+                delegate::getAmpStoredData);
     }
 
     @Override
     public Future<StoredDataResult> getVideoStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return getFromCacheOrDelegate(videoCache, requestIds, impIds, timeout, delegate::getVideoStoredData);
+        return getFromCacheOrDelegate(VIDEO_STORED_DATA_SOURCE, videoCache, requestIds, impIds, timeout,
+                delegate::getVideoStoredData);
     }
 
-    private static <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache, Map<String, String> accountToErrorCache,
-                                                        String key, Timeout timeout,
-                                                        BiFunction<String, Timeout, Future<T>> retriever) {
+    private <T> Future<T> getFromCacheOrDelegate(String source, Map<String, T> cache,
+                                                 Map<String, String> accountToErrorCache, Set<String> freshKeys,
+                                                 InFlightLookups<T> lookups, String key, Timeout timeout,
+                                                 BiFunction<String, Timeout, Future<T>> retriever) {
 
         final T cachedValue = cache.get(key);
         if (cachedValue != null) {
+            metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_hits, 1);
+            if (freshKeys != null && !freshKeys.contains(key)) {
+                refresh(source, cache, accountToErrorCache, freshKeys, lookups, key, timeout, retriever);
+            }
             return Future.succeededFuture(cachedValue);
         }
 
         final String preBidExceptionMessage = accountToErrorCache.get(key);
         if (preBidExceptionMessage != null) {
+            metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_negative_hits, 1);
             return Future.failedFuture(new PreBidException(preBidExceptionMessage));
         }
 
-        return retriever.apply(key, timeout)
+        metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_misses, 1);
+
+        final List<Future<T>> joinedLookups = new ArrayList<>(1);
+        if (lookups.joinOrStart(Collections.singleton(key), timeout, joinedLookups).isEmpty()) {
+            metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_coalesced, 1);
+            // absence of the key is cached already, other failures may be caused by timeout of another caller
+            return joinedLookups.get(0).recover(throwable -> throwable instanceof PreBidException
+                    || timeout.remaining() <= 0
+                    ? Future.failedFuture(throwable)
+                    : fetch(cache, accountToErrorCache, freshKeys, key, timeout, retriever));
+        }
+
+        return retrieve(cache, accountToErrorCache, freshKeys, lookups, key, timeout, retriever);
+    }
+
+    /**
+     * Fetches value of the cached key again in background, if it is not being fetched already.
+     */
+    private <T> void refresh(String source, Map<String, T> cache, Map<String, String> accountToErrorCache,
+                             Set<String> freshKeys, InFlightLookups<T> lookups, String key, Timeout timeout,
+                             BiFunction<String, Timeout, Future<T>> retriever) {
+
+        if (!lookups.joinOrStart(Collections.singleton(key), timeout, new ArrayList<>(1)).isEmpty()) {
+            metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_refreshes, 1);
+            retrieve(cache, accountToErrorCache, freshKeys, lookups, key, timeout, retriever)
+                    .otherwise(throwable -> {
+                        logger.debug("Refresh of {0} with id {1} failed: {2}", source, key, throwable.getMessage());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Fetches value of the key started by {@link InFlightLookups#joinOrStart(Set, Timeout, List)} from the original
+     * source and completes the lookup, so all callers joined it get the same result.
+     */
+    private static <T> Future<T> retrieve(Map<String, T> cache, Map<String, String> accountToErrorCache,
+                                          Set<String> freshKeys, InFlightLookups<T> lookups, String key,
+                                          Timeout timeout, BiFunction<String, Timeout, Future<T>> retriever) {
+
+        final Promise<T> promise = Promise.promise();
+        fetch(cache, accountToErrorCache, freshKeys, key, timeout, retriever)
+                .setHandler(result -> {
+                    lookups.complete(Collections.singleton(key), result);
+                    promise.handle(result);
+                });
+        return promise.future();
+    }
+
+    /**
+     * Fetches value of the key from the original source and updates cache with it.
+     */
+    private static <T> Future<T> fetch(Map<String, T> cache, Map<String, String> accountToErrorCache,
+                                       Set<String> freshKeys, String key, Timeout timeout,
+                                       BiFunction<String, Timeout, Future<T>> retriever) {
+
+        return apply(() -> retriever.apply(key, timeout))
                 .map(value -> {
                     cache.put(key, value);
+                    if (freshKeys != null) {
+                        freshKeys.add(key);
+                    }
                     return value;
                 })
                 .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
@@ -121,9 +232,13 @@ public class CachingApplicationSettings implements ApplicationSettings {
      * source, combines results and updates cache with missed stored request. In case when origin source returns Failed
      * {@link Future} propagates its result to caller. In successive call return {@link Future&lt;StoredDataResult&gt;}
      * with all found stored requests and error from origin source id call was made.
+     * <p>
+     * Ids known to be absent in the original source are not looked up again, ids being looked up by concurrent
+     * call are taken from its result. If lookup of concurrent call fails, ids not found yet are fetched again
+     * under the own timeout, unless it is expired already.
      */
-    private static Future<StoredDataResult> getFromCacheOrDelegate(
-            SettingsCache cache, Set<String> requestIds, Set<String> impIds, Timeout timeout,
+    private Future<StoredDataResult> getFromCacheOrDelegate(
+            String source, SettingsCache cache, Set<String> requestIds, Set<String> impIds, Timeout timeout,
             TriFunction<Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
 
         final Map<String, String> requestCache = cache.getRequestCache();
@@ -136,25 +251,220 @@ public class CachingApplicationSettings implements ApplicationSettings {
         final Set<String> missedImpIds = new HashSet<>();
         final Map<String, String> storedIdToImp = getFromCacheOrAddMissedIds(impIds, impCache, missedImpIds);
 
+        metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_hits,
+                storedIdToRequest.size() + storedIdToImp.size());
+        refreshStoredData(source, cache, cache.getStaleRequestIds(storedIdToRequest.keySet()),
+                cache.getStaleImpIds(storedIdToImp.keySet()), timeout, retriever);
+
+        final Set<String> missingRequestIds = cache.getMissingRequestIds(missedRequestIds);
+        final Set<String> missingImpIds = cache.getMissingImpIds(missedImpIds);
+        missedRequestIds.removeAll(missingRequestIds);
+        missedImpIds.removeAll(missingImpIds);
+
+        metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_negative_hits,
+                missingRequestIds.size() + missingImpIds.size());
+        metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_misses,
+                missedRequestIds.size() + missedImpIds.size());
+
+        final List<String> errors = new ArrayList<>();
+        errors.addAll(errorsForMissingIds(missingRequestIds, StoredDataType.request));
+        errors.addAll(errorsForMissingIds(missingImpIds, StoredDataType.imp));
+
         if (missedRequestIds.isEmpty() && missedImpIds.isEmpty()) {
-            return Future.succeededFuture(
-                    StoredDataResult.of(storedIdToRequest, storedIdToImp, Collections.emptyList()));
+            return Future.succeededFuture(StoredDataResult.of(storedIdToRequest, storedIdToImp, errors));
         }
 
-        // delegate call to original source for missed ids and update cache with it
-        return retriever.apply(missedRequestIds, missedImpIds, timeout).compose(result -> {
-            final Map<String, String> storedIdToRequestFromDelegate = result.getStoredIdToRequest();
-            final Map<String, String> storedIdToImpFromDelegate = result.getStoredIdToImp();
+        final List<Future<StoredDataResult>> joinedLookups = new ArrayList<>();
+        final Set<String> startedRequestIds = cache.getRequestLookups()
+                .joinOrStart(missedRequestIds, timeout, joinedLookups);
+        final Set<String> startedImpIds = cache.getImpLookups().joinOrStart(missedImpIds, timeout, joinedLookups);
+
+        metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_coalesced, joinedLookups.size());
+
+        // delegate call to original source for missed ids not being looked up already and update cache with it
+        final Future<StoredDataResult> startedLookup = startedRequestIds.isEmpty() && startedImpIds.isEmpty()
+                ? Future.succeededFuture(StoredDataResult.of(Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyList()))
+                : retrieveStoredData(cache, startedRequestIds, startedImpIds, timeout, retriever);
+
+        final List<Future> lookups = new ArrayList<>(joinedLookups);
+        lookups.add(startedLookup);
+
+        return CompositeFuture.join(lookups).<Void>mapEmpty().otherwise((Void) null).compose(ignored -> {
+            if (startedLookup.failed()) {
+                return Future.failedFuture(startedLookup.cause());
+            }
+
+            Throwable joinedLookupCause = null;
+            for (Future<StoredDataResult> joinedLookup : joinedLookups) {
+                if (joinedLookup.succeeded()) {
+                    final StoredDataResult joinedResult = joinedLookup.result();
+                    putFoundIds(missedRequestIds, joinedResult.getStoredIdToRequest(), storedIdToRequest);
+                    putFoundIds(missedImpIds, joinedResult.getStoredIdToImp(), storedIdToImp);
+                } else {
+                    joinedLookupCause = joinedLookup.cause();
+                }
+            }
+
+            final StoredDataResult result = startedLookup.result();
+            storedIdToRequest.putAll(result.getStoredIdToRequest());
+            storedIdToImp.putAll(result.getStoredIdToImp());
+            errors.addAll(result.getErrors());
 
-            cache.save(storedIdToRequestFromDelegate, storedIdToImpFromDelegate);
+            if (joinedLookupCause == null) {
+                return Future.succeededFuture(toStoredDataResult(missedRequestIds, missedImpIds, startedRequestIds,
+                        startedImpIds, storedIdToRequest, storedIdToImp, errors));
+            }
+            if (timeout.remaining() <= 0) {
+                return Future.failedFuture(joinedLookupCause);
+            }
 
-            storedIdToRequest.putAll(storedIdToRequestFromDelegate);
-            storedIdToImp.putAll(storedIdToImpFromDelegate);
+            final Set<String> retriedRequestIds = notFoundIds(missedRequestIds, startedRequestIds, storedIdToRequest);
+            final Set<String> retriedImpIds = notFoundIds(missedImpIds, startedImpIds, storedIdToImp);
+            return fetchStoredData(cache, retriedRequestIds, retriedImpIds, timeout, retriever)
+                    .map(retriedResult -> {
+                        storedIdToRequest.putAll(retriedResult.getStoredIdToRequest());
+                        storedIdToImp.putAll(retriedResult.getStoredIdToImp());
+                        errors.addAll(retriedResult.getErrors());
+                        retriedRequestIds.addAll(startedRequestIds);
+                        retriedImpIds.addAll(startedImpIds);
 
-            return Future.succeededFuture(StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors()));
+                        return toStoredDataResult(missedRequestIds, missedImpIds, retriedRequestIds, retriedImpIds,
+                                storedIdToRequest, storedIdToImp, errors);
+                    });
         });
     }
 
+    /**
+     * Creates {@link StoredDataResult} adding errors for ids which were taken from lookups of concurrent calls
+     * but not found, since errors for ids fetched by this call are already reported by the original source.
+     */
+    private static StoredDataResult toStoredDataResult(Set<String> missedRequestIds, Set<String> missedImpIds,
+                                                       Set<String> fetchedRequestIds, Set<String> fetchedImpIds,
+                                                       Map<String, String> storedIdToRequest,
+                                                       Map<String, String> storedIdToImp, List<String> errors) {
+
+        errors.addAll(errorsForMissingIds(notFoundIds(missedRequestIds, fetchedRequestIds, storedIdToRequest),
+                StoredDataType.request));
+        errors.addAll(errorsForMissingIds(notFoundIds(missedImpIds, fetchedImpIds, storedIdToImp),
+                StoredDataType.imp));
+
+        return StoredDataResult.of(storedIdToRequest, storedIdToImp, errors);
+    }
+
+    /**
+     * Fetches stored data of the cached ids again in background, if they are not being fetched already.
+     */
+    private void refreshStoredData(
+            String source, SettingsCache cache, Set<String> requestIds, Set<String> impIds, Timeout timeout,
+            TriFunction<Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
+
+        if (requestIds.isEmpty() && impIds.isEmpty()) {
+            return;
+        }
+
+        final List<Future<StoredDataResult>> ignoredLookups = new ArrayList<>();
+        final Set<String> startedRequestIds = cache.getRequestLookups().joinOrStart(requestIds, timeout,
+                ignoredLookups);
+        final Set<String> startedImpIds = cache.getImpLookups().joinOrStart(impIds, timeout, ignoredLookups);
+
+        if (!startedRequestIds.isEmpty() || !startedImpIds.isEmpty()) {
+            metrics.updateSettingsCacheMetric(source, MetricName.settings_cache_refreshes,
+                    startedRequestIds.size() + startedImpIds.size());
+            retrieveStoredData(cache, startedRequestIds, startedImpIds, timeout, retriever)
+                    .otherwise(throwable -> {
+                        logger.debug("Refresh of {0} failed: {1}", source, throwable.getMessage());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Fetches stored data of the ids started by {@link InFlightLookups#joinOrStart(Set, Timeout, List)} from
+     * the original source, updates cache with it and completes the lookups, so all callers joined them get
+     * the same result.
+     */
+    private static Future<StoredDataResult> retrieveStoredData(
+            SettingsCache cache, Set<String> requestIds, Set<String> impIds, Timeout timeout,
+            TriFunction<Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
+
+        final Promise<StoredDataResult> promise = Promise.promise();
+        fetchStoredData(cache, requestIds, impIds, timeout, retriever)
+                .setHandler(result -> {
+                    cache.getRequestLookups().complete(requestIds, result);
+                    cache.getImpLookups().complete(impIds, result);
+                    promise.handle(result);
+                });
+        return promise.future();
+    }
+
+    /**
+     * Fetches stored data of the ids from the original source and updates cache with it.
+     */
+    private static Future<StoredDataResult> fetchStoredData(
+            SettingsCache cache, Set<String> requestIds, Set<String> impIds, Timeout timeout,
+            TriFunction<Set<String>, Set<String>, Timeout, Future<StoredDataResult>> retriever) {
+
+        return apply(() -> retriever.apply(requestIds, impIds, timeout))
+                .map(result -> {
+                    final Map<String, String> storedIdToRequest = result.getStoredIdToRequest();
+                    final Map<String, String> storedIdToImp = result.getStoredIdToImp();
+
+                    cache.save(storedIdToRequest, storedIdToImp);
+                    cache.saveMissing(notFoundIds(requestIds, storedIdToRequest),
+                            notFoundIds(impIds, storedIdToImp));
+
+                    return result;
+                });
+    }
+
+    /**
+     * Calls the original source guarding lookups in progress from being never completed.
+     */
+    private static <T> Future<T> apply(Supplier<Future<T>> retriever) {
+        try {
+            return retriever.get();
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    private static void putFoundIds(Set<String> ids, Map<String, String> storedIdToJson,
+                                    Map<String, String> result) {
+        for (String id : ids) {
+            final String json = storedIdToJson.get(id);
+            if (json != null) {
+                result.put(id, json);
+            }
+        }
+    }
+
+    /**
+     * Returns ids which are absent in the given result.
+     */
+    private static Set<String> notFoundIds(Set<String> ids, Map<String, String> storedIdToJson) {
+        return ids.stream()
+                .filter(id -> !storedIdToJson.containsKey(id))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns ids taken from lookups of concurrent calls which are absent in the result, since errors for ids
+     * fetched by this call are already reported by the original source.
+     */
+    private static Set<String> notFoundIds(Set<String> ids, Set<String> startedIds,
+                                           Map<String, String> storedIdToJson) {
+        return ids.stream()
+                .filter(id -> !startedIds.contains(id) && !storedIdToJson.containsKey(id))
+                .collect(Collectors.toSet());
+    }
+
+    private static List<String> errorsForMissingIds(Set<String> ids, StoredDataType type) {
+        return ids.stream()
+                .map(id -> String.format("No stored %s found for id: %s", type, id))
+                .collect(Collectors.toList());
+    }
+
     private static <T> Future<T> cacheAndReturnFailedFuture(Throwable throwable, String key,
                                                             Map<String, String> cache) {
         if (throwable instanceof PreBidException) {
@@ -0,0 +1,119 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.execution.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps track of lookups to the original settings source which are in progress, so concurrent lookups
+ * of the same key are coalesced into the single one instead of hitting the source (database or http service)
+ * with the same query many times.
+ * <p>
+ * Settings may be requested from different event loops, so the state is kept in concurrent map and waiters
+ * of the key are modified under the lock of its map entry only. Every waiter is notified on the context
+ * it joined the lookup from and not later than its own timeout expires.
+ */
+class InFlightLookups<T> {
+
+    private final Map<String, List<Waiter<T>>> keyToWaiters = new ConcurrentHashMap<>();
+
+    /**
+     * For each key joins the lookup in progress adding its future to the given list, or starts the new lookup
+     * if there is no such. Joined future is failed with {@link TimeoutException} if lookup is not completed
+     * until the given timeout expires.
+     * <p>
+     * Returns keys the caller became responsible for, lookups of them must be completed by
+     * {@link #complete(Collection, AsyncResult)}.
+     */
+    Set<String> joinOrStart(Set<String> keys, Timeout timeout, List<Future<T>> joinedLookups) {
+        final Context context = Vertx.currentContext();
+        final Set<String> startedKeys = new HashSet<>();
+        for (String key : keys) {
+            final Waiter<T> waiter = new Waiter<>(context);
+            final List<Waiter<T>> newWaiters = new ArrayList<>();
+            final List<Waiter<T>> waiters = keyToWaiters.compute(key, (ignored, existingWaiters) -> {
+                if (existingWaiters == null) {
+                    return newWaiters;
+                }
+                existingWaiters.add(waiter);
+                return existingWaiters;
+            });
+
+            if (waiters == newWaiters) {
+                startedKeys.add(key);
+            } else {
+                waiter.expireAt(timeout);
+                joinedLookups.add(waiter.promise.future());
+            }
+        }
+        return startedKeys;
+    }
+
+    /**
+     * Completes lookups of the given keys with the result, so all waiters joined them are notified.
+     */
+    void complete(Collection<String> keys, AsyncResult<T> result) {
+        for (String key : keys) {
+            final List<Waiter<T>> waiters = keyToWaiters.remove(key);
+            if (waiters != null) {
+                waiters.forEach(waiter -> waiter.complete(result));
+            }
+        }
+    }
+
+    /**
+     * Caller joined the lookup in progress.
+     * <p>
+     * Timer is set and cancelled on the context of the caller only, so it needs no synchronization.
+     * Callers outside of Vert.x context are notified on the thread completing the lookup and wait for it
+     * without timeout.
+     */
+    private static class Waiter<T> {
+
+        private final Promise<T> promise = Promise.promise();
+        private final Context context;
+        private long timerId = -1;
+
+        Waiter(Context context) {
+            this.context = context;
+        }
+
+        void expireAt(Timeout timeout) {
+            if (context != null) {
+                timerId = context.owner().setTimer(Math.max(timeout.remaining(), 1L), ignored ->
+                        promise.tryFail(new TimeoutException("Timed out while waiting for concurrent lookup")));
+            }
+        }
+
+        void complete(AsyncResult<T> result) {
+            if (context == null) {
+                handle(result);
+            } else {
+                context.runOnContext(ignored -> {
+                    context.owner().cancelTimer(timerId);
+                    handle(result);
+                });
+            }
+        }
+
+        private void handle(AsyncResult<T> result) {
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.ResultSet;
+import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.mapper.JdbcStoredDataResultMapper;
 import org.prebid.server.settings.mapper.JdbcStoredResponseResultMapper;
 import org.prebid.server.settings.model.Account;
@@ -20,8 +24,10 @@ import org.prebid.server.vertx.jdbc.JdbcClient;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -77,17 +83,50 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     private final String selectResponseQuery;
 
+    private final JdbcStoredDataBatcher storedDataBatcher;
+    private final JdbcStoredDataBatcher ampStoredDataBatcher;
+    private final Map<QueryShape, String> parametrizedQueries;
+
     public JdbcApplicationSettings(JdbcClient jdbcClient,
                                    JacksonMapper mapper,
                                    String selectQuery,
                                    String selectAmpQuery,
                                    String selectResponseQuery) {
 
+        this(jdbcClient, mapper, selectQuery, selectAmpQuery, selectResponseQuery, null, null, 0, 0);
+    }
+
+    /**
+     * Creates {@link JdbcApplicationSettings} which merges stored data lookups arriving within the given window
+     * into the single query, see {@link JdbcStoredDataBatcher}. Lookups are not batched if window is not positive.
+     */
+    public JdbcApplicationSettings(JdbcClient jdbcClient,
+                                   JacksonMapper mapper,
+                                   String selectQuery,
+                                   String selectAmpQuery,
+                                   String selectResponseQuery,
+                                   Vertx vertx,
+                                   Metrics metrics,
+                                   long batchWindowMs,
+                                   int maxBatchSize) {
+
         this.jdbcClient = Objects.requireNonNull(jdbcClient);
         this.mapper = Objects.requireNonNull(mapper);
         this.selectQuery = Objects.requireNonNull(selectQuery);
         this.selectAmpQuery = Objects.requireNonNull(selectAmpQuery);
         this.selectResponseQuery = Objects.requireNonNull(selectResponseQuery);
+
+        this.storedDataBatcher = batchWindowMs > 0
+                ? new JdbcStoredDataBatcher(vertx, metrics, batchWindowMs, maxBatchSize,
+                (requestIds, impIds, timeout) -> queryStoredData(selectQuery, requestIds, impIds,
+                        Function.identity(), timeout))
+                : null;
+        this.ampStoredDataBatcher = batchWindowMs > 0
+                ? new JdbcStoredDataBatcher(vertx, metrics, batchWindowMs, maxBatchSize,
+                (requestIds, impIds, timeout) -> queryStoredData(selectAmpQuery, requestIds, impIds,
+                        Function.identity(), timeout))
+                : null;
+        this.parametrizedQueries = new ConcurrentHashMap<>();
     }
 
     /**
@@ -164,7 +203,7 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<StoredDataResult> getStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return fetchStoredData(selectQuery, requestIds, impIds, timeout);
+        return fetchStoredData(selectQuery, storedDataBatcher, requestIds, impIds, timeout);
     }
 
     /**
@@ -190,7 +229,7 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<StoredDataResult> getAmpStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return fetchStoredData(selectAmpQuery, requestIds, Collections.emptySet(), timeout);
+        return fetchStoredData(selectAmpQuery, ampStoredDataBatcher, requestIds, Collections.emptySet(), timeout);
     }
 
     /**
@@ -199,43 +238,78 @@ public class JdbcApplicationSettings implements ApplicationSettings {
      */
     @Override
     public Future<StoredDataResult> getVideoStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
-        return fetchStoredData(selectQuery, requestIds, impIds, timeout);
+        return fetchStoredData(selectQuery, storedDataBatcher, requestIds, impIds, timeout);
     }
 
     /**
-     * Fetches stored requests from database for the given query.
+     * Fetches stored requests from database for the given query, by the given {@link JdbcStoredDataBatcher}
+     * if batching is enabled.
      */
-    private Future<StoredDataResult> fetchStoredData(String query, Set<String> requestIds, Set<String> impIds,
-                                                     Timeout timeout) {
+    private Future<StoredDataResult> fetchStoredData(String query, JdbcStoredDataBatcher batcher,
+                                                     Set<String> requestIds, Set<String> impIds, Timeout timeout) {
         final Future<StoredDataResult> future;
 
         if (CollectionUtils.isEmpty(requestIds) && CollectionUtils.isEmpty(impIds)) {
             future = Future.succeededFuture(
                     StoredDataResult.of(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList()));
+        } else if (batcher != null) {
+            future = batcher.fetch(requestIds, impIds, timeout);
         } else {
-            final List<Object> idsQueryParameters = new ArrayList<>();
-            IntStream.rangeClosed(1, StringUtils.countMatches(query, REQUEST_ID_PLACEHOLDER))
-                    .forEach(i -> idsQueryParameters.addAll(requestIds));
-            IntStream.rangeClosed(1, StringUtils.countMatches(query, IMP_ID_PLACEHOLDER))
-                    .forEach(i -> idsQueryParameters.addAll(impIds));
-
-            final String parametrizedQuery = createParametrizedQuery(query, requestIds.size(), impIds.size());
-            future = jdbcClient.executeQuery(parametrizedQuery, idsQueryParameters,
-                    result -> JdbcStoredDataResultMapper.map(result, requestIds, impIds),
-                    timeout);
+            future = queryStoredData(query, requestIds, impIds,
+                    result -> JdbcStoredDataResultMapper.map(result, requestIds, impIds), timeout);
         }
 
         return future;
     }
 
+    /**
+     * Queries stored requests and imps from database for the given query.
+     * <p>
+     * Ids are padded to the bucket size, so the number of distinct statements stays small
+     * and prepared statements cache is able to reuse them.
+     */
+    private <T> Future<T> queryStoredData(String query, Set<String> requestIds, Set<String> impIds,
+                                          Function<ResultSet, T> resultMapper, Timeout timeout) {
+        final List<String> requestIdsParameters = padToBucketSize(requestIds);
+        final List<String> impIdsParameters = padToBucketSize(impIds);
+
+        final List<Object> idsQueryParameters = new ArrayList<>();
+        IntStream.rangeClosed(1, StringUtils.countMatches(query, REQUEST_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(requestIdsParameters));
+        IntStream.rangeClosed(1, StringUtils.countMatches(query, IMP_ID_PLACEHOLDER))
+                .forEach(i -> idsQueryParameters.addAll(impIdsParameters));
+
+        final String parametrizedQuery = parametrizedQueries.computeIfAbsent(
+                QueryShape.of(query, requestIdsParameters.size(), impIdsParameters.size()),
+                JdbcApplicationSettings::createParametrizedQuery);
+
+        return jdbcClient.executeQuery(parametrizedQuery, idsQueryParameters, resultMapper, timeout);
+    }
+
+    /**
+     * Pads ids up to the nearest power of two by repeating the first one, which doesn't change the result
+     * of "IN" condition.
+     */
+    private static List<String> padToBucketSize(Set<String> ids) {
+        final int size = ids.size();
+        final int bucketSize = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+
+        final List<String> paddedIds = new ArrayList<>(bucketSize);
+        paddedIds.addAll(ids);
+        while (paddedIds.size() < bucketSize) {
+            paddedIds.add(paddedIds.get(0));
+        }
+        return paddedIds;
+    }
+
     /**
      * Creates parametrized query from query and variable templates, by replacing templateVariable
      * with appropriate number of "?" placeholders.
      */
-    private static String createParametrizedQuery(String query, int requestIdsSize, int impIdsSize) {
-        return query
-                .replace(REQUEST_ID_PLACEHOLDER, parameterHolders(requestIdsSize))
-                .replace(IMP_ID_PLACEHOLDER, parameterHolders(impIdsSize));
+    private static String createParametrizedQuery(QueryShape queryShape) {
+        return queryShape.getQuery()
+                .replace(REQUEST_ID_PLACEHOLDER, parameterHolders(queryShape.getRequestIdsCount()))
+                .replace(IMP_ID_PLACEHOLDER, parameterHolders(queryShape.getImpIdsCount()));
     }
 
     /**
@@ -246,4 +320,15 @@ public class JdbcApplicationSettings implements ApplicationSettings {
                 ? "NULL"
                 : IntStream.range(0, paramsSize).mapToObj(i -> "?").collect(Collectors.joining(","));
     }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    private static class QueryShape {
+
+        String query;
+
+        int requestIdsCount;
+
+        int impIdsCount;
+    }
 }
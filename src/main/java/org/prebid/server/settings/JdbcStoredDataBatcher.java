@@ -0,0 +1,241 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.settings.mapper.JdbcStoredDataResultMapper;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredDataType;
+import org.prebid.server.settings.model.TriFunction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Merges stored data lookups arriving within the short window into the single database query.
+ * <p>
+ * The window starts with the first lookup and the batch is queried when it expires or the number of ids
+ * in the batch reaches the limit, whichever comes first. The query is executed with the longest timeout
+ * of the batched lookups, and each lookup gets only rows of ids it asked for. Every lookup is failed
+ * at its own deadline by the timer, so it never waits for the batch longer than its timeout allows.
+ * <p>
+ * Lookups may come from different event loops, so the pending batch is guarded by the instance lock, and every
+ * lookup is completed on the context it was made from, so its caller continues on its own event loop.
+ */
+class JdbcStoredDataBatcher {
+
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final TriFunction<Set<String>, Set<String>, Timeout, Future<ResultSet>> fetcher;
+
+    private Batch pendingBatch;
+
+    JdbcStoredDataBatcher(Vertx vertx,
+                          Metrics metrics,
+                          long windowMs,
+                          int maxBatchSize,
+                          TriFunction<Set<String>, Set<String>, Timeout, Future<ResultSet>> fetcher) {
+
+        if (windowMs <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch window and max batch size must be positive");
+        }
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.fetcher = Objects.requireNonNull(fetcher);
+    }
+
+    /**
+     * Adds lookup of the given ids to the pending batch and returns {@link Future&lt;StoredDataResult&gt;}
+     * completed when the batch is queried.
+     */
+    Future<StoredDataResult> fetch(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        final Lookup lookup = new Lookup(requestIds, impIds, timeout, Vertx.currentContext());
+        lookup.timerId = vertx.setTimer(Math.max(timeout.remaining(), 1L), ignored -> lookup.promise.tryFail(
+                new TimeoutException("Timed out while executing SQL query")));
+
+        final Batch fullBatch;
+        synchronized (this) {
+            if (pendingBatch == null) {
+                final Batch batch = new Batch();
+                batch.timerId = vertx.setTimer(windowMs, ignored -> flush(batch));
+                pendingBatch = batch;
+            }
+
+            pendingBatch.add(lookup);
+
+            if (pendingBatch.idsCount >= maxBatchSize) {
+                fullBatch = pendingBatch;
+                pendingBatch = null;
+            } else {
+                fullBatch = null;
+            }
+        }
+
+        if (fullBatch != null) {
+            vertx.cancelTimer(fullBatch.timerId);
+            execute(fullBatch);
+        }
+
+        return lookup.promise.future();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            // batch is already queried because of its size
+            if (pendingBatch != batch) {
+                return;
+            }
+            pendingBatch = null;
+        }
+
+        execute(batch);
+    }
+
+    private void execute(Batch batch) {
+        final List<Lookup> lookups = new ArrayList<>(batch.lookups.size());
+        for (Lookup lookup : batch.lookups) {
+            // lookup may already be failed by its timer
+            if (!lookup.promise.future().isComplete() && lookup.timeout.remaining() > 0) {
+                lookups.add(lookup);
+            } else {
+                lookup.runOnContext(ignored -> {
+                    vertx.cancelTimer(lookup.timerId);
+                    lookup.promise.tryFail(new TimeoutException("Timed out while executing SQL query"));
+                });
+            }
+        }
+
+        if (lookups.isEmpty()) {
+            return;
+        }
+
+        final Set<String> requestIds = new HashSet<>();
+        final Set<String> impIds = new HashSet<>();
+        for (Lookup lookup : lookups) {
+            requestIds.addAll(lookup.requestIds);
+            impIds.addAll(lookup.impIds);
+        }
+        final Timeout timeout = lookups.stream()
+                .map(lookup -> lookup.timeout)
+                .max(Comparator.comparingLong(Timeout::remaining))
+                .orElseThrow(IllegalStateException::new);
+
+        metrics.updateStoredDataBatchSizeMetric(lookups.size());
+
+        final long startTime = System.nanoTime();
+        fetcher.apply(requestIds, impIds, timeout)
+                .setHandler(result -> handleResult(result, lookups, startTime));
+    }
+
+    private void handleResult(AsyncResult<ResultSet> result, List<Lookup> lookups, long startTime) {
+        metrics.updateStoredDataQueryTimeMetric(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+        for (Lookup lookup : lookups) {
+            lookup.runOnContext(ignored -> complete(lookup, result));
+        }
+    }
+
+    private void complete(Lookup lookup, AsyncResult<ResultSet> result) {
+        vertx.cancelTimer(lookup.timerId);
+        // lookup may already be failed by its timer
+        if (lookup.promise.future().isComplete()) {
+            return;
+        }
+
+        if (result.succeeded()) {
+            final ResultSet resultSet = resultSetFor(result.result(), lookup.requestIds, lookup.impIds);
+            lookup.promise.tryComplete(JdbcStoredDataResultMapper.map(resultSet, lookup.requestIds, lookup.impIds));
+        } else {
+            lookup.promise.tryFail(result.cause());
+        }
+    }
+
+    /**
+     * Leaves only rows of the given ids in the {@link ResultSet} of the whole batch.
+     */
+    private static ResultSet resultSetFor(ResultSet resultSet, Set<String> requestIds, Set<String> impIds) {
+        if (resultSet == null || CollectionUtils.isEmpty(resultSet.getResults())) {
+            return resultSet;
+        }
+
+        final List<JsonArray> rows = resultSet.getResults().stream()
+                .filter(row -> isRequested(row, requestIds, impIds))
+                .collect(Collectors.toList());
+        return new ResultSet(resultSet.getColumnNames(), rows, null);
+    }
+
+    private static boolean isRequested(JsonArray row, Set<String> requestIds, Set<String> impIds) {
+        // malformed rows are left to be reported by mapper
+        if (row.size() < 3) {
+            return true;
+        }
+
+        final Object id = row.getValue(0);
+        final Object type = row.getValue(2);
+        if (Objects.equals(type, StoredDataType.request.name())) {
+            return requestIds.contains(id);
+        } else if (Objects.equals(type, StoredDataType.imp.name())) {
+            return impIds.contains(id);
+        }
+        return true;
+    }
+
+    private static class Lookup {
+
+        private final Set<String> requestIds;
+        private final Set<String> impIds;
+        private final Timeout timeout;
+        private final Context context;
+        private final Promise<StoredDataResult> promise = Promise.promise();
+        private long timerId;
+
+        Lookup(Set<String> requestIds, Set<String> impIds, Timeout timeout, Context context) {
+            this.requestIds = requestIds;
+            this.impIds = impIds;
+            this.timeout = timeout;
+            this.context = context;
+        }
+
+        /**
+         * Runs action on the context lookup was made from, or right away if it was made outside of Vert.x context.
+         */
+        void runOnContext(Handler<Void> action) {
+            if (context != null) {
+                context.runOnContext(action);
+            } else {
+                action.handle(null);
+            }
+        }
+    }
+
+    private static class Batch {
+
+        private final List<Lookup> lookups = new ArrayList<>();
+        private int idsCount;
+        private long timerId;
+
+        void add(Lookup lookup) {
+            lookups.add(lookup);
+            idsCount += lookup.requestIds.size() + lookup.impIds.size();
+        }
+    }
+}
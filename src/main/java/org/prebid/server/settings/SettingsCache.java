@@ -1,25 +1,85 @@
 package org.prebid.server.settings;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.settings.model.StoredDataResult;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Just a simple wrapper over in-memory caches for requests and imps.
+ * <p>
+ * Optionally propagates all updates to {@link StoredDataTreeCache} to keep parsed stored data consistent.
+ * <p>
+ * Besides stored data itself keeps track of:
+ * <ul>
+ * <li>ids which should be refreshed in background since their entries are about to expire
+ * (if refresh-ahead time is positive);</li>
+ * <li>ids which were not found in the original source (if negative ttl is positive);</li>
+ * <li>ids which are being fetched from the original source right now, see {@link InFlightLookups}.</li>
+ * </ul>
  */
 public class SettingsCache implements CacheNotificationListener {
 
+    private static final Logger logger = LoggerFactory.getLogger(SettingsCache.class);
+
     private final Map<String, String> requestCache;
     private final Map<String, String> impCache;
+    private final Set<String> freshRequestIds;
+    private final Set<String> freshImpIds;
+    private final Set<String> missingRequestIds;
+    private final Set<String> missingImpIds;
+    private final InFlightLookups<StoredDataResult> requestLookups;
+    private final InFlightLookups<StoredDataResult> impLookups;
+    private final StoredDataTreeCache treeCache;
 
     public SettingsCache(int ttl, int size) {
+        this(ttl, size, null);
+    }
+
+    public SettingsCache(int ttl, int size, StoredDataTreeCache treeCache) {
+        this(ttl, size, 0, 0, treeCache);
+    }
+
+    public SettingsCache(int ttl, int size, int refreshAheadSeconds, int negativeTtl, StoredDataTreeCache treeCache) {
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
+        if (negativeTtl < 0) {
+            throw new IllegalArgumentException("negative ttl must be non-negative");
+        }
         this.requestCache = createCache(ttl, size);
         this.impCache = createCache(ttl, size);
+        final int effectiveRefreshAheadSeconds = effectiveRefreshAheadSeconds(ttl, refreshAheadSeconds);
+        this.freshRequestIds = effectiveRefreshAheadSeconds > 0
+                ? createIdSet(ttl - effectiveRefreshAheadSeconds, size)
+                : null;
+        this.freshImpIds = effectiveRefreshAheadSeconds > 0
+                ? createIdSet(ttl - effectiveRefreshAheadSeconds, size)
+                : null;
+        this.missingRequestIds = negativeTtl > 0 ? createIdSet(negativeTtl, size) : null;
+        this.missingImpIds = negativeTtl > 0 ? createIdSet(negativeTtl, size) : null;
+        this.requestLookups = new InFlightLookups<>();
+        this.impLookups = new InFlightLookups<>();
+        this.treeCache = treeCache;
+    }
+
+    /**
+     * Returns refresh-ahead time to use with the given ttl, refresh-ahead is disabled if it is not less than ttl.
+     */
+    static int effectiveRefreshAheadSeconds(int ttl, int refreshAheadSeconds) {
+        if (refreshAheadSeconds >= ttl) {
+            logger.warn("Refresh-ahead time {0}s is not less than ttl {1}s, refresh-ahead is disabled",
+                    refreshAheadSeconds, ttl);
+            return 0;
+        }
+        return Math.max(refreshAheadSeconds, 0);
     }
 
     static <T> Map<String, T> createCache(int ttl, int size) {
@@ -30,6 +90,10 @@ public class SettingsCache implements CacheNotificationListener {
                 .asMap();
     }
 
+    static Set<String> createIdSet(int ttl, int size) {
+        return Collections.newSetFromMap(createCache(ttl, size));
+    }
+
     Map<String, String> getRequestCache() {
         return requestCache;
     }
@@ -38,15 +102,80 @@ public class SettingsCache implements CacheNotificationListener {
         return impCache;
     }
 
+    InFlightLookups<StoredDataResult> getRequestLookups() {
+        return requestLookups;
+    }
+
+    InFlightLookups<StoredDataResult> getImpLookups() {
+        return impLookups;
+    }
+
+    /**
+     * Returns ids among the given cached ones which should be refreshed ahead of their expiration.
+     */
+    Set<String> getStaleRequestIds(Set<String> ids) {
+        return filterIds(ids, freshRequestIds, false);
+    }
+
+    Set<String> getStaleImpIds(Set<String> ids) {
+        return filterIds(ids, freshImpIds, false);
+    }
+
+    /**
+     * Returns ids among the given ones which are known to be absent in the original source.
+     */
+    Set<String> getMissingRequestIds(Set<String> ids) {
+        return filterIds(ids, missingRequestIds, true);
+    }
+
+    Set<String> getMissingImpIds(Set<String> ids) {
+        return filterIds(ids, missingImpIds, true);
+    }
+
+    private static Set<String> filterIds(Set<String> ids, Set<String> trackedIds, boolean tracked) {
+        return trackedIds != null
+                ? ids.stream().filter(id -> trackedIds.contains(id) == tracked).collect(Collectors.toSet())
+                : Collections.emptySet();
+    }
+
     @Override
     public void save(Map<String, String> requests, Map<String, String> imps) {
         requestCache.putAll(requests);
         impCache.putAll(imps);
+
+        if (freshRequestIds != null) {
+            freshRequestIds.addAll(requests.keySet());
+            freshImpIds.addAll(imps.keySet());
+        }
+
+        if (missingRequestIds != null) {
+            missingRequestIds.removeAll(requests.keySet());
+            missingImpIds.removeAll(imps.keySet());
+        }
+
+        if (treeCache != null) {
+            treeCache.save(requests, imps);
+        }
+    }
+
+    /**
+     * Remembers ids which were not found in the original source, so they are not looked up again
+     * until negative ttl expires.
+     */
+    void saveMissing(Set<String> requestIds, Set<String> impIds) {
+        if (missingRequestIds != null) {
+            missingRequestIds.addAll(requestIds);
+            missingImpIds.addAll(impIds);
+        }
     }
 
     @Override
     public void invalidate(List<String> requests, List<String> imps) {
         requestCache.keySet().removeAll(requests);
         impCache.keySet().removeAll(imps);
+
+        if (treeCache != null) {
+            treeCache.invalidate(requests, imps);
+        }
     }
 }
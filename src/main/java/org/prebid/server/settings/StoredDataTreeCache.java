@@ -0,0 +1,126 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of already parsed stored requests and imps.
+ * <p>
+ * Keeps {@link JsonNode} trees next to the json they were parsed from, so the same stored data is parsed only once
+ * and reused by every following merge as long as its json stays unchanged. Cached trees must be treated as immutable.
+ * <p>
+ * Trees are populated eagerly when stored data is saved through {@link CacheNotificationListener} hooks and lazily
+ * on first access otherwise.
+ */
+public class StoredDataTreeCache implements CacheNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredDataTreeCache.class);
+
+    private final JacksonMapper mapper;
+    private final Metrics metrics;
+
+    private final Map<String, ParsedStoredData> requestCache;
+    private final Map<String, ParsedStoredData> impCache;
+
+    public StoredDataTreeCache(int ttl, int size, JacksonMapper mapper, Metrics metrics) {
+        if (ttl <= 0 || size <= 0) {
+            throw new IllegalArgumentException("ttl and size must be positive");
+        }
+        this.mapper = Objects.requireNonNull(mapper);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.requestCache = SettingsCache.createCache(ttl, size);
+        this.impCache = SettingsCache.createCache(ttl, size);
+    }
+
+    /**
+     * Returns parsed tree of stored request with given id and json.
+     * <p>
+     * Throws {@link InvalidRequestException} if json can't be parsed.
+     */
+    public JsonNode getRequestTree(String id, String json) {
+        return getOrParse(requestCache, id, json);
+    }
+
+    /**
+     * Returns parsed tree of stored imp with given id and json.
+     * <p>
+     * Throws {@link InvalidRequestException} if json can't be parsed.
+     */
+    public JsonNode getImpTree(String id, String json) {
+        return getOrParse(impCache, id, json);
+    }
+
+    @Override
+    public void save(Map<String, String> requests, Map<String, String> imps) {
+        saveParsed(requestCache, requests);
+        saveParsed(impCache, imps);
+    }
+
+    @Override
+    public void invalidate(List<String> requests, List<String> imps) {
+        requestCache.keySet().removeAll(requests);
+        impCache.keySet().removeAll(imps);
+    }
+
+    private JsonNode getOrParse(Map<String, ParsedStoredData> cache, String id, String json) {
+        final ParsedStoredData cachedValue = cache.get(id);
+        // stored data fetched from SettingsCache is usually the very same instance the tree was parsed from,
+        // so comparison ends on reference equality check for the most of calls
+        if (cachedValue != null && Objects.equals(cachedValue.getJson(), json)) {
+            metrics.updateStoredDataTreeCacheMetric(true);
+            return cachedValue.getTree();
+        }
+
+        metrics.updateStoredDataTreeCacheMetric(false);
+        final JsonNode tree;
+        try {
+            tree = parse(json);
+        } catch (IOException e) {
+            throw new InvalidRequestException(String.format("Can't parse Json for stored request with id %s", id));
+        }
+
+        cache.put(id, ParsedStoredData.of(json, tree));
+        return tree;
+    }
+
+    private void saveParsed(Map<String, ParsedStoredData> cache, Map<String, String> idToJson) {
+        for (Map.Entry<String, String> entry : idToJson.entrySet()) {
+            final String id = entry.getKey();
+            final String json = entry.getValue();
+            try {
+                cache.put(id, ParsedStoredData.of(json, parse(json)));
+            } catch (IOException e) {
+                cache.remove(id);
+                logger.warn("Can't parse Json for stored data with id {0}: {1}", id, e.getMessage());
+            }
+        }
+    }
+
+    private JsonNode parse(String json) throws IOException {
+        final long startTime = System.nanoTime();
+        final JsonNode tree = mapper.mapper().readTree(json);
+        metrics.updateStoredDataParseTimeMetric(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return tree;
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    private static class ParsedStoredData {
+
+        String json;
+
+        JsonNode tree;
+    }
+}
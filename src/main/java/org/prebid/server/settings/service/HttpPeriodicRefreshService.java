@@ -3,7 +3,9 @@ package org.prebid.server.settings.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -18,6 +20,7 @@ import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -57,6 +60,10 @@ import java.util.Objects;
  * <p>
  * To signal deletions, the endpoint may return { "deleted": true }
  * in place of the Stored Data if the "last-modified" param existed.
+ * <p>
+ * If {@link StoredDataSnapshot} is given, the stored data is loaded from it at the startup and only changes made
+ * since the snapshot are requested with "last-modified" param. Changes brought by each successful refresh
+ * are appended to the snapshot.
  */
 public class HttpPeriodicRefreshService implements Initializable {
 
@@ -69,6 +76,7 @@ public class HttpPeriodicRefreshService implements Initializable {
     private final Vertx vertx;
     private final HttpClient httpClient;
     private final JacksonMapper mapper;
+    private final StoredDataSnapshot snapshot;
 
     private Instant lastUpdateTime;
 
@@ -80,6 +88,18 @@ public class HttpPeriodicRefreshService implements Initializable {
                                       HttpClient httpClient,
                                       JacksonMapper mapper) {
 
+        this(refreshUrl, refreshPeriod, timeout, cacheNotificationListener, vertx, httpClient, mapper, null);
+    }
+
+    public HttpPeriodicRefreshService(String refreshUrl,
+                                      long refreshPeriod,
+                                      long timeout,
+                                      CacheNotificationListener cacheNotificationListener,
+                                      Vertx vertx,
+                                      HttpClient httpClient,
+                                      JacksonMapper mapper,
+                                      StoredDataSnapshot snapshot) {
+
         this.refreshUrl = HttpUtil.validateUrl(Objects.requireNonNull(refreshUrl));
         this.refreshPeriod = refreshPeriod;
         this.timeout = timeout;
@@ -87,11 +107,16 @@ public class HttpPeriodicRefreshService implements Initializable {
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
         this.mapper = Objects.requireNonNull(mapper);
+        this.snapshot = snapshot;
     }
 
     @Override
     public void initialize() {
-        getAll();
+        if (snapshot != null) {
+            vertx.executeBlocking(this::loadSnapshot, false, this::handleSnapshot);
+        } else {
+            getAll();
+        }
         if (refreshPeriod > 0) {
             vertx.setPeriodic(refreshPeriod, aLong -> refresh());
         }
@@ -100,23 +125,73 @@ public class HttpPeriodicRefreshService implements Initializable {
     private void getAll() {
         httpClient.get(refreshUrl, timeout)
                 .map(this::processResponse)
-                .map(this::save)
-                .map(ignored -> setLastUpdateTime(Instant.now()))
+                .map(this::saveAll)
                 .recover(HttpPeriodicRefreshService::failResponse);
     }
 
-    private Void save(HttpRefreshResponse refreshResponse) {
+    private void loadSnapshot(Promise<StoredDataSnapshot.Content> promise) {
+        try {
+            promise.complete(snapshot.load());
+        } catch (IOException e) {
+            promise.fail(e);
+        }
+    }
+
+    /**
+     * Passes stored data loaded from snapshot to the cache and requests changes made since the snapshot,
+     * falls back to requesting all stored data if there is no suitable snapshot.
+     */
+    private void handleSnapshot(AsyncResult<StoredDataSnapshot.Content> result) {
+        if (result.succeeded() && result.result() != null) {
+            final StoredDataSnapshot.Content content = result.result();
+            cacheNotificationListener.save(content.getRequests(), content.getImps());
+            setLastUpdateTime(content.getLastUpdate());
+            refresh();
+        } else {
+            if (result.failed()) {
+                logger.warn("Error occurred while loading stored data snapshot", result.cause());
+            }
+            getAll();
+        }
+    }
+
+    private Void saveAll(HttpRefreshResponse refreshResponse) {
         final Map<String, String> requests = parseStoredData(refreshResponse.getRequests(), StoredDataType.request);
         final Map<String, String> imps = parseStoredData(refreshResponse.getImps(), StoredDataType.imp);
+        final Instant updateTime = Instant.now();
 
         cacheNotificationListener.save(requests, imps);
+        setLastUpdateTime(updateTime);
+        if (snapshot != null) {
+            updateSnapshot(() -> snapshot.write(requests, imps, updateTime));
+        }
 
         return null;
     }
 
-    private Void setLastUpdateTime(Instant instant) {
+    private void setLastUpdateTime(Instant instant) {
         lastUpdateTime = instant;
-        return null;
+    }
+
+    /**
+     * Updates stored data snapshot on worker thread, updates are applied in order they were made.
+     */
+    private void updateSnapshot(StoredDataSnapshot.Update update) {
+        vertx.<Void>executeBlocking(
+                promise -> {
+                    try {
+                        update.apply();
+                        promise.complete();
+                    } catch (IOException e) {
+                        promise.fail(e);
+                    }
+                },
+                true,
+                result -> {
+                    if (result.failed()) {
+                        logger.warn("Error occurred while writing stored data snapshot", result.cause());
+                    }
+                });
     }
 
     /**
@@ -172,13 +247,11 @@ public class HttpPeriodicRefreshService implements Initializable {
 
         httpClient.get(refreshEndpoint, timeout)
                 .map(this::processResponse)
-                .map(this::invalidate)
-                .map(this::save)
-                .map(ignored -> setLastUpdateTime(updateTime))
+                .map(refreshResponse -> saveChanges(refreshResponse, updateTime))
                 .recover(HttpPeriodicRefreshService::failResponse);
     }
 
-    private HttpRefreshResponse invalidate(HttpRefreshResponse refreshResponse) {
+    private Void saveChanges(HttpRefreshResponse refreshResponse, Instant updateTime) {
         final List<String> invalidatedRequests = getInvalidatedKeys(refreshResponse.getRequests());
         final List<String> invalidatedImps = getInvalidatedKeys(refreshResponse.getImps());
 
@@ -186,11 +259,18 @@ public class HttpPeriodicRefreshService implements Initializable {
             cacheNotificationListener.invalidate(invalidatedRequests, invalidatedImps);
         }
 
-        final Map<String, ObjectNode> requestsToSave = removeFromMap(refreshResponse.getRequests(),
-                invalidatedRequests);
-        final Map<String, ObjectNode> impsToSave = removeFromMap(refreshResponse.getImps(), invalidatedImps);
+        final Map<String, String> requests = parseStoredData(
+                removeFromMap(refreshResponse.getRequests(), invalidatedRequests), StoredDataType.request);
+        final Map<String, String> imps = parseStoredData(
+                removeFromMap(refreshResponse.getImps(), invalidatedImps), StoredDataType.imp);
 
-        return HttpRefreshResponse.of(requestsToSave, impsToSave);
+        cacheNotificationListener.save(requests, imps);
+        setLastUpdateTime(updateTime);
+        if (snapshot != null) {
+            updateSnapshot(() -> snapshot.append(requests, imps, invalidatedRequests, invalidatedImps, updateTime));
+        }
+
+        return null;
     }
 
     private static List<String> getInvalidatedKeys(Map<String, ObjectNode> changes) {
@@ -1,6 +1,8 @@
 package org.prebid.server.settings.service;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -13,6 +15,7 @@ import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.jdbc.JdbcClient;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
@@ -37,6 +40,11 @@ import java.util.stream.Collectors;
  * If data is empty or the JSON "null", then the ID will be invalidated (e.g. a deletion).
  * If data is not empty, depending on TYPE, it should be put to corresponding map with ID as a key and DATA as value.
  * </p>
+ * <p>
+ * If {@link StoredDataSnapshot} is given, the stored data is loaded from it at the startup and only changes made
+ * since the snapshot are fetched with update query. Changes brought by each successful refresh are appended
+ * to the snapshot. Initial query is used only if there is no suitable snapshot or it cannot be read.
+ * </p>
  */
 public class JdbcPeriodicRefreshService implements Initializable {
 
@@ -70,11 +78,21 @@ public class JdbcPeriodicRefreshService implements Initializable {
     private final String updateQuery;
     private final TimeoutFactory timeoutFactory;
     private final long timeout;
+    private final StoredDataSnapshot snapshot;
     private Instant lastUpdate;
 
     public JdbcPeriodicRefreshService(CacheNotificationListener cacheNotificationListener,
                                       Vertx vertx, JdbcClient jdbcClient, long refreshPeriod, String initQuery,
                                       String updateQuery, TimeoutFactory timeoutFactory, long timeout) {
+
+        this(cacheNotificationListener, vertx, jdbcClient, refreshPeriod, initQuery, updateQuery, timeoutFactory,
+                timeout, null);
+    }
+
+    public JdbcPeriodicRefreshService(CacheNotificationListener cacheNotificationListener,
+                                      Vertx vertx, JdbcClient jdbcClient, long refreshPeriod, String initQuery,
+                                      String updateQuery, TimeoutFactory timeoutFactory, long timeout,
+                                      StoredDataSnapshot snapshot) {
         this.cacheNotificationListener = Objects.requireNonNull(cacheNotificationListener);
         this.vertx = Objects.requireNonNull(vertx);
         this.jdbcClient = Objects.requireNonNull(jdbcClient);
@@ -83,11 +101,16 @@ public class JdbcPeriodicRefreshService implements Initializable {
         this.updateQuery = Objects.requireNonNull(StringUtils.stripToNull(updateQuery));
         this.timeoutFactory = Objects.requireNonNull(timeoutFactory);
         this.timeout = timeout;
+        this.snapshot = snapshot;
     }
 
     @Override
     public void initialize() {
-        getAll();
+        if (snapshot != null) {
+            vertx.executeBlocking(this::loadSnapshot, false, this::handleSnapshot);
+        } else {
+            getAll();
+        }
         if (refreshPeriod > 0) {
             vertx.setPeriodic(refreshPeriod, aLong -> refresh());
         }
@@ -95,19 +118,72 @@ public class JdbcPeriodicRefreshService implements Initializable {
 
     private void getAll() {
         jdbcClient.executeQuery(initQuery, Collections.emptyList(), JdbcStoredDataResultMapper::map, createTimeout())
-                .map(this::save)
-                .map(ignored -> setLastUpdate(Instant.now()))
+                .map(this::saveAll)
                 .recover(JdbcPeriodicRefreshService::failResponse);
     }
 
-    private Void save(StoredDataResult storedDataResult) {
-        cacheNotificationListener.save(storedDataResult.getStoredIdToRequest(), storedDataResult.getStoredIdToImp());
+    private void loadSnapshot(Promise<StoredDataSnapshot.Content> promise) {
+        try {
+            promise.complete(snapshot.load());
+        } catch (IOException e) {
+            promise.fail(e);
+        }
+    }
+
+    /**
+     * Passes stored data loaded from snapshot to the cache and fetches changes made since the snapshot,
+     * falls back to fetching all stored data if there is no suitable snapshot.
+     */
+    private void handleSnapshot(AsyncResult<StoredDataSnapshot.Content> result) {
+        if (result.succeeded() && result.result() != null) {
+            final StoredDataSnapshot.Content content = result.result();
+            cacheNotificationListener.save(content.getRequests(), content.getImps());
+            setLastUpdate(content.getLastUpdate());
+            refresh();
+        } else {
+            if (result.failed()) {
+                logger.warn("Error occurred while loading stored data snapshot", result.cause());
+            }
+            getAll();
+        }
+    }
+
+    private Void saveAll(StoredDataResult storedDataResult) {
+        final Map<String, String> requests = storedDataResult.getStoredIdToRequest();
+        final Map<String, String> imps = storedDataResult.getStoredIdToImp();
+        final Instant updateTime = Instant.now();
+
+        cacheNotificationListener.save(requests, imps);
+        setLastUpdate(updateTime);
+        if (snapshot != null) {
+            updateSnapshot(() -> snapshot.write(requests, imps, updateTime));
+        }
         return null;
     }
 
-    private Void setLastUpdate(Instant instant) {
+    private void setLastUpdate(Instant instant) {
         lastUpdate = instant;
-        return null;
+    }
+
+    /**
+     * Updates stored data snapshot on worker thread, updates are applied in order they were made.
+     */
+    private void updateSnapshot(StoredDataSnapshot.Update update) {
+        vertx.<Void>executeBlocking(
+                promise -> {
+                    try {
+                        update.apply();
+                        promise.complete();
+                    } catch (IOException e) {
+                        promise.fail(e);
+                    }
+                },
+                true,
+                result -> {
+                    if (result.failed()) {
+                        logger.warn("Error occurred while writing stored data snapshot", result.cause());
+                    }
+                });
     }
 
     private static Future<Void> failResponse(Throwable exception) {
@@ -120,13 +196,11 @@ public class JdbcPeriodicRefreshService implements Initializable {
 
         jdbcClient.executeQuery(updateQuery, Collections.singletonList(Date.from(lastUpdate)),
                 JdbcStoredDataResultMapper::map, createTimeout())
-                .map(this::invalidate)
-                .map(this::save)
-                .map(ignored -> setLastUpdate(updateTime))
+                .map(storedDataResult -> saveChanges(storedDataResult, updateTime))
                 .recover(JdbcPeriodicRefreshService::failResponse);
     }
 
-    private StoredDataResult invalidate(StoredDataResult storedDataResult) {
+    private Void saveChanges(StoredDataResult storedDataResult, Instant updateTime) {
         final List<String> invalidatedRequests = getInvalidatedKeys(storedDataResult.getStoredIdToRequest());
         final List<String> invalidatedImps = getInvalidatedKeys(storedDataResult.getStoredIdToImp());
 
@@ -138,7 +212,13 @@ public class JdbcPeriodicRefreshService implements Initializable {
                 invalidatedRequests);
         final Map<String, String> impsToSave = removeFromMap(storedDataResult.getStoredIdToImp(), invalidatedImps);
 
-        return StoredDataResult.of(requestsToSave, impsToSave, storedDataResult.getErrors());
+        cacheNotificationListener.save(requestsToSave, impsToSave);
+        setLastUpdate(updateTime);
+        if (snapshot != null) {
+            updateSnapshot(() -> snapshot.append(requestsToSave, impsToSave, invalidatedRequests, invalidatedImps,
+                    updateTime));
+        }
+        return null;
     }
 
     private static List<String> getInvalidatedKeys(Map<String, String> changesMap) {
@@ -0,0 +1,367 @@
+package org.prebid.server.settings.service;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Persists stored requests and imps received by periodic refresh service to the local file, so on restart
+ * the service can load them and fetch only updates made since the snapshot instead of the whole stored data.
+ * <p>
+ * The snapshot doesn't keep its own copy of stored data, it is a log of records streamed to the file:
+ * the full stored data is written as the first record and changes brought by each refresh are appended after it.
+ * Every record carries the last update time it brings stored data to and its own checksum, so the log is replayed
+ * on load up to the first incomplete or corrupted record and stays consistent with the update time of the last
+ * replayed one. The loaded log is compacted into the single record right away.
+ * <p>
+ * The new log is written to the temporary file first and then atomically moved in place of the previous one,
+ * so readers never see partially written data.
+ * <p>
+ * The snapshot is ignored if it was written for the other source of stored data (e.g. initial query or endpoint
+ * was changed) or if it is older than max age, since catching up with the source could be worse than fetching
+ * all the stored data in this case.
+ */
+public class StoredDataSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredDataSnapshot.class);
+
+    private static final int MAGIC = 0x50425344;
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final String source;
+    private final long maxAgeSeconds;
+    private final Clock clock;
+
+    private boolean writable;
+    private Instant writtenLastUpdate;
+
+    public StoredDataSnapshot(String path, String source, long maxAgeSeconds, Clock clock) {
+        this.path = Paths.get(Objects.requireNonNull(StringUtils.stripToNull(path))).toAbsolutePath();
+        this.source = Objects.requireNonNull(source);
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Reads stored data and its last update time from the snapshot file and compacts it.
+     * <p>
+     * Returns null if there is no snapshot file yet, or it was written for the other source, or it is too old.
+     * Fails with {@link IOException} if the file cannot be read or its header is corrupted.
+     * <p>
+     * Blocks on file system, so should not be called on the event loop.
+     */
+    synchronized Content load() throws IOException {
+        final CRC32 checksum = new CRC32();
+        final Map<String, String> requests = new HashMap<>();
+        final Map<String, String> imps = new HashMap<>();
+        Instant lastUpdate = null;
+
+        try (DataInputStream input = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), checksum))) {
+
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException(String.format("Unsupported stored data snapshot format: %s", path));
+            }
+
+            final long fileSize = Files.size(path);
+            final String snapshotSource = readString(input, fileSize);
+            final long expectedChecksum = checksum.getValue();
+            if (input.readLong() != expectedChecksum) {
+                throw new IOException(String.format("Stored data snapshot is corrupted: %s", path));
+            }
+            if (!source.equals(snapshotSource)) {
+                logger.info("Stored data snapshot {0} was written for the other source, ignoring it", path);
+                return null;
+            }
+
+            Record record;
+            while ((record = readRecord(input, checksum, fileSize)) != null) {
+                record.applyTo(requests, imps);
+                lastUpdate = record.lastUpdate;
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        if (lastUpdate == null) {
+            logger.info("Stored data snapshot {0} has no complete records, ignoring it", path);
+            return null;
+        }
+        if (maxAgeSeconds > 0 && lastUpdate.plusSeconds(maxAgeSeconds).isBefore(clock.instant())) {
+            logger.info("Stored data snapshot {0} was last updated at {1} and is too old, ignoring it",
+                    path, lastUpdate);
+            return null;
+        }
+
+        write(requests, imps, lastUpdate);
+        return Content.of(requests, imps, lastUpdate);
+    }
+
+    /**
+     * Returns the next record of the log or null if there are no more complete records.
+     */
+    private Record readRecord(DataInputStream input, CRC32 checksum, long fileSize) {
+        checksum.reset();
+        try {
+            final int marker = input.read();
+            if (marker != 1) {
+                // -1 means the end of the log
+                if (marker != -1) {
+                    logger.warn("Stored data snapshot {0} contains corrupted record, ignoring the rest of it", path);
+                }
+                return null;
+            }
+
+            final Instant lastUpdate = Instant.ofEpochSecond(input.readLong(), input.readInt());
+            final List<String> invalidatedRequests = readKeys(input, fileSize);
+            final List<String> invalidatedImps = readKeys(input, fileSize);
+            final Map<String, String> requests = readEntries(input, fileSize);
+            final Map<String, String> imps = readEntries(input, fileSize);
+
+            final long expectedChecksum = checksum.getValue();
+            if (input.readLong() != expectedChecksum) {
+                logger.warn("Stored data snapshot {0} contains corrupted record, ignoring the rest of it", path);
+                return null;
+            }
+            return new Record(lastUpdate, invalidatedRequests, invalidatedImps, requests, imps);
+        } catch (IOException e) {
+            // record being appended when the process was stopped
+            logger.warn("Stored data snapshot {0} contains incomplete record, ignoring the rest of it", path);
+            return null;
+        }
+    }
+
+    private static List<String> readKeys(DataInputStream input, long fileSize) throws IOException {
+        final List<String> keys = new ArrayList<>();
+        while (input.readBoolean()) {
+            keys.add(readString(input, fileSize));
+        }
+        return keys;
+    }
+
+    private static Map<String, String> readEntries(DataInputStream input, long fileSize) throws IOException {
+        final Map<String, String> entries = new HashMap<>();
+        while (input.readBoolean()) {
+            entries.put(readString(input, fileSize), readString(input, fileSize));
+        }
+        return entries;
+    }
+
+    private static String readString(DataInputStream input, long fileSize) throws IOException {
+        final int length = input.readInt();
+        // corrupted length should not lead to allocation of huge array
+        if (length < 0 || length > fileSize) {
+            throw new IOException(String.format("Stored data snapshot contains entry of invalid length: %d", length));
+        }
+
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replaces the snapshot file with the new log containing all the given stored data.
+     * <p>
+     * Blocks on file system, so should not be called on the event loop.
+     */
+    synchronized void write(Map<String, String> requests, Map<String, String> imps, Instant lastUpdate)
+            throws IOException {
+
+        final Path directory = path.getParent();
+        Files.createDirectories(directory);
+        final Path tempFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            writeTo(tempFile, requests, imps, lastUpdate);
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            // make sure the move itself survives the crash
+            try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                directoryChannel.force(true);
+            }
+
+            writable = true;
+            writtenLastUpdate = lastUpdate;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void writeTo(Path file, Map<String, String> requests, Map<String, String> imps, Instant lastUpdate)
+            throws IOException {
+
+        final CRC32 checksum = new CRC32();
+
+        try (FileOutputStream fileOutput = new FileOutputStream(file.toFile())) {
+            final DataOutputStream output = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(fileOutput, BUFFER_SIZE), checksum));
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            writeString(output, source);
+            output.writeLong(checksum.getValue());
+            writeRecord(output, checksum, lastUpdate, Collections.emptyList(), Collections.emptyList(),
+                    requests, imps);
+            output.flush();
+
+            // make sure data is on disk before the snapshot is replaced
+            fileOutput.getFD().sync();
+        }
+    }
+
+    /**
+     * Appends the given changes of stored data to the snapshot file.
+     * <p>
+     * Does nothing if the snapshot was neither loaded nor written, since there is no full stored data to apply
+     * changes to. Refresh without changes is appended only if half of max age passed since the last record,
+     * so the snapshot is not considered too old while the file doesn't grow on each refresh.
+     * <p>
+     * Blocks on file system, so should not be called on the event loop.
+     */
+    synchronized void append(Map<String, String> requests, Map<String, String> imps,
+                             List<String> invalidatedRequests, List<String> invalidatedImps,
+                             Instant lastUpdate) throws IOException {
+
+        final boolean hasChanges = !requests.isEmpty() || !imps.isEmpty()
+                || !invalidatedRequests.isEmpty() || !invalidatedImps.isEmpty();
+        if (!writable || (!hasChanges && !isTouchNeeded(lastUpdate))) {
+            return;
+        }
+
+        try (FileOutputStream fileOutput = new FileOutputStream(path.toFile(), true)) {
+            final CRC32 checksum = new CRC32();
+            final DataOutputStream output = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(fileOutput, BUFFER_SIZE), checksum));
+
+            writeRecord(output, checksum, lastUpdate, invalidatedRequests, invalidatedImps, requests, imps);
+            output.flush();
+            fileOutput.getFD().sync();
+
+            writtenLastUpdate = lastUpdate;
+        } catch (IOException e) {
+            // records appended after incomplete one would be ignored on load anyway
+            writable = false;
+            throw e;
+        }
+    }
+
+    private boolean isTouchNeeded(Instant lastUpdate) {
+        return maxAgeSeconds > 0 && !writtenLastUpdate.plusSeconds(maxAgeSeconds / 2).isAfter(lastUpdate);
+    }
+
+    private static void writeRecord(DataOutputStream output, CRC32 checksum, Instant lastUpdate,
+                                    Collection<String> invalidatedRequests, Collection<String> invalidatedImps,
+                                    Map<String, String> requests, Map<String, String> imps) throws IOException {
+
+        checksum.reset();
+        output.writeBoolean(true);
+        output.writeLong(lastUpdate.getEpochSecond());
+        output.writeInt(lastUpdate.getNano());
+        writeKeys(output, invalidatedRequests);
+        writeKeys(output, invalidatedImps);
+        writeEntries(output, requests);
+        writeEntries(output, imps);
+        output.writeLong(checksum.getValue());
+    }
+
+    /**
+     * Keys and entries are preceded by flag instead of count, so they can be streamed as is.
+     */
+    private static void writeKeys(DataOutputStream output, Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            output.writeBoolean(true);
+            writeString(output, key);
+        }
+        output.writeBoolean(false);
+    }
+
+    private static void writeEntries(DataOutputStream output, Map<String, String> entries) throws IOException {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            output.writeBoolean(true);
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+        output.writeBoolean(false);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Operation on snapshot to be executed off the event loop.
+     */
+    @FunctionalInterface
+    interface Update {
+
+        void apply() throws IOException;
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    static class Content {
+
+        Map<String, String> requests;
+
+        Map<String, String> imps;
+
+        Instant lastUpdate;
+    }
+
+    private static class Record {
+
+        private final Instant lastUpdate;
+        private final List<String> invalidatedRequests;
+        private final List<String> invalidatedImps;
+        private final Map<String, String> requests;
+        private final Map<String, String> imps;
+
+        Record(Instant lastUpdate, List<String> invalidatedRequests, List<String> invalidatedImps,
+               Map<String, String> requests, Map<String, String> imps) {
+            this.lastUpdate = lastUpdate;
+            this.invalidatedRequests = invalidatedRequests;
+            this.invalidatedImps = invalidatedImps;
+            this.requests = requests;
+            this.imps = imps;
+        }
+
+        void applyTo(Map<String, String> allRequests, Map<String, String> allImps) {
+            allRequests.keySet().removeAll(invalidatedRequests);
+            allImps.keySet().removeAll(invalidatedImps);
+            allRequests.putAll(requests);
+            allImps.putAll(imps);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package org.prebid.server.spring.config;
 
 import io.vertx.core.Vertx;
+import org.prebid.server.analytics.AnalyticsEventQueue;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.CompositeAnalyticsReporter;
 import org.prebid.server.analytics.LogAnalyticsReporter;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,9 +21,24 @@ public class AnalyticsConfiguration {
 
     @Bean
     CompositeAnalyticsReporter compositeAnalyticsReporter(
-            @Autowired(required = false) List<AnalyticsReporter> delegates, Vertx vertx) {
+            @Autowired(required = false) List<AnalyticsReporter> delegates,
+            Vertx vertx,
+            @Autowired(required = false) AnalyticsEventQueue analyticsEventQueue) {
 
-        return new CompositeAnalyticsReporter(delegates != null ? delegates : Collections.emptyList(), vertx);
+        return new CompositeAnalyticsReporter(delegates != null ? delegates : Collections.emptyList(), vertx,
+                analyticsEventQueue);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "analytics.batch", name = "enabled", havingValue = "true")
+    AnalyticsEventQueue analyticsEventQueue(
+            @Value("${analytics.batch.queue-capacity}") int queueCapacity,
+            @Value("${analytics.batch.batch-size}") int batchSize,
+            @Value("${analytics.batch.flush-interval-ms}") long flushIntervalMs,
+            @Value("${analytics.batch.drop-policy}") AnalyticsEventQueue.DropPolicy dropPolicy,
+            Metrics metrics) {
+
+        return new AnalyticsEventQueue(queueCapacity, batchSize, flushIntervalMs, dropPolicy, metrics);
     }
 
     @Bean
@@ -1,22 +1,27 @@
 package org.prebid.server.spring.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
 import org.prebid.server.execution.RemoteFileSyncer;
 import org.prebid.server.geolocation.CircuitBreakerSecuredGeoLocationService;
 import org.prebid.server.geolocation.GeoLocationService;
 import org.prebid.server.geolocation.MaxMindGeoLocationService;
+import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
 import org.prebid.server.spring.config.model.RemoteFileSyncerProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Clock;
+import java.util.Map;
 
 @Configuration
 @ConditionalOnProperty(prefix = "geolocation", name = "enabled", havingValue = "true")
@@ -33,6 +38,21 @@ public class GeoLocationConfiguration {
     @ConditionalOnProperty(prefix = "geolocation", name = "type", havingValue = "maxmind")
     static class MaxMindGeoLocationConfiguration {
 
+        @Value("${geolocation.maxmind.database-filepath:#{null}}")
+        private String databaseFilepath;
+
+        @Value("${geolocation.maxmind.cache.enabled}")
+        private boolean cacheEnabled;
+
+        @Value("${geolocation.maxmind.cache.size}")
+        private int cacheSize;
+
+        @Value("${geolocation.maxmind.cache.by-network}")
+        private boolean cacheByNetwork;
+
+        @Autowired
+        private Metrics metrics;
+
         @Bean
         @ConfigurationProperties(prefix = "geolocation.maxmind.remote-file-syncer")
         RemoteFileSyncerProperties maxMindRemoteFileSyncerProperties() {
@@ -79,7 +99,11 @@ public class GeoLocationConfiguration {
                     fileSyncerProperties.getRetryCount(), fileSyncerProperties.getRetryIntervalMs(),
                     fileSyncerProperties.getTimeoutMs(), fileSyncerProperties.getUpdateIntervalMs(),
                     vertx.createHttpClient(httpClientOptions), vertx, vertx.fileSystem());
-            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService();
+            final Map<String, GeoInfo> cache = cacheEnabled
+                    ? Caffeine.newBuilder().maximumSize(cacheSize).<String, GeoInfo>build().asMap()
+                    : null;
+            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService(
+                    databaseFilepath, cache, cacheByNetwork, metrics);
 
             remoteFileSyncer.syncForFilepath(maxMindGeoLocationService);
             return maxMindGeoLocationService;
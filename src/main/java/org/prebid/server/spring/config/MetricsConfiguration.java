@@ -24,6 +24,7 @@ import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.metric.AccountMetricsVerbosity;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.TimerType;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.vertx.CloseableAdapter;
 import org.prebid.server.vertx.ContextRunner;
@@ -106,9 +107,13 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType, MetricRegistry metricRegistry,
-                    AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        return new Metrics(metricRegistry, counterType, accountMetricsVerbosity, bidderCatalog);
+    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType,
+                    @Value("${metrics.timerType}") TimerType timerType,
+                    MetricRegistry metricRegistry,
+                    AccountMetricsVerbosity accountMetricsVerbosity,
+                    BidderCatalog bidderCatalog) {
+
+        return new Metrics(metricRegistry, counterType, timerType, accountMetricsVerbosity, bidderCatalog);
     }
 
     @Bean
@@ -1,5 +1,7 @@
 package org.prebid.server.spring.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iabtcf.decoder.TCString;
 import io.vertx.core.file.FileSystem;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.geolocation.GeoLocationService;
@@ -8,6 +10,8 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.GdprService;
 import org.prebid.server.privacy.gdpr.Tcf2Service;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
+import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorPermissionKey;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeEightStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeFiveStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeFourStrategy;
@@ -42,6 +46,7 @@ import org.springframework.context.annotation.Configuration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Configuration
@@ -89,10 +94,22 @@ public class PrivacyServiceConfiguration {
                             List<PurposeStrategy> purposeStrategies,
                             List<SpecialFeaturesStrategy> specialFeaturesStrategies,
                             VendorListServiceV2 vendorListServiceV2,
-                            BidderCatalog bidderCatalog) {
+                            BidderCatalog bidderCatalog,
+                            @Value("${gdpr.consent-cache.enabled}") boolean consentCacheEnabled,
+                            @Value("${gdpr.consent-cache.size}") int consentCacheSize,
+                            Metrics metrics) {
+
+        // keys are compared by identity, permissions are dropped once decoded consent is evicted from its cache
+        final Map<TCString, Map<VendorPermissionKey, PrivacyEnforcementAction>> permissionsCache = consentCacheEnabled
+                ? Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(consentCacheSize)
+                .<TCString, Map<VendorPermissionKey, PrivacyEnforcementAction>>build()
+                .asMap()
+                : null;
 
         return new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListServiceV2,
-                bidderCatalog);
+                bidderCatalog, permissionsCache, metrics);
     }
 
     @Bean
@@ -103,12 +120,17 @@ public class PrivacyServiceConfiguration {
             Tcf2Service tcf2Service,
             @Autowired(required = false) GeoLocationService geoLocationService,
             BidderCatalog bidderCatalog,
-            Metrics metrics) {
+            Metrics metrics,
+            @Value("${gdpr.consent-cache.enabled}") boolean consentCacheEnabled,
+            @Value("${gdpr.consent-cache.size}") int consentCacheSize) {
 
         final Set<String> eeaCountries = new HashSet<>(Arrays.asList(eeaCountriesAsString.trim().split(",")));
+        final Map<String, TCString> tcStringCache = consentCacheEnabled
+                ? Caffeine.newBuilder().maximumSize(consentCacheSize).<String, TCString>build().asMap()
+                : null;
 
-        return new TcfDefinerService(
-                gdprConfig, eeaCountries, gdprService, tcf2Service, geoLocationService, bidderCatalog, metrics);
+        return new TcfDefinerService(gdprConfig, eeaCountries, gdprService, tcf2Service, geoLocationService,
+                bidderCatalog, metrics, tcStringCache);
     }
 
     @Bean
@@ -5,11 +5,14 @@ import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.JksOptions;
+import org.prebid.server.auction.AdaptiveBidderTimeoutResolver;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.BidResponseCreator;
+import org.prebid.server.auction.BidderHealthGate;
 import org.prebid.server.auction.BidResponsePostProcessor;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.ImplicitParametersExtractor;
@@ -44,6 +47,9 @@ import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
+import org.prebid.server.spring.config.bidder.model.BidderConfigurationProperties;
+import org.prebid.server.spring.config.bidder.model.BidderHttpClientProperties;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
@@ -53,6 +59,7 @@ import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
 import org.prebid.server.vertx.http.BasicHttpClient;
 import org.prebid.server.vertx.http.CircuitBreakerSecuredHttpClient;
+import org.prebid.server.vertx.http.HostPartitionedHttpClient;
 import org.prebid.server.vertx.http.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -61,13 +68,16 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 
 import javax.validation.constraints.Min;
 import java.io.IOException;
 import java.time.Clock;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -167,6 +177,7 @@ public class ServiceConfiguration {
             TimeoutResolver timeoutResolver,
             TimeoutFactory timeoutFactory,
             ApplicationSettings applicationSettings,
+            Metrics metrics,
             JacksonMapper mapper) {
 
         final List<String> blacklistedApps = splitCommaSeparatedString(blacklistedAppsString);
@@ -192,6 +203,7 @@ public class ServiceConfiguration {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 mapper);
     }
 
@@ -205,9 +217,11 @@ public class ServiceConfiguration {
     AmpRequestFactory ampRequestFactory(StoredRequestProcessor storedRequestProcessor,
                                         AuctionRequestFactory auctionRequestFactory,
                                         TimeoutResolver timeoutResolver,
+                                        TcfDefinerService tcfDefinerService,
                                         JacksonMapper mapper) {
 
-        return new AmpRequestFactory(storedRequestProcessor, auctionRequestFactory, timeoutResolver, mapper);
+        return new AmpRequestFactory(
+                storedRequestProcessor, auctionRequestFactory, timeoutResolver, tcfDefinerService, mapper);
     }
 
     @Bean
@@ -269,15 +283,13 @@ public class ServiceConfiguration {
     }
 
     @Bean
+    @Primary
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "false",
             matchIfMissing = true)
     BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
 
-        return createBasicHttpClient(vertx, httpClientProperties.getMaxPoolSize(),
-                httpClientProperties.getConnectTimeoutMs(), httpClientProperties.getUseCompression(),
-                httpClientProperties.getMaxRedirects(), httpClientProperties.getSsl(),
-                httpClientProperties.getJksPath(), httpClientProperties.getJksPassword());
+        return createBasicHttpClient(vertx, httpClientProperties);
     }
 
     @Bean
@@ -288,6 +300,7 @@ public class ServiceConfiguration {
     }
 
     @Bean
+    @Primary
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "true")
     CircuitBreakerSecuredHttpClient circuitBreakerSecuredHttpClient(
@@ -297,37 +310,137 @@ public class ServiceConfiguration {
             @Qualifier("httpClientCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
             Clock clock) {
 
-        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties.getMaxPoolSize(),
-                httpClientProperties.getConnectTimeoutMs(), httpClientProperties.getUseCompression(),
-                httpClientProperties.getMaxRedirects(), httpClientProperties.getSsl(),
-                httpClientProperties.getJksPath(), httpClientProperties.getJksPassword());
+        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
         return new CircuitBreakerSecuredHttpClient(vertx, httpClient, metrics,
                 circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                 circuitBreakerProperties.getClosingIntervalMs(), clock);
     }
 
-    private static BasicHttpClient createBasicHttpClient(Vertx vertx, int maxPoolSize, int connectTimeoutMs,
-                                                         boolean useCompression, int maxRedirects, boolean ssl,
-                                                         String jksPath, String jksPassword) {
+    /**
+     * Creates client for bidder requests which uses dedicated connection pool for each bidder endpoint host
+     * configured with adapters.BIDDER_NAME.http-client section and general one for all other hosts.
+     */
+    @Bean
+    @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
+    HostPartitionedHttpClient bidderHttpClient(
+            Vertx vertx,
+            HttpClient httpClient,
+            Metrics metrics,
+            HttpClientProperties httpClientProperties,
+            @Autowired(required = false) @Qualifier("httpClientCircuitBreakerProperties")
+                    CircuitBreakerProperties circuitBreakerProperties,
+            List<BidderConfigurationProperties> bidderConfigurationProperties,
+            Clock clock) {
+
+        final Map<String, HttpClient> hostToHttpClient = new HashMap<>();
+        for (Map.Entry<String, BidderHttpClientProperties> hostToProperties
+                : bidderHttpClientPropertiesByHost(bidderConfigurationProperties).entrySet()) {
+
+            final HttpClientOptions options = createHttpClientOptions(httpClientProperties);
+            applyBidderHttpClientProperties(options, hostToProperties.getValue());
+
+            final HttpClient dedicatedHttpClient = createBasicHttpClient(vertx, options,
+                    httpClientProperties.getMaxResponseSizeBytes());
+            hostToHttpClient.put(hostToProperties.getKey(), circuitBreakerProperties != null
+                    ? new CircuitBreakerSecuredHttpClient(vertx, dedicatedHttpClient, metrics,
+                    circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
+                    circuitBreakerProperties.getClosingIntervalMs(), clock)
+                    : dedicatedHttpClient);
+        }
+
+        return new HostPartitionedHttpClient(httpClient, hostToHttpClient);
+    }
+
+    private static Map<String, BidderHttpClientProperties> bidderHttpClientPropertiesByHost(
+            List<BidderConfigurationProperties> bidderConfigurationProperties) {
+
+        final Map<String, BidderHttpClientProperties> result = new HashMap<>();
+        for (BidderConfigurationProperties properties : bidderConfigurationProperties) {
+            final BidderHttpClientProperties httpClientProperties = properties.getHttpClient();
+            if (httpClientProperties == null || !Boolean.TRUE.equals(properties.getEnabled())) {
+                continue;
+            }
+
+            final String host = HostPartitionedHttpClient.hostOf(properties.getEndpoint());
+            if (host == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Dedicated http-client can't be configured for bidder endpoint without host: %s",
+                        properties.getEndpoint()));
+            }
+            final BidderHttpClientProperties previous = result.putIfAbsent(host, httpClientProperties);
+            if (previous != null && !previous.equals(httpClientProperties)) {
+                throw new IllegalArgumentException(String.format(
+                        "Bidders with endpoint host %s have different http-client configurations", host));
+            }
+        }
+        return result;
+    }
+
+    private static void applyBidderHttpClientProperties(HttpClientOptions options,
+                                                        BidderHttpClientProperties properties) {
 
+        if (properties.getMaxPoolSize() != null) {
+            options.setMaxPoolSize(properties.getMaxPoolSize());
+        }
+        if (properties.getMaxWaitQueueSize() != null) {
+            options.setMaxWaitQueueSize(properties.getMaxWaitQueueSize());
+        }
+        if (properties.getKeepAlive() != null) {
+            options.setKeepAlive(properties.getKeepAlive());
+        }
+        if (properties.getKeepAliveTimeoutSec() != null) {
+            options.setKeepAliveTimeout(properties.getKeepAliveTimeoutSec());
+        }
+        if (Boolean.TRUE.equals(properties.getHttp2())) {
+            options
+                    .setProtocolVersion(HttpVersion.HTTP_2)
+                    // negotiates HTTP/2 for https endpoints, falls back to HTTP/1.1 if server doesn't support it
+                    .setUseAlpn(true);
+        }
+        if (properties.getHttp2MaxPoolSize() != null) {
+            options.setHttp2MaxPoolSize(properties.getHttp2MaxPoolSize());
+        }
+        if (properties.getHttp2MultiplexingLimit() != null) {
+            options.setHttp2MultiplexingLimit(properties.getHttp2MultiplexingLimit());
+        }
+        if (properties.getPipelining() != null) {
+            options.setPipelining(properties.getPipelining());
+        }
+        if (properties.getPipeliningLimit() != null) {
+            options.setPipeliningLimit(properties.getPipeliningLimit());
+        }
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+        return createBasicHttpClient(vertx, createHttpClientOptions(httpClientProperties),
+                httpClientProperties.getMaxResponseSizeBytes());
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientOptions options,
+                                                         Long maxResponseSizeBytes) {
+        return new BasicHttpClient(vertx, vertx.createHttpClient(options),
+                maxResponseSizeBytes != null ? maxResponseSizeBytes : 0);
+    }
+
+    private static HttpClientOptions createHttpClientOptions(HttpClientProperties httpClientProperties) {
         final HttpClientOptions options = new HttpClientOptions()
-                .setMaxPoolSize(maxPoolSize)
-                .setTryUseCompression(useCompression)
-                .setConnectTimeout(connectTimeoutMs)
+                .setMaxPoolSize(httpClientProperties.getMaxPoolSize())
+                .setTryUseCompression(httpClientProperties.getUseCompression())
+                .setConnectTimeout(httpClientProperties.getConnectTimeoutMs())
                 // Vert.x's HttpClientRequest needs this value to be 2 for redirections to be followed once,
                 // 3 for twice, and so on
-                .setMaxRedirects(maxRedirects + 1);
+                .setMaxRedirects(httpClientProperties.getMaxRedirects() + 1);
 
-        if (ssl) {
+        if (httpClientProperties.getSsl()) {
             final JksOptions jksOptions = new JksOptions()
-                    .setPath(jksPath)
-                    .setPassword(jksPassword);
+                    .setPath(httpClientProperties.getJksPath())
+                    .setPassword(httpClientProperties.getJksPassword());
 
             options
                     .setSsl(true)
                     .setKeyStoreOptions(jksOptions);
         }
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options));
+        return options;
     }
 
     @Bean
@@ -364,10 +477,10 @@ public class ServiceConfiguration {
 
     @Bean
     HttpBidderRequester httpBidderRequester(
-            HttpClient httpClient,
+            @Qualifier("bidderHttpClient") HttpClient bidderHttpClient,
             @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory) {
 
-        return new HttpBidderRequester(httpClient, bidderRequestCompletionTrackerFactory);
+        return new HttpBidderRequester(bidderHttpClient, bidderRequestCompletionTrackerFactory);
     }
 
     @Bean
@@ -391,6 +504,7 @@ public class ServiceConfiguration {
     @Bean
     ExchangeService exchangeService(
             @Value("${auction.cache.expected-request-time-ms}") long expectedCacheTimeMs,
+            @Value("${auction.cache.streaming-enabled}") boolean cacheStreamingEnabled,
             BidderCatalog bidderCatalog,
             StoredResponseProcessor storedResponseProcessor,
             PrivacyEnforcementService privacyEnforcementService,
@@ -401,10 +515,13 @@ public class ServiceConfiguration {
             BidResponsePostProcessor bidResponsePostProcessor,
             Metrics metrics,
             Clock clock,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            @Autowired(required = false) AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver,
+            @Autowired(required = false) BidderHealthGate bidderHealthGate) {
 
         return new ExchangeService(
                 expectedCacheTimeMs,
+                cacheStreamingEnabled,
                 bidderCatalog,
                 storedResponseProcessor,
                 privacyEnforcementService,
@@ -415,7 +532,42 @@ public class ServiceConfiguration {
                 bidResponsePostProcessor,
                 metrics,
                 clock,
-                mapper);
+                mapper,
+                adaptiveBidderTimeoutResolver,
+                bidderHealthGate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.adaptive-bidder-timeout", name = "enabled", havingValue = "true")
+    AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver(
+            @Value("${auction.adaptive-bidder-timeout.percentile}") double percentile,
+            @Value("${auction.adaptive-bidder-timeout.latency-factor}") double latencyFactor,
+            @Value("${auction.adaptive-bidder-timeout.min-timeout-ms}") long minTimeoutMs,
+            @Value("${auction.adaptive-bidder-timeout.min-samples}") long minSamples,
+            @Value("${auction.adaptive-bidder-timeout.window-size}") long windowSize,
+            @Value("${auction.adaptive-bidder-timeout.max-latency-ms}") long maxLatencyMs,
+            Metrics metrics) {
+
+        return new AdaptiveBidderTimeoutResolver(percentile, latencyFactor, minTimeoutMs, minSamples, windowSize,
+                maxLatencyMs, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.bidder-health-gate", name = "enabled", havingValue = "true")
+    BidderHealthGate bidderHealthGate(
+            @Value("${auction.bidder-health-gate.window-ms}") long windowMs,
+            @Value("${auction.bidder-health-gate.error-rate-threshold}") double errorRateThreshold,
+            @Value("${auction.bidder-health-gate.min-requests}") long minRequests,
+            @Value("${auction.bidder-health-gate.probe-sample-rate}") double probeSampleRate,
+            @Value("${auction.bidder-health-gate.concurrency.initial-limit}") int initialConcurrencyLimit,
+            @Value("${auction.bidder-health-gate.concurrency.min-limit}") int minConcurrencyLimit,
+            @Value("${auction.bidder-health-gate.concurrency.max-limit}") int maxConcurrencyLimit,
+            @Value("${auction.bidder-health-gate.concurrency.backoff-ratio}") double backoffRatio,
+            Metrics metrics,
+            Clock clock) {
+
+        return new BidderHealthGate(windowMs, errorRateThreshold, minRequests, probeSampleRate,
+                initialConcurrencyLimit, minConcurrencyLimit, maxConcurrencyLimit, backoffRatio, metrics, clock);
     }
 
     @Bean
@@ -424,9 +576,13 @@ public class ServiceConfiguration {
             ApplicationSettings applicationSettings,
             Metrics metrics,
             TimeoutFactory timeoutFactory,
-            JacksonMapper mapper) {
+            JacksonMapper mapper,
+            @Autowired(required = false) @Qualifier("storedDataTreeCache") StoredDataTreeCache storedDataTreeCache,
+            @Autowired(required = false) @Qualifier("ampStoredDataTreeCache")
+                    StoredDataTreeCache ampStoredDataTreeCache) {
 
-        return new StoredRequestProcessor(defaultTimeoutMs, applicationSettings, metrics, timeoutFactory, mapper);
+        return new StoredRequestProcessor(defaultTimeoutMs, applicationSettings, metrics, timeoutFactory, mapper,
+                storedDataTreeCache, ampStoredDataTreeCache);
     }
 
     @Bean
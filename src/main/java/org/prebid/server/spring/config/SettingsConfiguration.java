@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
@@ -18,8 +19,10 @@ import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
 import org.prebid.server.settings.JdbcApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
 import org.prebid.server.settings.service.JdbcPeriodicRefreshService;
+import org.prebid.server.settings.service.StoredDataSnapshot;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.http.HttpClient;
@@ -75,11 +78,15 @@ public class SettingsConfiguration {
                 @Value("${settings.database.stored-requests-query}") String storedRequestsQuery,
                 @Value("${settings.database.amp-stored-requests-query}") String ampStoredRequestsQuery,
                 @Value("${settings.database.stored-responses-query}") String storedResponseQuery,
+                @Value("${settings.database.stored-data-batch.window-ms}") long batchWindowMs,
+                @Value("${settings.database.stored-data-batch.max-size}") int maxBatchSize,
                 JdbcClient jdbcClient,
-                JacksonMapper jacksonMapper) {
+                JacksonMapper jacksonMapper,
+                Vertx vertx,
+                Metrics metrics) {
 
-            return new JdbcApplicationSettings(
-                    jdbcClient, jacksonMapper, storedRequestsQuery, ampStoredRequestsQuery, storedResponseQuery);
+            return new JdbcApplicationSettings(jdbcClient, jacksonMapper, storedRequestsQuery, ampStoredRequestsQuery,
+                    storedResponseQuery, vertx, metrics, batchWindowMs, maxBatchSize);
         }
 
         @Bean
@@ -135,7 +142,9 @@ public class SettingsConfiguration {
                     .put("driver_class", storedRequestsDatabaseProperties.getType().jdbcDriver)
                     .put("initial_pool_size", storedRequestsDatabaseProperties.getPoolSize())
                     .put("min_pool_size", storedRequestsDatabaseProperties.getPoolSize())
-                    .put("max_pool_size", storedRequestsDatabaseProperties.getPoolSize()));
+                    .put("max_pool_size", storedRequestsDatabaseProperties.getPoolSize())
+                    .put("max_statements_per_connection",
+                            storedRequestsDatabaseProperties.getPreparedStatementsCacheSize()));
         }
 
         @Component
@@ -151,6 +160,8 @@ public class SettingsConfiguration {
             @NotNull
             @Min(1)
             private Integer poolSize;
+            @Min(0)
+            private int preparedStatementsCacheSize;
             @NotBlank
             private String host;
             @NotNull
@@ -201,30 +212,38 @@ public class SettingsConfiguration {
         @Value("${settings.in-memory-cache.http-update.timeout}")
         long timeout;
 
+        @Value("${settings.in-memory-cache.http-update.snapshot-max-age-seconds:86400}")
+        long snapshotMaxAgeSeconds;
+
         @Autowired
         Vertx vertx;
 
         @Autowired
         HttpClient httpClient;
 
+        @Autowired
+        Clock clock;
+
         @Bean
         public HttpPeriodicRefreshService httpPeriodicRefreshService(
                 @Value("${settings.in-memory-cache.http-update.endpoint}") String endpoint,
+                @Value("${settings.in-memory-cache.http-update.snapshot-path:#{null}}") String snapshotPath,
                 SettingsCache settingsCache,
                 JacksonMapper mapper) {
 
-            return new HttpPeriodicRefreshService(
-                    endpoint, refreshPeriod, timeout, settingsCache, vertx, httpClient, mapper);
+            return new HttpPeriodicRefreshService(endpoint, refreshPeriod, timeout, settingsCache, vertx, httpClient,
+                    mapper, createSnapshot(snapshotPath, endpoint, snapshotMaxAgeSeconds, clock));
         }
 
         @Bean
         public HttpPeriodicRefreshService ampHttpPeriodicRefreshService(
                 @Value("${settings.in-memory-cache.http-update.amp-endpoint}") String ampEndpoint,
+                @Value("${settings.in-memory-cache.http-update.amp-snapshot-path:#{null}}") String ampSnapshotPath,
                 SettingsCache ampSettingsCache,
                 JacksonMapper mapper) {
 
-            return new HttpPeriodicRefreshService(
-                    ampEndpoint, refreshPeriod, timeout, ampSettingsCache, vertx, httpClient, mapper);
+            return new HttpPeriodicRefreshService(ampEndpoint, refreshPeriod, timeout, ampSettingsCache, vertx,
+                    httpClient, mapper, createSnapshot(ampSnapshotPath, ampEndpoint, snapshotMaxAgeSeconds, clock));
         }
     }
 
@@ -239,6 +258,9 @@ public class SettingsConfiguration {
         @Value("${settings.in-memory-cache.jdbc-update.timeout}")
         long timeout;
 
+        @Value("${settings.in-memory-cache.jdbc-update.snapshot-max-age-seconds:86400}")
+        long snapshotMaxAgeSeconds;
+
         @Autowired
         Vertx vertx;
 
@@ -248,27 +270,38 @@ public class SettingsConfiguration {
         @Autowired
         TimeoutFactory timeoutFactory;
 
+        @Autowired
+        Clock clock;
+
         @Bean
         public JdbcPeriodicRefreshService jdbcPeriodicRefreshService(
                 SettingsCache settingsCache,
                 @Value("${settings.in-memory-cache.jdbc-update.init-query}") String initQuery,
-                @Value("${settings.in-memory-cache.jdbc-update.update-query}") String updateQuery) {
+                @Value("${settings.in-memory-cache.jdbc-update.update-query}") String updateQuery,
+                @Value("${settings.in-memory-cache.jdbc-update.snapshot-path:#{null}}") String snapshotPath) {
 
             return new JdbcPeriodicRefreshService(settingsCache, vertx, jdbcClient, refreshPeriod,
-                    initQuery, updateQuery, timeoutFactory, timeout);
+                    initQuery, updateQuery, timeoutFactory, timeout,
+                    createSnapshot(snapshotPath, initQuery, snapshotMaxAgeSeconds, clock));
         }
 
         @Bean
         public JdbcPeriodicRefreshService ampJdbcPeriodicRefreshService(
                 SettingsCache settingsCache,
                 @Value("${settings.in-memory-cache.jdbc-update.amp-init-query}") String ampInitQuery,
-                @Value("${settings.in-memory-cache.jdbc-update.amp-update-query}") String ampUpdateQuery) {
+                @Value("${settings.in-memory-cache.jdbc-update.amp-update-query}") String ampUpdateQuery,
+                @Value("${settings.in-memory-cache.jdbc-update.amp-snapshot-path:#{null}}") String ampSnapshotPath) {
 
             return new JdbcPeriodicRefreshService(settingsCache, vertx, jdbcClient, refreshPeriod,
-                    ampInitQuery, ampUpdateQuery, timeoutFactory, timeout);
+                    ampInitQuery, ampUpdateQuery, timeoutFactory, timeout,
+                    createSnapshot(ampSnapshotPath, ampInitQuery, snapshotMaxAgeSeconds, clock));
         }
     }
 
+    private static StoredDataSnapshot createSnapshot(String path, String source, long maxAgeSeconds, Clock clock) {
+        return StringUtils.isNotBlank(path) ? new StoredDataSnapshot(path, source, maxAgeSeconds, clock) : null;
+    }
+
     /**
      * This configuration defines a collection of application settings fetchers and its ordering.
      */
@@ -302,15 +335,18 @@ public class SettingsConfiguration {
                 ApplicationSettingsCacheProperties cacheProperties,
                 @Qualifier("settingsCache") SettingsCache cache,
                 @Qualifier("ampSettingsCache") SettingsCache ampCache,
-                @Qualifier("videoSettingCache") SettingsCache videoCache) {
+                @Qualifier("videoSettingCache") SettingsCache videoCache,
+                Metrics metrics) {
 
             return new CachingApplicationSettings(
                     compositeApplicationSettings,
                     cache,
                     ampCache,
                     videoCache,
+                    metrics,
                     cacheProperties.getTtlSeconds(),
-                    cacheProperties.getCacheSize());
+                    cacheProperties.getCacheSize(),
+                    cacheProperties.getRefreshAheadSeconds());
         }
     }
 
@@ -329,22 +365,55 @@ public class SettingsConfiguration {
     @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = {"ttl-seconds", "cache-size"})
     static class CacheConfiguration {
 
+        @Bean
+        @Qualifier("storedDataTreeCache")
+        @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = "parsed-tree-enabled", havingValue = "true")
+        StoredDataTreeCache storedDataTreeCache(ApplicationSettingsCacheProperties cacheProperties,
+                                                JacksonMapper mapper,
+                                                Metrics metrics) {
+
+            return new StoredDataTreeCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(), mapper,
+                    metrics);
+        }
+
+        @Bean
+        @Qualifier("ampStoredDataTreeCache")
+        @ConditionalOnProperty(prefix = "settings.in-memory-cache", name = "parsed-tree-enabled", havingValue = "true")
+        StoredDataTreeCache ampStoredDataTreeCache(ApplicationSettingsCacheProperties cacheProperties,
+                                                   JacksonMapper mapper,
+                                                   Metrics metrics) {
+
+            return new StoredDataTreeCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(), mapper,
+                    metrics);
+        }
+
         @Bean
         @Qualifier("settingsCache")
-        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                    @Autowired(required = false) @Qualifier("storedDataTreeCache")
+                                            StoredDataTreeCache storedDataTreeCache) {
+
+            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(),
+                    cacheProperties.getRefreshAheadSeconds(), cacheProperties.getNegativeTtlSeconds(),
+                    storedDataTreeCache);
         }
 
         @Bean
         @Qualifier("ampSettingsCache")
-        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                       @Autowired(required = false) @Qualifier("ampStoredDataTreeCache")
+                                               StoredDataTreeCache ampStoredDataTreeCache) {
+
+            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(),
+                    cacheProperties.getRefreshAheadSeconds(), cacheProperties.getNegativeTtlSeconds(),
+                    ampStoredDataTreeCache);
         }
 
         @Bean
         @Qualifier("videoSettingCache")
         SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties) {
-            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize());
+            return new SettingsCache(cacheProperties.getTtlSeconds(), cacheProperties.getCacheSize(),
+                    cacheProperties.getRefreshAheadSeconds(), cacheProperties.getNegativeTtlSeconds(), null);
         }
     }
 
@@ -362,5 +431,9 @@ public class SettingsConfiguration {
         @NotNull
         @Min(1)
         private Integer cacheSize;
+        @Min(0)
+        private int refreshAheadSeconds;
+        @Min(0)
+        private int negativeTtlSeconds;
     }
 }
@@ -4,22 +4,60 @@ import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.file.FileSystem;
 import io.vertx.ext.dropwizard.DropwizardMetricsOptions;
+import io.vertx.ext.dropwizard.Match;
+import io.vertx.ext.dropwizard.MatchType;
 import io.vertx.ext.web.handler.BodyHandler;
+import org.prebid.server.spring.config.bidder.model.BidderConfigurationProperties;
 import org.prebid.server.vertx.ContextRunner;
+import org.prebid.server.vertx.http.HostPartitionedHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 @Configuration
 public class VertxConfiguration {
 
     @Bean
-    Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize) {
+    Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize,
+                @Autowired(required = false) List<BidderConfigurationProperties> bidderConfigurationProperties) {
+
+        final DropwizardMetricsOptions metricsOptions = new DropwizardMetricsOptions()
+                .setEnabled(true)
+                .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME);
+        // exposes usage of dedicated connection pools (wait queue size and delay, open and in-use connections)
+        for (String endpoint : dedicatedHttpClientEndpoints(bidderConfigurationProperties)) {
+            metricsOptions.addMonitoredHttpClientEndpoint(new Match().setValue(endpoint).setType(MatchType.EQUALS));
+        }
+
         return Vertx.vertx(new VertxOptions()
                 .setWorkerPoolSize(workerPoolSize)
-                .setMetricsOptions(new DropwizardMetricsOptions()
-                        .setEnabled(true)
-                        .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME)));
+                .setMetricsOptions(metricsOptions));
+    }
+
+    /**
+     * Returns host:port of each bidder endpoint which is requested with dedicated connection pool.
+     */
+    private static Set<String> dedicatedHttpClientEndpoints(
+            List<BidderConfigurationProperties> bidderConfigurationProperties) {
+
+        if (bidderConfigurationProperties == null) {
+            return Collections.emptySet();
+        }
+
+        return bidderConfigurationProperties.stream()
+                .filter(properties -> properties.getHttpClient() != null
+                        && Boolean.TRUE.equals(properties.getEnabled()))
+                .map(properties -> HostPartitionedHttpClient.endpointOf(properties.getEndpoint()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
     }
 
     @Bean
@@ -47,6 +47,7 @@ import org.prebid.server.handler.VtrackHandler;
 import org.prebid.server.handler.info.BidderDetailsHandler;
 import org.prebid.server.handler.info.BiddersHandler;
 import org.prebid.server.handler.openrtb2.AmpHandler;
+import org.prebid.server.handler.openrtb2.AuctionRequestBodyHandler;
 import org.prebid.server.handler.openrtb2.VideoHandler;
 import org.prebid.server.health.HealthChecker;
 import org.prebid.server.health.PeriodicHealthChecker;
@@ -166,14 +167,25 @@ public class WebConfiguration {
                   BiddersHandler biddersHandler,
                   BidderDetailsHandler bidderDetailsHandler,
                   NotificationEventHandler notificationEventHandler,
-                  StaticHandler staticHandler) {
+                  StaticHandler staticHandler,
+                  @Autowired(required = false) AuctionRequestBodyHandler auctionRequestBodyHandler) {
 
         final Router router = Router.router(vertx);
+        if (auctionRequestBodyHandler != null) {
+            // auction request body is decoded while being received, so it should bypass regular body handler
+            router.post("/openrtb2/auction")
+                    .handler(auctionRequestBodyHandler)
+                    .handler(noCacheHandler)
+                    .handler(corsHandler)
+                    .handler(openrtbAuctionHandler);
+        }
         router.route().handler(bodyHandler);
         router.route().handler(noCacheHandler);
         router.route().handler(corsHandler);
         router.post("/auction").handler(auctionHandler);
-        router.post("/openrtb2/auction").handler(openrtbAuctionHandler);
+        if (auctionRequestBodyHandler == null) {
+            router.post("/openrtb2/auction").handler(openrtbAuctionHandler);
+        }
         router.get("/openrtb2/amp").handler(openrtbAmpHandler);
         router.post("/openrtb2/video").handler(openrtbVideoHandler);
         router.get("/status").handler(statusHandler);
@@ -193,6 +205,17 @@ public class WebConfiguration {
         return router;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.streaming-parse", name = "enabled", havingValue = "true")
+    AuctionRequestBodyHandler auctionRequestBodyHandler(
+            @Value("${auction.max-request-size}") int maxRequestSize,
+            @Value("${auction.streaming-parse.worker-offload-size}") int workerOffloadSize,
+            Metrics metrics,
+            JacksonMapper mapper) {
+
+        return new AuctionRequestBodyHandler(maxRequestSize, workerOffloadSize, metrics, mapper);
+    }
+
     @Bean
     NoCacheHandler noCacheHandler() {
         return NoCacheHandler.create();
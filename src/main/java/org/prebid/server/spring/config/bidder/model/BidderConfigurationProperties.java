@@ -42,4 +42,6 @@ public class BidderConfigurationProperties {
     private UsersyncConfigurationProperties usersync;
 
     private Map<String, String> extraInfo;
+
+    private BidderHttpClientProperties httpClient;
 }
@@ -0,0 +1,42 @@
+package org.prebid.server.spring.config.bidder.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Options of dedicated connection pool for bidder's endpoint host.
+ * <p>
+ * Not specified options are taken from general http-client configuration or Vert.x defaults.
+ */
+@Validated
+@Data
+@NoArgsConstructor
+public class BidderHttpClientProperties {
+
+    @Min(1)
+    private Integer maxPoolSize;
+
+    @Min(-1)
+    private Integer maxWaitQueueSize;
+
+    private Boolean keepAlive;
+
+    @Min(0)
+    private Integer keepAliveTimeoutSec;
+
+    private Boolean http2;
+
+    @Min(1)
+    private Integer http2MaxPoolSize;
+
+    @Min(-1)
+    private Integer http2MultiplexingLimit;
+
+    private Boolean pipelining;
+
+    @Min(1)
+    private Integer pipeliningLimit;
+}
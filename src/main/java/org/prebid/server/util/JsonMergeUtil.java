@@ -2,13 +2,14 @@ package org.prebid.server.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.github.fge.jsonpatch.JsonPatchException;
-import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.json.JacksonMapper;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
 // TODO: refactor to be instance instead of util
@@ -26,7 +27,6 @@ public class JsonMergeUtil {
      * with reason message.
      */
     public <T> T merge(T originalObject, String storedData, String id, Class<T> classToCast) {
-        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode storedRequestJsonNode;
         try {
             storedRequestJsonNode = mapper.mapper().readTree(storedData);
@@ -34,14 +34,20 @@ public class JsonMergeUtil {
             throw new InvalidRequestException(
                     String.format("Can't parse Json for stored request with id %s", id));
         }
+        return merge(originalObject, storedRequestJsonNode, id, classToCast);
+    }
+
+    /**
+     * Merges passed object with already parsed stored data and cast it to appropriate class.
+     * Passed stored data node stays unmodified, so it can be safely shared between requests.
+     * In case of any exception during merging, throws {@link InvalidRequestException} with reason message.
+     */
+    public <T> T merge(T originalObject, JsonNode storedRequestJsonNode, String id, Class<T> classToCast) {
+        final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         try {
             // Http request fields have higher priority and will override fields from stored requests
             // in case they have different values
-            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedRequestJsonNode),
-                    classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(String.format(
-                    "Couldn't create merge patch from origin object node for id %s: %s", id, e.getMessage()));
+            return mapper.mapper().treeToValue(mergePatch(storedRequestJsonNode, originJsonNode), classToCast);
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException(
                     String.format("Can't convert merging result for id %s: %s", id, e.getMessage()));
@@ -56,14 +62,43 @@ public class JsonMergeUtil {
         final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
         final JsonNode mergingObjectJsonNode = mapper.mapper().valueToTree(mergingObject);
         try {
-            final JsonNode mergedNode = JsonMergePatch.fromJson(originJsonNode).apply(mergingObjectJsonNode);
+            final JsonNode mergedNode = mergePatch(mergingObjectJsonNode, originJsonNode);
             return mapper.mapper().treeToValue(mergedNode, classToCast);
-        } catch (JsonPatchException e) {
-            throw new InvalidRequestException(String.format(
-                    "Couldn't create merge patch for objects with class %s", classToCast.getName()));
         } catch (JsonProcessingException e) {
             throw new InvalidRequestException(
                     String.format("Can't convert merging result class %s", classToCast.getName()));
         }
     }
+
+    /**
+     * Applies patch to target node in a single pass according to RFC 7396 (JSON Merge Patch).
+     * <p>
+     * Target node is never modified: only objects lying on the path of patched fields are copied (shallowly),
+     * all other branches of the target are shared with the result as is.
+     */
+    private JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        final ObjectNode result = mapper.mapper().createObjectNode();
+        if (target != null && target.isObject()) {
+            result.setAll((ObjectNode) target);
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> patchFields = patch.fields();
+        while (patchFields.hasNext()) {
+            final Map.Entry<String, JsonNode> patchField = patchFields.next();
+            final String fieldName = patchField.getKey();
+            final JsonNode patchValue = patchField.getValue();
+
+            if (patchValue.isNull()) {
+                result.remove(fieldName);
+            } else {
+                result.set(fieldName, mergePatch(result.get(fieldName), patchValue));
+            }
+        }
+
+        return result;
+    }
 }
@@ -0,0 +1,59 @@
+package org.prebid.server.util;
+
+import java.util.function.Supplier;
+
+/**
+ * This class consists of {@code static} utility methods for operating VAST XML.
+ */
+public final class VastXmlUtil {
+
+    private static final String IMPRESSION_OPEN_TAG = "<Impression>";
+    private static final String IMPRESSION_CLOSE_TAG = "</Impression>";
+    private static final String CDATA_OPEN = "<![CDATA[";
+    private static final String CDATA_CLOSE = "]]>";
+
+    private VastXmlUtil() {
+    }
+
+    /**
+     * Inserts impression tracking URL into the given VAST XML.
+     * <p>
+     * If the first impression tag is empty - URL is placed into it, otherwise new impression tag with URL
+     * is added right after the first one. VAST XML without impression tag is returned as it is and URL supplier
+     * is not called in this case.
+     * <p>
+     * The result is built by single copy of the VAST XML into buffer of exact size.
+     */
+    public static String insertImpressionTracking(String vastXml, Supplier<String> impressionUrlSupplier) {
+        final int closeTagIndex = vastXml.indexOf(IMPRESSION_CLOSE_TAG);
+
+        // no impression tag - pass it as it is
+        if (closeTagIndex == -1) {
+            return vastXml;
+        }
+
+        final int openTagIndex = vastXml.lastIndexOf(IMPRESSION_OPEN_TAG, closeTagIndex);
+        final boolean isEmptyImpression = openTagIndex != -1
+                && closeTagIndex - openTagIndex == IMPRESSION_OPEN_TAG.length();
+
+        final String impressionUrl = impressionUrlSupplier.get();
+        final int insertionLength = CDATA_OPEN.length() + impressionUrl.length() + CDATA_CLOSE.length()
+                + (isEmptyImpression ? 0 : IMPRESSION_OPEN_TAG.length() + IMPRESSION_CLOSE_TAG.length());
+
+        final StringBuilder result = new StringBuilder(vastXml.length() + insertionLength);
+        if (isEmptyImpression) {
+            // empty impression tag - just insert the link
+            result.append(vastXml, 0, closeTagIndex)
+                    .append(CDATA_OPEN).append(impressionUrl).append(CDATA_CLOSE)
+                    .append(vastXml, closeTagIndex, vastXml.length());
+        } else {
+            final int insertionIndex = closeTagIndex + IMPRESSION_CLOSE_TAG.length();
+            result.append(vastXml, 0, insertionIndex)
+                    .append(IMPRESSION_OPEN_TAG)
+                    .append(CDATA_OPEN).append(impressionUrl).append(CDATA_CLOSE)
+                    .append(IMPRESSION_CLOSE_TAG)
+                    .append(vastXml, insertionIndex, vastXml.length());
+        }
+        return result.toString();
+    }
+}
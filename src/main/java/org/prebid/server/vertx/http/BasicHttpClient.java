@@ -4,8 +4,12 @@ import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.prebid.server.exception.PreBidException;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.util.Objects;
@@ -18,15 +22,36 @@ public class BasicHttpClient implements HttpClient {
 
     private final Vertx vertx;
     private final io.vertx.core.http.HttpClient httpClient;
+    private final long maxResponseSize;
 
     public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
+        this(vertx, httpClient, 0);
+    }
+
+    /**
+     * Creates client which fails responses with body greater than given max response size (in bytes) as soon as
+     * it is known. Non-positive value means response size is not limited.
+     */
+    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient, long maxResponseSize) {
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.maxResponseSize = maxResponseSize;
     }
 
     @Override
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
                                               long timeoutMs) {
+        return doRequest(method, url, headers, body != null ? Buffer.buffer(body) : null, timeoutMs);
+    }
+
+    @Override
+    public Future<HttpClientResponse> requestBuffer(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                    long timeoutMs) {
+        return doRequest(method, url, headers, body, timeoutMs);
+    }
+
+    private Future<HttpClientResponse> doRequest(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                 long timeoutMs) {
         final Promise<HttpClientResponse> promise = Promise.promise();
 
         if (timeoutMs <= 0) {
@@ -40,7 +65,7 @@ public class BasicHttpClient implements HttpClient {
 
             httpClientRequest
                     .setFollowRedirects(true)
-                    .handler(response -> handleResponse(response, promise, timerId))
+                    .handler(response -> handleResponse(response, httpClientRequest, promise, timerId))
                     .exceptionHandler(exception -> failResponse(exception, promise, timerId));
 
             if (headers != null) {
@@ -71,17 +96,53 @@ public class BasicHttpClient implements HttpClient {
     }
 
     private void handleResponse(io.vertx.core.http.HttpClientResponse response,
+                                HttpClientRequest httpClientRequest,
                                 Promise<HttpClientResponse> promise, long timerId) {
+
+        if (maxResponseSize <= 0) {
+            response
+                    .bodyHandler(buffer -> successResponse(buffer, response, promise, timerId))
+                    .exceptionHandler(exception -> failResponse(exception, promise, timerId));
+            return;
+        }
+
+        // fail fast if the server announced body which is known to be oversized
+        final long contentLength = NumberUtils.toLong(response.getHeader(HttpHeaders.CONTENT_LENGTH), -1);
+        if (contentLength > maxResponseSize) {
+            failOversizedResponse(httpClientRequest, promise, timerId);
+            return;
+        }
+
+        final Buffer body = Buffer.buffer(contentLength > 0 ? (int) contentLength : 1024);
         response
-                .bodyHandler(buffer -> successResponse(buffer.toString(), response, promise, timerId))
+                .handler(chunk -> {
+                    if (body.length() + chunk.length() > maxResponseSize) {
+                        failOversizedResponse(httpClientRequest, promise, timerId);
+                    } else if (!promise.future().isComplete()) {
+                        body.appendBuffer(chunk);
+                    }
+                })
+                .endHandler(ignored -> successResponse(body, response, promise, timerId))
                 .exceptionHandler(exception -> failResponse(exception, promise, timerId));
     }
 
-    private void successResponse(String body, io.vertx.core.http.HttpClientResponse response,
+    private void failOversizedResponse(HttpClientRequest httpClientRequest, Promise<HttpClientResponse> promise,
+                                       long timerId) {
+
+        if (!promise.future().isComplete()) {
+            failResponse(new PreBidException(
+                    String.format("Response size exceeded max size of %d bytes", maxResponseSize)), promise, timerId);
+
+            // there is no reason to read the rest of the response, so connection is closed
+            httpClientRequest.reset();
+        }
+    }
+
+    private void successResponse(Buffer body, io.vertx.core.http.HttpClientResponse response,
                                  Promise<HttpClientResponse> promise, long timerId) {
         vertx.cancelTimer(timerId);
 
-        promise.tryComplete(HttpClientResponse.of(response.statusCode(), response.headers(), body));
+        promise.tryComplete(HttpClientResponse.ofBuffer(response.statusCode(), response.headers(), body));
     }
 
     private void failResponse(Throwable exception, Promise<HttpClientResponse> promise, long timerId) {
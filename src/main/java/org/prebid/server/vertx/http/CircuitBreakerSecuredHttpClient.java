@@ -3,6 +3,7 @@ package org.prebid.server.vertx.http;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -83,6 +84,14 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                 .execute(promise -> httpClient.request(method, url, headers, body, timeoutMs).setHandler(promise));
     }
 
+    @Override
+    public Future<HttpClientResponse> requestBuffer(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                    long timeoutMs) {
+        return circuitBreakerByName.computeIfAbsent(nameFrom(url), circuitBreakerCreator)
+                .execute(promise -> httpClient.requestBuffer(method, url, headers, body, timeoutMs)
+                        .setHandler(promise));
+    }
+
     private static String nameFrom(String urlAsString) {
         final URL url = parseUrl(urlAsString);
         return url.getProtocol() + "://" + url.getHost()
@@ -0,0 +1,97 @@
+package org.prebid.server.vertx.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link HttpClient} implementation which routes requests to dedicated clients (and so, connection pools)
+ * by host of the requested url.
+ * <p>
+ * Requests to hosts without dedicated client are made by default one. This allows to isolate slow hosts
+ * from others, so they can't exhaust connections or wait queue shared by the rest of requests.
+ */
+public class HostPartitionedHttpClient implements HttpClient {
+
+    private final HttpClient defaultHttpClient;
+    private final Map<String, HttpClient> hostToHttpClient;
+
+    public HostPartitionedHttpClient(HttpClient defaultHttpClient, Map<String, HttpClient> hostToHttpClient) {
+        this.defaultHttpClient = Objects.requireNonNull(defaultHttpClient);
+        this.hostToHttpClient = new HashMap<>(Objects.requireNonNull(hostToHttpClient));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs) {
+        return httpClientFor(url).request(method, url, headers, body, timeoutMs);
+    }
+
+    @Override
+    public Future<HttpClientResponse> requestBuffer(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                    long timeoutMs) {
+        return httpClientFor(url).requestBuffer(method, url, headers, body, timeoutMs);
+    }
+
+    private HttpClient httpClientFor(String url) {
+        if (hostToHttpClient.isEmpty()) {
+            return defaultHttpClient;
+        }
+
+        final String host = hostOf(url);
+        final HttpClient httpClient = host != null ? hostToHttpClient.get(host) : null;
+        return httpClient != null ? httpClient : defaultHttpClient;
+    }
+
+    /**
+     * Extracts lower-cased host from given absolute url or returns null if url has unexpected format.
+     * <p>
+     * IPv6 literal hosts are returned enclosed in square brackets.
+     */
+    public static String hostOf(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        final String host;
+        try {
+            host = new URI(url).getHost();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        return host != null ? host.toLowerCase() : null;
+    }
+
+    /**
+     * Returns host and port of given absolute url in the form connection pool of Vert.x http client is identified by
+     * (with default port of the scheme if url has no port), or null if url has unexpected format.
+     */
+    public static String endpointOf(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        final URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+
+        final String host = uri.getHost();
+        if (host == null) {
+            return null;
+        }
+        final int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return String.format("%s:%d", StringUtils.strip(host, "[]"), port);
+    }
+}
@@ -2,6 +2,7 @@ package org.prebid.server.vertx.http;
 
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
@@ -13,6 +14,16 @@ public interface HttpClient {
 
     Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body, long timeoutMs);
 
+    /**
+     * Same as {@link #request(HttpMethod, String, MultiMap, String, long)}, but takes already encoded body.
+     * <p>
+     * Implementations are expected to send buffer as is, without any intermediate conversions.
+     */
+    default Future<HttpClientResponse> requestBuffer(HttpMethod method, String url, MultiMap headers, Buffer body,
+                                                     long timeoutMs) {
+        return request(method, url, headers, body != null ? body.toString() : null, timeoutMs);
+    }
+
     default Future<HttpClientResponse> get(String url, MultiMap headers, long timeoutMs) {
         return request(HttpMethod.GET, url, headers, null, timeoutMs);
     }
@@ -1,15 +1,24 @@
 package org.prebid.server.vertx.http.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
 /**
  * Holds Http client response data.
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
+ * <p>
+ * Body is kept as raw bytes received from the network, so consumers able to decode bytes directly (like JSON
+ * parsers) don't need to create {@link String} representation at all. The string body is decoded lazily
+ * on first access.
  */
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Value
 public class HttpClientResponse {
 
@@ -17,5 +26,18 @@ public class HttpClientResponse {
 
     MultiMap headers;
 
-    String body;
+    Buffer bodyBuffer;
+
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String body = bodyBuffer != null ? bodyBuffer.toString() : null;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpClientResponse(statusCode, headers, body != null ? Buffer.buffer(body) : null);
+    }
+
+    public static HttpClientResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpClientResponse(statusCode, headers, body);
+    }
 }
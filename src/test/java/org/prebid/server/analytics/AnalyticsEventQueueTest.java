@@ -0,0 +1,110 @@
+package org.prebid.server.analytics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AnalyticsEventQueueTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void creationShouldFailOnNonPositiveCapacity() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AnalyticsEventQueue(0, 1, 1, AnalyticsEventQueue.DropPolicy.newest, metrics));
+    }
+
+    @Test
+    public void offerShouldReturnTrueWhenBatchIsReady() {
+        // given
+        final AnalyticsEventQueue queue = new AnalyticsEventQueue(10, 2, 100, AnalyticsEventQueue.DropPolicy.newest,
+                metrics);
+
+        // when and then
+        assertThat(queue.offer("event1")).isFalse();
+        assertThat(queue.offer("event2")).isTrue();
+        assertThat(queue.isBatchReady()).isTrue();
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void pollBatchShouldReturnOldestEventsUpToBatchSizeAndUpdateDepthMetric() {
+        // given
+        final AnalyticsEventQueue queue = new AnalyticsEventQueue(10, 2, 100, AnalyticsEventQueue.DropPolicy.newest,
+                metrics);
+        queue.offer("event1");
+        queue.offer("event2");
+        queue.offer("event3");
+
+        // when and then
+        assertThat(queue.pollBatch()).containsExactly("event1", "event2");
+        assertThat(queue.pollBatch()).containsExactly("event3");
+        assertThat(queue.pollBatch()).isEmpty();
+        verify(metrics).updateAnalyticsQueueDepthMetric(3);
+        verify(metrics).updateAnalyticsQueueDepthMetric(1);
+        verify(metrics).updateAnalyticsQueueDepthMetric(0);
+    }
+
+    @Test
+    public void offerShouldDropNewestEventWhenQueueIsFull() {
+        // given
+        final AnalyticsEventQueue queue = new AnalyticsEventQueue(2, 5, 100, AnalyticsEventQueue.DropPolicy.newest,
+                metrics);
+        queue.offer("event1");
+        queue.offer("event2");
+
+        // when
+        final boolean batchReady = queue.offer("event3");
+
+        // then
+        assertThat(batchReady).isTrue();
+        assertThat(queue.pollBatch()).containsExactly("event1", "event2");
+        verify(metrics).updateAnalyticsEventsDroppedMetric();
+    }
+
+    @Test
+    public void offerShouldDropOldestEventWhenQueueIsFull() {
+        // given
+        final AnalyticsEventQueue queue = new AnalyticsEventQueue(2, 5, 100, AnalyticsEventQueue.DropPolicy.oldest,
+                metrics);
+        queue.offer("event1");
+        queue.offer("event2");
+
+        // when
+        queue.offer("event3");
+        queue.offer("event4");
+
+        // then
+        assertThat(queue.pollBatch()).containsExactly("event3", "event4");
+        verify(metrics, times(2)).updateAnalyticsEventsDroppedMetric();
+    }
+
+    @Test
+    public void batchProcessedShouldUpdateBatchTimeMetric() {
+        // given
+        final AnalyticsEventQueue queue = new AnalyticsEventQueue(2, 5, 100, AnalyticsEventQueue.DropPolicy.oldest,
+                metrics);
+
+        // when
+        queue.batchProcessed(1000L);
+
+        // then
+        verify(metrics).updateAnalyticsBatchTimeMetric(eq(1000L), eq(TimeUnit.NANOSECONDS));
+    }
+}
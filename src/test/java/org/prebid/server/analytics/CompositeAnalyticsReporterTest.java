@@ -1,6 +1,8 @@
 package org.prebid.server.analytics;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Rule;
@@ -10,12 +12,21 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.stubbing.Answer;
+import org.prebid.server.metric.Metrics;
+
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -26,6 +37,8 @@ public class CompositeAnalyticsReporterTest {
 
     @Mock
     private Vertx vertx;
+    @Mock
+    private Metrics metrics;
 
     @Test
     public void shouldPassEventToAllDelegates() {
@@ -48,6 +61,74 @@ public class CompositeAnalyticsReporterTest {
         assertThat(captureEvent(reporter2)).isSameAs(event);
     }
 
+    @Test
+    public void shouldPassBufferedEventsToAllDelegatesOnWorkerWhenBatchIsReady() {
+        // given
+        final AnalyticsReporter reporter1 = mock(AnalyticsReporter.class);
+        final AnalyticsReporter reporter2 = mock(AnalyticsReporter.class);
+        final CompositeAnalyticsReporter analyticsReporter = new CompositeAnalyticsReporter(
+                asList(reporter1, reporter2), vertx,
+                new AnalyticsEventQueue(10, 2, 1000, AnalyticsEventQueue.DropPolicy.newest, metrics));
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        analyticsReporter.processEvent("event1");
+        verify(vertx, never()).executeBlocking(any(), anyBoolean(), any());
+        analyticsReporter.processEvent("event2");
+
+        // then
+        verify(vertx, never()).runOnContext(any());
+        verify(vertx).executeBlocking(any(), anyBoolean(), any());
+        verify(reporter1).processEvent("event1");
+        verify(reporter1).processEvent("event2");
+        verify(reporter2).processEvent("event1");
+        verify(reporter2).processEvent("event2");
+        verify(metrics).updateAnalyticsBatchTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void shouldContinueProcessingBatchIfDelegateFails() {
+        // given
+        final AnalyticsReporter reporter = mock(AnalyticsReporter.class);
+        final CompositeAnalyticsReporter analyticsReporter = new CompositeAnalyticsReporter(singletonList(reporter),
+                vertx, new AnalyticsEventQueue(10, 2, 1000, AnalyticsEventQueue.DropPolicy.newest, metrics));
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+        willThrow(new RuntimeException("failed")).given(reporter).processEvent("event1");
+
+        // when
+        analyticsReporter.processEvent("event1");
+        analyticsReporter.processEvent("event2");
+
+        // then
+        verify(reporter).processEvent("event2");
+    }
+
+    @Test
+    public void initializeShouldSetFlushTimerIfBatchingEnabled() {
+        // given
+        final CompositeAnalyticsReporter analyticsReporter = new CompositeAnalyticsReporter(
+                singletonList(mock(AnalyticsReporter.class)), vertx,
+                new AnalyticsEventQueue(10, 2, 1000, AnalyticsEventQueue.DropPolicy.newest, metrics));
+
+        // when
+        analyticsReporter.initialize();
+
+        // then
+        verify(vertx).setPeriodic(eq(1000L), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> withBlockingHandlerAndResult() {
+        return invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        };
+    }
+
     @SuppressWarnings("unchecked")
     private static Answer<Object> withNullAndInvokeHandler() {
         return invocation -> {
@@ -0,0 +1,198 @@
+package org.prebid.server.auction;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AdaptiveBidderTimeoutResolverTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private Timeout timeout;
+
+    private AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver;
+
+    @Before
+    public void setUp() {
+        timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500);
+
+        adaptiveBidderTimeoutResolver = new AdaptiveBidderTimeoutResolver(99, 1.2, 50, 100, 1000, 2000, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidArguments() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveBidderTimeoutResolver(0, 1.2, 50, 100, 1000, 2000, metrics));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveBidderTimeoutResolver(99, 0.5, 50, 100, 1000, 2000, metrics));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveBidderTimeoutResolver(99, 1.2, 50, 100, 100, 2000, metrics));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdaptiveBidderTimeoutResolver(99, 1.2, 50, 100, 1000, 1, metrics));
+    }
+
+    @Test
+    public void resolveShouldReturnSameTimeoutIfNotEnoughSamplesRecorded() {
+        // given
+        simulateBidderLatencies("bidder", 99, 10);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void resolveShouldLimitTimeoutByLatencyPercentileMultipliedByFactor() {
+        // given
+        // 1% of responses are slow
+        simulateBidderLatencies("bidder", 990, 95);
+        simulateBidderLatencies("bidder", 10, 450);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(120L);
+        verify(metrics).updateAdapterAdaptiveTimeoutMetrics("bidder", 120L, true);
+    }
+
+    @Test
+    public void resolveShouldNotReduceTimeoutBelowMinTimeout() {
+        // given
+        simulateBidderLatencies("bidder", 100, 5);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(50L);
+    }
+
+    @Test
+    public void resolveShouldNotExceedRemainingTimeout() {
+        // given
+        simulateBidderLatencies("bidder", 100, 700);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+        verify(metrics).updateAdapterAdaptiveTimeoutMetrics("bidder", 500L, false);
+    }
+
+    @Test
+    public void resolveShouldTrackLatenciesPerBidder() {
+        // given
+        simulateBidderLatencies("fast", 100, 95);
+        simulateBidderLatencies("slow", 100, 295);
+
+        // when and then
+        assertThat(adaptiveBidderTimeoutResolver.resolve("fast", timeout).remaining()).isEqualTo(120L);
+        assertThat(adaptiveBidderTimeoutResolver.resolve("slow", timeout).remaining()).isEqualTo(360L);
+        assertThat(adaptiveBidderTimeoutResolver.resolve("unknown", timeout)).isSameAs(timeout);
+    }
+
+    @Test
+    public void resolveShouldFollowLatencyChangesWhenWindowIsExceeded() {
+        // given
+        simulateBidderLatencies("bidder", 1000, 295);
+        simulateBidderLatencies("bidder", 5000, 95);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(120L);
+        verify(metrics).updateAdapterAdaptiveTimeoutMetrics(anyString(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void resolveShouldNotCountTimedOutResponsesAsLatencies() {
+        // given
+        simulateBidderLatencies("bidder", 995, 95);
+        simulateBidderTimeouts("bidder", 5);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result.remaining()).isEqualTo(120L);
+    }
+
+    @Test
+    public void resolveShouldReturnSameTimeoutIfPercentileFallsAmongTimedOutResponses() {
+        // given
+        simulateBidderLatencies("bidder", 950, 95);
+        simulateBidderTimeouts("bidder", 50);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(result).isSameAs(timeout);
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void resolveShouldReuseComputedPercentileUntilEnoughNewSamplesRecorded() {
+        // given
+        simulateBidderLatencies("bidder", 100, 95);
+        adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        simulateBidderLatencies("bidder", 10, 995);
+        final Timeout cachedResult = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        simulateBidderLatencies("bidder", 10, 995);
+
+        // when
+        final Timeout result = adaptiveBidderTimeoutResolver.resolve("bidder", timeout);
+
+        // then
+        assertThat(cachedResult.remaining()).isEqualTo(120L);
+        assertThat(result).isSameAs(timeout);
+    }
+
+    /**
+     * Simulates stub bidder responding given number of times with given latency.
+     */
+    private void simulateBidderLatencies(String bidder, int count, long latencyMs) {
+        for (int i = 0; i < count; i++) {
+            adaptiveBidderTimeoutResolver.recordLatency(bidder, latencyMs);
+        }
+    }
+
+    /**
+     * Simulates stub bidder not responding in time given number of times.
+     */
+    private void simulateBidderTimeouts(String bidder, int count) {
+        for (int i = 0; i < count; i++) {
+            adaptiveBidderTimeoutResolver.recordTimeout(bidder);
+        }
+    }
+}
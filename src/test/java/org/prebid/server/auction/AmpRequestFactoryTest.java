@@ -23,6 +23,7 @@ import org.mockito.stubbing.Answer;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.privacy.gdpr.TcfDefinerService;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
@@ -64,6 +65,8 @@ public class AmpRequestFactoryTest extends VertxTest {
     private AuctionRequestFactory auctionRequestFactory;
     @Mock
     private TimeoutResolver timeoutResolver;
+    @Mock
+    private TcfDefinerService tcfDefinerService;
 
     private AmpRequestFactory factory;
     @Mock
@@ -80,7 +83,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         given(routingContext.request()).willReturn(httpRequest);
 
         factory = new AmpRequestFactory(
-                storedRequestProcessor, auctionRequestFactory, timeoutResolver, jacksonMapper);
+                storedRequestProcessor, auctionRequestFactory, timeoutResolver, tcfDefinerService, jacksonMapper);
     }
 
     @Test
@@ -1048,6 +1051,7 @@ public class AmpRequestFactoryTest extends VertxTest {
     public void shouldReturnBidRequestWithOverriddenUserExtConsentWhenGdprConsentParamIsValide() {
         // given
         given(httpRequest.getParam("gdpr_consent")).willReturn("BONV8oqONXwgmADACHENAO7pqzAAppY");
+        given(tcfDefinerService.isGdprConsentValid("BONV8oqONXwgmADACHENAO7pqzAAppY")).willReturn(true);
 
         givenBidRequest(
                 builder -> builder
@@ -1073,6 +1077,7 @@ public class AmpRequestFactoryTest extends VertxTest {
     public void shouldReturnBidRequestWithNewUserThatContainsUserExtConsentWhenInitialUserIsMissing() {
         // given
         given(httpRequest.getParam("gdpr_consent")).willReturn("BONV8oqONXwgmADACHENAO7pqzAAppY");
+        given(tcfDefinerService.isGdprConsentValid("BONV8oqONXwgmADACHENAO7pqzAAppY")).willReturn(true);
 
         givenBidRequest(
                 builder -> builder
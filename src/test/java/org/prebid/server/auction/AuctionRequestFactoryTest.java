@@ -39,6 +39,7 @@ import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.identity.IdGenerator;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtMediaTypePriceGranularity;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -64,6 +65,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -74,6 +76,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -104,6 +107,8 @@ public class AuctionRequestFactoryTest extends VertxTest {
     private ApplicationSettings applicationSettings;
     @Mock
     private IdGenerator idGenerator;
+    @Mock
+    private Metrics metrics;
 
     private AuctionRequestFactory factory;
     @Mock
@@ -143,6 +148,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
     }
 
@@ -181,6 +187,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         givenValidBidRequest();
@@ -217,6 +224,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         given(applicationSettings.getAccountById(any(), any()))
@@ -262,6 +270,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
@@ -291,6 +300,52 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .element(0).asString().startsWith("Error decoding bidRequest: Failed to decode:");
     }
 
+    @Test
+    public void shouldReturnFailedFutureIfRequestBodyWasRejectedWhileReceived() {
+        // given
+        given(routingContext.get(AuctionRequestFactory.BODY_DECODE_ERROR_KEY))
+                .willReturn("Request size exceeded max size of 1 bytes.");
+
+        // when
+        final Future<?> future = factory.fromRequest(routingContext, 0L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause())
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Request size exceeded max size of 1 bytes.");
+        verify(routingContext, never()).getBody();
+    }
+
+    @Test
+    public void shouldUseBidRequestDecodedWhileRequestBodyWasReceived() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder().id("decoded").build();
+        given(routingContext.get(AuctionRequestFactory.DECODED_BID_REQUEST_KEY)).willReturn(bidRequest);
+        given(storedRequestProcessor.processStoredRequests(any())).willReturn(Future.succeededFuture(bidRequest));
+        given(requestValidator.validate(any())).willReturn(ValidationResult.success());
+
+        // when
+        factory.fromRequest(routingContext, 0L);
+
+        // then
+        verify(routingContext, never()).getBody();
+        verify(storedRequestProcessor).processStoredRequests(same(bidRequest));
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void shouldUpdateParseTimeMetricWhenRequestBodyIsDecoded() {
+        // given
+        givenValidBidRequest();
+
+        // when
+        factory.fromRequest(routingContext, 0L);
+
+        // then
+        verify(metrics).updateAuctionRequestParseTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
     @Test
     public void shouldSetFieldsFromHeadersIfBodyFieldsEmptyForIpv4() {
         // given
@@ -773,6 +828,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
         givenBidRequest(BidRequest.builder()
                 .imp(singletonList(Imp.builder().ext(mapper.createObjectNode()).build()))
@@ -813,6 +869,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         givenBidRequest(BidRequest.builder()
@@ -852,6 +909,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         givenBidRequest(BidRequest.builder()
@@ -891,6 +949,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         givenBidRequest(BidRequest.builder()
@@ -956,6 +1015,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         givenBidRequest(BidRequest.builder()
@@ -997,6 +1057,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 timeoutFactory,
                 applicationSettings,
                 idGenerator,
+                metrics,
                 jacksonMapper);
 
         final ExtRequest extBidRequest = ExtRequest.of(ExtRequestPrebid.builder()
@@ -244,6 +244,95 @@ public class BidResponseCreatorTest extends VertxTest {
                 eq(timeout));
     }
 
+    @Test
+    public void shouldNotCacheAgainBidsAlreadySentToCacheByStreamingBidCache() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(givenBidRequest());
+        final ExtRequestTargeting targeting = givenTargeting();
+
+        final Bid bid1 = Bid.builder().id("bidId1").impid("impId1").price(BigDecimal.valueOf(5.67)).build();
+        final Bid bid2 = Bid.builder().id("bidId2").impid("impId2").price(BigDecimal.valueOf(7.19)).build();
+        final BidderResponse bidderResponse1 = BidderResponse.of("bidder1",
+                givenSeatBid(BidderBid.of(bid1, banner, "USD")), 100);
+        final BidderResponse bidderResponse2 = BidderResponse.of("bidder2",
+                givenSeatBid(BidderBid.of(bid2, banner, "USD")), 100);
+
+        final BidRequestCacheInfo cacheInfo = BidRequestCacheInfo.builder().doCaching(true).build();
+
+        given(cacheService.cacheBidsOpenrtb(any(), any(), any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(CacheServiceResult.of(null, null,
+                        singletonMap(bid1, CacheIdInfo.of("cacheId1", null)))))
+                .willReturn(Future.succeededFuture(CacheServiceResult.of(null, null,
+                        singletonMap(bid2, CacheIdInfo.of("cacheId2", null)))));
+
+        final StreamingBidCache streamingBidCache = new StreamingBidCache(false);
+        bidResponseCreator.cacheBidsAhead(bidderResponse1, streamingBidCache, emptyList(), cacheInfo, ACCOUNT,
+                timeout, 1000L);
+
+        // when
+        final BidResponse bidResponse = bidResponseCreator.create(asList(bidderResponse1, bidderResponse2),
+                auctionContext, targeting, cacheInfo, ACCOUNT, false, 1000L, false, timeout,
+                streamingBidCache).result();
+
+        // then
+        verify(cacheService).cacheBidsOpenrtb(eq(singletonList(bid1)), anyList(), any(), any(), any(), any());
+        verify(cacheService).cacheBidsOpenrtb(eq(singletonList(bid2)), anyList(), any(), any(), any(), any());
+
+        assertThat(bidResponse.getSeatbid())
+                .flatExtracting(SeatBid::getBid)
+                .extracting(extractedBid -> toExtPrebid(extractedBid.getExt()).getPrebid().getCache())
+                .extracting(ExtResponseCache::getBids)
+                .containsOnly(
+                        CacheAsset.of("uuid=cacheId1", "cacheId1"),
+                        CacheAsset.of("uuid=cacheId2", "cacheId2"));
+    }
+
+    @Test
+    public void shouldCacheAheadOnlyNotBeatenBidsAndDropCacheIdsOfLosingBidsWhenWinningonlyIsTrue() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(givenBidRequest());
+        final ExtRequestTargeting targeting = givenTargeting();
+
+        final Bid bid1 = Bid.builder().id("bidId1").impid("impId1").price(BigDecimal.valueOf(3.74)).build();
+        final Bid bid2 = Bid.builder().id("bidId2").impid("impId1").price(BigDecimal.valueOf(5.67)).build();
+        final Bid bid3 = Bid.builder().id("bidId3").impid("impId1").price(BigDecimal.valueOf(1.19)).build();
+        final List<BidderResponse> bidderResponses = asList(
+                BidderResponse.of("bidder1", givenSeatBid(BidderBid.of(bid1, banner, "USD")), 100),
+                BidderResponse.of("bidder2", givenSeatBid(BidderBid.of(bid2, banner, "USD")), 100),
+                BidderResponse.of("bidder3", givenSeatBid(BidderBid.of(bid3, banner, "USD")), 100));
+
+        final BidRequestCacheInfo cacheInfo = BidRequestCacheInfo.builder()
+                .doCaching(true).shouldCacheWinningBidsOnly(true).build();
+
+        given(cacheService.cacheBidsOpenrtb(any(), any(), any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(CacheServiceResult.of(null, null,
+                        singletonMap(bid1, CacheIdInfo.of("cacheId1", null)))))
+                .willReturn(Future.succeededFuture(CacheServiceResult.of(null, null,
+                        singletonMap(bid2, CacheIdInfo.of("cacheId2", null)))));
+
+        final StreamingBidCache streamingBidCache = new StreamingBidCache(true);
+        bidderResponses.forEach(bidderResponse -> bidResponseCreator.cacheBidsAhead(bidderResponse,
+                streamingBidCache, emptyList(), cacheInfo, ACCOUNT, timeout, 1000L));
+
+        // when
+        final BidResponse bidResponse = bidResponseCreator.create(bidderResponses, auctionContext, targeting,
+                cacheInfo, ACCOUNT, false, 1000L, false, timeout, streamingBidCache).result();
+
+        // then
+        verify(cacheService).cacheBidsOpenrtb(eq(singletonList(bid1)), anyList(), any(), any(), any(), any());
+        verify(cacheService).cacheBidsOpenrtb(eq(singletonList(bid2)), anyList(), any(), any(), any(), any());
+        verify(cacheService, never()).cacheBidsOpenrtb(eq(singletonList(bid3)), anyList(), any(), any(), any(),
+                any());
+
+        assertThat(bidResponse.getSeatbid())
+                .flatExtracting(SeatBid::getBid)
+                .extracting(Bid::getId, extractedBid -> toExtPrebid(extractedBid.getExt()).getPrebid().getCache())
+                .containsOnly(
+                        tuple("bidId1", null),
+                        tuple("bidId2", ExtResponseCache.of(CacheAsset.of("uuid=cacheId2", "cacheId2"), null)),
+                        tuple("bidId3", null));
+    }
+
     @Test
     public void shouldRequestCacheServiceWithVideoBidsToModifyWhenEventsEnabledAndForBidderThatAllowsModifyVastXml() {
         // given
@@ -1118,6 +1207,38 @@ public class BidResponseCreatorTest extends VertxTest {
         verify(cacheService).cacheBidsOpenrtb(anyList(), anyList(), any(), any(), any(), any());
     }
 
+    @Test
+    public void shouldPopulateWinningTargetingKeywordsForOnlyOneOfEqualBidsFromDifferentBidders() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(givenBidRequest());
+        final ExtRequestTargeting targeting = givenTargeting();
+
+        final Bid firstBid = Bid.builder().id("bidId").impid("impId").price(BigDecimal.valueOf(5.67)).build();
+        final Bid secondBid = Bid.builder().id("bidId").impid("impId").price(BigDecimal.valueOf(5.67)).build();
+
+        final List<BidderResponse> bidderResponses = asList(
+                BidderResponse.of("bidder1", givenSeatBid(BidderBid.of(firstBid, banner, null)), 99),
+                BidderResponse.of("bidder2", givenSeatBid(BidderBid.of(secondBid, banner, null)), 123));
+
+        final BidRequestCacheInfo cacheInfo = BidRequestCacheInfo.builder().build();
+
+        // when
+        final BidResponse bidResponse = bidResponseCreator.create(bidderResponses, auctionContext, targeting, cacheInfo,
+                ACCOUNT, false, 0L, false, timeout).result();
+
+        // then
+        assertThat(bidResponse.getSeatbid()).flatExtracting(SeatBid::getBid).hasSize(2)
+                .extracting(
+                        bid -> toTargetingByKey(bid, "hb_bidder"),
+                        bid -> toTargetingByKey(bid, "hb_bidder_bidder1"),
+                        bid -> toTargetingByKey(bid, "hb_bidder_bidder2"))
+                .containsOnly(
+                        tuple("bidder1", "bidder1", null),
+                        tuple(null, null, "bidder2"));
+
+        verify(cacheService, never()).cacheBidsOpenrtb(anyList(), anyList(), any(), any(), any(), any());
+    }
+
     @Test
     public void shouldPopulateBidResponseExtension() throws JsonProcessingException {
         // given
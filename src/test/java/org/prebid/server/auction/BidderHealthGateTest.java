@@ -0,0 +1,179 @@
+package org.prebid.server.auction;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class BidderHealthGateTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Clock clock;
+
+    private BidderHealthGate bidderHealthGate;
+
+    @Before
+    public void setUp() {
+        given(clock.millis()).willReturn(Instant.now().toEpochMilli());
+
+        bidderHealthGate = new BidderHealthGate(1000, 0.5, 10, 0, 2, 1, 4, 0.5, metrics, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new BidderHealthGate(1000, 0, 10, 0, 2, 1, 4, 0.5, metrics, clock));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new BidderHealthGate(1000, 0.5, 10, 2, 2, 1, 4, 0.5, metrics, clock));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new BidderHealthGate(1000, 0.5, 10, 0, 5, 1, 4, 0.5, metrics, clock));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new BidderHealthGate(1000, 0.5, 10, 0, 2, 1, 4, 1, metrics, clock));
+    }
+
+    @Test
+    public void isHealthyShouldReturnTrueForUnknownBidder() {
+        assertThat(bidderHealthGate.isHealthy("bidder")).isTrue();
+    }
+
+    @Test
+    public void isHealthyShouldReturnFalseWhenErrorRateThresholdReached() {
+        // given
+        givenCompletedRequests("bidder", 5, true);
+        givenCompletedRequests("bidder", 5, false);
+
+        // when and then
+        assertThat(bidderHealthGate.isHealthy("bidder")).isFalse();
+        assertThat(bidderHealthGate.isHealthy("other")).isTrue();
+        verify(metrics).updateAdapterRequestSkippedMetric("bidder", true);
+    }
+
+    @Test
+    public void isHealthyShouldReturnTrueWhenNotEnoughRequestsInWindow() {
+        // given
+        givenCompletedRequests("bidder", 9, false);
+
+        // when and then
+        assertThat(bidderHealthGate.isHealthy("bidder")).isTrue();
+    }
+
+    @Test
+    public void isHealthyShouldReturnTrueWhenFailuresLeftWindow() {
+        // given
+        givenCompletedRequests("bidder", 10, false);
+        given(clock.millis()).willReturn(Instant.now().toEpochMilli() + 2000);
+
+        // when and then
+        assertThat(bidderHealthGate.isHealthy("bidder")).isTrue();
+    }
+
+    @Test
+    public void isHealthyShouldLetProbesThroughForUnhealthyBidder() {
+        // given
+        bidderHealthGate = new BidderHealthGate(1000, 0.5, 10, 1, 2, 1, 4, 0.5, metrics, clock);
+        givenCompletedRequests("bidder", 10, false);
+
+        // when and then
+        assertThat(bidderHealthGate.isHealthy("bidder")).isTrue();
+        verify(metrics, never()).updateAdapterRequestSkippedMetric(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void tryAcquireShouldReturnTrueForUnhealthyBidder() {
+        // given
+        givenCompletedRequests("bidder", 10, false);
+
+        // when and then
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+    }
+
+    @Test
+    public void tryAcquireShouldReturnFalseWhenConcurrencyLimitReached() {
+        // when and then
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isFalse();
+        verify(metrics).updateAdapterRequestSkippedMetric("bidder", false);
+    }
+
+    @Test
+    public void concurrencyLimitShouldIncreaseOnSuccessAndDecreaseOnFailure() {
+        // given
+        givenConcurrentRequests("bidder", 2, true);
+
+        // when and then
+        // limit increased to 3
+        givenStartedRequests("bidder", 2);
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isFalse();
+
+        // limit decreased to 1.5, so only one request is allowed
+        bidderHealthGate.onRequestCompleted("bidder", false);
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isFalse();
+
+        // limit increased to 2.5
+        bidderHealthGate.onRequestCompleted("bidder", true);
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+    }
+
+    @Test
+    public void concurrencyLimitShouldBeDecreasedAtMostOncePerBucket() {
+        // given
+        final long now = Instant.now().toEpochMilli();
+        given(clock.millis()).willReturn(now);
+        bidderHealthGate = new BidderHealthGate(1000, 0.5, 100, 0, 4, 1, 4, 0.5, metrics, clock);
+        givenStartedRequests("bidder", 4);
+
+        // when and then
+        // limit decreased to 2 only once in spite of three failures
+        bidderHealthGate.onRequestCompleted("bidder", false);
+        bidderHealthGate.onRequestCompleted("bidder", false);
+        bidderHealthGate.onRequestCompleted("bidder", false);
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isTrue();
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isFalse();
+
+        // limit decreased to 1 in the next bucket
+        given(clock.millis()).willReturn(now + 100);
+        bidderHealthGate.onRequestCompleted("bidder", false);
+        assertThat(bidderHealthGate.tryAcquire("bidder")).isFalse();
+    }
+
+    private void givenStartedRequests(String bidder, int count) {
+        for (int i = 0; i < count; i++) {
+            bidderHealthGate.tryAcquire(bidder);
+        }
+    }
+
+    private void givenCompletedRequests(String bidder, int count, boolean successful) {
+        for (int i = 0; i < count; i++) {
+            bidderHealthGate.tryAcquire(bidder);
+            bidderHealthGate.onRequestCompleted(bidder, successful);
+        }
+    }
+
+    private void givenConcurrentRequests(String bidder, int count, boolean successful) {
+        givenStartedRequests(bidder, count);
+        for (int i = 0; i < count; i++) {
+            bidderHealthGate.onRequestCompleted(bidder, successful);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 
 import java.math.BigDecimal;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -134,4 +135,58 @@ public class CpmRangeTest {
         // then
         assertThat(result).isNull();
     }
+
+    @Test
+    public void fromCpmShouldRoundRangesMaxToIncrementIfItIsNotMultipleOfIncrement() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(2, singletonList(ExtGranularityRange.of(BigDecimal.valueOf(20),
+                        BigDecimal.valueOf(0.3)))));
+
+        // when and then
+        assertThat(CpmRange.fromCpm(BigDecimal.valueOf(20), priceGranularity)).isEqualTo("19.80");
+        assertThat(CpmRange.fromCpm(new BigDecimal("20.0000001"), priceGranularity)).isEqualTo("20.00");
+    }
+
+    @Test
+    public void fromCpmShouldUseRangeWithInclusiveMaxForPriceOnRangeBorder() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromString("auto");
+
+        // when and then
+        assertThat(CpmRange.fromCpm(new BigDecimal("5.00"), priceGranularity)).isEqualTo("5.00");
+        assertThat(CpmRange.fromCpm(new BigDecimal("5.0000001"), priceGranularity)).isEqualTo("5.00");
+        assertThat(CpmRange.fromCpm(new BigDecimal("10.0000001"), priceGranularity)).isEqualTo("10.00");
+        assertThat(CpmRange.fromCpm(new BigDecimal("10.4999999"), priceGranularity)).isEqualTo("10.00");
+    }
+
+    @Test
+    public void fromCpmShouldReturnEmptyStringForNegativePrice() {
+        assertThat(CpmRange.fromCpm(BigDecimal.valueOf(-1), PriceGranularity.createFromString("med"))).isEmpty();
+    }
+
+    @Test
+    public void fromCpmShouldReturnExpectedResultForRangesWhichCannotBeCompiled() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(3, asList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(10), BigDecimal.valueOf(0.0000005)),
+                        ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.valueOf(1)))));
+
+        // when and then
+        assertThat(CpmRange.fromCpm(BigDecimal.valueOf(3.1234), priceGranularity)).isEqualTo("3.123");
+        assertThat(CpmRange.fromCpm(BigDecimal.valueOf(11), priceGranularity)).isEqualTo("10.000");
+    }
+
+    @Test
+    public void fromCpmShouldReturnSameResultsAsFromCpmAsNumberForAllBuiltInGranularities() {
+        for (String granularity : asList("low", "med", "high", "auto", "dense")) {
+            final PriceGranularity priceGranularity = PriceGranularity.createFromString(granularity);
+            for (int cents = 0; cents <= 2100; cents++) {
+                final BigDecimal cpm = BigDecimal.valueOf(cents, 2);
+                assertThat(CpmRange.fromCpm(cpm, priceGranularity))
+                        .isEqualTo(String.format("%.2f", CpmRange.fromCpmAsNumber(cpm, priceGranularity)));
+            }
+        }
+    }
 }
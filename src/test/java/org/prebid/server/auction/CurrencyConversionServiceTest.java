@@ -13,6 +13,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.currency.CurrencyRatesMatrix;
 import org.prebid.server.currency.proto.CurrencyConversionRates;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
@@ -98,7 +99,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
                 singletonMap(GBP, singletonMap(USD, BigDecimal.valueOf(1.4306)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, GBP, null);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE,
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), GBP, null);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(0.699))).isEqualTo(0);
@@ -111,7 +113,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
                 singletonMap(EUR, BigDecimal.valueOf(1.1565)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, GBP, EUR);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE,
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), GBP, EUR);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(0.865))).isEqualTo(0);
@@ -124,7 +127,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
                 BigDecimal.valueOf(1.1565)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, EUR, GBP);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE,
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), EUR, GBP);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(1.156))).isEqualTo(0);
@@ -138,7 +142,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
         requestConversionRates.put(EUR, singletonMap(USD, BigDecimal.valueOf(1.2304)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, EUR, GBP);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE,
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), EUR, GBP);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(1.163))).isEqualTo(0);
@@ -151,8 +156,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
         requestConversionRates.put(EUR, singletonMap(USD, BigDecimal.valueOf(0.5)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(new BigDecimal("1.23"), requestConversionRates, EUR,
-                USD);
+        final BigDecimal price = currencyService.convertCurrency(new BigDecimal("1.23"),
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), EUR, USD);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(2.460))).isEqualTo(0);
@@ -174,7 +179,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
                 singletonMap(EUR, BigDecimal.valueOf(0.8434)));
 
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, EUR, UAH);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE,
+                CurrencyRatesMatrix.lazyOf(requestConversionRates), EUR, UAH);
 
         // then
         assertThat(price.compareTo(BigDecimal.valueOf(1.156))).isEqualTo(0);
@@ -183,7 +189,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
     @Test
     public void convertCurrencyShouldReturnSamePriceIfBidCurrencyIsNullAndServerCurrencyUSD() {
         // when
-        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, emptyMap(), USD, null);
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, CurrencyRatesMatrix.lazyOf(emptyMap()),
+                USD, null);
 
         // then
         assertThat(price.compareTo(BigDecimal.ONE)).isEqualTo(0);
@@ -216,7 +223,8 @@ public class CurrencyConversionServiceTest extends VertxTest {
 
         // when and then
         assertThatExceptionOfType(PreBidException.class)
-                .isThrownBy(() -> currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, EUR, AUD))
+                .isThrownBy(() -> currencyService.convertCurrency(BigDecimal.ONE,
+                        CurrencyRatesMatrix.lazyOf(requestConversionRates), EUR, AUD))
                 .withMessage("no currency conversion available");
     }
 
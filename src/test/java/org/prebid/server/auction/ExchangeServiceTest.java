@@ -118,6 +118,7 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -197,6 +198,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         exchangeService = new ExchangeService(
                 0,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 privacyEnforcementService,
@@ -207,7 +209,9 @@ public class ExchangeServiceTest extends VertxTest {
                 bidResponsePostProcessor,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null);
     }
 
     @Test
@@ -215,6 +219,7 @@ public class ExchangeServiceTest extends VertxTest {
         assertThatIllegalArgumentException().isThrownBy(
                 () -> new ExchangeService(
                         -1,
+                        false,
                         bidderCatalog,
                         storedResponseProcessor,
                         privacyEnforcementService,
@@ -225,7 +230,9 @@ public class ExchangeServiceTest extends VertxTest {
                         bidResponsePostProcessor,
                         metrics,
                         clock,
-                        jacksonMapper));
+                        jacksonMapper,
+                        null,
+                        null));
     }
 
     @Test
@@ -1337,6 +1344,48 @@ public class ExchangeServiceTest extends VertxTest {
                         tuple(null, null, null));
     }
 
+    @Test
+    public void shouldShareSiteAndExtBetweenBiddersNotAllowedToUseFirstPartyData() {
+        // given
+        final Bidder<?> bidder = mock(Bidder.class);
+        givenBidder("someBidder", bidder, givenEmptySeatBid());
+        givenBidder("missingBidder", bidder, givenEmptySeatBid());
+        givenBidder("anotherBidder", bidder, givenEmptySeatBid());
+
+        final Map<String, Integer> impBidders = new HashMap<>();
+        impBidders.put("someBidder", 1);
+        impBidders.put("missingBidder", 2);
+        impBidders.put("anotherBidder", 3);
+
+        final Site site = Site.builder()
+                .keywords("keyword")
+                .ext(ExtSite.of(0, mapper.createObjectNode().put("data", "value")))
+                .build();
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(impBidders),
+                builder -> builder.ext(ExtRequest.of(ExtRequestPrebid.builder()
+                        .data(ExtRequestPrebidData.of(singletonList("someBidder"))).build()))
+                        .site(site));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
+        verify(httpBidderRequester, times(3)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        final Map<Boolean, List<BidRequest>> bidRequestsBySiteKeywords = bidRequestCaptor.getAllValues().stream()
+                .collect(Collectors.partitioningBy(request -> request.getSite().getKeywords() != null));
+
+        assertThat(bidRequestsBySiteKeywords.get(true)).hasSize(1)
+                .extracting(BidRequest::getSite)
+                .containsOnly(site);
+        final List<BidRequest> requestsWithoutFirstPartyData = bidRequestsBySiteKeywords.get(false);
+        assertThat(requestsWithoutFirstPartyData).hasSize(2);
+        assertThat(requestsWithoutFirstPartyData.get(0).getSite())
+                .isSameAs(requestsWithoutFirstPartyData.get(1).getSite());
+        assertThat(requestsWithoutFirstPartyData.get(0).getExt())
+                .isSameAs(requestsWithoutFirstPartyData.get(1).getExt());
+    }
+
     @Test
     public void shouldNoMaskPassAppExtAndKeywordsWhenDataBiddersListIsNull() {
         // given
@@ -1458,6 +1507,7 @@ public class ExchangeServiceTest extends VertxTest {
         // given
         exchangeService = new ExchangeService(
                 100,
+                false,
                 bidderCatalog,
                 storedResponseProcessor,
                 privacyEnforcementService,
@@ -1468,7 +1518,9 @@ public class ExchangeServiceTest extends VertxTest {
                 bidResponsePostProcessor,
                 metrics,
                 clock,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null);
 
         final Bid bid = Bid.builder().id("bidId1").impid("impId1").price(BigDecimal.valueOf(5.67)).build();
         givenBidder(givenSeatBid(singletonList(givenBid(bid))));
@@ -1493,6 +1545,261 @@ public class ExchangeServiceTest extends VertxTest {
                 same(timeout));
     }
 
+    @Test
+    public void shouldCacheBidsAheadAndPassStreamingBidCacheToBidResponseCreatorIfCacheStreamingEnabled() {
+        // given
+        exchangeService = new ExchangeService(
+                100,
+                true,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                null,
+                null);
+
+        given(bidResponseCreator.cacheBidsAhead(any(), any(), anyList(), any(), any(), any(), anyLong()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
+                any(), any()))
+                .willReturn(Future.succeededFuture(givenBidResponseWithBids(singletonList(givenBid(identity())),
+                        null)));
+
+        final Bid bid = Bid.builder().id("bidId1").impid("impId1").price(BigDecimal.valueOf(5.67)).build();
+        givenBidder(givenSeatBid(singletonList(givenBid(bid))));
+
+        final BidRequest bidRequest = givenBidRequest(singletonList(
+                givenImp(singletonMap("bidder1", 1), builder -> builder.id("impId1"))),
+                builder -> builder.ext(ExtRequest.of(ExtRequestPrebid.builder()
+                        .targeting(givenTargeting(true))
+                        .cache(ExtRequestPrebidCache.of(ExtRequestPrebidCacheBids.of(null, null), null, null))
+                        .auctiontimestamp(1000L)
+                        .build())));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(httpBidderRequester).requestBids(any(), any(), timeoutCaptor.capture(), anyBoolean());
+        assertThat(timeoutCaptor.getValue().remaining()).isEqualTo(400L);
+
+        final ArgumentCaptor<StreamingBidCache> streamingBidCacheCaptor =
+                ArgumentCaptor.forClass(StreamingBidCache.class);
+        verify(bidResponseCreator).cacheBidsAhead(
+                argThat(bidderResponse -> bidderResponse.getBidder().equals("bidder1")),
+                streamingBidCacheCaptor.capture(), eq(bidRequest.getImp()), any(), any(), same(timeout), eq(1000L));
+        verify(bidResponseCreator).create(anyList(), any(), any(), any(), any(), anyBoolean(), eq(1000L),
+                anyBoolean(), same(timeout), same(streamingBidCacheCaptor.getValue()));
+    }
+
+    @Test
+    public void shouldNotCacheBidsAheadIfCacheStreamingEnabledButNoCachingRequested() {
+        // given
+        exchangeService = new ExchangeService(
+                100,
+                true,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                null,
+                null);
+
+        givenBidder(givenSeatBid(singletonList(givenBid(Bid.builder().price(BigDecimal.ONE).build()))));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder1", 1)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        verify(bidResponseCreator, never()).cacheBidsAhead(any(), any(), anyList(), any(), any(), any(), anyLong());
+        verify(bidResponseCreator).create(anyList(), any(), any(), any(), any(), anyBoolean(), anyLong(), anyBoolean(),
+                same(timeout));
+    }
+
+    @Test
+    public void shouldPassAdaptiveTimeoutToConnectorAndRecordBidderLatencyIfResolverIsConfigured() {
+        // given
+        final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver = mock(AdaptiveBidderTimeoutResolver.class);
+        given(adaptiveBidderTimeoutResolver.resolve(eq("bidder1"), any())).willReturn(timeout.minus(390));
+
+        exchangeService = new ExchangeService(
+                0,
+                false,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                adaptiveBidderTimeoutResolver,
+                null);
+
+        givenBidder(givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder1", 1)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(httpBidderRequester).requestBids(any(), any(), timeoutCaptor.capture(), anyBoolean());
+        assertThat(timeoutCaptor.getValue().remaining()).isEqualTo(110L);
+        verify(adaptiveBidderTimeoutResolver).recordLatency("bidder1", 0L);
+    }
+
+    @Test
+    public void shouldRecordTimeoutInsteadOfLatencyForTimedOutBidder() {
+        // given
+        final AdaptiveBidderTimeoutResolver adaptiveBidderTimeoutResolver = mock(AdaptiveBidderTimeoutResolver.class);
+        given(adaptiveBidderTimeoutResolver.resolve(any(), any())).willAnswer(invocation -> invocation.getArgument(1));
+
+        exchangeService = new ExchangeService(
+                0,
+                false,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                adaptiveBidderTimeoutResolver,
+                null);
+
+        givenBidder(BidderSeatBid.of(emptyList(), emptyList(), singletonList(BidderError.timeout("Timeout"))));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder1", 1)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        verify(adaptiveBidderTimeoutResolver).recordTimeout("bidder1");
+        verify(adaptiveBidderTimeoutResolver, never()).recordLatency(any(), anyLong());
+    }
+
+    @Test
+    public void shouldNotMakeRequestsForUnhealthyBiddersAndReportOutcomeOfOthers() {
+        // given
+        final BidderHealthGate bidderHealthGate = mock(BidderHealthGate.class);
+        given(bidderHealthGate.isHealthy("bidder1")).willReturn(false);
+        given(bidderHealthGate.isHealthy("bidder2")).willReturn(true);
+        given(bidderHealthGate.tryAcquire("bidder2")).willReturn(true);
+
+        exchangeService = new ExchangeService(
+                0,
+                false,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                null,
+                bidderHealthGate);
+
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenEmptySeatBid());
+        givenBidder("bidder2", bidder2, BidderSeatBid.of(emptyList(), emptyList(),
+                singletonList(BidderError.timeout("Timeout"))));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(doubleMap("bidder1", 1, "bidder2", 2)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(bidderHealthGate, never()).tryAcquire("bidder1");
+        verify(httpBidderRequester, never()).requestBids(same(bidder1), any(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), any(), any(), anyBoolean());
+        verify(bidderHealthGate).onRequestCompleted("bidder2", false);
+        verify(bidderHealthGate, never()).onRequestCompleted(eq("bidder1"), anyBoolean());
+
+        final ArgumentCaptor<List<BidderResponse>> bidderResponsesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bidResponseCreator).create(bidderResponsesCaptor.capture(), any(), any(), any(), any(), anyBoolean(),
+                anyLong(), anyBoolean(), any());
+        assertThat(bidderResponsesCaptor.getValue()).extracting(BidderResponse::getBidder).containsOnly("bidder2");
+    }
+
+    @Test
+    public void shouldSkipBiddersOverConcurrencyLimitWithoutReportingErrors() {
+        // given
+        final BidderHealthGate bidderHealthGate = mock(BidderHealthGate.class);
+        given(bidderHealthGate.isHealthy(any())).willReturn(true);
+        given(bidderHealthGate.tryAcquire("bidder1")).willReturn(false);
+        given(bidderHealthGate.tryAcquire("bidder2")).willReturn(true);
+
+        exchangeService = new ExchangeService(
+                0,
+                false,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                httpBidderRequester,
+                responseBidValidator,
+                currencyService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                metrics,
+                clock,
+                jacksonMapper,
+                null,
+                bidderHealthGate);
+
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenEmptySeatBid());
+        givenBidder("bidder2", bidder2, givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(doubleMap("bidder1", 1, "bidder2", 2)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(httpBidderRequester, never()).requestBids(same(bidder1), any(), any(), anyBoolean());
+        verify(bidderHealthGate, never()).onRequestCompleted(eq("bidder1"), anyBoolean());
+        verify(metrics, never()).updateAdapterResponseTime(eq("bidder1"), any(), anyInt());
+
+        final ArgumentCaptor<List<BidderResponse>> bidderResponsesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bidResponseCreator).create(bidderResponsesCaptor.capture(), any(), any(), any(), any(), anyBoolean(),
+                anyLong(), anyBoolean(), any());
+        assertThat(bidderResponsesCaptor.getValue()).extracting(BidderResponse::getBidder).containsOnly("bidder2");
+    }
+
     @Test
     public void shouldReturnBidsWithUpdatedPriceCurrencyConversion() {
         // given
@@ -117,4 +117,21 @@ public class PriceGranularityTest {
                 ExtGranularityRange.of(BigDecimal.valueOf(3), BigDecimal.valueOf(0.01)),
                 ExtGranularityRange.of(BigDecimal.valueOf(8), BigDecimal.valueOf(0.05)));
     }
+
+    @Test
+    public void createFromExtPriceGranularityShouldReturnSameInstanceForEqualExtPriceGranularity() {
+        // given
+        final ExtPriceGranularity extPriceGranularity = ExtPriceGranularity.of(2, asList(
+                ExtGranularityRange.of(BigDecimal.valueOf(3), BigDecimal.valueOf(0.01)),
+                ExtGranularityRange.of(BigDecimal.valueOf(8), BigDecimal.valueOf(0.05))));
+
+        // when
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(extPriceGranularity);
+
+        // then
+        assertThat(PriceGranularity.createFromExtPriceGranularity(ExtPriceGranularity.of(2, asList(
+                ExtGranularityRange.of(BigDecimal.valueOf(3), BigDecimal.valueOf(0.01)),
+                ExtGranularityRange.of(BigDecimal.valueOf(8), BigDecimal.valueOf(0.05))))))
+                .isSameAs(priceGranularity);
+    }
 }
@@ -27,6 +27,7 @@ import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.proto.openrtb.ext.request.ExtStoredRequest;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.StoredDataTreeCache;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.VideoStoredDataResult;
 
@@ -52,6 +53,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -77,7 +80,9 @@ public class StoredRequestProcessorTest extends VertxTest {
                 applicationSettings,
                 metrics,
                 timeoutFactory,
-                jacksonMapper);
+                jacksonMapper,
+                null,
+                null);
     }
 
     @Test
@@ -176,6 +181,35 @@ public class StoredRequestProcessorTest extends VertxTest {
                 .build());
     }
 
+    @Test
+    public void shouldParseAmpRequestWithAmpStoredDataTreeCache() throws IOException {
+        // given
+        final StoredDataTreeCache storedDataTreeCache = spy(new StoredDataTreeCache(10, 10, jacksonMapper, metrics));
+        final StoredDataTreeCache ampStoredDataTreeCache = spy(new StoredDataTreeCache(10, 10, jacksonMapper,
+                metrics));
+        storedRequestProcessor = new StoredRequestProcessor(
+                DEFAULT_TIMEOUT,
+                applicationSettings,
+                metrics,
+                new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())),
+                jacksonMapper,
+                storedDataTreeCache,
+                ampStoredDataTreeCache);
+
+        final String storedRequestJson = mapper.writeValueAsString(BidRequest.builder().id("test-request-id").build());
+        given(applicationSettings.getAmpStoredData(anySet(), anySet(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(
+                        singletonMap("123", storedRequestJson), emptyMap(), emptyList())));
+
+        // when
+        final Future<BidRequest> bidRequestFuture = storedRequestProcessor.processAmpRequest("123");
+
+        // then
+        assertThat(bidRequestFuture.result()).isEqualTo(BidRequest.builder().id("test-request-id").build());
+        verify(ampStoredDataTreeCache).getRequestTree("123", storedRequestJson);
+        verifyZeroInteractions(storedDataTreeCache);
+    }
+
     @Test
     public void shouldReturnFailedFutureWhenStoredBidRequestJsonIsNotValid() {
         // given
@@ -269,6 +303,65 @@ public class StoredRequestProcessorTest extends VertxTest {
                 .build());
     }
 
+    @Test
+    public void shouldReturnMergedBidRequestAndImpsUsingStoredDataTreeCache() throws IOException {
+        // given
+        storedRequestProcessor = new StoredRequestProcessor(
+                DEFAULT_TIMEOUT,
+                applicationSettings,
+                metrics,
+                new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())),
+                jacksonMapper,
+                new StoredDataTreeCache(10, 10, jacksonMapper, metrics),
+                null);
+
+        final BidRequest bidRequest = givenBidRequest(builder -> builder
+                .ext(ExtRequest.of(ExtRequestPrebid.builder()
+                        .storedrequest(ExtStoredRequest.of("bidRequest"))
+                        .build()))
+                .imp(singletonList(givenImp(impBuilder -> impBuilder
+                        .ext(mapper.valueToTree(
+                                ExtImp.of(ExtImpPrebid.builder().storedrequest(ExtStoredRequest.of("imp")).build(),
+                                        null)))))));
+
+        final String storedRequestImpJson = mapper.writeValueAsString(Imp.builder().banner(Banner.builder()
+                .format(singletonList(Format.builder().w(300).h(250).build())).build()).build());
+
+        final String storedRequestBidRequestJson = mapper.writeValueAsString(BidRequest.builder().id("test-request-id")
+                .tmax(1000L).imp(singletonList(Imp.builder().build())).build());
+
+        given(applicationSettings.getStoredData(anySet(), anySet(), any()))
+                .willReturn(Future.succeededFuture(
+                        StoredDataResult.of(singletonMap("bidRequest", storedRequestBidRequestJson),
+                                singletonMap("imp", storedRequestImpJson), emptyList())));
+
+        // when
+        final Future<BidRequest> firstFuture = storedRequestProcessor.processStoredRequests(bidRequest);
+        final Future<BidRequest> secondFuture = storedRequestProcessor.processStoredRequests(bidRequest);
+
+        // then
+        final BidRequest expectedBidRequest = BidRequest.builder()
+                .id("test-request-id")
+                .tmax(1000L)
+                .ext(ExtRequest.of(ExtRequestPrebid.builder()
+                        .storedrequest(ExtStoredRequest.of("bidRequest"))
+                        .build()))
+                .imp(singletonList(Imp.builder()
+                        .ext(mapper.valueToTree(
+                                ExtImp.of(ExtImpPrebid.builder().storedrequest(
+                                        ExtStoredRequest.of("imp")).build(), null)))
+                        .banner(Banner.builder()
+                                .format(singletonList(Format.builder().w(300).h(250).build()))
+                                .build())
+                        .build()))
+                .build();
+        assertThat(firstFuture.result()).isEqualTo(expectedBidRequest);
+        assertThat(secondFuture.result()).isEqualTo(expectedBidRequest);
+
+        verify(metrics, times(2)).updateStoredDataTreeCacheMetric(false);
+        verify(metrics, times(2)).updateStoredDataTreeCacheMetric(true);
+    }
+
     @Test
     public void shouldReturnFailedFutureWhenIdIsMissedInPrebidRequest() {
         // given
@@ -2,6 +2,7 @@ package org.prebid.server.bidder;
 
 import com.iab.openrtb.request.BidRequest;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpMethod;
@@ -38,10 +39,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -131,6 +134,33 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(httpClient).request(eq(HttpMethod.POST), eq("uri"), eq(headers), eq("requestBody"), eq(500L));
     }
 
+    @Test
+    public void shouldSendAlreadyEncodedBodyBufferAsIs() {
+        // given
+        final Buffer bodyBuffer = Buffer.buffer("requestBody");
+        given(httpClient.requestBuffer(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri("uri")
+                        .bodyBuffer(bodyBuffer)
+                        .build()),
+                emptyList()));
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+
+        // then
+        verify(httpClient).requestBuffer(eq(HttpMethod.POST), eq("uri"), isNull(), same(bodyBuffer), eq(500L));
+        verify(httpClient, never()).request(any(), anyString(), any(), any(), anyLong());
+        assertThat(bidderSeatBid.getHttpCalls())
+                .extracting(ExtHttpCall::getRequestbody)
+                .containsOnly("requestBody");
+    }
+
     @Test
     public void shouldSendPopulatedGetRequestWithoutBody() {
         // given
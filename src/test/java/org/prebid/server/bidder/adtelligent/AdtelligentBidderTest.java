@@ -408,8 +408,8 @@ public class AdtelligentBidderTest extends VertxTest {
         assertThat(result.getErrors()).hasSize(1)
                 .containsExactly(BidderError.badServerResponse(
                         "Failed to decode: Unexpected end-of-input: expected close marker for Object (start marker at"
-                                + " [Source: (String)\"{\"; line: 1, column: 1])\n at [Source: (String)\"{\"; line: 1, "
-                                + "column: 3]"));
+                                + " [Source: (io.netty.buffer.ByteBufInputStream); line: 1, column: 1])\n"
+                                + " at [Source: (io.netty.buffer.ByteBufInputStream); line: 1, column: 3]"));
     }
 
     private static HttpCall<BidRequest> givenHttpCall(String body) {
@@ -0,0 +1,57 @@
+package org.prebid.server.bidder.model;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpRequestTest {
+
+    @Test
+    public void getBodyShouldReturnStringBodyIfPresent() {
+        // given
+        final HttpRequest<Void> httpRequest = HttpRequest.<Void>builder()
+                .body("body")
+                .bodyBuffer(Buffer.buffer("bodyBuffer"))
+                .build();
+
+        // when and then
+        assertThat(httpRequest.getBody()).isEqualTo("body");
+    }
+
+    @Test
+    public void getBodyShouldDecodeBodyBufferOnlyOnce() {
+        // given
+        final HttpRequest<Void> httpRequest = HttpRequest.<Void>builder()
+                .bodyBuffer(Buffer.buffer("{\"id\":\"значение\"}"))
+                .build();
+
+        // when
+        final String body = httpRequest.getBody();
+
+        // then
+        assertThat(body).isEqualTo("{\"id\":\"значение\"}");
+        assertThat(httpRequest.getBody()).isSameAs(body);
+    }
+
+    @Test
+    public void getBodyShouldReturnNullIfThereIsNoBody() {
+        // when and then
+        assertThat(HttpRequest.<Void>builder().build().getBody()).isNull();
+    }
+
+    @Test
+    public void equalsShouldNotDependOnWhetherBodyWasDecoded() {
+        // given
+        final HttpRequest<Void> httpRequest = HttpRequest.<Void>builder().bodyBuffer(Buffer.buffer("body")).build();
+        final HttpRequest<Void> sameHttpRequest = HttpRequest.<Void>builder()
+                .bodyBuffer(httpRequest.getBodyBuffer())
+                .build();
+
+        // when
+        httpRequest.getBody();
+
+        // then
+        assertThat(httpRequest).isEqualTo(sameHttpRequest);
+    }
+}
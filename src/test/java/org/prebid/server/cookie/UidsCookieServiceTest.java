@@ -3,6 +3,7 @@ package org.prebid.server.cookie;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.core.http.Cookie;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -298,6 +299,43 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(uids).hasSize(6);
     }
 
+    @Test
+    public void toCookieShouldRemoveOnlyAsManyUidsWithCloserExpirationDateAsNeededToFitMaxCookieSize()
+            throws IOException {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            uids.put("family" + i, new UidWithExpiry(StringUtils.repeat('u', i % 7 + 5), now.plusHours(i)));
+        }
+        final UidsCookie uidsCookie = new UidsCookie(Uids.builder().uids(uids).bday(now).build(), jacksonMapper);
+
+        final int maxCookieSizeBytes = 1000;
+        uidsCookieService = new UidsCookieService(OPT_OUT_COOKIE_NAME, OPT_OUT_COOKIE_VALUE, null,
+                null, HOST_COOKIE_DOMAIN, 90, maxCookieSizeBytes, jacksonMapper);
+
+        // when
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+
+        // then
+        final byte[] cookieBytes = Base64.getUrlDecoder().decode(cookie.getValue());
+        assertThat(cookieBytes.length).isLessThanOrEqualTo(maxCookieSizeBytes);
+
+        final Map<String, UidWithExpiry> remainingUids = mapper.readValue(cookieBytes, Uids.class).getUids();
+        final int removedCount = uids.size() - remainingUids.size();
+        assertThat(removedCount).isPositive();
+        for (int i = 0; i < uids.size(); i++) {
+            assertThat(remainingUids.containsKey("family" + i)).isEqualTo(i >= removedCount);
+        }
+
+        // returning the last removed UID back exceeds max cookie size
+        final Map<String, UidWithExpiry> uidsWithLastRemoved = new HashMap<>(remainingUids);
+        final String lastRemovedFamily = "family" + (removedCount - 1);
+        uidsWithLastRemoved.put(lastRemovedFamily, uids.get(lastRemovedFamily));
+        assertThat(new UidsCookie(Uids.builder().uids(uidsWithLastRemoved).bday(now).build(), jacksonMapper)
+                .toJson().length()).isGreaterThan(maxCookieSizeBytes);
+    }
+
     @Test
     public void toCookieShouldReturnCookieWithExpectedValue() throws IOException {
         // given
@@ -12,6 +12,7 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
@@ -134,6 +135,23 @@ public class UidsCookieTest extends VertxTest {
         assertThat(uidsCookieReturned.uidFrom(ADNXS)).isEqualTo("12345");
     }
 
+    @Test
+    public void deleteUidsShouldReturnUidsCookieWithUidsRemoved() {
+        // given
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        uids.put(RUBICON, UidWithExpiry.live("J5VLCWQP-26-CWFT"));
+        uids.put(ADNXS, UidWithExpiry.live("12345"));
+        uids.put("conversant", UidWithExpiry.live("67890"));
+        final UidsCookie uidsCookie = new UidsCookie(Uids.builder().uids(uids).build(), jacksonMapper);
+
+        // when
+        final UidsCookie uidsCookieReturned = uidsCookie.deleteUids(asList(RUBICON, ADNXS, "unknown"));
+
+        // then
+        assertThat(uidsCookieReturned.getCookieUids().getUids()).containsOnlyKeys("conversant");
+        assertThat(uidsCookie.getCookieUids().getUids()).hasSize(3);
+    }
+
     @Test
     public void deleteUidShouldIgnoreMissingUid() {
         // given
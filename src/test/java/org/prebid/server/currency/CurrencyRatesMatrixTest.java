@@ -0,0 +1,86 @@
+package org.prebid.server.currency;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class CurrencyRatesMatrixTest {
+
+    private static final String USD = "USD";
+    private static final String GBP = "GBP";
+    private static final String EUR = "EUR";
+    private static final String AUD = "AUD";
+
+    @Test
+    public void ofShouldReturnNullForNullOrEmptyRates() {
+        assertThat(CurrencyRatesMatrix.of(null)).isNull();
+        assertThat(CurrencyRatesMatrix.of(emptyMap())).isNull();
+        assertThat(CurrencyRatesMatrix.lazyOf(null)).isNull();
+        assertThat(CurrencyRatesMatrix.lazyOf(emptyMap())).isNull();
+    }
+
+    @Test
+    public void getConversionRateShouldReturnStraightReverseAndIntermediateRates() {
+        // given
+        final Map<String, Map<String, BigDecimal>> rates = new HashMap<>();
+        rates.put(USD, singletonMap(AUD, BigDecimal.valueOf(1.2)));
+        rates.put(EUR, singletonMap(AUD, BigDecimal.valueOf(1.5)));
+
+        // when and then
+        for (CurrencyRatesMatrix matrix : asList(CurrencyRatesMatrix.of(rates), CurrencyRatesMatrix.lazyOf(rates))) {
+            assertThat(matrix.getConversionRate(USD, AUD)).isEqualTo(BigDecimal.valueOf(1.2));
+            assertThat(matrix.getConversionRate(AUD, USD)).isEqualTo(new BigDecimal("0.83"));
+            assertThat(matrix.getConversionRate(USD, EUR)).isEqualTo(new BigDecimal("0.80"));
+        }
+    }
+
+    @Test
+    public void getConversionRateShouldReturnNullForUnknownCurrencies() {
+        // given
+        final Map<String, Map<String, BigDecimal>> rates =
+                singletonMap(USD, singletonMap(EUR, BigDecimal.valueOf(0.8)));
+
+        // when and then
+        for (CurrencyRatesMatrix matrix : asList(CurrencyRatesMatrix.of(rates), CurrencyRatesMatrix.lazyOf(rates))) {
+            assertThat(matrix.getConversionRate(USD, GBP)).isNull();
+            assertThat(matrix.getConversionRate(GBP, EUR)).isNull();
+            assertThat(matrix.getConversionRate(USD, USD)).isNull();
+        }
+    }
+
+    @Test
+    public void getConversionRateShouldTreatZeroRateAsUnavailable() {
+        // given
+        final Map<String, Map<String, BigDecimal>> rates = singletonMap(USD, singletonMap(EUR, BigDecimal.ZERO));
+
+        // when and then
+        for (CurrencyRatesMatrix matrix : asList(CurrencyRatesMatrix.of(rates), CurrencyRatesMatrix.lazyOf(rates))) {
+            assertThat(matrix.getConversionRate(USD, EUR)).isNull();
+            assertThat(matrix.getConversionRate(EUR, USD)).isNull();
+        }
+    }
+
+    @Test
+    public void lazyOfShouldResolveRateForPairOnlyOnce() {
+        // given
+        final Map<String, BigDecimal> usdRates = spy(new HashMap<>(singletonMap(EUR, BigDecimal.valueOf(0.8))));
+        final CurrencyRatesMatrix matrix = CurrencyRatesMatrix.lazyOf(singletonMap(USD, usdRates));
+
+        // when
+        matrix.getConversionRate(USD, EUR);
+        final BigDecimal result = matrix.getConversionRate(USD, EUR);
+
+        // then
+        assertThat(result).isEqualTo(BigDecimal.valueOf(0.8));
+        verify(usdRates).get(EUR);
+    }
+}
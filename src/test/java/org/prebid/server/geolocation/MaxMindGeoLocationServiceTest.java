@@ -14,9 +14,11 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.FieldSetter;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -24,6 +26,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class MaxMindGeoLocationServiceTest {
 
@@ -33,7 +38,7 @@ public class MaxMindGeoLocationServiceTest {
 
     @Before
     public void setUp() {
-        maxMindGeoLocationService = new MaxMindGeoLocationService();
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, null, false, null);
     }
 
     @Test
@@ -62,26 +67,13 @@ public class MaxMindGeoLocationServiceTest {
     public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws NoSuchFieldException, IOException,
             GeoIp2Exception {
         // given
-        final Country country = new Country(null, null, null, "fr", null);
-        final Continent continent = new Continent(null, "eu", null, null);
-        final City city = new City(singletonList("test"), null, null, singletonMap("test", "Paris"));
-        final Location location = new Location(null, null, 48.8566, 2.3522,
-                null, null, null);
-        final ArrayList<Subdivision> subdivisions = new ArrayList<>();
-        subdivisions.add(new Subdivision(null, null, null, "paris", null));
-        final CityResponse cityResponse = new CityResponse(city, continent, country, location, null,
-                null, null, null, subdivisions, null);
-
-        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
-        given(databaseReader.city(any())).willReturn(cityResponse);
-
-        FieldSetter.setField(maxMindGeoLocationService,
-                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+        final DatabaseReader databaseReader = givenDatabaseReader(maxMindGeoLocationService);
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
 
         // then
+        verify(databaseReader).city(any());
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result())
                 .isEqualTo(GeoInfo.builder()
@@ -94,4 +86,63 @@ public class MaxMindGeoLocationServiceTest {
                         .lon(2.3522f)
                         .build());
     }
+
+    @Test
+    public void lookupShouldReturnCachedResultForTheSameIp() throws NoSuchFieldException, IOException,
+            GeoIp2Exception {
+        // given
+        final Metrics metrics = mock(Metrics.class);
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, new HashMap<>(), false, metrics);
+        final DatabaseReader databaseReader = givenDatabaseReader(maxMindGeoLocationService);
+
+        // when
+        final GeoInfo first = maxMindGeoLocationService.lookup(TEST_IP, null).result();
+        final GeoInfo second = maxMindGeoLocationService.lookup(TEST_IP, null).result();
+        maxMindGeoLocationService.lookup("80.215.195.123", null);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(databaseReader, times(2)).city(any());
+        verify(metrics).updateGeoLocationCacheMetric(true);
+        verify(metrics, times(2)).updateGeoLocationCacheMetric(false);
+    }
+
+    @Test
+    public void lookupShouldReturnCachedResultForTheSameNetworkIfCachedByNetwork() throws NoSuchFieldException,
+            IOException, GeoIp2Exception {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(null, new HashMap<>(), true, mock(Metrics.class));
+        final DatabaseReader databaseReader = givenDatabaseReader(maxMindGeoLocationService);
+
+        // when
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+        maxMindGeoLocationService.lookup("80.215.195.1", null);
+        maxMindGeoLocationService.lookup("80.215.196.1", null);
+        maxMindGeoLocationService.lookup("2001:db8:85a3:8d3:1319:8a2e:370:7348", null);
+        maxMindGeoLocationService.lookup("2001:db8:85a3:1::1", null);
+
+        // then
+        verify(databaseReader, times(3)).city(any());
+    }
+
+    private static DatabaseReader givenDatabaseReader(MaxMindGeoLocationService maxMindGeoLocationService)
+            throws NoSuchFieldException, IOException, GeoIp2Exception {
+
+        final Country country = new Country(null, null, null, "fr", null);
+        final Continent continent = new Continent(null, "eu", null, null);
+        final City city = new City(singletonList("test"), null, null, singletonMap("test", "Paris"));
+        final Location location = new Location(null, null, 48.8566, 2.3522,
+                null, null, null);
+        final ArrayList<Subdivision> subdivisions = new ArrayList<>();
+        subdivisions.add(new Subdivision(null, null, null, "paris", null));
+        final CityResponse cityResponse = new CityResponse(city, continent, country, location, null,
+                null, null, null, subdivisions, null);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+
+        FieldSetter.setField(maxMindGeoLocationService,
+                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+        return databaseReader;
+    }
 }
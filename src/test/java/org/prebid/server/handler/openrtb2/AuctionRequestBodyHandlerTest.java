@@ -0,0 +1,198 @@
+package org.prebid.server.handler.openrtb2;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.AuctionRequestFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AuctionRequestBodyHandlerTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private AuctionRequestBodyHandler auctionRequestBodyHandler;
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerRequest httpRequest;
+    @Mock
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        given(routingContext.request()).willReturn(httpRequest);
+        given(routingContext.vertx()).willReturn(vertx);
+
+        auctionRequestBodyHandler = new AuctionRequestBodyHandler(1000, 500, metrics, jacksonMapper);
+    }
+
+    @Test
+    public void shouldRejectRequestWithContentLengthExceedingMaxRequestSizeWithoutReadingBody() {
+        // given
+        given(httpRequest.getHeader(HttpHeaders.CONTENT_LENGTH)).willReturn("1001");
+
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+
+        // then
+        verify(routingContext).put(AuctionRequestFactory.BODY_DECODE_ERROR_KEY,
+                "Request size exceeded max size of 1000 bytes.");
+        verify(routingContext).next();
+        verify(httpRequest, never()).handler(any());
+    }
+
+    @Test
+    public void shouldRejectRequestAsSoonAsReceivedBodyExceedsMaxRequestSize() {
+        // given
+        auctionRequestBodyHandler = new AuctionRequestBodyHandler(10, 500, metrics, jacksonMapper);
+
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        final Handler<Buffer> chunkHandler = captureChunkHandler();
+        chunkHandler.handle(Buffer.buffer("{\"id\":"));
+        chunkHandler.handle(Buffer.buffer("\"request-id\"}"));
+
+        // then
+        verify(routingContext).put(AuctionRequestFactory.BODY_DECODE_ERROR_KEY,
+                "Request size exceeded max size of 10 bytes.");
+        verify(routingContext).next();
+    }
+
+    @Test
+    public void shouldRejectMalformedRequestBeforeBodyIsReceived() {
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        final Handler<Buffer> chunkHandler = captureChunkHandler();
+        chunkHandler.handle(Buffer.buffer("{\"id\":}"));
+        chunkHandler.handle(Buffer.buffer("{\"id\":\"request-id\"}"));
+
+        // then
+        verify(routingContext).put(eq(AuctionRequestFactory.BODY_DECODE_ERROR_KEY),
+                startsWith("Error decoding bidRequest: Failed to decode:"));
+        verify(routingContext, times(1)).next();
+        verify(routingContext, never()).put(eq(AuctionRequestFactory.DECODED_BID_REQUEST_KEY), any());
+    }
+
+    @Test
+    public void shouldRejectIncompleteRequest() {
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        captureChunkHandler().handle(Buffer.buffer("{\"id\":\"request-id\""));
+        captureEndHandler().handle(null);
+
+        // then
+        verify(routingContext).put(eq(AuctionRequestFactory.BODY_DECODE_ERROR_KEY),
+                startsWith("Error decoding bidRequest: Failed to decode:"));
+        verify(routingContext).next();
+    }
+
+    @Test
+    public void shouldPassEmptyBodyToRegularBodyHandling() {
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        captureEndHandler().handle(null);
+
+        // then
+        verify(routingContext).setBody(Buffer.buffer());
+        verify(routingContext).next();
+        verify(routingContext, never()).put(any(), any());
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void shouldDecodeBidRequestFromChunksAndPassItWithBody() {
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        final Handler<Buffer> chunkHandler = captureChunkHandler();
+        chunkHandler.handle(Buffer.buffer("{\"id\":\"request-"));
+        chunkHandler.handle(Buffer.buffer("id\",\"imp\":[{\"id\":\"imp-id\",\"bidfloor\":1.5}]}"));
+        captureEndHandler().handle(null);
+
+        // then
+        verify(routingContext).put(AuctionRequestFactory.DECODED_BID_REQUEST_KEY, BidRequest.builder()
+                .id("request-id")
+                .imp(singletonList(Imp.builder().id("imp-id").bidfloor(new BigDecimal("1.5")).build()))
+                .build());
+        verify(routingContext).setBody(Buffer.buffer(
+                "{\"id\":\"request-id\",\"imp\":[{\"id\":\"imp-id\",\"bidfloor\":1.5}]}"));
+        verify(routingContext).next();
+        verify(metrics).updateAuctionRequestParseTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+        verify(vertx, never()).executeBlocking(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void shouldDecodeLargeBidRequestOnWorkerPool() {
+        // given
+        auctionRequestBodyHandler = new AuctionRequestBodyHandler(1000, 10, metrics, jacksonMapper);
+
+        willAnswer(invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            invocation.<Handler<Promise<Object>>>getArgument(0).handle(promise);
+            invocation.<Handler<AsyncResult<Object>>>getArgument(2).handle(promise.future());
+            return null;
+        }).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        auctionRequestBodyHandler.handle(routingContext);
+        captureChunkHandler().handle(Buffer.buffer("{\"id\":\"request-id\"}"));
+        captureEndHandler().handle(null);
+
+        // then
+        verify(vertx).executeBlocking(any(), eq(false), any());
+        verify(metrics).updateAuctionRequestParseOffloadedMetric();
+        verify(routingContext).put(AuctionRequestFactory.DECODED_BID_REQUEST_KEY,
+                BidRequest.builder().id("request-id").build());
+        verify(routingContext).next();
+        verify(routingContext, never()).put(eq(AuctionRequestFactory.BODY_DECODE_ERROR_KEY), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Buffer> captureChunkHandler() {
+        final ArgumentCaptor<Handler<Buffer>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequest).handler(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Void> captureEndHandler() {
+        final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpRequest).endHandler(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,100 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NonBlockingJsonDecoderTest extends VertxTest {
+
+    private NonBlockingJsonDecoder decoder;
+
+    @Before
+    public void setUp() {
+        decoder = new NonBlockingJsonDecoder(jacksonMapper);
+    }
+
+    @Test
+    public void decodeValueShouldReturnSameResultAsDecodingWholeDocument() {
+        // given
+        final String json = "{\"id\":\"request-id\",\"tmax\":1000,\"cur\":[\"USD\"],"
+                + "\"ext\":{\"prebid\":{\"debug\":1}}}";
+
+        // when
+        for (int i = 0; i < json.length(); i += 7) {
+            decoder.feed(Buffer.buffer(json.substring(i, Math.min(i + 7, json.length()))));
+        }
+        decoder.end();
+
+        // then
+        assertThat(decoder.decodeValue(BidRequest.class))
+                .isEqualTo(jacksonMapper.decodeValue(json, BidRequest.class));
+    }
+
+    @Test
+    public void decodeValueShouldKeepScaleOfDecimalNumbers() {
+        // given
+        final String json = "{\"imp\":[{\"id\":\"imp-id\",\"bidfloor\":1.10,"
+                + "\"ext\":{\"bidder\":{\"floor\":2.50}}}]}";
+
+        // when
+        decoder.feed(Buffer.buffer(json));
+        decoder.end();
+
+        // then
+        final BidRequest bidRequest = decoder.decodeValue(BidRequest.class);
+        assertThat(bidRequest.getImp().get(0).getBidfloor()).isEqualTo(new BigDecimal("1.10"));
+        assertThat(bidRequest).isEqualTo(jacksonMapper.decodeValue(json, BidRequest.class));
+    }
+
+    @Test
+    public void decodeValueShouldSupportMultiByteCharactersSplitBetweenChunks() {
+        // given
+        final byte[] bytes = "{\"name\":\"\u00e9t\u00e9\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        decoder.feed(Buffer.buffer().appendBytes(bytes, 0, 10));
+        decoder.feed(Buffer.buffer().appendBytes(bytes, 10, bytes.length - 10));
+        decoder.end();
+
+        // then
+        assertThat(decoder.decodeValue(ObjectNode.class).get("name").asText()).isEqualTo("\u00e9t\u00e9");
+    }
+
+    @Test
+    public void feedShouldFailOnMalformedChunk() {
+        assertThatThrownBy(() -> decoder.feed(Buffer.buffer("{\"id\":]")))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode:");
+    }
+
+    @Test
+    public void endShouldFailOnIncompleteDocument() {
+        // given
+        decoder.feed(Buffer.buffer("{\"id\":\"request-id\""));
+
+        // when and then
+        assertThatThrownBy(() -> decoder.end())
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode:");
+    }
+
+    @Test
+    public void decodeValueShouldFailOnEmptyDocument() {
+        // given
+        decoder.end();
+
+        // when and then
+        assertThatThrownBy(() -> decoder.decodeValue(BidRequest.class))
+                .isInstanceOf(DecodeException.class)
+                .hasMessageStartingWith("Failed to decode:");
+    }
+}
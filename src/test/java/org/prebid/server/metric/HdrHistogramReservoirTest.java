@@ -0,0 +1,120 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.mockito.BDDMockito.given;
+
+public class HdrHistogramReservoirTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private HdrHistogramReservoir reservoir;
+
+    @Before
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+
+        reservoir = new HdrHistogramReservoir(1, 100_000, 1000, clock);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnPercentilesOfAllRecordedValues() {
+        // given
+        for (int i = 1; i <= 10_000; i++) {
+            reservoir.update(i);
+        }
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getMedian()).isCloseTo(5000, withinPercentage(1));
+        assertThat(snapshot.get99thPercentile()).isCloseTo(9900, withinPercentage(1));
+        assertThat(snapshot.get999thPercentile()).isCloseTo(9990, withinPercentage(1));
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isCloseTo(10_000L, withinPercentage(1));
+        assertThat(snapshot.getMean()).isCloseTo(5000, withinPercentage(1));
+        assertThat(snapshot.size()).isEqualTo(1028);
+        assertThat(snapshot.getValues()).hasSize(1028).isSorted();
+    }
+
+    @Test
+    public void getSnapshotShouldMergeValuesRecordedWithinWindow() {
+        // given
+        reservoir.update(10);
+        reservoir.getSnapshot();
+        reservoir.update(20);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getMin()).isEqualTo(10);
+        assertThat(snapshot.getMax()).isEqualTo(20);
+        assertThat(snapshot.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getSnapshotShouldStartNewWindowWhenPreviousExpired() {
+        // given
+        reservoir.update(10);
+        reservoir.getSnapshot();
+        reservoir.update(20);
+        given(clock.millis()).willReturn(1000L);
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsOnly(20);
+    }
+
+    @Test
+    public void sizeShouldCountValuesRecordedWithinWindow() {
+        // given
+        reservoir.update(10);
+        reservoir.getSnapshot();
+        reservoir.update(20);
+
+        // when and then
+        assertThat(reservoir.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateShouldClampValuesOutOfRange() {
+        // when
+        reservoir.update(-5);
+        reservoir.update(1_000_000);
+
+        // then
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.getMin()).isEqualTo(0);
+        assertThat(snapshot.getMax()).isCloseTo(100_000L, withinPercentage(1));
+    }
+
+    @Test
+    public void getSnapshotShouldReturnZerosIfNothingRecorded() {
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+        assertThat(snapshot.getMean()).isZero();
+        assertThat(snapshot.get99thPercentile()).isZero();
+    }
+}
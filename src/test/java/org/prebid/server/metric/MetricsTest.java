@@ -4,6 +4,7 @@ import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
 import com.iab.openrtb.request.Audio;
 import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.Imp;
@@ -25,10 +26,12 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -58,7 +61,8 @@ public class MetricsTest {
         given(accountMetricsVerbosity.forAccount(anyString())).willReturn(AccountMetricsVerbosityLevel.detailed);
         given(bidderCatalog.isValidName(any())).willReturn(true);
 
-        metrics = new Metrics(metricRegistry, CounterType.counter, accountMetricsVerbosity, bidderCatalog);
+        metrics = new Metrics(metricRegistry, CounterType.counter, TimerType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog);
     }
 
     @Test
@@ -85,6 +89,51 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void incCounterShouldLookupMetricInRegistryOnlyOnFirstUpdate() {
+        // given
+        metricRegistry = Mockito.spy(new MetricRegistry());
+        metrics = new Metrics(metricRegistry, CounterType.counter, TimerType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog);
+
+        // when
+        metrics.forAccount(ACCOUNT_ID).forAdapter(RUBICON).request().incCounter(MetricName.gotbids);
+        metrics.forAccount(ACCOUNT_ID).forAdapter(RUBICON).request().incCounter(MetricName.gotbids);
+
+        // then
+        verify(metricRegistry).counter("account.accountId.rubicon.requests.gotbids");
+        assertThat(metricRegistry.counter("account.accountId.rubicon.requests.gotbids").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldCountAllUpdatesMadeConcurrently() throws InterruptedException {
+        // given
+        final int threadsCount = 8;
+        final int updatesCount = 10000;
+        final Thread[] threads = new Thread[threadsCount];
+        for (int i = 0; i < threadsCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < updatesCount; j++) {
+                    metrics.forAccount(ACCOUNT_ID + j % 10).forAdapter(RUBICON).incCounter(MetricName.bids_received);
+                }
+            });
+        }
+
+        // when
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        for (int i = 0; i < 10; i++) {
+            assertThat(metricRegistry.counter("account.accountId" + i + ".rubicon.bids_received").getCount())
+                    .isEqualTo(threadsCount * updatesCount / 10);
+        }
+    }
+
     @Test
     public void forAdapterShouldReturnSameAdapterMetricsOnSuccessiveCalls() {
         assertThat(metrics.forAdapter(RUBICON)).isSameAs(metrics.forAdapter(RUBICON));
@@ -478,6 +527,36 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("adapter.rubicon.no_cookie_requests").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateAdapterAdaptiveTimeoutMetricsShouldUpdateMetrics() {
+        // given
+        given(bidderCatalog.isValidName(RUBICON)).willReturn(true);
+
+        // when
+        metrics.updateAdapterAdaptiveTimeoutMetrics(RUBICON, 100L, true);
+        metrics.updateAdapterAdaptiveTimeoutMetrics(RUBICON, 500L, false);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.adaptive_timeout").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("adapter.rubicon.adaptive_timeout_applied").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateAdapterRequestSkippedMetricShouldIncrementMetrics() {
+        // given
+        given(bidderCatalog.isValidName(RUBICON)).willReturn(true);
+
+        // when
+        metrics.updateAdapterRequestSkippedMetric(RUBICON, true);
+        metrics.updateAdapterRequestSkippedMetric(RUBICON, false);
+        metrics.updateAdapterRequestSkippedMetric(RUBICON, false);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.requests.skipped_unhealthy").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("adapter.rubicon.requests.skipped_concurrency_limit").getCount())
+                .isEqualTo(2);
+    }
+
     @Test
     public void updateAdapterResponseTimeShouldUpdateMetrics() {
         // given
@@ -496,6 +575,25 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("account.accountId.UNKNOWN.request_time").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateAdapterResponseTimeShouldRecordIntoHdrHistogramExceptAccountMetricsIfConfigured() {
+        // given
+        metrics = new Metrics(metricRegistry, CounterType.counter, TimerType.hdrHistogram,
+                accountMetricsVerbosity, bidderCatalog);
+
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            metrics.updateAdapterResponseTime(RUBICON, ACCOUNT_ID, i);
+        }
+
+        // then
+        final Snapshot snapshot = metricRegistry.timer("adapter.rubicon.request_time").getSnapshot();
+        assertThat(snapshot.getClass().getEnclosingClass()).isSameAs(HdrHistogramReservoir.class);
+        assertThat(snapshot.get999thPercentile()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(999), withinPercentage(1));
+        assertThat(metricRegistry.timer("account.accountId.rubicon.request_time").getSnapshot().getClass()
+                .getEnclosingClass()).isNotSameAs(HdrHistogramReservoir.class);
+    }
+
     @Test
     public void updateAdapterRequestNobidMetricsShouldIncrementMetrics() {
         // given
@@ -859,6 +957,49 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("geolocation_circuitbreaker_closed").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldIncrementGeoLocationCacheHitsMetric() {
+        // when
+        metrics.updateGeoLocationCacheMetric(true);
+
+        // then
+        assertThat(metricRegistry.counter("geolocation_cache_hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementGeoLocationCacheMissesMetric() {
+        // when
+        metrics.updateGeoLocationCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("geolocation_cache_misses").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateTcfConsentCacheMetrics() {
+        // when
+        metrics.updateTcfConsentCacheMetric(true);
+        metrics.updateTcfConsentCacheMetric(false);
+        metrics.updateTcfConsentCacheMetric(false);
+        metrics.updateTcfConsentDecodeTimeMetric(250, TimeUnit.MICROSECONDS);
+
+        // then
+        assertThat(metricRegistry.counter("tcf_consent_cache_hits").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("tcf_consent_cache_misses").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer("tcf_consent_decode_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateTcfPermissionsCacheMetricsShouldIncrementMetricsByGivenValues() {
+        // when
+        metrics.updateTcfPermissionsCacheMetrics(3, 0);
+        metrics.updateTcfPermissionsCacheMetrics(1, 2);
+
+        // then
+        assertThat(metricRegistry.counter("tcf_permissions_cache_hits").getCount()).isEqualTo(4);
+        assertThat(metricRegistry.counter("tcf_permissions_cache_misses").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void shouldIncrementBothGeoLocationRequestsAndSuccessfulMetrics() {
         // when
@@ -928,6 +1069,86 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("stored_imps_missing").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldIncrementStoredDataTreeCacheHitsMetric() {
+        // when
+        metrics.updateStoredDataTreeCacheMetric(true);
+
+        // then
+        assertThat(metricRegistry.counter("stored_data_tree_cache_hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementStoredDataTreeCacheMissesMetric() {
+        // when
+        metrics.updateStoredDataTreeCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("stored_data_tree_cache_misses").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementSettingsCacheMetricOfSource() {
+        // when
+        metrics.updateSettingsCacheMetric("account", MetricName.settings_cache_coalesced, 3);
+        metrics.updateSettingsCacheMetric("account", MetricName.settings_cache_hits, 0);
+
+        // then
+        assertThat(metricRegistry.counter("settings.cache.account.coalesced").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.getCounters()).doesNotContainKey("settings.cache.account.hits");
+    }
+
+    @Test
+    public void shouldUpdateStoredDataBatchSizeHistogramAndQueryTimer() {
+        // when
+        metrics.updateStoredDataBatchSizeMetric(3);
+        metrics.updateStoredDataQueryTimeMetric(1500L, TimeUnit.NANOSECONDS);
+
+        // then
+        assertThat(metricRegistry.histogram("stored_data_batch_size").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer("stored_data_query_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateStoredDataParseTimer() {
+        // when
+        metrics.updateStoredDataParseTimeMetric(1500L, TimeUnit.NANOSECONDS);
+
+        // then
+        assertThat(metricRegistry.timer("stored_data_parse_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateAuctionRequestParseTimer() {
+        // when
+        metrics.updateAuctionRequestParseTimeMetric(1500L, TimeUnit.NANOSECONDS);
+
+        // then
+        assertThat(metricRegistry.timer("auction_request_parse_time").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementAuctionRequestParseOffloadedMetric() {
+        // when
+        metrics.updateAuctionRequestParseOffloadedMetric();
+
+        // then
+        assertThat(metricRegistry.counter("auction_request_parse_offloaded").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUpdateAnalyticsMetrics() {
+        // when
+        metrics.updateAnalyticsQueueDepthMetric(42);
+        metrics.updateAnalyticsEventsDroppedMetric();
+        metrics.updateAnalyticsBatchTimeMetric(15, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(metricRegistry.histogram("analytics_queue_depth").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("analytics_events_dropped").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer("analytics_batch_time").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void shouldIncrementPrebidCacheRequestSuccessTimer() {
         // when
@@ -960,7 +1181,7 @@ public class MetricsTest {
 
             // when
             metricsConsumer.accept(new Metrics(metricRegistry, CounterType.valueOf(counterType.name()),
-                    accountMetricsVerbosity, bidderCatalog));
+                    TimerType.exponentiallyDecaying, accountMetricsVerbosity, bidderCatalog));
 
             // then
             softly.assertThat(metricRegistry.getMetrics()).hasValueSatisfying(new Condition<>(
@@ -14,6 +14,8 @@ import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorListV1;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV1;
 
+import java.util.Map;
+
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
@@ -28,7 +30,7 @@ public class GdprServiceTest extends VertxTest {
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
 
     @Mock
-    private VendorListService<VendorListV1, VendorV1> vendorListService;
+    private VendorListService<VendorListV1, Map<Integer, VendorV1>> vendorListService;
 
     private GdprService gdprService;
 
@@ -10,11 +10,13 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.specialfeature.SpecialFeaturesStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorListV2;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListServiceV2;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 import org.prebid.server.settings.model.AccountGdprConfig;
@@ -29,6 +31,7 @@ import org.prebid.server.settings.model.SpecialFeatures;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -70,6 +73,10 @@ public class Tcf2ServiceTest extends VertxTest {
     private SpecialFeaturesStrategy specialFeaturesStrategyOne;
     @Mock
     private TCString tcString;
+    @Mock
+    private Metrics metrics;
+
+    private CompiledVendorListV2 vendorList;
 
     private Tcf2Service target;
 
@@ -90,6 +97,8 @@ public class Tcf2ServiceTest extends VertxTest {
 
     @Before
     public void setUp() {
+        vendorList = CompiledVendorListV2.of(emptyMap());
+
         given(tcString.getVendorListVersion()).willReturn(10);
         given(purposeStrategyOne.getPurposeId()).willReturn(1);
         given(purposeStrategyTwo.getPurposeId()).willReturn(2);
@@ -100,7 +109,7 @@ public class Tcf2ServiceTest extends VertxTest {
         given(specialFeaturesStrategyOne.getSpecialFeatureId()).willReturn(1);
         specialFeaturesStrategies = singletonList(specialFeaturesStrategyOne);
 
-        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(emptyMap()));
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(vendorList));
 
         initPurposes();
         initSpecialFeatures();
@@ -180,14 +189,17 @@ public class Tcf2ServiceTest extends VertxTest {
         final VendorPermissionWithGvl expectedVendorPermissionWitGvl = VendorPermissionWithGvl.of(
                 expectedVendorPermission, VendorV2.empty(1));
         final List<VendorPermissionWithGvl> vendorPermissionWithGvls = singletonList(expectedVendorPermissionWitGvl);
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, vendorPermissionWithGvls, true);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, vendorPermissionWithGvls, true);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, vendorPermissionWithGvls, true);
+        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, vendorPermissionWithGvls, null,
+                true);
+        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, vendorPermissionWithGvls, null,
+                true);
+        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, vendorPermissionWithGvls, null,
+                true);
 
         final Purpose expectedDowngradedPurpose = Purpose.of(EnforcePurpose.basic, purpose7.getEnforceVendors(),
                 purpose1.getVendorExceptions());
         verify(purposeStrategySeven).processTypePurposeStrategy(tcString, expectedDowngradedPurpose,
-                vendorPermissionWithGvls, true);
+                vendorPermissionWithGvls, null, true);
         verifyEachSpecialFeatureStrategyReceive(singletonList(expectedVendorPermission));
 
         verify(bidderCatalog).nameByVendorId(1);
@@ -221,6 +233,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 tcString,
                 accountPurposeOne,
                 singletonList(VendorPermissionWithGvl.of(expectedVendorPermission, VendorV2.empty(null))),
+                vendorList,
                 false);
         verify(tcString).getVendorListVersion();
         verify(vendorListService).forVersion(10);
@@ -334,10 +347,11 @@ public class Tcf2ServiceTest extends VertxTest {
         assertThat(result).succeededWith(
                 singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
 
-        verify(purposeStrategyOne, never()).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+        verify(purposeStrategyOne, never()).processTypePurposeStrategy(any(), any(), anyCollection(), any(),
+                anyBoolean());
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
 
         verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
     }
@@ -360,11 +374,12 @@ public class Tcf2ServiceTest extends VertxTest {
         target.permissionsFor(singleton(1), tcString);
 
         // then
-        verify(purposeStrategyOne, never()).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+        verify(purposeStrategyOne, never()).processTypePurposeStrategy(any(), any(), anyCollection(), any(),
+                anyBoolean());
         verify(purposeStrategyOne).allow(any());
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
 
         verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
     }
@@ -388,19 +403,87 @@ public class Tcf2ServiceTest extends VertxTest {
 
         // then
         verify(purposeStrategyOne, never()).allow(any());
-        verify(purposeStrategyOne).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
+
+        verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
+    }
+
+    @Test
+    public void permissionsForShouldReuseCachedPermissionsForSameConsent() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, new ConcurrentHashMap<>(), metrics);
+
+        target.permissionsFor(singleton(1), tcString);
+
+        // when
+        final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
 
+        // then
+        assertThat(result).succeededWith(
+                singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
+
+        verify(purposeStrategyOne).processTypePurposeStrategy(any(), any(), anyCollection(), any(), anyBoolean());
         verify(specialFeaturesStrategyOne).processSpecialFeaturesStrategy(any(), any(), anyCollection());
+        verify(vendorListService).forVersion(10);
+        verify(metrics).updateTcfPermissionsCacheMetrics(0, 1);
+        verify(metrics).updateTcfPermissionsCacheMetrics(1, 0);
+    }
+
+    @Test
+    public void permissionsForShouldNotShareCachedActionsBetweenCalls() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, new ConcurrentHashMap<>(), metrics);
+
+        target.permissionsFor(singleton(1), tcString).result().iterator().next()
+                .getPrivacyEnforcementAction().setBlockBidderRequest(false);
+        target.permissionsFor(singleton(1), tcString).result().iterator().next()
+                .getPrivacyEnforcementAction().setMaskGeo(false);
+
+        // when
+        final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        assertThat(result).succeededWith(
+                singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
+    }
+
+    @Test
+    public void permissionsForShouldNotCachePermissionsWhenVendorListServiceIsFailed() {
+        // given
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.failedFuture("Bad version"));
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, new ConcurrentHashMap<>(), metrics);
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        target.permissionsFor(singleton(1), tcString);
+
+        // then
+        verify(purposeStrategyOne, times(2)).processTypePurposeStrategy(any(), any(), anyCollection(), any(),
+                anyBoolean());
+        verify(metrics, times(2)).updateTcfPermissionsCacheMetrics(0, 1);
     }
 
     public void verifyEachPurposeStrategyReceive(List<VendorPermissionWithGvl> vendorPermissionWithGvls) {
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, vendorPermissionWithGvls, false);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, vendorPermissionWithGvls, false);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, vendorPermissionWithGvls, false);
-        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, purpose7, vendorPermissionWithGvls, false);
+        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, vendorPermissionWithGvls,
+                vendorList, false);
+        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, vendorPermissionWithGvls,
+                vendorList, false);
+        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, vendorPermissionWithGvls,
+                vendorList, false);
+        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, purpose7, vendorPermissionWithGvls,
+                vendorList, false);
     }
 
     public void verifyEachSpecialFeatureStrategyReceive(List<VendorPermission> vendorPermission) {
@@ -1,10 +1,12 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -24,18 +26,24 @@ import org.prebid.server.settings.model.Purposes;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
@@ -409,10 +417,57 @@ public class TcfDefinerServiceTest {
         verify(metrics).updatePrivacyTcfGeoMetric(2, null);
     }
 
+    @Test
+    public void resultForBidderNamesShouldDecodeConsentStringOnceIfCacheIsEnabled() {
+        // given
+        target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
+                geoLocationService, bidderCatalog, metrics, new ConcurrentHashMap<>());
+
+        given(tcf2Service.permissionsFor(anySet(), any(), any(), any())).willReturn(Future.succeededFuture(
+                singletonList(VendorPermission.of(1, "b1", PrivacyEnforcementAction.allowAll()))));
+
+        final String consent = "COwayg7OwaybYN6AAAENAPCgAIAAAAAAAAAAASkAAAAAAAAAAA";
+
+        // when
+        target.resultForBidderNames(singleton("b1"), "1", consent, null, null, null);
+        target.resultForBidderNames(singleton("b1"), "1", consent, null, null, null);
+
+        // then
+        final ArgumentCaptor<TCString> tcStringCaptor = ArgumentCaptor.forClass(TCString.class);
+        verify(tcf2Service, times(2)).permissionsFor(anySet(), any(), tcStringCaptor.capture(), any());
+        Assertions.assertThat(tcStringCaptor.getAllValues().get(0)).isSameAs(tcStringCaptor.getAllValues().get(1));
+
+        verify(metrics).updateTcfConsentCacheMetric(false);
+        verify(metrics).updateTcfConsentCacheMetric(true);
+        verify(metrics).updateTcfConsentDecodeTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void resultForBidderNamesShouldTreatConsentStringWithUnparsableFieldsAsInvalidAndNotCacheIt() {
+        // given
+        final Map<String, TCString> tcStringCache = new ConcurrentHashMap<>();
+        target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
+                geoLocationService, bidderCatalog, metrics, tcStringCache);
+
+        given(tcf2Service.permissionsFor(anySet(), any(), any(), any())).willReturn(Future.succeededFuture(
+                singletonList(VendorPermission.of(1, "b1", PrivacyEnforcementAction.allowAll()))));
+
+        // version 2 string truncated in the middle of core fields
+        final String consent = "COwayg7OwaybYN6AAAENAPCgAI";
+
+        // when
+        target.resultForBidderNames(singleton("b1"), "1", consent, null, null, null);
+
+        // then
+        Assertions.assertThat(tcStringCache).isEmpty();
+        verify(tcf2Service).permissionsFor(anySet(), any(), argThat(arg -> arg.getClass() == TCStringEmpty.class),
+                any());
+    }
+
     @Test
     public void isGdprConsentValidShouldReturnTrueWhenStringIsValid() {
         // when
-        final boolean result = TcfDefinerService.isGdprConsentValid("BOEFEAyOEFEAyAHABDENAI4AAAB9vABAASA");
+        final boolean result = target.isGdprConsentValid("BOEFEAyOEFEAyAHABDENAI4AAAB9vABAASA");
 
         // then
         Assertions.assertThat(result).isTrue();
@@ -421,16 +476,33 @@ public class TcfDefinerServiceTest {
     @Test
     public void isGdprConsentValidShouldReturnFalseWhenStringIsNull() {
         // when
-        final boolean result = TcfDefinerService.isGdprConsentValid(null);
+        final boolean result = target.isGdprConsentValid(null);
 
         // then
         Assertions.assertThat(result).isFalse();
     }
 
+    @Test
+    public void isGdprConsentValidShouldCacheDecodedConsentString() {
+        // given
+        final Map<String, TCString> tcStringCache = new ConcurrentHashMap<>();
+        target = new TcfDefinerService(gdprConfig, singleton(EEA_COUNTRY), gdprService, tcf2Service,
+                geoLocationService, bidderCatalog, metrics, tcStringCache);
+
+        final String consent = "COwayg7OwaybYN6AAAENAPCgAIAAAAAAAAAAASkAAAAAAAAAAA";
+
+        // when
+        final boolean result = target.isGdprConsentValid(consent);
+
+        // then
+        Assertions.assertThat(result).isTrue();
+        Assertions.assertThat(tcStringCache).containsOnlyKeys(consent);
+    }
+
     @Test
     public void isGdprConsentValidShouldReturnFalseWhenStringNotValid() {
         // when
-        final boolean result = TcfDefinerService.isGdprConsentValid("invalid");
+        final boolean result = target.isGdprConsentValid("invalid");
 
         // then
         Assertions.assertThat(result).isFalse();
@@ -13,16 +13,20 @@ import org.mockito.junit.MockitoRule;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorListV2;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -1037,5 +1041,75 @@ public class FullEnforcePurposeStrategyTest {
         // then
         assertThat(result).usingFieldByFieldElementComparator().containsOnly(vendorPermission2);
     }
-}
 
+    @Test
+    public void shouldReturnSameResultForCompiledVendorListAsForGvlOfEachVendor() {
+        // given
+        given(tcString.getPublisherRestrictions()).willReturn(emptyList());
+        given(purposesConsent.contains(PURPOSE_ID)).willReturn(true);
+        given(purposesLI.contains(PURPOSE_ID)).willReturn(true);
+        given(allowedVendors.contains(1)).willReturn(true);
+        given(allowedVendorsLI.contains(2)).willReturn(true);
+        given(allowedVendorsLI.contains(3)).willReturn(true);
+
+        final VendorV2 consentVendor = VendorV2.builder().id(1).purposes(singleton(PURPOSE_ID)).build();
+        final VendorV2 legIntVendor = VendorV2.builder().id(2).legIntPurposes(singleton(PURPOSE_ID)).build();
+        final VendorV2 flexibleVendor = VendorV2.builder().id(3).purposes(singleton(PURPOSE_ID))
+                .flexiblePurposes(singleton(PURPOSE_ID)).build();
+        final VendorV2 notConsentedVendor = VendorV2.builder().id(4).purposes(singleton(PURPOSE_ID)).build();
+        final CompiledVendorListV2 vendorList = CompiledVendorListV2.of(Arrays.asList(consentVendor, legIntVendor,
+                flexibleVendor, notConsentedVendor).stream()
+                .collect(Collectors.toMap(VendorV2::getId, Function.identity())));
+
+        final VendorPermission vendorPermission1 = VendorPermission.of(1, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission2 = VendorPermission.of(2, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission3 = VendorPermission.of(3, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission4 = VendorPermission.of(4, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission5 = VendorPermission.of(5, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission6 = VendorPermission.of(null, "b6",
+                PrivacyEnforcementAction.restrictAll());
+        final List<VendorPermissionWithGvl> vendorPermissionWithGvls = Arrays.asList(
+                VendorPermissionWithGvl.of(vendorPermission1, consentVendor),
+                VendorPermissionWithGvl.of(vendorPermission2, legIntVendor),
+                VendorPermissionWithGvl.of(vendorPermission3, flexibleVendor),
+                VendorPermissionWithGvl.of(vendorPermission4, notConsentedVendor),
+                VendorPermissionWithGvl.of(vendorPermission5, VendorV2.empty(5)),
+                VendorPermissionWithGvl.of(vendorPermission6, VendorV2.empty(null)));
+        final List<VendorPermissionWithGvl> excludedVendors = singletonList(
+                VendorPermissionWithGvl.of(VendorPermission.of(7, null, PrivacyEnforcementAction.restrictAll()),
+                        VendorV2.empty(7)));
+
+        // when
+        final Collection<VendorPermission> result = target.allowedByTypeStrategy(PURPOSE_ID, tcString,
+                vendorPermissionWithGvls, excludedVendors, vendorList, true);
+
+        // then
+        assertThat(result).usingFieldByFieldElementComparator()
+                .containsOnly(vendorPermission1, vendorPermission2, vendorPermission3,
+                        excludedVendors.get(0).getVendorPermission())
+                .containsOnlyElementsOf(target.allowedByTypeStrategy(PURPOSE_ID, tcString,
+                        vendorPermissionWithGvls, excludedVendors, true));
+    }
+
+    @Test
+    public void shouldCheckVendorsOneByOneWhenCompiledVendorListGivenAndPublisherRestrictionsProvided() {
+        // given
+        given(purposesConsent.contains(PURPOSE_ID)).willReturn(true);
+        given(vendorIds.contains(1)).willReturn(true);
+        given(vendorIds.spliterator()).willReturn(singletonList(1).spliterator());
+        given(publisherRestriction.getRestrictionType()).willReturn(RestrictionType.NOT_ALLOWED);
+
+        final VendorV2 vendorGvl = VendorV2.builder().id(1).purposes(singleton(PURPOSE_ID)).build();
+        final CompiledVendorListV2 vendorList = CompiledVendorListV2.of(singletonMap(1, vendorGvl));
+
+        final VendorPermission vendorPermission = VendorPermission.of(1, null, PrivacyEnforcementAction.restrictAll());
+
+        // when
+        final Collection<VendorPermission> result = target.allowedByTypeStrategy(PURPOSE_ID, tcString,
+                singletonList(VendorPermissionWithGvl.of(vendorPermission, vendorGvl)), emptyList(), vendorList,
+                false);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import org.junit.Test;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledVendorListV2Test {
+
+    @Test
+    public void ofShouldCompileVendorIdsByPurposes() {
+        // given
+        final Map<Integer, VendorV2> vendors = new HashMap<>();
+        vendors.put(1, VendorV2.builder()
+                .id(1)
+                .purposes(new HashSet<>(asList(1, 2)))
+                .legIntPurposes(singleton(3))
+                .flexiblePurposes(singleton(2))
+                .build());
+        vendors.put(700, VendorV2.builder()
+                .id(700)
+                .purposes(singleton(2))
+                .legIntPurposes(emptySet())
+                .build());
+
+        // when
+        final CompiledVendorListV2 vendorList = CompiledVendorListV2.of(vendors);
+
+        // then
+        assertThat(vendorList.getVendors()).isEqualTo(vendors);
+        assertThat(vendorList.vendorsWithPurpose(1)).isEqualTo(bitSet(1));
+        assertThat(vendorList.vendorsWithPurpose(2)).isEqualTo(bitSet(1, 700));
+        assertThat(vendorList.vendorsWithLegIntPurpose(3)).isEqualTo(bitSet(1));
+        assertThat(vendorList.vendorsWithFlexiblePurpose(2)).isEqualTo(bitSet(1));
+    }
+
+    @Test
+    public void vendorsWithPurposeShouldReturnEmptyBitSetForUnknownPurpose() {
+        // given
+        final CompiledVendorListV2 vendorList = CompiledVendorListV2.of(emptyMap());
+
+        // when and then
+        assertThat(vendorList.vendorsWithPurpose(1).isEmpty()).isTrue();
+        assertThat(vendorList.vendorsWithLegIntPurpose(-1).isEmpty()).isTrue();
+        assertThat(vendorList.vendorsWithFlexiblePurpose(100).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void vendorsWithPurposeShouldReturnCopyWhichCanBeModified() {
+        // given
+        final CompiledVendorListV2 vendorList = CompiledVendorListV2.of(
+                singletonMap(5, VendorV2.builder().id(5).purposes(singleton(1)).build()));
+
+        // when
+        vendorList.vendorsWithPurpose(1).clear();
+
+        // then
+        assertThat(vendorList.vendorsWithPurpose(1)).isEqualTo(bitSet(5));
+    }
+
+    private static BitSet bitSet(int... ids) {
+        final BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
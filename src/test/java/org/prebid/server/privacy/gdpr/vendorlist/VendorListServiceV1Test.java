@@ -56,7 +56,7 @@ public class VendorListServiceV1Test extends VertxTest {
     @Mock
     private BidderCatalog bidderCatalog;
 
-    private VendorListService<VendorListV1, VendorV1> vendorListService;
+    private VendorListService<VendorListV1, Map<Integer, VendorV1>> vendorListService;
 
     @Before
     public void setUp() {
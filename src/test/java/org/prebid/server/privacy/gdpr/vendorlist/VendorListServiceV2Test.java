@@ -31,6 +31,7 @@ import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -57,7 +58,7 @@ public class VendorListServiceV2Test extends VertxTest {
     @Mock
     private BidderCatalog bidderCatalog;
 
-    private VendorListService<VendorListV2, VendorV2> vendorListService;
+    private VendorListService<VendorListV2, CompiledVendorListV2> vendorListService;
 
     @Before
     public void setUp() {
@@ -124,6 +125,27 @@ public class VendorListServiceV2Test extends VertxTest {
                 .hasMessage("Cannot parse vendor list from: invalid");
     }
 
+    @Test
+    public void creationShouldCompileVendorListsFromFiles() throws JsonProcessingException {
+        // given
+        given(fileSystem.readDirBlocking(anyString())).willReturn(singletonList("1.json"));
+        given(fileSystem.readFileBlocking(anyString()))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+
+        // when
+        vendorListService = new VendorListServiceV2(CACHE_DIR, "http://vendorlist/{VERSION}", 0, null, bidderCatalog,
+                fileSystem, httpClient, metrics, jacksonMapper);
+
+        // then
+        final Future<CompiledVendorListV2> result = vendorListService.forVersion(1);
+        assertThat(result).isSucceeded();
+        assertThat(result.result().vendorsWithPurpose(1).get(52)).isTrue();
+        assertThat(result.result().vendorsWithLegIntPurpose(2).get(52)).isTrue();
+        assertThat(result.result().vendorsWithFlexiblePurpose(1).isEmpty()).isTrue();
+
+        verify(httpClient, never()).get(anyString(), anyLong());
+    }
+
     // Http related tests
 
     @Test
@@ -286,7 +308,7 @@ public class VendorListServiceV2Test extends VertxTest {
         givenHttpClientProducesException(new RuntimeException());
 
         // when
-        final Future<Map<Integer, VendorV2>> future = vendorListService.forVersion(1);
+        final Future<CompiledVendorListV2> future = vendorListService.forVersion(1);
 
         // then
         assertThat(future).isFailed().hasMessage("TCF 2 vendor list for version 1 not fetched yet, try again later.");
@@ -302,10 +324,11 @@ public class VendorListServiceV2Test extends VertxTest {
 
         // when
         vendorListService.forVersion(1); // populate cache
-        final Future<Map<Integer, VendorV2>> result = vendorListService.forVersion(1);
+        final Future<CompiledVendorListV2> result = vendorListService.forVersion(1);
 
         // then
-        assertThat(result).succeededWith(singletonMap(
+        assertThat(result).isSucceeded();
+        assertThat(result.result().getVendors()).isEqualTo(singletonMap(
                 52, VendorV2.builder()
                         .id(52)
                         .purposes(singleton(1))
@@ -350,10 +373,11 @@ public class VendorListServiceV2Test extends VertxTest {
 
         // when
         vendorListService.forVersion(1); // populate cache
-        final Future<Map<Integer, VendorV2>> future = vendorListService.forVersion(1);
+        final Future<CompiledVendorListV2> future = vendorListService.forVersion(1);
 
         // then
-        assertThat(future).succeededWith(idToVendor);
+        assertThat(future).isSucceeded();
+        assertThat(future.result().getVendors()).isEqualTo(idToVendor);
     }
 
     // Metrics tests
@@ -1,6 +1,7 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -11,6 +12,8 @@ import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
@@ -18,7 +21,12 @@ import org.prebid.server.settings.model.StoredResponseDataResult;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
@@ -43,6 +51,8 @@ public class CachingApplicationSettingsTest {
 
     @Mock
     private ApplicationSettings applicationSettings;
+    @Mock
+    private Metrics metrics;
 
     private CachingApplicationSettings cachingApplicationSettings;
 
@@ -53,7 +63,7 @@ public class CachingApplicationSettingsTest {
         timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault())).create(500L);
 
         cachingApplicationSettings = new CachingApplicationSettings(applicationSettings, new SettingsCache(360, 100),
-                new SettingsCache(360, 100), new SettingsCache(360, 100), 360, 100);
+                new SettingsCache(360, 100), new SettingsCache(360, 100), metrics, 360, 100, 0);
     }
 
     @Test
@@ -262,6 +272,201 @@ public class CachingApplicationSettingsTest {
                 .isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(), singletonList("error")));
     }
 
+    @Test
+    public void getAccountByIdShouldCoalesceConcurrentLookupsOfTheSameAccount() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(applicationSettings.getAccountById(anyString(), any())).willReturn(promise.future());
+
+        // when
+        final Future<Account> firstFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> secondFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        final Account account = Account.builder().id("accountId").build();
+        promise.complete(account);
+
+        // then
+        verify(applicationSettings).getAccountById(eq("accountId"), same(timeout));
+        assertThat(firstFuture.result()).isSameAs(account);
+        assertThat(secondFuture.result()).isSameAs(account);
+        verify(metrics).updateSettingsCacheMetric("account", MetricName.settings_cache_coalesced, 1);
+    }
+
+    @Test
+    public void getStoredDataShouldCoalesceConcurrentLookupsOfTheSameIds() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(applicationSettings.getStoredData(eq(singleton("id1")), anySet(), any())).willReturn(promise.future());
+        given(applicationSettings.getStoredData(eq(singleton("id2")), anySet(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(singletonMap("id2", "json2"), emptyMap(),
+                        emptyList())));
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                cachingApplicationSettings.getStoredData(singleton("id1"), emptySet(), timeout);
+        final Future<StoredDataResult> secondFuture =
+                cachingApplicationSettings.getStoredData(new HashSet<>(asList("id1", "id2")), emptySet(), timeout);
+
+        promise.complete(StoredDataResult.of(singletonMap("id1", "json1"), emptyMap(), emptyList()));
+
+        // then
+        verify(applicationSettings).getStoredData(eq(singleton("id1")), eq(emptySet()), same(timeout));
+        verify(applicationSettings).getStoredData(eq(singleton("id2")), eq(emptySet()), same(timeout));
+        verifyNoMoreInteractions(applicationSettings);
+
+        assertThat(firstFuture.result())
+                .isEqualTo(StoredDataResult.of(singletonMap("id1", "json1"), emptyMap(), emptyList()));
+        final Map<String, String> expectedStoredIdToRequest = new HashMap<>();
+        expectedStoredIdToRequest.put("id1", "json1");
+        expectedStoredIdToRequest.put("id2", "json2");
+        assertThat(secondFuture.result())
+                .isEqualTo(StoredDataResult.of(expectedStoredIdToRequest, emptyMap(), emptyList()));
+        verify(metrics).updateSettingsCacheMetric("stored_data", MetricName.settings_cache_coalesced, 1);
+    }
+
+    @Test
+    public void getAccountByIdShouldFetchAccountUnderOwnTimeoutIfJoinedLookupFailed() {
+        // given
+        final Timeout otherTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(100L);
+        final Promise<Account> promise = Promise.promise();
+        given(applicationSettings.getAccountById(anyString(), same(otherTimeout))).willReturn(promise.future());
+
+        final Account account = Account.builder().id("accountId").build();
+        given(applicationSettings.getAccountById(anyString(), same(timeout)))
+                .willReturn(Future.succeededFuture(account));
+
+        // when
+        final Future<Account> firstFuture = cachingApplicationSettings.getAccountById("accountId", otherTimeout);
+        final Future<Account> secondFuture = cachingApplicationSettings.getAccountById("accountId", timeout);
+
+        promise.fail(new TimeoutException("Timeout has been exceeded"));
+
+        // then
+        assertThat(firstFuture.failed()).isTrue();
+        assertThat(secondFuture.result()).isSameAs(account);
+    }
+
+    @Test
+    public void getAccountByIdShouldNotFetchAccountAgainIfJoinedLookupFailedAfterOwnTimeoutExpired() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(applicationSettings.getAccountById(anyString(), same(timeout))).willReturn(promise.future());
+
+        // when
+        cachingApplicationSettings.getAccountById("accountId", timeout);
+        final Future<Account> future = cachingApplicationSettings.getAccountById("accountId", timeout.minus(500L));
+
+        promise.fail(new TimeoutException("Timeout has been exceeded"));
+
+        // then
+        verify(applicationSettings).getAccountById(anyString(), any());
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void getStoredDataShouldFetchIdsUnderOwnTimeoutIfJoinedLookupFailed() {
+        // given
+        final Timeout otherTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(100L);
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(applicationSettings.getStoredData(anySet(), anySet(), same(otherTimeout))).willReturn(promise.future());
+        given(applicationSettings.getStoredData(eq(singleton("id1")), anySet(), same(timeout)))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(singletonMap("id1", "json1"), emptyMap(),
+                        emptyList())));
+        given(applicationSettings.getStoredData(eq(singleton("id2")), anySet(), same(timeout)))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(singletonMap("id2", "json2"), emptyMap(),
+                        emptyList())));
+
+        // when
+        final Future<StoredDataResult> firstFuture =
+                cachingApplicationSettings.getStoredData(singleton("id1"), emptySet(), otherTimeout);
+        final Future<StoredDataResult> secondFuture =
+                cachingApplicationSettings.getStoredData(new HashSet<>(asList("id1", "id2")), emptySet(), timeout);
+
+        promise.fail(new TimeoutException("Timeout has been exceeded"));
+
+        // then
+        verify(applicationSettings).getStoredData(eq(singleton("id1")), eq(emptySet()), same(timeout));
+
+        assertThat(firstFuture.failed()).isTrue();
+        final Map<String, String> expectedStoredIdToRequest = new HashMap<>();
+        expectedStoredIdToRequest.put("id1", "json1");
+        expectedStoredIdToRequest.put("id2", "json2");
+        assertThat(secondFuture.result())
+                .isEqualTo(StoredDataResult.of(expectedStoredIdToRequest, emptyMap(), emptyList()));
+    }
+
+    @Test
+    public void getStoredDataShouldReturnErrorForIdNotFoundByConcurrentLookup() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(applicationSettings.getStoredData(anySet(), anySet(), any())).willReturn(promise.future());
+
+        // when
+        cachingApplicationSettings.getStoredData(emptySet(), singleton("id"), timeout);
+        final Future<StoredDataResult> future =
+                cachingApplicationSettings.getStoredData(emptySet(), singleton("id"), timeout);
+
+        promise.complete(StoredDataResult.of(emptyMap(), emptyMap(), singletonList("error")));
+
+        // then
+        verify(applicationSettings).getStoredData(anySet(), anySet(), any());
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(),
+                singletonList("No stored imp found for id: id")));
+    }
+
+    @Test
+    public void getStoredDataShouldNotLookUpIdsKnownToBeMissingIfNegativeTtlIsPositive() {
+        // given
+        cachingApplicationSettings = new CachingApplicationSettings(applicationSettings,
+                new SettingsCache(360, 100, 0, 10, null), new SettingsCache(360, 100), new SettingsCache(360, 100),
+                metrics, 360, 100, 0);
+
+        given(applicationSettings.getStoredData(anySet(), anySet(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(emptyMap(), emptyMap(),
+                        singletonList("error"))));
+
+        // when
+        cachingApplicationSettings.getStoredData(singleton("id"), emptySet(), timeout);
+        final Future<StoredDataResult> future =
+                cachingApplicationSettings.getStoredData(singleton("id"), emptySet(), timeout);
+
+        // then
+        verify(applicationSettings).getStoredData(anySet(), anySet(), any());
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(),
+                singletonList("No stored request found for id: id")));
+        verify(metrics).updateSettingsCacheMetric("stored_data", MetricName.settings_cache_negative_hits, 1);
+    }
+
+    @Test
+    public void getStoredDataShouldRefreshStaleIdsInBackgroundIfRefreshAheadIsEnabled() {
+        // given
+        final SettingsCache settingsCache = new SettingsCache(360, 100, 30, 0, null);
+        cachingApplicationSettings = new CachingApplicationSettings(applicationSettings, settingsCache,
+                new SettingsCache(360, 100), new SettingsCache(360, 100), metrics, 360, 100, 30);
+
+        // put directly, so entry is not marked as fresh
+        settingsCache.getRequestCache().put("id", "json");
+
+        given(applicationSettings.getStoredData(anySet(), anySet(), any()))
+                .willReturn(Future.succeededFuture(StoredDataResult.of(singletonMap("id", "updated"), emptyMap(),
+                        emptyList())));
+
+        // when
+        final Future<StoredDataResult> future =
+                cachingApplicationSettings.getStoredData(singleton("id"), emptySet(), timeout);
+        cachingApplicationSettings.getStoredData(singleton("id"), emptySet(), timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(singletonMap("id", "json"), emptyMap(),
+                emptyList()));
+        verify(applicationSettings).getStoredData(eq(singleton("id")), eq(emptySet()), same(timeout));
+        assertThat(settingsCache.getRequestCache()).containsEntry("id", "updated");
+        verify(metrics).updateSettingsCacheMetric("stored_data", MetricName.settings_cache_refreshes, 1);
+    }
+
     @Test
     public void getStoredResponseShouldPropagateFailure() {
         // given
@@ -0,0 +1,98 @@
+package org.prebid.server.settings;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(VertxUnitRunner.class)
+public class InFlightLookupsTest {
+
+    private Vertx vertx;
+
+    private InFlightLookups<String> inFlightLookups;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        inFlightLookups = new InFlightLookups<>();
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void joinOrStartShouldStartLookupOfKeyNotBeingLookedUp() {
+        // when
+        final List<Future<String>> joinedLookups = new ArrayList<>();
+        final Set<String> startedKeys = inFlightLookups.joinOrStart(singleton("key"), timeout(1000L), joinedLookups);
+
+        // then
+        assertThat(startedKeys).containsOnly("key");
+        assertThat(joinedLookups).isEmpty();
+    }
+
+    @Test
+    public void completeShouldNotifyJoinedLookupOnItsOwnContext(TestContext context) {
+        // given
+        inFlightLookups.joinOrStart(singleton("key"), timeout(1000L), new ArrayList<>());
+
+        final Context joinedContext = vertx.getOrCreateContext();
+
+        // when
+        joinedContext.runOnContext(ignored -> {
+            final List<Future<String>> joinedLookups = new ArrayList<>();
+            inFlightLookups.joinOrStart(singleton("key"), timeout(1000L), joinedLookups);
+
+            joinedLookups.get(0).setHandler(context.asyncAssertSuccess(result -> {
+                // then
+                context.assertEquals("value", result);
+                context.assertEquals(joinedContext, Vertx.currentContext());
+            }));
+
+            vertx.<Void>executeBlocking(promise -> {
+                inFlightLookups.complete(singleton("key"), Future.succeededFuture("value"));
+                promise.complete();
+            }, null);
+        });
+    }
+
+    @Test
+    public void joinedLookupShouldFailWhenItsOwnTimeoutExpires(TestContext context) {
+        // given
+        inFlightLookups.joinOrStart(singleton("key"), timeout(1000L), new ArrayList<>());
+
+        // when
+        vertx.runOnContext(ignored -> {
+            final List<Future<String>> joinedLookups = new ArrayList<>();
+            inFlightLookups.joinOrStart(singleton("key"), timeout(10L), joinedLookups);
+
+            joinedLookups.get(0).setHandler(context.asyncAssertFailure(throwable ->
+                    // then
+                    context.assertTrue(throwable instanceof TimeoutException)));
+        });
+    }
+
+    private static Timeout timeout(long timeout) {
+        return new TimeoutFactory(Clock.systemUTC()).create(timeout);
+    }
+}
@@ -1,5 +1,7 @@
 package org.prebid.server.settings;
 
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
@@ -38,6 +40,7 @@ import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -47,6 +50,8 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.verify;
 
 @RunWith(VertxUnitRunner.class)
 public class JdbcApplicationSettingsTest extends VertxTest {
@@ -558,6 +563,106 @@ public class JdbcApplicationSettingsTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void getStoredDataShouldReturnExpectedResultIfIdsArePaddedToBucketSize(TestContext context) {
+        // when
+        final Future<StoredDataResult> future = jdbcApplicationSettings.getStoredData(
+                new HashSet<>(asList("1", "2", "3")), emptySet(), timeout);
+
+        // then
+        final Async async = context.async();
+        final Map<String, String> expectedRequests = new HashMap<>();
+        expectedRequests.put("1", "value1");
+        expectedRequests.put("2", "value2");
+        future.setHandler(context.asyncAssertSuccess(storedRequestResult -> {
+            assertThat(storedRequestResult).isEqualTo(StoredDataResult.of(expectedRequests, emptyMap(),
+                    singletonList("No stored request found for id: 3")));
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldMergeConcurrentLookupsIntoSingleQueryIfBatchingIsEnabled(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(jdbcClient(), jacksonMapper, SELECT_QUERY,
+                SELECT_QUERY, SELECT_RESPONSE_QUERY, vertx, metrics, 10, 100);
+
+        // when
+        final Future<StoredDataResult> firstFuture = jdbcApplicationSettings.getStoredData(
+                singleton("1"), singleton("4"), timeout);
+        final Future<StoredDataResult> secondFuture = jdbcApplicationSettings.getStoredData(
+                new HashSet<>(asList("2", "3")), emptySet(), timeout);
+
+        // then
+        final Async async = context.async();
+        CompositeFuture.all(firstFuture, secondFuture).setHandler(context.asyncAssertSuccess(ignored -> {
+            assertThat(firstFuture.result()).isEqualTo(StoredDataResult.of(singletonMap("1", "value1"),
+                    singletonMap("4", "value4"), emptyList()));
+            assertThat(secondFuture.result()).isEqualTo(StoredDataResult.of(singletonMap("2", "value2"),
+                    emptyMap(), singletonList("No stored request found for id: 3")));
+            verify(metrics).updateStoredDataBatchSizeMetric(2);
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldQueryBatchBeforeWindowExpiresIfMaxBatchSizeIsReached(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(jdbcClient(), jacksonMapper, SELECT_QUERY,
+                SELECT_QUERY, SELECT_RESPONSE_QUERY, vertx, metrics, 60000, 2);
+
+        // when
+        final Future<StoredDataResult> future = jdbcApplicationSettings.getStoredData(
+                singleton("1"), singleton("5"), timeout);
+
+        // then
+        final Async async = context.async();
+        future.setHandler(context.asyncAssertSuccess(storedRequestResult -> {
+            assertThat(storedRequestResult).isEqualTo(StoredDataResult.of(singletonMap("1", "value1"),
+                    singletonMap("5", "value5"), emptyList()));
+            verify(metrics).updateStoredDataBatchSizeMetric(1);
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldFailLookupAtItsOwnDeadlineWhileBatchIsPending(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(jdbcClient(), jacksonMapper, SELECT_QUERY,
+                SELECT_QUERY, SELECT_RESPONSE_QUERY, vertx, metrics, 60000, 100);
+
+        // when
+        final Future<StoredDataResult> future = jdbcApplicationSettings.getStoredData(
+                singleton("1"), emptySet(), new TimeoutFactory(clock).create(50L));
+
+        // then
+        final Async async = context.async();
+        future.setHandler(context.asyncAssertFailure(exception -> {
+            assertThat(exception).isInstanceOf(TimeoutException.class)
+                    .hasMessage("Timed out while executing SQL query");
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void getStoredDataShouldCompleteBatchedLookupOnContextItWasMadeFrom(TestContext context) {
+        // given
+        jdbcApplicationSettings = new JdbcApplicationSettings(jdbcClient(), jacksonMapper, SELECT_QUERY,
+                SELECT_QUERY, SELECT_RESPONSE_QUERY, vertx, metrics, 10, 100);
+
+        final Context lookupContext = vertx.getOrCreateContext();
+
+        // when
+        final Async async = context.async();
+        lookupContext.runOnContext(ignored -> jdbcApplicationSettings.getStoredData(singleton("1"), emptySet(), timeout)
+                .setHandler(context.asyncAssertSuccess(storedRequestResult -> {
+                    // then
+                    assertThat(Vertx.currentContext()).isSameAs(lookupContext);
+                    assertThat(storedRequestResult.getStoredIdToRequest()).containsOnly(entry("1", "value1"));
+                    async.complete();
+                })));
+    }
+
     private JdbcClient jdbcClient() {
         return new BasicJdbcClient(vertx, JDBCClient.createShared(vertx,
                 new JsonObject()
@@ -1,14 +1,30 @@
 package org.prebid.server.settings;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
 
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 
 public class SettingsCacheTest {
 
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private StoredDataTreeCache storedDataTreeCache;
+
     private SettingsCache settingsCache;
 
     @Before
@@ -53,4 +69,64 @@ public class SettingsCacheTest {
         assertThat(settingsCache.getImpCache()).hasSize(1)
                 .containsEntry("impId2", "impValue2");
     }
+
+    @Test
+    public void saveShouldForgetMissingIdsFoundLater() {
+        // given
+        settingsCache = new SettingsCache(10, 10, 0, 10, null);
+        settingsCache.saveMissing(singleton("reqId1"), singleton("impId1"));
+
+        // when
+        settingsCache.save(singletonMap("reqId1", "reqValue1"), emptyMap());
+
+        // then
+        assertThat(settingsCache.getMissingRequestIds(singleton("reqId1"))).isEmpty();
+        assertThat(settingsCache.getMissingImpIds(singleton("impId1"))).containsOnly("impId1");
+    }
+
+    @Test
+    public void getStaleRequestIdsShouldReturnIdsNotSavedSinceRefreshAheadPeriodStarted() {
+        // given
+        settingsCache = new SettingsCache(10, 10, 5, 0, null);
+        settingsCache.save(singletonMap("reqId1", "reqValue1"), emptyMap());
+        settingsCache.getRequestCache().put("reqId2", "reqValue2");
+
+        // when and then
+        assertThat(settingsCache.getStaleRequestIds(new HashSet<>(asList("reqId1", "reqId2"))))
+                .containsOnly("reqId2");
+    }
+
+    @Test
+    public void getStaleRequestIdsShouldReturnNothingIfRefreshAheadTimeIsNotLessThanTtl() {
+        // given
+        settingsCache = new SettingsCache(10, 10, 10, 0, null);
+        settingsCache.getRequestCache().put("reqId1", "reqValue1");
+
+        // when and then
+        assertThat(settingsCache.getStaleRequestIds(singleton("reqId1"))).isEmpty();
+    }
+
+    @Test
+    public void saveShouldPropagateItemsToStoredDataTreeCache() {
+        // given
+        settingsCache = new SettingsCache(10, 10, storedDataTreeCache);
+
+        // when
+        settingsCache.save(singletonMap("reqId1", "reqValue1"), singletonMap("impId1", "impValue1"));
+
+        // then
+        verify(storedDataTreeCache).save(singletonMap("reqId1", "reqValue1"), singletonMap("impId1", "impValue1"));
+    }
+
+    @Test
+    public void invalidateShouldPropagateIdsToStoredDataTreeCache() {
+        // given
+        settingsCache = new SettingsCache(10, 10, storedDataTreeCache);
+
+        // when
+        settingsCache.invalidate(singletonList("reqId1"), singletonList("impId1"));
+
+        // then
+        verify(storedDataTreeCache).invalidate(singletonList("reqId1"), singletonList("impId1"));
+    }
 }
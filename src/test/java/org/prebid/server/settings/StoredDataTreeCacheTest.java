@@ -0,0 +1,129 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.metric.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class StoredDataTreeCacheTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private StoredDataTreeCache storedDataTreeCache;
+
+    @Before
+    public void setUp() {
+        storedDataTreeCache = new StoredDataTreeCache(10, 10, jacksonMapper, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveTtlOrSize() {
+        assertThatThrownBy(() -> new StoredDataTreeCache(0, 10, jacksonMapper, metrics))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ttl and size must be positive");
+        assertThatThrownBy(() -> new StoredDataTreeCache(10, 0, jacksonMapper, metrics))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ttl and size must be positive");
+    }
+
+    @Test
+    public void getRequestTreeShouldParseJsonOnlyOnceForSameJson() {
+        // given
+        final String json = "{\"id\":\"reqId\"}";
+
+        // when
+        final JsonNode first = storedDataTreeCache.getRequestTree("reqId1", json);
+        final JsonNode second = storedDataTreeCache.getRequestTree("reqId1", json);
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(first.get("id").asText()).isEqualTo("reqId");
+        verify(metrics).updateStoredDataTreeCacheMetric(false);
+        verify(metrics).updateStoredDataTreeCacheMetric(true);
+        verify(metrics).updateStoredDataParseTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void getImpTreeShouldReparseJsonIfItWasChanged() {
+        // given
+        storedDataTreeCache.getImpTree("impId1", "{\"id\":\"old\"}");
+
+        // when
+        final JsonNode result = storedDataTreeCache.getImpTree("impId1", "{\"id\":\"new\"}");
+
+        // then
+        assertThat(result.get("id").asText()).isEqualTo("new");
+        verify(metrics, times(2)).updateStoredDataTreeCacheMetric(false);
+    }
+
+    @Test
+    public void getRequestTreeShouldFailIfJsonCannotBeParsed() {
+        assertThatThrownBy(() -> storedDataTreeCache.getRequestTree("reqId1", "{invalid"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Can't parse Json for stored request with id reqId1");
+    }
+
+    @Test
+    public void saveShouldParseTreesEagerly() {
+        // given
+        final String requestJson = "{\"id\":\"reqId\"}";
+        final String impJson = "{\"id\":\"impId\"}";
+
+        // when
+        storedDataTreeCache.save(singletonMap("reqId1", requestJson), singletonMap("impId1", impJson));
+        storedDataTreeCache.getRequestTree("reqId1", requestJson);
+        storedDataTreeCache.getImpTree("impId1", impJson);
+
+        // then
+        verify(metrics, times(2)).updateStoredDataTreeCacheMetric(true);
+        verify(metrics, times(2)).updateStoredDataParseTimeMetric(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void saveShouldSkipInvalidJson() {
+        // when
+        storedDataTreeCache.save(singletonMap("reqId1", "{invalid"), emptyMap());
+
+        // then
+        assertThatThrownBy(() -> storedDataTreeCache.getRequestTree("reqId1", "{invalid"))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(metrics).updateStoredDataTreeCacheMetric(false);
+    }
+
+    @Test
+    public void invalidateShouldRemoveTreesFromCache() {
+        // given
+        final String requestJson = "{\"id\":\"reqId\"}";
+        storedDataTreeCache.save(singletonMap("reqId1", requestJson), emptyMap());
+
+        // when
+        storedDataTreeCache.invalidate(singletonList("reqId1"), emptyList());
+        storedDataTreeCache.getRequestTree("reqId1", requestJson);
+
+        // then
+        verify(metrics).updateStoredDataTreeCacheMetric(false);
+    }
+}
@@ -1,12 +1,15 @@
 package org.prebid.server.settings.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -17,20 +20,28 @@ import org.prebid.server.settings.proto.response.HttpRefreshResponse;
 import org.prebid.server.vertx.http.HttpClient;
 import org.prebid.server.vertx.http.model.HttpClientResponse;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,6 +52,8 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
 
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Mock
     private CacheNotificationListener cacheNotificationListener;
@@ -167,6 +180,34 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
         verify(httpClient).get(startsWith("http://stored-requests.prebid.com?amp=true&last-modified="), anyLong());
     }
 
+    @Test
+    public void initializeShouldLoadSnapshotAndRequestOnlyUpdatesMadeSinceSnapshot() throws IOException {
+        // given
+        createSnapshot().write(expectedRequests, expectedImps, Instant.parse("2020-01-01T00:00:00Z"));
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        new HttpPeriodicRefreshService(ENDPOINT_URL, 1000, 2000, cacheNotificationListener, vertx, httpClient,
+                jacksonMapper, createSnapshot()).initialize();
+
+        // then
+        verify(httpClient, never()).get(eq(ENDPOINT_URL), anyLong());
+        verify(httpClient).get(eq(ENDPOINT_URL + "?last-modified=2020-01-01T00:00:00Z"), anyLong());
+        verify(cacheNotificationListener).invalidate(singletonList("id1"), emptyList());
+        verify(cacheNotificationListener).save(emptyMap(), expectedImps);
+
+        final StoredDataSnapshot.Content content = createSnapshot().load();
+        assertThat(content.getRequests()).isEmpty();
+        assertThat(content.getImps()).isEqualTo(expectedImps);
+    }
+
+    private StoredDataSnapshot createSnapshot() {
+        final String snapshotPath = new File(temporaryFolder.getRoot(), "stored-data.snapshot").getPath();
+        return new StoredDataSnapshot(snapshotPath, ENDPOINT_URL, 86400,
+                Clock.fixed(Instant.parse("2020-01-01T12:00:00Z"), ZoneId.systemDefault()));
+    }
+
     private static void createAndInitService(CacheNotificationListener notificationListener,
                                              String url, long refreshPeriod, long timeout,
                                              Vertx vertx, HttpClient httpClient) {
@@ -175,6 +216,16 @@ public class HttpPeriodicRefreshServiceTest extends VertxTest {
         httpPeriodicRefreshService.initialize();
     }
 
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> withBlockingHandlerAndResult() {
+        return invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        };
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T... objects) {
         return inv -> {
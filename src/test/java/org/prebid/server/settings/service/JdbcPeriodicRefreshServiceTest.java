@@ -1,11 +1,14 @@
 package org.prebid.server.settings.service;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -15,22 +18,29 @@ import org.prebid.server.settings.CacheNotificationListener;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.vertx.jdbc.JdbcClient;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Date;
 import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,6 +52,8 @@ public class JdbcPeriodicRefreshServiceTest {
 
     @Rule
     public final MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Mock
     private CacheNotificationListener cacheNotificationListener;
@@ -138,6 +150,94 @@ public class JdbcPeriodicRefreshServiceTest {
         verify(jdbcClient).executeQuery(anyString(), anyList(), any(), any());
     }
 
+    @Test
+    public void initializeShouldLoadSnapshotAndFetchOnlyUpdatesMadeSinceSnapshot() throws IOException {
+        // given
+        final Instant snapshotLastUpdate = Instant.parse("2020-01-01T00:00:00Z");
+        createSnapshot("init_query").write(singletonMap("id1", "value1"), singletonMap("id2", "value2"),
+                snapshotLastUpdate);
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        new JdbcPeriodicRefreshService(cacheNotificationListener, vertx, jdbcClient, 1000,
+                "init_query", "update_query", timeoutFactory, 2000, createSnapshot("init_query")).initialize();
+
+        // then
+        verify(jdbcClient, never()).executeQuery(eq("init_query"), anyList(), any(), any());
+        verify(jdbcClient).executeQuery(eq("update_query"), eq(singletonList(Date.from(snapshotLastUpdate))), any(),
+                any());
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verify(cacheNotificationListener).invalidate(singletonList("id1"), emptyList());
+        verify(cacheNotificationListener).save(emptyMap(), singletonMap("id2", "changed_value"));
+
+        final StoredDataSnapshot.Content content = createSnapshot("init_query").load();
+        assertThat(content.getRequests()).isEmpty();
+        assertThat(content.getImps()).containsOnly(entry("id2", "changed_value"));
+        assertThat(content.getLastUpdate()).isAfter(snapshotLastUpdate);
+    }
+
+    @Test
+    public void initializeShouldFetchAllAndWriteSnapshotIfThereIsNoSnapshot() throws IOException {
+        // given
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        new JdbcPeriodicRefreshService(cacheNotificationListener, vertx, jdbcClient, 1000,
+                "init_query", "update_query", timeoutFactory, 2000, createSnapshot("init_query")).initialize();
+
+        // then
+        verify(jdbcClient).executeQuery(eq("init_query"), eq(emptyList()), any(), any());
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+
+        final StoredDataSnapshot.Content content = createSnapshot("init_query").load();
+        assertThat(content.getRequests()).isEqualTo(expectedRequests);
+        assertThat(content.getImps()).isEqualTo(expectedImps);
+    }
+
+    @Test
+    public void initializeShouldFetchAllIfSnapshotWasWrittenForOtherInitialQuery() throws IOException {
+        // given
+        createSnapshot("other_init_query").write(singletonMap("id3", "value3"), emptyMap(),
+                Instant.parse("2020-01-01T00:00:00Z"));
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        new JdbcPeriodicRefreshService(cacheNotificationListener, vertx, jdbcClient, 1000,
+                "init_query", "update_query", timeoutFactory, 2000, createSnapshot("init_query")).initialize();
+
+        // then
+        verify(jdbcClient).executeQuery(eq("init_query"), eq(emptyList()), any(), any());
+        verify(cacheNotificationListener).save(expectedRequests, expectedImps);
+        verify(cacheNotificationListener, never()).save(singletonMap("id3", "value3"), emptyMap());
+
+        assertThat(createSnapshot("init_query").load().getRequests()).isEqualTo(expectedRequests);
+    }
+
+    @Test
+    public void initializeShouldFetchAllIfSnapshotIsTooOld() throws IOException {
+        // given
+        createSnapshot("init_query").write(singletonMap("id3", "value3"), emptyMap(),
+                Instant.parse("2019-12-30T00:00:00Z"));
+
+        willAnswer(withBlockingHandlerAndResult()).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        new JdbcPeriodicRefreshService(cacheNotificationListener, vertx, jdbcClient, 1000,
+                "init_query", "update_query", timeoutFactory, 2000, createSnapshot("init_query")).initialize();
+
+        // then
+        verify(jdbcClient).executeQuery(eq("init_query"), eq(emptyList()), any(), any());
+        verify(cacheNotificationListener, never()).save(singletonMap("id3", "value3"), emptyMap());
+    }
+
+    private StoredDataSnapshot createSnapshot(String source) {
+        final String snapshotPath = new File(temporaryFolder.getRoot(), "stored-data.snapshot").getPath();
+        return new StoredDataSnapshot(snapshotPath, source, 86400,
+                Clock.fixed(Instant.parse("2020-01-01T12:00:00Z"), ZoneId.systemDefault()));
+    }
+
     private static void createAndInitService(CacheNotificationListener cacheNotificationListener,
                                              Vertx vertx, JdbcClient jdbcClient, long refresh,
                                              String query, String updateQuery,
@@ -148,6 +248,16 @@ public class JdbcPeriodicRefreshServiceTest {
         jdbcPeriodicRefreshService.initialize();
     }
 
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> withBlockingHandlerAndResult() {
+        return invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        };
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T... objects) {
         return inv -> {
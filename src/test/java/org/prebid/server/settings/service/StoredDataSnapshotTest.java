@@ -0,0 +1,186 @@
+package org.prebid.server.settings.service;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.entry;
+
+public class StoredDataSnapshotTest {
+
+    private static final Instant LAST_UPDATE = Instant.parse("2020-01-01T10:15:30.123456789Z");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File snapshotFile;
+
+    private Clock clock;
+
+    private StoredDataSnapshot storedDataSnapshot;
+
+    @Before
+    public void setUp() {
+        snapshotFile = new File(temporaryFolder.getRoot(), "snapshots/stored-data.snapshot");
+        clock = Clock.fixed(LAST_UPDATE.plusSeconds(60), ZoneId.systemDefault());
+        storedDataSnapshot = createSnapshot("source", 3600);
+    }
+
+    @Test
+    public void loadShouldReturnNullIfThereIsNoSnapshotFile() throws IOException {
+        // when and then
+        assertThat(storedDataSnapshot.load()).isNull();
+    }
+
+    @Test
+    public void loadShouldReturnStoredDataWrittenBefore() throws IOException {
+        // given
+        final Map<String, String> requests = new HashMap<>();
+        requests.put("request1", "{\"field\":\"value1\"}");
+        requests.put("request2", "{\"field\":\"значение\"}");
+        storedDataSnapshot.write(requests, singletonMap("imp1", "{\"field\":\"value3\"}"), LAST_UPDATE);
+
+        // when
+        final StoredDataSnapshot.Content content = createSnapshot("source", 3600).load();
+
+        // then
+        assertThat(content).isNotNull();
+        assertThat(content.getRequests()).isEqualTo(requests);
+        assertThat(content.getImps()).containsOnly(entry("imp1", "{\"field\":\"value3\"}"));
+        assertThat(content.getLastUpdate()).isEqualTo(LAST_UPDATE);
+    }
+
+    @Test
+    public void loadShouldApplyAppendedChangesAndCompactSnapshot() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), singletonMap("imp1", "value2"), Instant.EPOCH);
+        storedDataSnapshot.append(emptyMap(), singletonMap("imp1", "changed_value"), singletonList("request1"),
+                emptyList(), LAST_UPDATE);
+
+        final StoredDataSnapshot loadedSnapshot = createSnapshot("source", 3600);
+
+        // when
+        final StoredDataSnapshot.Content content = loadedSnapshot.load();
+
+        // then
+        assertThat(content.getRequests()).isEmpty();
+        assertThat(content.getImps()).containsOnly(entry("imp1", "changed_value"));
+        assertThat(content.getLastUpdate()).isEqualTo(LAST_UPDATE);
+
+        final long compactedLength = snapshotFile.length();
+        createSnapshot("source", 3600).write(emptyMap(), singletonMap("imp1", "changed_value"), LAST_UPDATE);
+        assertThat(snapshotFile.length()).isEqualTo(compactedLength);
+    }
+
+    @Test
+    public void loadShouldReturnNullIfSnapshotWasWrittenForOtherSource() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), LAST_UPDATE);
+
+        // when and then
+        assertThat(createSnapshot("other_source", 3600).load()).isNull();
+    }
+
+    @Test
+    public void loadShouldReturnNullIfSnapshotIsOlderThanMaxAge() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), LAST_UPDATE);
+
+        // when and then
+        assertThat(createSnapshot("source", 59).load()).isNull();
+        assertThat(createSnapshot("source", 0).load()).isNotNull();
+    }
+
+    @Test
+    public void loadShouldIgnoreCorruptedTailOfSnapshot() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), Instant.EPOCH);
+        storedDataSnapshot.append(singletonMap("request2", "value2"), emptyMap(), emptyList(), emptyList(),
+                LAST_UPDATE);
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.seek(file.length() - 11);
+            file.write('x');
+        }
+
+        // when
+        final StoredDataSnapshot.Content content = createSnapshot("source", 0).load();
+
+        // then
+        assertThat(content.getRequests()).containsOnly(entry("request1", "value1"));
+        assertThat(content.getLastUpdate()).isEqualTo(Instant.EPOCH);
+    }
+
+    @Test
+    public void loadShouldFailIfSnapshotHeaderIsCorrupted() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), LAST_UPDATE);
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.seek(12);
+            file.write('x');
+        }
+
+        // when and then
+        assertThatIOException().isThrownBy(() -> createSnapshot("source", 3600).load());
+    }
+
+    @Test
+    public void writeShouldNotLeaveTemporaryFiles() throws IOException {
+        // when
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), LAST_UPDATE);
+
+        // then
+        assertThat(snapshotFile.getParentFile().list()).containsOnly(snapshotFile.getName());
+    }
+
+    @Test
+    public void appendShouldDoNothingIfSnapshotWasNeitherLoadedNorWritten() throws IOException {
+        // when
+        storedDataSnapshot.append(singletonMap("request1", "value1"), emptyMap(), emptyList(), emptyList(),
+                LAST_UPDATE);
+
+        // then
+        assertThat(snapshotFile).doesNotExist();
+    }
+
+    @Test
+    public void appendShouldSkipRefreshWithoutChangesUntilHalfOfMaxAgePassed() throws IOException {
+        // given
+        storedDataSnapshot.write(singletonMap("request1", "value1"), emptyMap(), LAST_UPDATE);
+        final long writtenLength = snapshotFile.length();
+
+        // when
+        storedDataSnapshot.append(emptyMap(), emptyMap(), emptyList(), emptyList(), LAST_UPDATE.plusSeconds(1799));
+
+        // then
+        assertThat(snapshotFile.length()).isEqualTo(writtenLength);
+
+        // when
+        storedDataSnapshot.append(emptyMap(), emptyMap(), emptyList(), emptyList(), LAST_UPDATE.plusSeconds(1800));
+
+        // then
+        assertThat(snapshotFile.length()).isGreaterThan(writtenLength);
+        assertThat(storedDataSnapshot.load().getLastUpdate()).isEqualTo(LAST_UPDATE.plusSeconds(1800));
+    }
+
+    private StoredDataSnapshot createSnapshot(String source, long maxAgeSeconds) {
+        return new StoredDataSnapshot(snapshotFile.getPath(), source, maxAgeSeconds, clock);
+    }
+}
@@ -1,14 +1,21 @@
 package org.prebid.server.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.github.fge.jsonpatch.mergepatch.JsonMergePatch;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.Publisher;
 import com.iab.openrtb.request.Site;
 import org.junit.Before;
 import org.junit.Test;
 import org.prebid.server.VertxTest;
+import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidderConfigFpd;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonMergeUtilTest extends VertxTest {
 
@@ -70,4 +77,73 @@ public class JsonMergeUtilTest extends VertxTest {
         assertThat(result).isEqualTo(site);
     }
 
+    @Test
+    public void mergeShouldOverrideStoredValuesWithOriginalOnes() throws IOException {
+        // given
+        final Site site = Site.builder().page("originalPage").build();
+        final JsonNode storedData = mapper.readTree("{\"page\":\"storedPage\",\"domain\":\"storedDomain\"}");
+
+        // when
+        final Site result = target.merge(site, storedData, "id", Site.class);
+
+        // then
+        assertThat(result).isEqualTo(Site.builder().page("originalPage").domain("storedDomain").build());
+    }
+
+    @Test
+    public void mergeShouldNotModifyStoredData() throws IOException {
+        // given
+        final Site site = Site.builder().page("originalPage").publisher(Publisher.builder().id("pubId").build())
+                .build();
+        final JsonNode storedData = mapper.readTree(
+                "{\"page\":\"storedPage\",\"publisher\":{\"id\":\"storedId\",\"name\":\"storedName\"}}");
+        final JsonNode storedDataCopy = storedData.deepCopy();
+
+        // when
+        final Site result = target.merge(site, storedData, "id", Site.class);
+
+        // then
+        assertThat(result).isEqualTo(Site.builder()
+                .page("originalPage")
+                .publisher(Publisher.builder().id("pubId").name("storedName").build())
+                .build());
+        assertThat(storedData).isEqualTo(storedDataCopy);
+    }
+
+    @Test
+    public void mergeShouldFailWhenStoredDataCannotBeParsed() {
+        assertThatThrownBy(() -> target.merge(Site.builder().build(), "{invalid", "id", Site.class))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Can't parse Json for stored request with id id");
+    }
+
+    @Test
+    public void mergeShouldFollowJsonMergePatchSemantics() throws IOException, JsonPatchException {
+        // given
+        final String[][] targetAndPatchPairs = {
+                {"{\"a\":\"b\"}", "{\"a\":\"c\"}"},
+                {"{\"a\":\"b\"}", "{\"b\":\"c\"}"},
+                {"{\"a\":\"b\"}", "{\"a\":null}"},
+                {"{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}"},
+                {"{\"a\":[\"b\"]}", "{\"a\":\"c\"}"},
+                {"{\"a\":\"c\"}", "{\"a\":[\"b\"]}"},
+                {"{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}"},
+                {"{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}"},
+                {"[\"a\",\"b\"]", "[\"c\",\"d\"]"},
+                {"{\"a\":\"b\"}", "[\"c\"]"},
+                {"{\"e\":null}", "{\"a\":1}"},
+                {"[1,2]", "{\"a\":\"b\",\"c\":null}"},
+                {"{}", "{\"a\":{\"bb\":{\"ccc\":null}}}"}};
+
+        for (String[] targetAndPatch : targetAndPatchPairs) {
+            final JsonNode targetNode = mapper.readTree(targetAndPatch[0]);
+            final JsonNode patchNode = mapper.readTree(targetAndPatch[1]);
+
+            // when
+            final JsonNode result = target.merge(patchNode, targetNode, "id", JsonNode.class);
+
+            // then
+            assertThat(result).isEqualTo(JsonMergePatch.fromJson(patchNode).apply(targetNode));
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package org.prebid.server.util;
+
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class VastXmlUtilTest {
+
+    @Test
+    public void insertImpressionTrackingShouldReturnSameVastXmlIfNoImpressionTag() {
+        // given
+        @SuppressWarnings("unchecked")
+        final Supplier<String> urlSupplier = mock(Supplier.class);
+
+        // when
+        final String result = VastXmlUtil.insertImpressionTracking("<VAST></VAST>", urlSupplier);
+
+        // then
+        assertThat(result).isEqualTo("<VAST></VAST>");
+        verifyZeroInteractions(urlSupplier);
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldInsertUrlIntoEmptyImpressionTag() {
+        // when
+        final String result = VastXmlUtil.insertImpressionTracking(
+                "<VAST><Impression></Impression><Creatives></Creatives></VAST>", () -> "http://event.com/imp");
+
+        // then
+        assertThat(result).isEqualTo("<VAST><Impression><![CDATA[http://event.com/imp]]></Impression>"
+                + "<Creatives></Creatives></VAST>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldAddImpressionTagAfterFirstNonEmptyOne() {
+        // when
+        final String result = VastXmlUtil.insertImpressionTracking(
+                "<VAST><Impression>http://a.com</Impression><Impression>http://b.com</Impression></VAST>",
+                () -> "http://event.com/imp");
+
+        // then
+        assertThat(result).isEqualTo("<VAST><Impression>http://a.com</Impression>"
+                + "<Impression><![CDATA[http://event.com/imp]]></Impression>"
+                + "<Impression>http://b.com</Impression></VAST>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldInsertUrlWithRegexSpecialCharactersAsIs() {
+        // given
+        final Supplier<String> urlSupplier = () -> "http://event.com/imp?a=$1&b=\\";
+
+        // when
+        final String result = VastXmlUtil.insertImpressionTracking("<Impression></Impression>", urlSupplier);
+
+        // then
+        assertThat(result).isEqualTo("<Impression><![CDATA[http://event.com/imp?a=$1&b=\\]]></Impression>");
+    }
+}
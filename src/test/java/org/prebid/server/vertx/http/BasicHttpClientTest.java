@@ -34,8 +34,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @RunWith(VertxUnitRunner.class)
@@ -65,6 +67,7 @@ public class BasicHttpClientTest {
         given(httpClientRequest.headers()).willReturn(new CaseInsensitiveHeaders());
 
         given(httpClientResponse.bodyHandler(any())).willReturn(httpClientResponse);
+        given(httpClientResponse.handler(any())).willReturn(httpClientResponse);
         given(httpClientResponse.exceptionHandler(any())).willReturn(httpClientResponse);
 
         httpClient = new BasicHttpClient(vertx, wrappedHttpClient);
@@ -82,7 +85,20 @@ public class BasicHttpClientTest {
         // then
         verify(wrappedHttpClient).requestAbs(eq(HttpMethod.POST), eq("url"));
         verify(httpClientRequest.headers()).addAll(eq(headers));
-        verify(httpClientRequest).end(eq("body"));
+        verify(httpClientRequest).end(eq(Buffer.buffer("body")));
+    }
+
+    @Test
+    public void requestBufferShouldSendGivenBufferAsIs() {
+        // given
+        final Buffer body = Buffer.buffer("body");
+
+        // when
+        httpClient.requestBuffer(HttpMethod.POST, "url", null, body, 500L);
+
+        // then
+        verify(wrappedHttpClient).requestAbs(eq(HttpMethod.POST), eq("url"));
+        verify(httpClientRequest).end(same(body));
     }
 
     @Test
@@ -101,6 +117,84 @@ public class BasicHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestShouldReturnResponseWithRawBodyBuffer() {
+        // given
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+
+        given(httpClientResponse.statusCode()).willReturn(200);
+        given(httpClientResponse.bodyHandler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.result().getBodyBuffer()).isEqualTo(Buffer.buffer("response"));
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void requestShouldFailIfResponseContentLengthExceedsMaxResponseSize() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, 5);
+
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.getHeader(any(CharSequence.class))).willReturn("6");
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).hasMessage("Response size exceeded max size of 5 bytes");
+        verify(httpClientRequest).reset();
+        verify(httpClientResponse, never()).handler(any());
+    }
+
+    @Test
+    public void requestShouldFailIfReceivedBodyExceedsMaxResponseSize() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, 5);
+
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any())).willReturn(httpClientResponse);
+
+        // when
+        final Future<?> future = httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).hasMessage("Response size exceeded max size of 5 bytes");
+        verify(httpClientRequest).reset();
+    }
+
+    @Test
+    public void requestShouldSucceedIfReceivedBodyDoesNotExceedMaxResponseSize() {
+        // given
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, 100);
+
+        given(httpClientRequest.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(httpClientResponse));
+        given(httpClientResponse.handler(any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Buffer.buffer("response")));
+        given(httpClientResponse.endHandler(any())).willAnswer(withSelfAndPassObjectToHandler(null));
+
+        // when
+        final Future<org.prebid.server.vertx.http.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, null, null, null, 1L);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
     @Test
     public void requestShouldAllowFollowingRedirections() {
         // when
@@ -1,6 +1,7 @@
 package org.prebid.server.vertx.http;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.unit.Async;
@@ -28,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
@@ -83,6 +85,25 @@ public class CircuitBreakerSecuredHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestBufferShouldSucceedsIfCircuitIsClosedAndWrappedHttpClientSucceeds(TestContext context) {
+        // given
+        final Buffer body = Buffer.buffer("body");
+        given(wrappedHttpClient.requestBuffer(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        final Async async = context.async();
+        final Future<?> future = httpClient.requestBuffer(HttpMethod.POST, "http://url", null, body, 0L);
+        future.setHandler(ar -> async.complete());
+        async.await();
+
+        // then
+        verify(wrappedHttpClient).requestBuffer(any(), anyString(), any(), same(body), anyLong());
+
+        assertThat(future.succeeded()).isTrue();
+    }
+
     @Test
     public void requestShouldFailsIfCircuitIsClosedButWrappedHttpClientFails(TestContext context) {
         // given